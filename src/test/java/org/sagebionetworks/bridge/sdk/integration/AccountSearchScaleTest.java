@@ -0,0 +1,399 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.sagebionetworks.bridge.rest.model.Role.WORKER;
+import static org.sagebionetworks.bridge.sdk.integration.BenchmarkReport.millis;
+import static org.sagebionetworks.bridge.sdk.integration.Tests.ORG_ID_1;
+import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_1;
+import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_2;
+import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.sagebionetworks.bridge.rest.api.ForAdminsApi;
+import org.sagebionetworks.bridge.rest.api.ForWorkersApi;
+import org.sagebionetworks.bridge.rest.api.OrganizationsApi;
+import org.sagebionetworks.bridge.rest.api.ParticipantsApi;
+import org.sagebionetworks.bridge.rest.api.StudiesApi;
+import org.sagebionetworks.bridge.rest.api.StudyParticipantsApi;
+import org.sagebionetworks.bridge.rest.exceptions.EntityNotFoundException;
+import org.sagebionetworks.bridge.rest.model.AccountSummaryList;
+import org.sagebionetworks.bridge.rest.model.AccountSummarySearch;
+import org.sagebionetworks.bridge.rest.model.EnrollmentFilter;
+import org.sagebionetworks.bridge.rest.model.SignUp;
+import org.sagebionetworks.bridge.rest.model.StringSearchPosition;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * Measures how account summary search slows down as the app fills up. Accounts are seeded in
+ * parallel up to each population size in turn (1k, 10k, then 100k by default), with data groups,
+ * languages, attributes, org membership and enrollments drawn from fixed distributions (see
+ * {@link #signUp(int, double[])}). At each size, every combination of the language, allOfGroups,
+ * noneOfGroups, orgMembership and enrollment filters is run with each StringSearchPosition of
+ * the email filter. The report gives, per combination, the number of matches, percentiles of
+ * the first page's latency, and the time to walk the result pages; the summary at the top shows
+ * how much each predicate's latency grew from the smallest to the largest population.
+ *
+ * Searches without an enrollment filter use the worker's app-wide search; searches with one use
+ * study1's participant search. The seeded emails carry the run's tag at both ends, so that a
+ * prefix, infix, postfix or exact match on the email all stay within this run's accounts.
+ * Configured with system properties:
+ *
+ * <ul>
+ *     <li>accountSearch.populations: population sizes (default 1000,10000,100000)</li>
+ *     <li>accountSearch.threads: concurrent account creations while seeding (default 16)</li>
+ *     <li>accountSearch.repeats: times each search's first page is requested (default 3)</li>
+ *     <li>accountSearch.pageSize: page size (default 100)</li>
+ *     <li>accountSearch.maxPages: most pages to walk for each search (default 20)</li>
+ *     <li>accountSearch.tag: reuse the accounts of an earlier run with this tag (see accountSearch.keep)</li>
+ *     <li>accountSearch.keep: don't delete the seeded accounts, and log the tag to reuse them (default false)</li>
+ * </ul>
+ *
+ * Run with {@code mvn test -DjunitCategory=loadTests -Dtest=AccountSearchScaleTest}. The report is
+ * written to target/account-search-scale.txt, and as CSV to target/account-search-scale.csv.
+ */
+@Category(LoadTest.class)
+public class AccountSearchScaleTest {
+    private static final Logger LOG = LoggerFactory.getLogger(AccountSearchScaleTest.class);
+
+    private static final String CSV_HEADER = "population,filters,position,matches,p50Ms,p95Ms,maxMs,pages,walkMs,"
+            + "lastPageMs";
+    // Seeds the per-account draws; changing it changes which properties existing tagged accounts should have.
+    private static final int DRAW_SEED = 0x5eed;
+    private static final List<StringSearchPosition> POSITIONS = ImmutableList.of(StringSearchPosition.EXACT,
+            StringSearchPosition.PREFIX, StringSearchPosition.INFIX, StringSearchPosition.POSTFIX);
+    private static final List<EnrollmentFilter> ENROLLMENTS = Arrays.asList(null, EnrollmentFilter.ENROLLED,
+            EnrollmentFilter.WITHDRAWN);
+
+    private final int threads = Integer.getInteger("accountSearch.threads", 16);
+    private final int repeats = Integer.getInteger("accountSearch.repeats", 3);
+    private final int pageSize = Integer.getInteger("accountSearch.pageSize", 100);
+    private final int maxPages = Integer.getInteger("accountSearch.maxPages", 20);
+    private final boolean keep = Boolean.getBoolean("accountSearch.keep");
+    private final String tag = System.getProperty("accountSearch.tag",
+            RandomStringUtils.randomAlphabetic(6).toLowerCase(Locale.ENGLISH));
+
+    private final LongAdder seedFailures = new LongAdder();
+
+    @Test
+    public void searchAtScale() throws Exception {
+        List<Integer> populations = BenchmarkReport.intListProperty("accountSearch.populations", "1000,10000,100000");
+        TestUser worker = TestUserPool.lease(AccountSearchScaleTest.class, false, WORKER);
+        try {
+            ForWorkersApi workerApi = worker.getClient(ForWorkersApi.class);
+            StudyParticipantsApi studyApi = Tests.getSignedInAdmin().getClient(StudyParticipantsApi.class);
+
+            List<String> lines = new ArrayList<>();
+            List<String> csv = new ArrayList<>();
+            csv.add(CSV_HEADER);
+            // Filters and position -> p50 at each population, for the summary.
+            Map<String, List<Double>> p50s = new LinkedHashMap<>();
+            int seeded = existing(workerApi);
+            for (int population : populations) {
+                if (seeded < population) {
+                    long start = System.currentTimeMillis();
+                    seed(seeded, population);
+                    LOG.info("Seeded accounts {} to {} in {} s ({} failed)", seeded, population,
+                            (System.currentTimeMillis() - start) / 1000, seedFailures.sum());
+                    seeded = population;
+                }
+                lines.add("");
+                lines.add(String.format("%d accounts:", population));
+                lines.add(String.format("%-48s %-8s %7s %8s %8s %8s %6s %8s %9s", "filters", "position", "matches",
+                        "p50ms", "p95ms", "maxms", "pages", "walkms", "lastms"));
+                for (Map<String, Object> filters : filterCombinations()) {
+                    for (StringSearchPosition position : POSITIONS) {
+                        Result result = measure(workerApi, studyApi, filters, position);
+                        String label = filters.isEmpty() ? "(email only)" : filters.toString();
+                        lines.add(String.format("%-48s %-8s %7d %8.1f %8.1f %8.1f %6d %8d %9.1f", label, position,
+                                result.matches, millis(result.firstPage, 50), millis(result.firstPage, 95),
+                                result.firstPage.getMax() / 1000.0, result.pages, result.walkMillis,
+                                result.lastPageMillis));
+                        csv.add(String.format("%d,\"%s\",%s,%d,%.1f,%.1f,%.1f,%d,%d,%.1f", population, label,
+                                position, result.matches, millis(result.firstPage, 50), millis(result.firstPage, 95),
+                                result.firstPage.getMax() / 1000.0, result.pages, result.walkMillis,
+                                result.lastPageMillis));
+                        p50s.computeIfAbsent(label + " " + position, k -> new ArrayList<>())
+                                .add(millis(result.firstPage, 50));
+                    }
+                }
+            }
+            lines.addAll(0, summary(populations, p50s));
+            BenchmarkReport.write(Paths.get("target", "account-search-scale.txt"),
+                    String.format("Account summary search at %s accounts (tag %s, %d seeding failures)", populations,
+                            tag, seedFailures.sum()), lines);
+            Path csvFile = Paths.get("target", "account-search-scale.csv");
+            BenchmarkReport.writeCsv(csvFile, csv);
+            if (keep) {
+                LOG.info("Kept the seeded accounts; rerun with -DaccountSearch.tag={} to reuse them", tag);
+            }
+        } finally {
+            TestUserPool.release(worker);
+        }
+    }
+
+    /** The email of the nth seeded account. */
+    private String email(int n) {
+        return "bridge-testing+" + tag + "-" + n + "-" + tag + "@sagebase.org";
+    }
+
+    /** The email filter for a position, matching all of this run's accounts (or, for EXACT, the first). */
+    private String emailFilter(StringSearchPosition position) {
+        switch (position) {
+            case EXACT:
+                return email(0);
+            case PREFIX:
+                return "bridge-testing+" + tag + "-";
+            case POSTFIX:
+                return "-" + tag + "@sagebase.org";
+            default:
+                return tag + "-";
+        }
+    }
+
+    /** How many accounts a reused tag already has. */
+    private int existing(ForWorkersApi workerApi) throws Exception {
+        AccountSummaryList list = workerApi.searchAccountSummariesForApp(TEST_APP_ID, new AccountSummarySearch()
+                .emailFilter(emailFilter(StringSearchPosition.PREFIX))
+                .stringSearchPosition(StringSearchPosition.PREFIX).pageSize(5)).execute().body();
+        return list.getTotal();
+    }
+
+    /** Create accounts from..to-1 in parallel. Failures are counted rather than thrown. */
+    private void seed(int from, int to) throws Exception {
+        TestUser admin = Tests.getSignedInAdmin();
+        ParticipantsApi participantsApi = admin.getClient(ParticipantsApi.class);
+        OrganizationsApi orgsApi = admin.getClient(OrganizationsApi.class);
+        StudiesApi studiesApi = admin.getClient(StudiesApi.class);
+        ForAdminsApi adminsApi = admin.getClient(ForAdminsApi.class);
+
+        Queue<String> userIds = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    try {
+                        double[] draws = draws(n);
+                        String userId = participantsApi.createParticipant(signUp(n, draws)).execute().body()
+                                .getIdentifier();
+                        userIds.add(userId);
+                        if (draws[4] < 0.2) {
+                            orgsApi.addMember(ORG_ID_1, userId).execute();
+                        }
+                        if (draws[5] < 0.1 && draws[3] < 0.85) {
+                            studiesApi.withdrawParticipant(STUDY_ID_1, userId, "Scale benchmark").execute();
+                        }
+                    } catch (Exception e) {
+                        LOG.debug("Could not seed account " + n, e);
+                        seedFailures.increment();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            if (!keep && !userIds.isEmpty()) {
+                List<String> tier = new ArrayList<>(userIds);
+                Cleanup.register(Cleanup.Phase.USERS, tier.size() + " accounts seeded up to " + to,
+                        () -> deleteAll(adminsApi, tier));
+            }
+        }
+    }
+
+    /** Delete one tier of seeded accounts, with as many threads as seeded them. */
+    private void deleteAll(ForAdminsApi adminsApi, List<String> userIds) throws Exception {
+        LongAdder failures = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String userId : userIds) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        adminsApi.deleteUser(userId).execute();
+                    } catch (EntityNotFoundException e) {
+                        // Already deleted.
+                    } catch (Exception e) {
+                        LOG.debug("Could not delete account " + userId, e);
+                        failures.increment();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        if (failures.sum() > 0) {
+            throw new IllegalStateException(failures.sum() + " of " + userIds.size() + " accounts were not deleted");
+        }
+    }
+
+    /**
+     * The random draws that decide the nth account's properties, the same in every run. Each account
+     * gets its own generator, seeded with a hash of n, so neighbouring accounts' draws are independent.
+     */
+    private static double[] draws(int n) {
+        return new SplittableRandom(Hashing.murmur3_128(DRAW_SEED).hashInt(n).asLong()).doubles(6).toArray();
+    }
+
+    /**
+     * The nth account. Every account is a test_user; half are in sdk-int-1, a fifth in sdk-int-2
+     * and a tenth in group1. 70% speak English, 20% Spanish and 10% French; 30% can be
+     * recontacted. 85% are enrolled in study1, and a sixth of those in study2 as well. (In seed,
+     * a fifth join org1 and a tenth of those enrolled withdraw from study1.)
+     */
+    private SignUp signUp(int n, double[] draws) {
+        List<String> dataGroups = new ArrayList<>();
+        dataGroups.add("test_user");
+        double groups = draws[0];
+        if (groups < 0.5) {
+            dataGroups.add("sdk-int-1");
+        }
+        if (groups < 0.2) {
+            dataGroups.add("sdk-int-2");
+        }
+        if (groups < 0.1) {
+            dataGroups.add("group1");
+        }
+        double language = draws[1];
+        String languageCode = (language < 0.7) ? "en" : (language < 0.9) ? "es" : "fr";
+        boolean recontact = draws[2] < 0.3;
+        double enrollment = draws[3];
+        Map<String, String> externalIds = new LinkedHashMap<>();
+        if (enrollment < 0.85) {
+            externalIds.put(STUDY_ID_1, tag + "-" + n);
+        }
+        if (enrollment < 0.15) {
+            externalIds.put(STUDY_ID_2, tag + "-" + n);
+        }
+        return new SignUp().appId(TEST_APP_ID).email(email(n)).dataGroups(dataGroups)
+                .languages(ImmutableList.of(languageCode))
+                .attributes(ImmutableMap.of("can_be_recontacted", Boolean.toString(recontact)))
+                .externalIds(externalIds);
+    }
+
+    /** Every combination of the filters, from none to all. An enrollment filter is always combined with study1. */
+    private static List<Map<String, Object>> filterCombinations() {
+        List<Map<String, Object>> combinations = new ArrayList<>();
+        for (EnrollmentFilter enrollment : ENROLLMENTS) {
+            for (int mask = 0; mask < 16; mask++) {
+                Map<String, Object> filters = new LinkedHashMap<>();
+                if ((mask & 1) != 0) {
+                    filters.put("language", "fr");
+                }
+                if ((mask & 2) != 0) {
+                    filters.put("allOfGroups", "sdk-int-1");
+                }
+                if ((mask & 4) != 0) {
+                    filters.put("noneOfGroups", "group1");
+                }
+                if ((mask & 8) != 0) {
+                    filters.put("orgMembership", ORG_ID_1);
+                }
+                if (enrollment != null) {
+                    filters.put("enrollment", enrollment);
+                }
+                combinations.add(filters);
+            }
+        }
+        return combinations;
+    }
+
+    private AccountSummarySearch search(Map<String, Object> filters, StringSearchPosition position) {
+        AccountSummarySearch search = new AccountSummarySearch().emailFilter(emailFilter(position))
+                .stringSearchPosition(position).pageSize(pageSize);
+        if (filters.containsKey("language")) {
+            search.language((String) filters.get("language"));
+        }
+        if (filters.containsKey("allOfGroups")) {
+            search.allOfGroups(ImmutableList.of((String) filters.get("allOfGroups")));
+        }
+        if (filters.containsKey("noneOfGroups")) {
+            search.noneOfGroups(ImmutableList.of((String) filters.get("noneOfGroups")));
+        }
+        if (filters.containsKey("orgMembership")) {
+            search.orgMembership((String) filters.get("orgMembership"));
+        }
+        if (filters.containsKey("enrollment")) {
+            search.enrollment((EnrollmentFilter) filters.get("enrollment"));
+        }
+        return search;
+    }
+
+    private static final class Result {
+        final LatencyHistogram firstPage = new LatencyHistogram();
+        int matches;
+        int pages;
+        long walkMillis;
+        double lastPageMillis;
+    }
+
+    private Result measure(ForWorkersApi workerApi, StudyParticipantsApi studyApi, Map<String, Object> filters,
+            StringSearchPosition position) throws Exception {
+        Result result = new Result();
+        ThrowingFunction<AccountSummarySearch, AccountSummaryList> call = filters.containsKey("enrollment")
+                ? (search -> studyApi.getStudyParticipants(STUDY_ID_1, search).execute().body())
+                : (search -> workerApi.searchAccountSummariesForApp(TEST_APP_ID, search).execute().body());
+        for (int i = 0; i < repeats; i++) {
+            long start = System.nanoTime();
+            AccountSummaryList list = call.apply(search(filters, position));
+            result.firstPage.record((System.nanoTime() - start) / 1000);
+            result.matches = list.getTotal();
+        }
+        long walkStart = System.currentTimeMillis();
+        for (int offset = 0; offset < result.matches && result.pages < maxPages; offset += pageSize) {
+            long start = System.nanoTime();
+            call.apply(search(filters, position).offsetBy(offset));
+            result.lastPageMillis = (System.nanoTime() - start) / 1000000.0;
+            result.pages++;
+        }
+        result.walkMillis = System.currentTimeMillis() - walkStart;
+        return result;
+    }
+
+    /** The searches whose median latency grew most from the smallest to the largest population. */
+    private static List<String> summary(List<Integer> populations, Map<String, List<Double>> p50s) {
+        List<String> lines = new ArrayList<>();
+        if (populations.size() < 2) {
+            return lines;
+        }
+        lines.add(String.format("Growth of p50 from %d to %d accounts, slowest-growing last:", populations.get(0),
+                populations.get(populations.size() - 1)));
+        p50s.entrySet().stream().sorted((a, b) -> Double.compare(growth(b.getValue()), growth(a.getValue())))
+                .forEach(entry -> lines.add(String.format("%7.1fx %8.1f -> %8.1f ms  %s", growth(entry.getValue()),
+                        entry.getValue().get(0), entry.getValue().get(entry.getValue().size() - 1),
+                        entry.getKey())));
+        return lines;
+    }
+
+    private static double growth(List<Double> p50s) {
+        return p50s.get(p50s.size() - 1) / Math.max(0.1, p50s.get(0));
+    }
+}
@@ -106,7 +106,7 @@ public class AccountSummarySearchTest {
                         .dataGroups(FRENCH_USER_GROUPS)).createUser();
         
         // Assign frenchUser to org1.
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         OrganizationsApi orgsApi = admin.getClient(OrganizationsApi.class);
         orgsApi.addMember(ORG_ID_1, frenchUser.getUserId()).execute();
         
@@ -145,9 +145,9 @@ public class AccountSummarySearchTest {
         studiesApi.withdrawParticipant(
                 STUDY_ID_2, study1withdrawnFrom2User.getUserId(), "reasons").execute();
 
-        researcher = TestUserHelper.createAndSignInUser(AccountSummarySearchTest.class, false, RESEARCHER);
-        worker = TestUserHelper.createAndSignInUser(AccountSummarySearchTest.class, false, WORKER);
-        studyCoordinator = TestUserHelper.createAndSignInUser(AccountSummarySearchTest.class, false, STUDY_COORDINATOR);
+        researcher = Tests.createAndSignInUser(AccountSummarySearchTest.class, false, RESEARCHER);
+        worker = Tests.createAndSignInUser(AccountSummarySearchTest.class, false, WORKER);
+        studyCoordinator = Tests.createAndSignInUser(AccountSummarySearchTest.class, false, STUDY_COORDINATOR);
 
         // Assign studyCoordinator to org1 for access to only study1.
         orgsApi.addMember(ORG_ID_1, studyCoordinator.getUserId()).execute();
@@ -155,7 +155,7 @@ public class AccountSummarySearchTest {
 
     @AfterClass
     public static void deleteTestuser() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         ForAdminsApi forAdminsApi = admin.getClient(ForAdminsApi.class);
         ParticipantsApi participantsApi = admin.getClient(ParticipantsApi.class);
         
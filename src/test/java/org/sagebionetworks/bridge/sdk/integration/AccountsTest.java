@@ -80,10 +80,10 @@ public class AccountsTest {
 
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        developer = TestUserHelper.createAndSignInUser(AccountsTest.class, false, DEVELOPER);
-        studyCoordinator = TestUserHelper.createAndSignInUser(AccountsTest.class, false, STUDY_COORDINATOR);
-        orgAdmin = TestUserHelper.createAndSignInUser(AccountsTest.class, true, ORG_ADMIN);
+        admin = Tests.getSignedInAdmin();
+        developer = Tests.createAndSignInUser(AccountsTest.class, false, DEVELOPER);
+        studyCoordinator = Tests.createAndSignInUser(AccountsTest.class, false, STUDY_COORDINATOR);
+        orgAdmin = Tests.createAndSignInUser(AccountsTest.class, true, ORG_ADMIN);
         orgAdminApi = orgAdmin.getClient(ForOrgAdminsApi.class);
         orgId = orgAdmin.getSession().getOrgMembership();
 
@@ -363,7 +363,7 @@ public class AccountsTest {
         } catch(UnauthorizedException e) {
             assertEquals("Account is not a test account or it is already in use.", e.getMessage());
         }
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         admin.getClient(AccountsApi.class).deleteAccount(idHolder.getIdentifier()).execute();
     }
     
@@ -36,7 +36,6 @@ import org.sagebionetworks.bridge.rest.model.CustomActivityEventRequest;
 import org.sagebionetworks.bridge.rest.model.Role;
 import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class ActivityEventTest {
     private static final String TWO_WEEKS_AFTER_KEY = "2-weeks-after";
@@ -50,10 +49,10 @@ public class ActivityEventTest {
 
     @Before
     public void beforeAll() throws Exception {
-        researcher = TestUserHelper.createAndSignInUser(ActivityEventTest.class, true, Role.RESEARCHER);
+        researcher = Tests.createAndSignInUser(ActivityEventTest.class, true, Role.RESEARCHER);
         researchersApi = researcher.getClient(ForResearchersApi.class);
 
-        developer = TestUserHelper.createAndSignInUser(ActivityEventTest.class, false, Role.DEVELOPER);
+        developer = Tests.createAndSignInUser(ActivityEventTest.class, false, Role.DEVELOPER);
         ForDevelopersApi developersApi = developer.getClient(ForDevelopersApi.class);
 
         App app = developersApi.getUsersApp().execute().body();
@@ -87,7 +86,7 @@ public class ActivityEventTest {
         }
         
         // Create user last, so the automatic custom events are created
-        user = TestUserHelper.createAndSignInUser(ActivityEventTest.class, true);
+        user = Tests.createAndSignInUser(ActivityEventTest.class, true);
         usersApi = user.getClient(ForConsentedUsersApi.class);
     }
 
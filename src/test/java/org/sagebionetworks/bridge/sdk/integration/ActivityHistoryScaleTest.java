@@ -0,0 +1,376 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.sagebionetworks.bridge.rest.model.Role.DEVELOPER;
+import static org.sagebionetworks.bridge.sdk.integration.BenchmarkReport.millis;
+import static org.sagebionetworks.bridge.sdk.integration.InitListener.EVENT_KEY1;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
+import org.sagebionetworks.bridge.rest.api.SchedulesV1Api;
+import org.sagebionetworks.bridge.rest.api.SurveysApi;
+import org.sagebionetworks.bridge.rest.api.UploadSchemasApi;
+import org.sagebionetworks.bridge.rest.model.ABTestGroup;
+import org.sagebionetworks.bridge.rest.model.ABTestScheduleStrategy;
+import org.sagebionetworks.bridge.rest.model.Activity;
+import org.sagebionetworks.bridge.rest.model.CompoundActivity;
+import org.sagebionetworks.bridge.rest.model.CustomActivityEventRequest;
+import org.sagebionetworks.bridge.rest.model.ForwardCursorScheduledActivityList;
+import org.sagebionetworks.bridge.rest.model.GuidCreatedOnVersionHolder;
+import org.sagebionetworks.bridge.rest.model.Schedule;
+import org.sagebionetworks.bridge.rest.model.SchedulePlan;
+import org.sagebionetworks.bridge.rest.model.ScheduleType;
+import org.sagebionetworks.bridge.rest.model.SchemaReference;
+import org.sagebionetworks.bridge.rest.model.SimpleScheduleStrategy;
+import org.sagebionetworks.bridge.rest.model.Survey;
+import org.sagebionetworks.bridge.rest.model.SurveyReference;
+import org.sagebionetworks.bridge.rest.model.TaskReference;
+import org.sagebionetworks.bridge.rest.model.UploadFieldDefinition;
+import org.sagebionetworks.bridge.rest.model.UploadFieldType;
+import org.sagebionetworks.bridge.rest.model.UploadSchema;
+import org.sagebionetworks.bridge.rest.model.UploadSchemaType;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * Measures walking a participant's whole scheduled activity history with the forward cursor
+ * ({@code nextPageOffsetKey}) as the history grows. Four recurring schedule plans are created,
+ * each for its own activity: a task on the cron trigger of Tests.getABTestSchedulePlan (three
+ * times a week), a task four times a day (Tests.getDailyRepeatingSchedulePlan at the times of
+ * ScheduledActivityTest), a survey and a compound activity, also four times a day.
+ *
+ * The plans start from the participants' custom event1, which can be moved into the past, so
+ * each participant's event is set to the start of the longest history. Activities only exist
+ * once they have been requested, so the history is built up a window at a time through
+ * {@code getScheduledActivitiesByDateRange}. After each month count it is walked, from the start
+ * of the history to its current end, with task, survey and compound-activity history at each
+ * page size. The report gives, per walk, the items and pages found, the per-page latency, and
+ * the total walk time. Configured with system properties:
+ *
+ * <ul>
+ *     <li>activityHistory.months: history lengths (default 1,3,6,12)</li>
+ *     <li>activityHistory.users: participants (default 10)</li>
+ *     <li>activityHistory.pageSizes: page sizes (default 10,50,100)</li>
+ *     <li>activityHistory.windowDays: days requested at a time while seeding (default 14)</li>
+ *     <li>activityHistory.threads: concurrent participants (default 8)</li>
+ *     <li>activityHistory.maxPages: pages after which a walk is abandoned (default 10000)</li>
+ * </ul>
+ *
+ * Run with {@code mvn test -DjunitCategory=loadTests -Dtest=ActivityHistoryScaleTest}. The
+ * report is written to target/activity-history.txt, and as CSV to target/activity-history.csv.
+ */
+@Category(LoadTest.class)
+@SuppressWarnings("deprecation")
+public class ActivityHistoryScaleTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ActivityHistoryScaleTest.class);
+
+    private static final DateTimeZone EST = DateTimeZone.forOffsetHours(-5);
+    private static final List<String> FOUR_TIMES_A_DAY = ImmutableList.of("06:00", "10:00", "14:00", "18:00");
+
+    private final int userCount = Integer.getInteger("activityHistory.users", 10);
+    private final int windowDays = Integer.getInteger("activityHistory.windowDays", 14);
+    private final int threads = Integer.getInteger("activityHistory.threads", 8);
+    private final int maxPages = Integer.getInteger("activityHistory.maxPages", 10000);
+    private final LongAdder seedFailures = new LongAdder();
+
+    private final String runId = Tests.randomIdentifier(ActivityHistoryScaleTest.class);
+    private final List<String> schedulePlanGuids = new ArrayList<>();
+    private TestUser developer;
+    private GuidCreatedOnVersionHolder surveyKeys;
+    private UploadSchema schemaKeys;
+
+    /** One page of one of the history APIs. */
+    @FunctionalInterface
+    private interface HistoryPage {
+        ForwardCursorScheduledActivityList get(ForConsentedUsersApi usersApi, DateTime start, DateTime end,
+                String offsetKey, int pageSize) throws Exception;
+    }
+
+    /** A history to walk, and how to get a page of it. */
+    private static final class Kind {
+        final String label;
+        final HistoryPage page;
+
+        Kind(String label, HistoryPage page) {
+            this.label = label;
+            this.page = page;
+        }
+    }
+
+    /** The result of walking every participant's history once. */
+    private static final class Walks {
+        final LatencyHistogram pages = new LatencyHistogram();
+        final LatencyHistogram walks = new LatencyHistogram();
+        final LongAdder items = new LongAdder();
+        final LongAdder pageCount = new LongAdder();
+        final LongAdder abandoned = new LongAdder();
+        final LongAdder failed = new LongAdder();
+    }
+
+    @Test
+    public void historyWalks() throws Exception {
+        List<Integer> months = BenchmarkReport.intListProperty("activityHistory.months", "1,3,6,12");
+        List<Integer> pageSizes = BenchmarkReport.intListProperty("activityHistory.pageSizes", "10,50,100");
+        DateTime start = DateTime.now(EST).minusMonths(Collections.max(months)).withTimeAtStartOfDay();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            developer = Cleanup.user(Tests.createAndSignInUser(ActivityHistoryScaleTest.class, false,
+                    DEVELOPER));
+            List<Kind> kinds = createSchedulePlans();
+            List<ForConsentedUsersApi> users = participants(executor, start);
+
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("%6s %-14s %8s %7s %9s %9s %9s %9s %9s %9s %7s", "months", "history",
+                    "pageSize", "walks", "items", "pages", "page p50", "page p95", "walk p50", "walk p95",
+                    "failed"));
+            List<String> csv = new ArrayList<>();
+            csv.add("months,history,pageSize,walks,itemsPerWalk,pagesPerWalk,pageP50Ms,pageP95Ms,pageP99Ms,"
+                    + "walkP50Ms,walkP95Ms,walkMaxMs,abandoned,failed");
+            DateTime seededTo = start;
+            for (int count : months) {
+                DateTime end = start.plusMonths(count);
+                long seedStart = System.currentTimeMillis();
+                seed(executor, users, seededTo, end);
+                seededTo = end;
+                LOG.info("Requested {} months of activities for {} participants in {} s ({} windows failed)",
+                        count, users.size(), (System.currentTimeMillis() - seedStart) / 1000, seedFailures.sum());
+
+                for (Kind kind : kinds) {
+                    for (int pageSize : pageSizes) {
+                        Walks walks = walk(executor, users, kind, start, end, pageSize);
+                        long walkCount = Math.max(1, walks.walks.getCount());
+                        lines.add(String.format("%6d %-14s %8d %7d %9.0f %9.1f %9.1f %9.1f %9.0f %9.0f %7d", count,
+                                kind.label, pageSize, walks.walks.getCount(), walks.items.sum() / (double) walkCount,
+                                walks.pageCount.sum() / (double) walkCount, millis(walks.pages, 50),
+                                millis(walks.pages, 95), millis(walks.walks, 50), millis(walks.walks, 95),
+                                walks.failed.sum()));
+                        csv.add(String.format("%d,%s,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%d", count,
+                                kind.label, pageSize, walks.walks.getCount(), walks.items.sum() / (double) walkCount,
+                                walks.pageCount.sum() / (double) walkCount, millis(walks.pages, 50),
+                                millis(walks.pages, 95), millis(walks.pages, 99), millis(walks.walks, 50),
+                                millis(walks.walks, 95), walks.walks.getMax() / 1000.0, walks.abandoned.sum(),
+                                walks.failed.sum()));
+                    }
+                }
+            }
+            BenchmarkReport.write(Paths.get("target", "activity-history.txt"),
+                    String.format("Scheduled activity history walks for %d participants over %s months "
+                            + "(%d seeding windows failed)", users.size(), months, seedFailures.sum()), lines);
+            BenchmarkReport.writeCsv(Paths.get("target", "activity-history.csv"), csv);
+        } finally {
+            executor.shutdown();
+            deleteSchedulePlans();
+        }
+    }
+
+    /** Create the four plans, returning the histories they produce. */
+    private List<Kind> createSchedulePlans() throws Exception {
+        String cronTaskId = runId + "-cron";
+        SchedulePlan cronPlan = Tests.getABTestSchedulePlan();
+        // Every group gets the same task, so each participant has this history whatever their group.
+        for (ABTestGroup group : ((ABTestScheduleStrategy) cronPlan.getStrategy()).getScheduleGroups()) {
+            group.getSchedule().setEventId("custom:" + EVENT_KEY1);
+            group.getSchedule().setActivities(Lists.newArrayList(taskActivity(cronTaskId)));
+        }
+        createSchedulePlan(cronPlan);
+
+        String dailyTaskId = runId + "-daily";
+        SchedulePlan dailyPlan = Tests.getDailyRepeatingSchedulePlan();
+        Schedule daily = ((SimpleScheduleStrategy) dailyPlan.getStrategy()).getSchedule();
+        daily.setTimes(Lists.newArrayList(FOUR_TIMES_A_DAY));
+        daily.setEventId("custom:" + EVENT_KEY1);
+        daily.setActivities(Lists.newArrayList(taskActivity(dailyTaskId)));
+        createSchedulePlan(dailyPlan);
+
+        SurveysApi surveysApi = developer.getClient(SurveysApi.class);
+        Survey survey = TestSurvey.getSurvey(ActivityHistoryScaleTest.class);
+        surveyKeys = surveysApi.createSurvey(survey).execute().body();
+        surveyKeys = surveysApi.publishSurvey(surveyKeys.getGuid(), surveyKeys.getCreatedOn(), false).execute()
+                .body();
+        SurveyReference surveyRef = new SurveyReference();
+        surveyRef.setCreatedOn(surveyKeys.getCreatedOn());
+        surveyRef.setGuid(surveyKeys.getGuid());
+        surveyRef.setIdentifier(survey.getIdentifier());
+        Activity surveyActivity = new Activity();
+        surveyActivity.setLabel(runId);
+        surveyActivity.setSurvey(surveyRef);
+        createSchedulePlan(dailyPlan("Four times daily survey", surveyActivity));
+
+        String compoundTaskId = runId + "-compound";
+        UploadFieldDefinition fieldDef = new UploadFieldDefinition();
+        fieldDef.setName("field");
+        fieldDef.setType(UploadFieldType.STRING);
+        UploadSchema schema = new UploadSchema();
+        schema.setName("Schema");
+        schema.setSchemaId(Tests.randomIdentifier(getClass()));
+        schema.setSchemaType(UploadSchemaType.IOS_DATA);
+        schema.setFieldDefinitions(Lists.newArrayList(fieldDef));
+        schemaKeys = developer.getClient(UploadSchemasApi.class).createUploadSchema(schema).execute().body();
+        SchemaReference schemaRef = new SchemaReference();
+        schemaRef.setId(schemaKeys.getSchemaId());
+        schemaRef.setRevision(schemaKeys.getRevision());
+        CompoundActivity compoundActivity = new CompoundActivity();
+        compoundActivity.setTaskIdentifier(compoundTaskId);
+        compoundActivity.setSchemaList(ImmutableList.of(schemaRef));
+        Activity compound = new Activity();
+        compound.setLabel(runId);
+        compound.setCompoundActivity(compoundActivity);
+        createSchedulePlan(dailyPlan("Four times daily compound activity", compound));
+
+        String surveyGuid = surveyKeys.getGuid();
+        return ImmutableList.of(
+                new Kind("task (cron)", (api, start, end, key, pageSize) ->
+                        api.getTaskHistory(cronTaskId, start, end, key, pageSize).execute().body()),
+                new Kind("task (daily)", (api, start, end, key, pageSize) ->
+                        api.getTaskHistory(dailyTaskId, start, end, key, pageSize).execute().body()),
+                new Kind("survey", (api, start, end, key, pageSize) ->
+                        api.getSurveyHistory(surveyGuid, start, end, key, pageSize).execute().body()),
+                new Kind("compound", (api, start, end, key, pageSize) ->
+                        api.getCompoundActivityHistory(compoundTaskId, start, end, key, pageSize).execute().body()));
+    }
+
+    private Activity taskActivity(String taskId) {
+        TaskReference taskReference = new TaskReference();
+        taskReference.setIdentifier(taskId);
+        Activity activity = new Activity();
+        activity.setLabel(runId);
+        activity.setTask(taskReference);
+        return activity;
+    }
+
+    private static SchedulePlan dailyPlan(String label, Activity activity) {
+        Schedule schedule = new Schedule();
+        schedule.setLabel(label);
+        schedule.setExpires("P1D");
+        schedule.setInterval("P1D");
+        schedule.setScheduleType(ScheduleType.RECURRING);
+        schedule.setTimes(Lists.newArrayList(FOUR_TIMES_A_DAY));
+        schedule.setEventId("custom:" + EVENT_KEY1);
+        schedule.setActivities(Lists.newArrayList(activity));
+
+        SimpleScheduleStrategy strategy = new SimpleScheduleStrategy();
+        strategy.setSchedule(schedule);
+        strategy.setType("SimpleScheduleStrategy");
+
+        SchedulePlan plan = new SchedulePlan();
+        plan.setLabel(label + " schedule plan");
+        plan.setStrategy(strategy);
+        return plan;
+    }
+
+    private void createSchedulePlan(SchedulePlan plan) throws Exception {
+        schedulePlanGuids.add(developer.getClient(SchedulesV1Api.class).createSchedulePlan(plan).execute().body()
+                .getGuid());
+    }
+
+    private void deleteSchedulePlans() throws Exception {
+        TestUser admin = Tests.getSignedInAdmin();
+        SchedulesV1Api schedulesApi = admin.getClient(SchedulesV1Api.class);
+        for (String guid : schedulePlanGuids) {
+            schedulesApi.deleteSchedulePlan(guid, true).execute();
+        }
+        if (schemaKeys != null) {
+            admin.getClient(UploadSchemasApi.class)
+                    .deleteUploadSchema(schemaKeys.getSchemaId(), schemaKeys.getRevision(), true).execute();
+        }
+        if (surveyKeys != null) {
+            admin.getClient(SurveysApi.class)
+                    .deleteSurvey(surveyKeys.getGuid(), surveyKeys.getCreatedOn(), true).execute();
+        }
+    }
+
+    /** Consented participants whose event1 is the start of the history. */
+    private List<ForConsentedUsersApi> participants(ExecutorService executor, DateTime start) throws Exception {
+        List<Future<ForConsentedUsersApi>> futures = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            futures.add(executor.submit(() -> {
+                TestUser user = Cleanup.user(Tests.createAndSignInUser(ActivityHistoryScaleTest.class,
+                        true));
+                ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
+                usersApi.createCustomActivityEvent(new CustomActivityEventRequest().eventId(EVENT_KEY1)
+                        .timestamp(start)).execute();
+                return usersApi;
+            }));
+        }
+        List<ForConsentedUsersApi> users = new ArrayList<>();
+        for (Future<ForConsentedUsersApi> future : futures) {
+            users.add(future.get());
+        }
+        return users;
+    }
+
+    /** Request every participant's activities from one date to another, a window at a time. */
+    private void seed(ExecutorService executor, List<ForConsentedUsersApi> users, DateTime from, DateTime to)
+            throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (ForConsentedUsersApi usersApi : users) {
+            futures.add(executor.submit(() -> {
+                for (DateTime window = from; window.isBefore(to); window = window.plusDays(windowDays)) {
+                    DateTime windowEnd = window.plusDays(windowDays).isBefore(to) ? window.plusDays(windowDays) : to;
+                    try {
+                        usersApi.getScheduledActivitiesByDateRange(window, windowEnd).execute();
+                    } catch (Exception e) {
+                        LOG.debug("Could not get scheduled activities", e);
+                        seedFailures.increment();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    /** Walk every participant's history of this kind, timing each page and each walk. */
+    private Walks walk(ExecutorService executor, List<ForConsentedUsersApi> users, Kind kind, DateTime start,
+            DateTime end, int pageSize) throws Exception {
+        Walks walks = new Walks();
+        List<Future<?>> futures = new ArrayList<>();
+        for (ForConsentedUsersApi usersApi : users) {
+            futures.add(executor.submit(() -> {
+                try {
+                    long walkStart = System.nanoTime();
+                    String offsetKey = null;
+                    int pages = 0;
+                    do {
+                        long pageStart = System.nanoTime();
+                        ForwardCursorScheduledActivityList page = kind.page.get(usersApi, start, end, offsetKey,
+                                pageSize);
+                        walks.pages.record((System.nanoTime() - pageStart) / 1000);
+                        walks.items.add(page.getItems().size());
+                        offsetKey = page.getNextPageOffsetKey();
+                        pages++;
+                    } while (offsetKey != null && pages < maxPages);
+                    walks.walks.record((System.nanoTime() - walkStart) / 1000);
+                    walks.pageCount.add(pages);
+                    if (offsetKey != null) {
+                        walks.abandoned.increment();
+                    }
+                } catch (Exception e) {
+                    LOG.debug("History walk failed", e);
+                    walks.failed.increment();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return walks;
+    }
+}
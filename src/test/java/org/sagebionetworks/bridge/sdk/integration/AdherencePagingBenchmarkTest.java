@@ -0,0 +1,312 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.sagebionetworks.bridge.rest.model.Role.DEVELOPER;
+import static org.sagebionetworks.bridge.sdk.integration.InitListener.FAKE_ENROLLMENT;
+import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableList;
+import org.joda.time.DateTime;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.sagebionetworks.bridge.rest.api.AssessmentsApi;
+import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
+import org.sagebionetworks.bridge.rest.api.ForDevelopersApi;
+import org.sagebionetworks.bridge.rest.api.SchedulesV2Api;
+import org.sagebionetworks.bridge.rest.model.AdherenceRecord;
+import org.sagebionetworks.bridge.rest.model.AdherenceRecordList;
+import org.sagebionetworks.bridge.rest.model.AdherenceRecordUpdates;
+import org.sagebionetworks.bridge.rest.model.AdherenceRecordsSearch;
+import org.sagebionetworks.bridge.rest.model.Assessment;
+import org.sagebionetworks.bridge.rest.model.AssessmentReference2;
+import org.sagebionetworks.bridge.rest.model.PerformanceOrder;
+import org.sagebionetworks.bridge.rest.model.Schedule2;
+import org.sagebionetworks.bridge.rest.model.ScheduledAssessment;
+import org.sagebionetworks.bridge.rest.model.ScheduledSession;
+import org.sagebionetworks.bridge.rest.model.Session;
+import org.sagebionetworks.bridge.rest.model.SortOrder;
+import org.sagebionetworks.bridge.rest.model.Study;
+import org.sagebionetworks.bridge.rest.model.StudyActivityEventRequest;
+import org.sagebionetworks.bridge.rest.model.TimeWindow;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * Measures how adherence record search slows down with offset-based paging as records pile up.
+ * The schedule has the fake_enrollment sessions of AdherenceRecordsTest: session #1, with a
+ * daily window and a persistent window, and session #3, with a persistent window. Records are
+ * written to the persistent windows, since only those take more than one record per instance,
+ * and are spread over a number of event series (earlier fake_enrollment timestamps, a week
+ * apart). The participant's current fake_enrollment timestamp is the last series.
+ *
+ * Records are seeded up to each size in turn (10k, 100k, then 500k by default) in two ways:
+ * all of them for one participant, and the same number spread across several participants in
+ * the study, of whom one is searched. At each size, each search is timed at increasing offsets,
+ * up to the last page: page sizes 20, 100 and 500, descending order, and the current series
+ * selected with currentTimestampsOnly and with an explicit eventTimestamps filter. Configured
+ * with system properties:
+ *
+ * <ul>
+ *     <li>adherence.records: numbers of records (default 10000,100000,500000)</li>
+ *     <li>adherence.participants: participants the study-wide records are spread across (default 10)</li>
+ *     <li>adherence.series: event series (default 10)</li>
+ *     <li>adherence.batchSize: records per update request (default 100)</li>
+ *     <li>adherence.threads: concurrent update requests while seeding (default 8)</li>
+ *     <li>adherence.repeats: times each page is requested (default 3)</li>
+ * </ul>
+ *
+ * Run with {@code mvn test -DjunitCategory=loadTests -Dtest=AdherencePagingBenchmarkTest}. The
+ * report is written to target/adherence-paging.txt, and as CSV to target/adherence-paging.csv.
+ */
+@Category(LoadTest.class)
+public class AdherencePagingBenchmarkTest {
+    private static final Logger LOG = LoggerFactory.getLogger(AdherencePagingBenchmarkTest.class);
+
+    private static final DateTime ENROLLMENT = DateTime.parse("2020-05-10T00:00:00.000Z");
+    private static final List<Integer> ABSOLUTE_OFFSETS = ImmutableList.of(1000, 10000, 100000);
+
+    private final int studyParticipants = Integer.getInteger("adherence.participants", 10);
+    private final int series = Integer.getInteger("adherence.series", 10);
+    private final int batchSize = Integer.getInteger("adherence.batchSize", 100);
+    private final int threads = Integer.getInteger("adherence.threads", 8);
+    private final int repeats = Integer.getInteger("adherence.repeats", 3);
+    private final LongAdder seedFailures = new LongAdder();
+
+    private String studyId;
+    private Schedule2 schedule;
+    private List<String> persistentInstanceGuids;
+
+    /** A search, timed at increasing offsets. */
+    private static final class Variant {
+        final String label;
+        final Supplier<AdherenceRecordsSearch> search;
+
+        Variant(String label, Supplier<AdherenceRecordsSearch> search) {
+            this.label = label;
+            this.search = search;
+        }
+    }
+
+    /** A participant whose records are seeded, and how many they have so far. */
+    private static final class Subject {
+        final ForConsentedUsersApi usersApi;
+        int seeded;
+
+        Subject(TestUser user) {
+            this.usersApi = user.getClient(ForConsentedUsersApi.class);
+        }
+    }
+
+    @Test
+    public void deepPaging() throws Exception {
+        List<Integer> sizes = BenchmarkReport.intListProperty("adherence.records", "10000,100000,500000");
+        studyId = IsolatedStudy.create(AdherencePagingBenchmarkTest.class);
+        try {
+            createSchedule();
+            Subject single = participant();
+            List<Subject> study = new ArrayList<>();
+            for (int i = 0; i < studyParticipants; i++) {
+                study.add(participant());
+            }
+            persistentInstanceGuids = persistentInstanceGuids(single.usersApi);
+
+            DateTime current = eventTimestamp(series - 1);
+            List<Variant> variants = ImmutableList.of(
+                    new Variant("pageSize=20", () -> new AdherenceRecordsSearch().pageSize(20)),
+                    new Variant("pageSize=100", () -> new AdherenceRecordsSearch().pageSize(100)),
+                    new Variant("pageSize=500", () -> new AdherenceRecordsSearch().pageSize(500)),
+                    new Variant("pageSize=100 DESC", () -> new AdherenceRecordsSearch().pageSize(100)
+                            .sortOrder(SortOrder.DESC)),
+                    new Variant("currentTimestampsOnly", () -> new AdherenceRecordsSearch().pageSize(100)
+                            .currentTimestampsOnly(true)),
+                    new Variant("eventTimestamps", () -> new AdherenceRecordsSearch().pageSize(100)
+                            .putEventTimestampsItem(FAKE_ENROLLMENT, current)));
+
+            List<String> lines = new ArrayList<>();
+            List<String> csv = new ArrayList<>();
+            csv.add("records,scope,search,total,offset,p50Ms,p95Ms,maxMs,vsFirstPage");
+            for (int size : sizes) {
+                long start = System.currentTimeMillis();
+                seed(single, size);
+                for (Subject subject : study) {
+                    seed(subject, size / studyParticipants);
+                }
+                LOG.info("Seeded {} records in {} s ({} batches failed)", size * 2,
+                        (System.currentTimeMillis() - start) / 1000, seedFailures.sum());
+
+                measure(lines, csv, size, "one participant", single, variants);
+                measure(lines, csv, size, "across study", study.get(0), variants);
+            }
+            BenchmarkReport.write(Paths.get("target", "adherence-paging.txt"),
+                    String.format("Adherence record paging at %s records, %d series (%d seeding batches failed)",
+                            sizes, series, seedFailures.sum()), lines);
+            BenchmarkReport.writeCsv(Paths.get("target", "adherence-paging.csv"), csv);
+        } finally {
+            if (schedule != null && schedule.getGuid() != null) {
+                Tests.getSignedInAdmin().getClient(SchedulesV2Api.class).deleteSchedule(schedule.getGuid()).execute();
+            }
+            IsolatedStudy.delete(AdherencePagingBenchmarkTest.class);
+        }
+    }
+
+    /** The fake_enrollment sessions of AdherenceRecordsTest's schedule. */
+    private void createSchedule() throws Exception {
+        TestUser developer = Cleanup.user(Tests.createAndSignInUser(AdherencePagingBenchmarkTest.class,
+                false, DEVELOPER));
+        ForDevelopersApi developersApi = developer.getClient(ForDevelopersApi.class);
+        Study study = developersApi.getStudy(studyId).execute().body();
+        if (study.getScheduleGuid() != null) {
+            Tests.getSignedInAdmin().getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid())
+                    .execute();
+        }
+        AssessmentReference2 assessmentA = assessment(developer, "Assessment A");
+        AssessmentReference2 assessmentB = assessment(developer, "Assessment B");
+
+        Session s1 = new Session().name("Session #1").addStartEventIdsItem(FAKE_ENROLLMENT).delay("P2D")
+                .interval("P3D").performanceOrder(PerformanceOrder.SEQUENTIAL).addAssessmentsItem(assessmentA)
+                .addTimeWindowsItem(new TimeWindow().startTime("08:00").expiration("PT6H"))
+                .addTimeWindowsItem(new TimeWindow().startTime("16:00").expiration("PT6H").persistent(true));
+        Session s3 = new Session().name("Session #3").addStartEventIdsItem(FAKE_ENROLLMENT)
+                .performanceOrder(PerformanceOrder.SEQUENTIAL).addAssessmentsItem(assessmentB)
+                .addTimeWindowsItem(new TimeWindow().startTime("08:00").persistent(true));
+        schedule = developersApi.saveScheduleForStudy(studyId, new Schedule2().name("Adherence paging schedule")
+                .duration("P22D").addSessionsItem(s1).addSessionsItem(s3)).execute().body();
+    }
+
+    private AssessmentReference2 assessment(TestUser developer, String title) throws Exception {
+        Assessment assessment = developer.getClient(AssessmentsApi.class).createAssessment(new Assessment()
+                .identifier(Tests.randomIdentifier(getClass())).osName("Universal")
+                .ownerId(developer.getSession().getOrgMembership()).title(title)).execute().body();
+        Cleanup.assessment(assessment.getGuid());
+        return new AssessmentReference2().appId(TEST_APP_ID).identifier(assessment.getIdentifier())
+                .guid(assessment.getGuid());
+    }
+
+    /** An enrolled participant whose fake_enrollment event is the last series. */
+    private Subject participant() throws Exception {
+        TestUser user = Cleanup.user(Tests.createAndSignInUser(AdherencePagingBenchmarkTest.class, true));
+        IsolatedStudy.enroll(studyId, user);
+        Subject subject = new Subject(user);
+        subject.usersApi.createStudyActivityEvent(studyId, new StudyActivityEventRequest()
+                .eventId(FAKE_ENROLLMENT).timestamp(eventTimestamp(series - 1)), true, null).execute();
+        return subject;
+    }
+
+    private static DateTime eventTimestamp(int seriesIndex) {
+        return ENROLLMENT.plusWeeks(seriesIndex);
+    }
+
+    /** The instances (sessions and their assessments) in persistent windows. */
+    private List<String> persistentInstanceGuids(ForConsentedUsersApi usersApi) throws Exception {
+        List<String> guids = new ArrayList<>();
+        for (ScheduledSession session : usersApi.getTimelineForSelf(studyId, null).execute().body().getSchedule()) {
+            if (Boolean.TRUE.equals(session.isPersistent())) {
+                guids.add(session.getInstanceGuid());
+                for (ScheduledAssessment assessment : session.getAssessments()) {
+                    guids.add(assessment.getInstanceGuid());
+                }
+            }
+        }
+        return guids;
+    }
+
+    /**
+     * Bring the subject's records up to this many. Record i is in series i % series, for
+     * persistent instance (i / series) % instances, started i / (series * instances) minutes
+     * after the event, so every record has its own key.
+     */
+    private void seed(Subject subject, int target) throws Exception {
+        int instances = persistentInstanceGuids.size();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int from = subject.seeded; from < target; from += batchSize) {
+                List<AdherenceRecord> records = new ArrayList<>();
+                for (int i = from; i < Math.min(target, from + batchSize); i++) {
+                    DateTime eventTimestamp = eventTimestamp(i % series);
+                    records.add(new AdherenceRecord()
+                            .instanceGuid(persistentInstanceGuids.get((i / series) % instances))
+                            .eventTimestamp(eventTimestamp)
+                            .startedOn(eventTimestamp.plusMinutes(i / (series * instances)))
+                            .clientData("record " + i));
+                }
+                futures.add(executor.submit(() -> {
+                    try {
+                        subject.usersApi.updateAdherenceRecords(studyId, new AdherenceRecordUpdates()
+                                .records(records)).execute();
+                    } catch (Exception e) {
+                        LOG.debug("Could not write adherence records", e);
+                        seedFailures.increment();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            subject.seeded = Math.max(subject.seeded, target);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void measure(List<String> lines, List<String> csv, int size, String scope, Subject subject,
+            List<Variant> variants) throws Exception {
+        lines.add("");
+        lines.add(String.format("%d records, %s (%d searched):", size, scope, subject.seeded));
+        lines.add(String.format("%-24s %8s %8s %8s %8s %8s %10s", "search", "total", "offset", "p50ms", "p95ms",
+                "maxms", "vs first"));
+        for (Variant variant : variants) {
+            double firstPage = 0;
+            int total = -1;
+            for (int offset : offsets(subject, variant)) {
+                LatencyHistogram latency = new LatencyHistogram();
+                for (int i = 0; i < repeats; i++) {
+                    long start = System.nanoTime();
+                    AdherenceRecordList list = subject.usersApi.searchForAdherenceRecords(studyId,
+                            variant.search.get().offsetBy(offset)).execute().body();
+                    latency.record((System.nanoTime() - start) / 1000);
+                    total = list.getTotal();
+                }
+                double p50 = latency.getValueAtPercentile(50) / 1000.0;
+                if (offset == 0) {
+                    firstPage = p50;
+                }
+                double ratio = p50 / Math.max(0.1, firstPage);
+                lines.add(String.format("%-24s %8d %8d %8.1f %8.1f %8.1f %9.1fx", variant.label, total, offset, p50,
+                        latency.getValueAtPercentile(95) / 1000.0, latency.getMax() / 1000.0, ratio));
+                csv.add(String.format("%d,%s,%s,%d,%d,%.1f,%.1f,%.1f,%.2f", size, scope, variant.label, total,
+                        offset, p50, latency.getValueAtPercentile(95) / 1000.0, latency.getMax() / 1000.0, ratio));
+            }
+        }
+    }
+
+    /** The first page, the absolute offsets and the quartiles within the results, and the last page. */
+    private List<Integer> offsets(Subject subject, Variant variant) throws Exception {
+        AdherenceRecordsSearch search = variant.search.get();
+        int total = subject.usersApi.searchForAdherenceRecords(studyId, search).execute().body().getTotal();
+        int pageSize = search.getPageSize();
+        TreeSet<Integer> offsets = new TreeSet<>();
+        offsets.add(0);
+        for (int offset : ABSOLUTE_OFFSETS) {
+            if (offset < total) {
+                offsets.add(offset);
+            }
+        }
+        for (int quarter = 1; quarter <= 3; quarter++) {
+            offsets.add(total * quarter / 4 / pageSize * pageSize);
+        }
+        offsets.add(Math.max(0, (total - 1) / pageSize * pageSize));
+        return new ArrayList<>(offsets);
+    }
+}
@@ -14,7 +14,6 @@ import static org.sagebionetworks.bridge.rest.model.Role.RESEARCHER;
 import static org.sagebionetworks.bridge.rest.model.SortOrder.DESC;
 import static org.sagebionetworks.bridge.sdk.integration.InitListener.CLINIC_VISIT;
 import static org.sagebionetworks.bridge.sdk.integration.InitListener.FAKE_ENROLLMENT;
-import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_1;
 import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
 
 import java.io.IOException;
@@ -33,7 +32,9 @@ import com.google.common.collect.Lists;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.junit.After;
+import org.junit.AfterClass;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 
 import org.sagebionetworks.bridge.rest.RestUtils;
@@ -64,7 +65,6 @@ import org.sagebionetworks.bridge.rest.model.StudyActivityEventRequest;
 import org.sagebionetworks.bridge.rest.model.TimeWindow;
 import org.sagebionetworks.bridge.rest.model.Timeline;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 /**
  * This test is based on the example schedule and timeline that are provided in our 
@@ -87,6 +87,7 @@ public class AdherenceRecordsTest {
     private static final DateTime ENROLLMENT = DateTime.parse("2020-05-10T00:00:00.000Z");
     private static final DateTime T1 = DateTime.parse("2020-05-18T00:00:00.000Z");
     private static final DateTime T2 = DateTime.parse("2020-09-03T00:00:00.000Z");
+    private static String studyId;
     private TestUser developer;
     private TestUser participant;
     private TestUser researcher;
@@ -101,16 +102,26 @@ public class AdherenceRecordsTest {
     private Timeline timeline;
     private ForDevelopersApi developersApi;
     
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        studyId = IsolatedStudy.create(AdherenceRecordsTest.class);
+    }
+    
+    @AfterClass
+    public static void afterClass() throws Exception {
+        IsolatedStudy.delete(AdherenceRecordsTest.class);
+    }
+    
     @Before
     public void before() throws Exception {
-        developer = TestUserHelper.createAndSignInUser(AdherenceRecordsTest.class, false, DEVELOPER);
+        developer = Cleanup.user(Tests.createAndSignInUser(AdherenceRecordsTest.class, false, DEVELOPER));
         developersApi = developer.getClient(ForDevelopersApi.class);
         AssessmentsApi asmtsApi = developer.getClient(AssessmentsApi.class);
         
-        Study study = developersApi.getStudy(STUDY_ID_1).execute().body();
+        Study study = developersApi.getStudy(studyId).execute().body();
         
         // If there's a schedule associated to study 1, we need to delete it.
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         if (study.getScheduleGuid() != null) {
             admin.getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid()).execute();
         }        
@@ -124,6 +135,7 @@ public class AdherenceRecordsTest {
                 .ownerId(developer.getSession().getOrgMembership())
                 .title("Assessment A");
         assessmentA = asmtsApi.createAssessment(assessmentA).execute().body();
+        Cleanup.assessment(assessmentA.getGuid());
         
         assessmentB = new Assessment()
                 .identifier(asmtBTag)
@@ -131,6 +143,7 @@ public class AdherenceRecordsTest {
                 .ownerId(developer.getSession().getOrgMembership())
                 .title("Assessment B");
         assessmentB = asmtsApi.createAssessment(assessmentB).execute().body();
+        Cleanup.assessment(assessmentB.getGuid());
         
         Session s1 = new Session()
                 .name("Session #1")
@@ -167,7 +180,7 @@ public class AdherenceRecordsTest {
                 .addSessionsItem(s1)
                 .addSessionsItem(s2)
                 .addSessionsItem(s3);
-        schedule = developersApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute().body();
+        schedule = developersApi.saveScheduleForStudy(studyId, schedule).execute().body();
         session1 = schedule.getSessions().get(0);
         session2 = schedule.getSessions().get(1);
         session3 = schedule.getSessions().get(2);
@@ -175,32 +188,17 @@ public class AdherenceRecordsTest {
     
     @After
     public void after() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
-        AssessmentsApi assessmentsApi = admin.getClient(AssessmentsApi.class);
+        TestUser admin = Tests.getSignedInAdmin();
         SchedulesV2Api schedulesApi = admin.getClient(SchedulesV2Api.class);
-        if (participant != null) {
-            participant.signOutAndDeleteUser();
-        }
         if (schedule != null && schedule.getGuid() != null) {
             schedulesApi.deleteSchedule(schedule.getGuid()).execute();
         }
-        if (assessmentA != null && assessmentA.getGuid() != null) {
-            assessmentsApi.deleteAssessment(assessmentA.getGuid(), true).execute();
-        }
-        if (assessmentB != null && assessmentB.getGuid() != null) {
-            assessmentsApi.deleteAssessment(assessmentB.getGuid(), true).execute();
-        }
-        if (developer != null) {
-            developer.signOutAndDeleteUser();
-        }
-        if (researcher != null) {
-            researcher.signOutAndDeleteUser();
-        }
     }
 
     @Test
     public void test() throws Exception {
-        participant = TestUserHelper.createAndSignInUser(AdherenceRecordsTest.class, true);
+        participant = Cleanup.user(Tests.createAndSignInUser(AdherenceRecordsTest.class, true));
+        IsolatedStudy.enroll(studyId, participant);
         createAdherenceRecords();
         
         // Everything
@@ -328,31 +326,31 @@ public class AdherenceRecordsTest {
         AdherenceRecordsSearch ars = new AdherenceRecordsSearch().pageSize(20);
         ForConsentedUsersApi usersApi = participant.getClient(ForConsentedUsersApi.class);
 
-        AdherenceRecordList list = usersApi.searchForAdherenceRecords(STUDY_ID_1, ars).execute().body();
+        AdherenceRecordList list = usersApi.searchForAdherenceRecords(studyId, ars).execute().body();
         assertEquals(Integer.valueOf(61), list.getTotal());
         assertEquals(Integer.valueOf(20), list.getRequestParams().getPageSize());
         assertEquals(20, list.getItems().size());
 
         ars.offsetBy(20);
-        list = usersApi.searchForAdherenceRecords(STUDY_ID_1, ars).execute().body();
+        list = usersApi.searchForAdherenceRecords(studyId, ars).execute().body();
         assertEquals(20, list.getItems().size());
         
         ars.offsetBy(40);
-        list = usersApi.searchForAdherenceRecords(STUDY_ID_1, ars).execute().body();
+        list = usersApi.searchForAdherenceRecords(studyId, ars).execute().body();
         assertEquals(20, list.getItems().size());
 
         ars.offsetBy(60);
-        list = usersApi.searchForAdherenceRecords(STUDY_ID_1, ars).execute().body();
+        list = usersApi.searchForAdherenceRecords(studyId, ars).execute().body();
         assertEquals(1, list.getItems().size());
         
         // sort order works
-        list = usersApi.searchForAdherenceRecords(STUDY_ID_1, new AdherenceRecordsSearch()
+        list = usersApi.searchForAdherenceRecords(studyId, new AdherenceRecordsSearch()
                 .addSessionGuidsItem(session3.getGuid())
                 .sortOrder(SortOrder.ASC)).execute().body();
         assertEquals("2020-05-10T00:00:00.000Z", 
                 list.getItems().get(0).getStartedOn().toString());
         
-        list = usersApi.searchForAdherenceRecords(STUDY_ID_1, new AdherenceRecordsSearch()
+        list = usersApi.searchForAdherenceRecords(studyId, new AdherenceRecordsSearch()
                 .addSessionGuidsItem(session3.getGuid())
                 .sortOrder(SortOrder.DESC)).execute().body();
         assertEquals("2020-05-31T00:00:00.000Z", 
@@ -360,7 +358,7 @@ public class AdherenceRecordsTest {
 
         // Test finishing and that they create events.
         instanceGuids = getInstanceGuidsByTag(false, "S1D02W1", "S1D08W1A");
-        list = usersApi.searchForAdherenceRecords(STUDY_ID_1, new AdherenceRecordsSearch()
+        list = usersApi.searchForAdherenceRecords(studyId, new AdherenceRecordsSearch()
                 .instanceGuids(instanceGuids)).execute().body();
         
         DateTime finishedOn = DateTime.now(DateTimeZone.UTC);
@@ -371,10 +369,10 @@ public class AdherenceRecordsTest {
         
         list.getItems().get(0).setFinishedOn(finishedOn);
         list.getItems().get(1).setFinishedOn(finishedOn);
-        usersApi.updateAdherenceRecords(STUDY_ID_1, 
+        usersApi.updateAdherenceRecords(studyId, 
                 new AdherenceRecordUpdates().records(list.getItems())).execute();
         
-        StudyActivityEventList activityList = usersApi.getStudyActivityEvents(STUDY_ID_1)
+        StudyActivityEventList activityList = usersApi.getStudyActivityEvents(studyId)
                 .execute().body();
 
         boolean foundSessionEvent = false;
@@ -393,7 +391,7 @@ public class AdherenceRecordsTest {
 
         // Test optional fields
         instanceGuids = getInstanceGuidsByTag(false, "S1D02W1");
-        list = usersApi.searchForAdherenceRecords(STUDY_ID_1, new AdherenceRecordsSearch()
+        list = usersApi.searchForAdherenceRecords(studyId, new AdherenceRecordsSearch()
                 .instanceGuids(instanceGuids)).execute().body();
         AdherenceRecord record = list.getItems().get(0);
         record.setDeclined(true);
@@ -403,9 +401,9 @@ public class AdherenceRecordsTest {
         map.put("A", "B");
         record.setClientData(map);
 
-        usersApi.updateAdherenceRecords(STUDY_ID_1, new AdherenceRecordUpdates()
+        usersApi.updateAdherenceRecords(studyId, new AdherenceRecordUpdates()
                 .addRecordsItem(record)).execute();
-        list = usersApi.searchForAdherenceRecords(STUDY_ID_1, new AdherenceRecordsSearch()
+        list = usersApi.searchForAdherenceRecords(studyId, new AdherenceRecordsSearch()
                 .instanceGuids(instanceGuids)).execute().body();
         record = list.getItems().get(0);
 
@@ -416,7 +414,7 @@ public class AdherenceRecordsTest {
         assertEquals("B", retValue.get("A"));
         
         // Verify that there are references back to the schedule/timeline for each record
-        list = usersApi.searchForAdherenceRecords(STUDY_ID_1, new AdherenceRecordsSearch()).execute().body();
+        list = usersApi.searchForAdherenceRecords(studyId, new AdherenceRecordsSearch()).execute().body();
         Set<String> sessionGuids = schedule.getSessions().stream().map(Session::getGuid).collect(Collectors.toSet());
         Set<String> assessmentGuids = schedule.getSessions().stream().flatMap(s -> s.getAssessments().stream())
                 .map(AssessmentReference2::getGuid).collect(Collectors.toSet());
@@ -431,10 +429,10 @@ public class AdherenceRecordsTest {
         }
 
         // Deleting an adherence record from a non-persistent time window (tag: S1D02W1)
-        researcher = TestUserHelper.createAndSignInUser(AdherenceRecordsTest.class, false, RESEARCHER);
+        researcher = Cleanup.user(Tests.createAndSignInUser(AdherenceRecordsTest.class, false, RESEARCHER));
         ForResearchersApi researchersApi = researcher.getClient(ForResearchersApi.class);
         
-        researchersApi.deleteAdherenceRecord(STUDY_ID_1, participant.getUserId(),
+        researchersApi.deleteAdherenceRecord(studyId, participant.getUserId(),
                 record.getInstanceGuid(),
                 record.getEventTimestamp(),
                 record.getStartedOn()).execute();
@@ -444,11 +442,11 @@ public class AdherenceRecordsTest {
 
         // Deleting an adherence record from a persistent time window (tag: S1D08W2A)
         instanceGuids = getInstanceGuidsByTag(false, "S1D08W2A");
-        list = usersApi.searchForAdherenceRecords(STUDY_ID_1, new AdherenceRecordsSearch()
+        list = usersApi.searchForAdherenceRecords(studyId, new AdherenceRecordsSearch()
                 .instanceGuids(instanceGuids)).execute().body();
         record = list.getItems().get(0);
 
-        researchersApi.deleteAdherenceRecord(STUDY_ID_1, participant.getUserId(),
+        researchersApi.deleteAdherenceRecord(studyId, participant.getUserId(),
                 record.getInstanceGuid(),
                 record.getEventTimestamp(),
                 record.getStartedOn()).execute();
@@ -459,14 +457,15 @@ public class AdherenceRecordsTest {
     
     @Test
     public void testSessionStateManagement() throws Exception {
-        participant = TestUserHelper.createAndSignInUser(AdherenceRecordsTest.class, true);
+        participant = Cleanup.user(Tests.createAndSignInUser(AdherenceRecordsTest.class, true));
+        IsolatedStudy.enroll(studyId, participant);
         ForConsentedUsersApi usersApi = participant.getClient(ForConsentedUsersApi.class);
         
         // Create the fake enrollment timestamp
-        usersApi.createStudyActivityEvent(STUDY_ID_1, new StudyActivityEventRequest()
+        usersApi.createStudyActivityEvent(studyId, new StudyActivityEventRequest()
                 .eventId(CLINIC_VISIT).timestamp(T1), true, null).execute();
         
-        timeline = usersApi.getTimelineForSelf(STUDY_ID_1, null).execute().body();
+        timeline = usersApi.getTimelineForSelf(studyId, null).execute().body();
         SessionInfo session2 = timeline.getSessions().get(1); // session #2
         String sessionGuid = session2.getGuid();
         
@@ -528,7 +527,7 @@ public class AdherenceRecordsTest {
         assertNull(sessionRecord.getFinishedOn());
         
         
-        Set<String> instanceGuids = usersApi.searchForAdherenceRecords(STUDY_ID_1, 
+        Set<String> instanceGuids = usersApi.searchForAdherenceRecords(studyId, 
                 new AdherenceRecordsSearch().declined(Boolean.TRUE)).execute().body().getItems()
                 .stream().map(AdherenceRecord::getInstanceGuid).collect(Collectors.toSet());
         assertEquals(ImmutableSet.of(asmt1.getInstanceGuid()), instanceGuids);
@@ -543,13 +542,13 @@ public class AdherenceRecordsTest {
         assertNull(sessionRecord.getFinishedOn());
         
         // You can search and retrieve just these declined records.
-        instanceGuids = usersApi.searchForAdherenceRecords(STUDY_ID_1, 
+        instanceGuids = usersApi.searchForAdherenceRecords(studyId, 
                 new AdherenceRecordsSearch().declined(Boolean.TRUE)).execute().body().getItems()
                 .stream().map(AdherenceRecord::getInstanceGuid).collect(Collectors.toSet());
         assertEquals(ImmutableSet.of(asmt1.getInstanceGuid(), asmt2.getInstanceGuid(), 
                 schSession.getInstanceGuid()), instanceGuids);
         
-        instanceGuids = usersApi.searchForAdherenceRecords(STUDY_ID_1, 
+        instanceGuids = usersApi.searchForAdherenceRecords(studyId, 
                 new AdherenceRecordsSearch().declined(Boolean.FALSE)).execute().body().getItems()
                 .stream().map(AdherenceRecord::getInstanceGuid).collect(Collectors.toSet());
         assertTrue(instanceGuids.isEmpty());
@@ -557,14 +556,15 @@ public class AdherenceRecordsTest {
     
     @Test
     public void eventStreamAdherenceReport() throws Exception { 
-        participant = TestUserHelper.createAndSignInUser(AdherenceRecordsTest.class, true);
+        participant = Cleanup.user(Tests.createAndSignInUser(AdherenceRecordsTest.class, true));
+        IsolatedStudy.enroll(studyId, participant);
         ForConsentedUsersApi usersApi = participant.getClient(ForConsentedUsersApi.class);
         
         // Create the fake enrollment timestamp
-        usersApi.createStudyActivityEvent(STUDY_ID_1, new StudyActivityEventRequest()
+        usersApi.createStudyActivityEvent(studyId, new StudyActivityEventRequest()
                 .eventId(CLINIC_VISIT).timestamp(T1), true, null).execute();
 
-        EventStreamAdherenceReport report = usersApi.getUsersStudyParticipantEventStreamAdherenceReport(STUDY_ID_1, DateTime.now(), false).execute().body();
+        EventStreamAdherenceReport report = usersApi.getUsersStudyParticipantEventStreamAdherenceReport(studyId, DateTime.now(), false).execute().body();
         
         List<String> eventIds = report.getStreams().stream().map(EventStream::getStartEventId).collect(Collectors.toList());
         assertEquals(ImmutableList.of("custom:clinic_visit", "custom:fake_enrollment"), eventIds);
@@ -581,18 +581,18 @@ public class AdherenceRecordsTest {
         AdherenceRecord record1 = new AdherenceRecord().instanceGuid(instanceGuid)
                 .eventTimestamp(T1)
                 .startedOn(startedOn).finishedOn(finishedOn);
-        usersApi.updateAdherenceRecords(STUDY_ID_1, new AdherenceRecordUpdates().addRecordsItem(record1)).execute();
+        usersApi.updateAdherenceRecords(studyId, new AdherenceRecordUpdates().addRecordsItem(record1)).execute();
 
     }
 
     private void declineAssessmentRecord(ForConsentedUsersApi usersApi, String instanceGuid) throws Exception {
         AdherenceRecord record1 = new AdherenceRecord().instanceGuid(instanceGuid)
                 .eventTimestamp(T1).declined(true);
-        usersApi.updateAdherenceRecords(STUDY_ID_1, new AdherenceRecordUpdates().addRecordsItem(record1)).execute();
+        usersApi.updateAdherenceRecords(studyId, new AdherenceRecordUpdates().addRecordsItem(record1)).execute();
     }
     
     private AdherenceRecord getSessionRecord(ForConsentedUsersApi usersApi, String instanceGuid) throws Exception {
-        return usersApi.searchForAdherenceRecords(STUDY_ID_1, 
+        return usersApi.searchForAdherenceRecords(studyId, 
                 new AdherenceRecordsSearch().addInstanceGuidsItem(instanceGuid))
                 .execute().body().getItems().get(0);
     }
@@ -608,10 +608,10 @@ public class AdherenceRecordsTest {
         ForConsentedUsersApi usersApi = participant.getClient(ForConsentedUsersApi.class);
         
         // Create the fake enrollment timestamp
-        usersApi.createStudyActivityEvent(STUDY_ID_1, new StudyActivityEventRequest()
+        usersApi.createStudyActivityEvent(studyId, new StudyActivityEventRequest()
                 .eventId(FAKE_ENROLLMENT).timestamp(ENROLLMENT), true, null).execute();
         
-        timeline = usersApi.getTimelineForSelf(STUDY_ID_1, null).execute().body(); 
+        timeline = usersApi.getTimelineForSelf(studyId, null).execute().body(); 
 
         // SESSION 1
         List<ScheduledSession> sessions = getScheduledSessions(timeline, session1.getGuid());
@@ -634,7 +634,7 @@ public class AdherenceRecordsTest {
         sessions = getScheduledSessions(timeline, session2.getGuid());
         
         // FIRST SERIES
-        usersApi.createStudyActivityEvent(STUDY_ID_1, new StudyActivityEventRequest()
+        usersApi.createStudyActivityEvent(studyId, new StudyActivityEventRequest()
                 .eventId(CLINIC_VISIT).timestamp(T1), true, null).execute();
         session2Data(usersApi, sessions.get(0), T1, "T1", "D00", "05-18");
         session2Data(usersApi, sessions.get(1), T1, "T1", "D07", "05-25");
@@ -642,7 +642,7 @@ public class AdherenceRecordsTest {
         session2Data(usersApi, sessions.get(3), T1, "T1", "D21", "06-08");
 
         // SECOND SERIES
-        usersApi.createStudyActivityEvent(STUDY_ID_1, new StudyActivityEventRequest()
+        usersApi.createStudyActivityEvent(studyId, new StudyActivityEventRequest()
                 .eventId(CLINIC_VISIT).timestamp(T2), true, null).execute();
         session2Data(usersApi, sessions.get(0), T2, "T2", "D00", "09-03");
         session2Data(usersApi, sessions.get(1), T2, "T2", "D07", "09-10");
@@ -653,7 +653,7 @@ public class AdherenceRecordsTest {
         sessions = getScheduledSessions(timeline, session3.getGuid());
         
         // one session record...
-        usersApi.updateAdherenceRecords(STUDY_ID_1, new AdherenceRecordUpdates()
+        usersApi.updateAdherenceRecords(studyId, new AdherenceRecordUpdates()
                 .addRecordsItem(new AdherenceRecord()
                 .instanceGuid(sessions.get(0).getInstanceGuid())
                 .clientData("S3D00W1")
@@ -673,14 +673,14 @@ public class AdherenceRecordsTest {
     private void session1Data(ForConsentedUsersApi usersApi, ScheduledSession session, 
             String day, String window, String monthAndDay, String...hoursOfDay) throws IOException {
         
-        usersApi.updateAdherenceRecords(STUDY_ID_1, new AdherenceRecordUpdates()
+        usersApi.updateAdherenceRecords(studyId, new AdherenceRecordUpdates()
                 .addRecordsItem(new AdherenceRecord()
                 .instanceGuid(session.getInstanceGuid())
                 .eventTimestamp(ENROLLMENT)
                 .clientData("S1" + day + window)
                 .startedOn(getTimestamp(monthAndDay, hoursOfDay[0])))).execute();
         for (String hod : hoursOfDay) {
-            usersApi.updateAdherenceRecords(STUDY_ID_1, new AdherenceRecordUpdates()
+            usersApi.updateAdherenceRecords(studyId, new AdherenceRecordUpdates()
                     .addRecordsItem(new AdherenceRecord()
                     .instanceGuid(session.getAssessments().get(0).getInstanceGuid())
                     .eventTimestamp(ENROLLMENT)
@@ -691,7 +691,7 @@ public class AdherenceRecordsTest {
     private void session2Data(ForConsentedUsersApi usersApi, ScheduledSession session, 
             DateTime eventTimestamp, String eventTimestampTag, String day, String monthAndDay) throws IOException {
         
-        usersApi.updateAdherenceRecords(STUDY_ID_1, new AdherenceRecordUpdates()
+        usersApi.updateAdherenceRecords(studyId, new AdherenceRecordUpdates()
             .addRecordsItem(new AdherenceRecord()
                 .instanceGuid(session.getInstanceGuid())
                 .eventTimestamp(eventTimestamp)
@@ -710,7 +710,7 @@ public class AdherenceRecordsTest {
     }
     private void session3Data(ForConsentedUsersApi usersApi, 
             ScheduledSession session, String day, String monthAndDay) throws IOException {
-        usersApi.updateAdherenceRecords(STUDY_ID_1, new AdherenceRecordUpdates()
+        usersApi.updateAdherenceRecords(studyId, new AdherenceRecordUpdates()
             .addRecordsItem(new AdherenceRecord()
                 .instanceGuid(session.getAssessments().get(0).getInstanceGuid())
                 .clientData("S3" + day + "W1B")
@@ -726,7 +726,7 @@ public class AdherenceRecordsTest {
     private void assertRecords(AdherenceRecordsSearch search, String... expectedTags) throws Exception {
         ForConsentedUsersApi usersApi = participant.getClient(ForConsentedUsersApi.class);
         AdherenceRecordList list = usersApi.searchForAdherenceRecords(
-                STUDY_ID_1, search).execute().body();
+                studyId, search).execute().body();
         // There will be duplicates so this has to be a list.
         List<String> tags = list.getItems().stream()
                 .map(ar -> (String)ar.getClientData())
@@ -739,7 +739,7 @@ public class AdherenceRecordsTest {
     private void assertRecordsAndTimestamps(AdherenceRecordsSearch search, String... expectedTags) throws Exception {
         ForConsentedUsersApi usersApi = participant.getClient(ForConsentedUsersApi.class);
         AdherenceRecordList list = usersApi.searchForAdherenceRecords(
-                STUDY_ID_1, search).execute().body();
+                studyId, search).execute().body();
         // There will be duplicates so this has to be a list.
         List<String> tags = list.getItems().stream()
                 .map(ar -> (String)ar.getClientData() + "@" + ar.getStartedOn())
@@ -755,7 +755,7 @@ public class AdherenceRecordsTest {
         AdherenceRecordsSearch search = new AdherenceRecordsSearch().pageSize(500);
         ForConsentedUsersApi usersApi = participant.getClient(ForConsentedUsersApi.class);
         AdherenceRecordList list = usersApi.searchForAdherenceRecords(
-                STUDY_ID_1, search).execute().body();
+                studyId, search).execute().body();
         
         List<String> array = new ArrayList<>();
         for (AdherenceRecord record : list.getItems()) {
@@ -0,0 +1,348 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.reflect.ClassPath;
+import okhttp3.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import retrofit2.Call;
+import retrofit2.Response;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.HTTP;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+import org.sagebionetworks.bridge.rest.exceptions.BridgeSDKException;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * Records the latency, status code and payload sizes of every call made through an
+ * instrumented client, keyed by route template (e.g.
+ * {@code GET /v5/studies/{id}/participants/{id}/timeline}) and by the test class that made
+ * the call. InitListener writes a p50/p95/p99/max report to {@code target/api-latency.txt}
+ * at the end of the run, so every functional run doubles as a performance measurement of
+ * the server.
+ *
+ * The rest client does not expose its OkHttp interceptor chain, so instead the Retrofit
+ * service interfaces returned by {@link TestUser#getClient(Class)} are wrapped in a proxy
+ * that times {@code Call.execute()}. Use {@link #instrument(TestUser)} (or
+ * {@link Tests#getSignedInAdmin()} and {@code Tests.createAndSignInUser()}, which do this for
+ * you) to get such a user.
+ */
+public class ApiMetrics {
+    private static final Logger LOG = LoggerFactory.getLogger(ApiMetrics.class);
+
+    public static final String REPORT_FILE_PROPERTY = "apiMetrics.report";
+    private static final String DEFAULT_REPORT_FILE = "target/api-latency.txt";
+    private static final String TEST_PACKAGE = ApiMetrics.class.getPackage().getName() + ".";
+    private static final String UNKNOWN_CLASS = "(outside of a test class)";
+    private static final int LOGGED_ROUTES = 10;
+
+    // A path segment is kept if it is a version prefix (v3, v5...) or a literal segment of one of the
+    // rest client's routes; anything else is an identifier. Random identifiers made only of letters
+    // (RandomStringUtils.randomAlphabetic, Tests.randomIdentifier) are collapsed too.
+    private static final Pattern VERSION_SEGMENT = Pattern.compile("v\\d+");
+    private static final Pattern LITERAL_SEGMENT = Pattern.compile("[A-Za-z]+");
+    private static final String API_PACKAGE = "org.sagebionetworks.bridge.rest.api";
+
+    private static final Map<String, RouteStats> ROUTES = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> CLASSES = new ConcurrentHashMap<>();
+
+    /** Everything recorded for one route. */
+    static final class RouteStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        final LongAdder requestBytes = new LongAdder();
+        final LongAdder responseBytes = new LongAdder();
+
+        void record(long micros, int statusCode, long requestSize, long responseSize) {
+            latency.record(micros);
+            statusCodes.computeIfAbsent(statusCode, k -> new LongAdder()).increment();
+            if (requestSize > 0) {
+                requestBytes.add(requestSize);
+            }
+            if (responseSize > 0) {
+                responseBytes.add(responseSize);
+            }
+        }
+    }
+
+    /** Returns a user whose API clients record every call they make. */
+    public static TestUser instrument(TestUser user) {
+        if (user == null || user instanceof InstrumentedTestUser) {
+            return user;
+        }
+        return new InstrumentedTestUser(user);
+    }
+
+    /** Wrap a Retrofit service so that every call it returns is measured. */
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> service, T client) {
+        if (client == null || Proxy.isProxyClass(client.getClass())
+                && Proxy.getInvocationHandler(client) instanceof ServiceHandler) {
+            return client;
+        }
+        return (T) Proxy.newProxyInstance(service.getClassLoader(), new Class<?>[] { service },
+                new ServiceHandler(client));
+    }
+
+    private static final class ServiceHandler implements InvocationHandler {
+        private final Object target;
+
+        ServiceHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Call) {
+                return wrapCall((Call<?>) result);
+            }
+            return result;
+        }
+    }
+
+    private static Call<?> wrapCall(Call<?> call) {
+        return (Call<?>) Proxy.newProxyInstance(Call.class.getClassLoader(), new Class<?>[] { Call.class },
+                new CallHandler(call));
+    }
+
+    private static final class CallHandler implements InvocationHandler {
+        private final Call<?> target;
+
+        CallHandler(Call<?> target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("clone".equals(method.getName()) && method.getParameterCount() == 0) {
+                return wrapCall(target.clone());
+            }
+            if (!"execute".equals(method.getName()) || method.getParameterCount() != 0) {
+                return invokeTarget(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                Response<?> response = target.execute();
+                long micros = (System.nanoTime() - start) / 1000;
+                record(target.request(), micros, response.code(), responseSize(response));
+                return response;
+            } catch (BridgeSDKException e) {
+                // The client turns error responses into exceptions, but they are still server calls.
+                record(target.request(), (System.nanoTime() - start) / 1000, e.getStatusCode(), -1);
+                throw e;
+            } catch (IOException e) {
+                record(target.request(), (System.nanoTime() - start) / 1000, 0, -1);
+                throw e;
+            }
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    static void record(Request request, long micros, int statusCode, long responseSize) {
+        String route = request.method() + " " + normalize(request.url().encodedPath());
+        ROUTES.computeIfAbsent(route, k -> new RouteStats()).record(micros, statusCode, requestSize(request),
+                responseSize);
+        CLASSES.computeIfAbsent(callingTestClass(), k -> new LatencyHistogram()).record(micros);
+    }
+
+    /** Replace the identifiers in a path with {id}, so calls to the same endpoint are grouped together. */
+    static String normalize(String path) {
+        String[] segments = path.split("/", -1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i < segments.length; i++) {
+            String segment = segments[i];
+            sb.append("/");
+            if (segment.isEmpty() || VERSION_SEGMENT.matcher(segment).matches() || isLiteral(segment)) {
+                sb.append(segment);
+            } else {
+                sb.append("{id}");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isLiteral(String segment) {
+        Set<String> literals = RouteVocabulary.LITERALS;
+        // Without the rest client's interfaces on the classpath, fall back to treating words as literals.
+        return literals.isEmpty() ? LITERAL_SEGMENT.matcher(segment).matches() : literals.contains(segment);
+    }
+
+    /** The literal path segments of every route declared on the rest client's service interfaces. */
+    private static final class RouteVocabulary {
+        static final Set<String> LITERALS = load();
+
+        private static Set<String> load() {
+            ImmutableSet.Builder<String> literals = ImmutableSet.builder();
+            try {
+                for (ClassPath.ClassInfo info : ClassPath.from(ApiMetrics.class.getClassLoader())
+                        .getTopLevelClasses(API_PACKAGE)) {
+                    for (Method method : info.load().getMethods()) {
+                        for (String template : routeTemplates(method)) {
+                            for (String segment : template.split("/")) {
+                                if (!segment.isEmpty() && !segment.contains("{")) {
+                                    literals.add(segment);
+                                }
+                            }
+                        }
+                    }
+                }
+            } catch (IOException | LinkageError e) {
+                LOG.warn("Could not read the rest client's routes, path segments made of letters are kept", e);
+            }
+            return literals.build();
+        }
+
+        private static List<String> routeTemplates(Method method) {
+            List<String> templates = new ArrayList<>();
+            if (method.isAnnotationPresent(GET.class)) {
+                templates.add(method.getAnnotation(GET.class).value());
+            }
+            if (method.isAnnotationPresent(POST.class)) {
+                templates.add(method.getAnnotation(POST.class).value());
+            }
+            if (method.isAnnotationPresent(PUT.class)) {
+                templates.add(method.getAnnotation(PUT.class).value());
+            }
+            if (method.isAnnotationPresent(DELETE.class)) {
+                templates.add(method.getAnnotation(DELETE.class).value());
+            }
+            if (method.isAnnotationPresent(PATCH.class)) {
+                templates.add(method.getAnnotation(PATCH.class).value());
+            }
+            if (method.isAnnotationPresent(HTTP.class)) {
+                templates.add(method.getAnnotation(HTTP.class).path());
+            }
+            return templates;
+        }
+    }
+
+    private static long requestSize(Request request) {
+        try {
+            return (request.body() == null) ? 0 : request.body().contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long responseSize(Response<?> response) {
+        String contentLength = response.raw().header("Content-Length");
+        if (contentLength != null) {
+            try {
+                return Long.parseLong(contentLength);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return (response.raw().body() == null) ? -1 : response.raw().body().contentLength();
+    }
+
+    /** The outermost test class on the stack, so calls made from helpers are charged to the test. */
+    private static String callingTestClass() {
+        StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+        for (int i = stack.length - 1; i >= 0; i--) {
+            String className = stack[i].getClassName();
+            if (className.startsWith(TEST_PACKAGE) && className.endsWith("Test")) {
+                return className.substring(TEST_PACKAGE.length());
+            }
+        }
+        return UNKNOWN_CLASS;
+    }
+
+    /** The number of calls recorded so far. */
+    static long getCallCount() {
+        long count = 0;
+        for (RouteStats stats : ROUTES.values()) {
+            count += stats.latency.getCount();
+        }
+        return count;
+    }
+
+    /** The latency of each route recorded so far. */
+    static Map<String, LatencyHistogram> getRouteLatencies() {
+        Map<String, LatencyHistogram> latencies = new TreeMap<>();
+        for (Map.Entry<String, RouteStats> entry : ROUTES.entrySet()) {
+            latencies.put(entry.getKey(), entry.getValue().latency);
+        }
+        return latencies;
+    }
+
+    /** Write the per-route and per-class report, and log the slowest routes. Called by InitListener. */
+    static void writeReport() throws IOException {
+        if (ROUTES.isEmpty()) {
+            return;
+        }
+        Map<String, RouteStats> routes = new TreeMap<>(ROUTES);
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-80s %7s %8s %8s %8s %8s %10s %10s  %s", "Route", "count", "p50ms", "p95ms",
+                "p99ms", "maxms", "reqKB", "respKB", "status codes"));
+        for (Map.Entry<String, RouteStats> entry : routes.entrySet()) {
+            RouteStats stats = entry.getValue();
+            lines.add(String.format("%-80s %s %10.1f %10.1f  %s", entry.getKey(), percentiles(stats.latency),
+                    stats.requestBytes.sum() / 1024.0, stats.responseBytes.sum() / 1024.0,
+                    new TreeMap<>(stats.statusCodes)));
+        }
+        lines.add("");
+        lines.add(String.format("%-80s %7s %8s %8s %8s %8s", "Test class", "count", "p50ms", "p95ms", "p99ms",
+                "maxms"));
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(CLASSES).entrySet()) {
+            lines.add(String.format("%-80s %s", entry.getKey(), percentiles(entry.getValue())));
+        }
+
+        Path path = Paths.get(System.getProperty(REPORT_FILE_PROPERTY, DEFAULT_REPORT_FILE));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+            }
+        }
+
+        List<Map.Entry<String, RouteStats>> slowest = new ArrayList<>(routes.entrySet());
+        slowest.sort((a, b) -> Long.compare(b.getValue().latency.getValueAtPercentile(95),
+                a.getValue().latency.getValueAtPercentile(95)));
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, RouteStats> entry : slowest.subList(0, Math.min(LOGGED_ROUTES, slowest.size()))) {
+            sb.append(String.format("%n  %-80s %s", entry.getKey(), percentiles(entry.getValue().latency)));
+        }
+        LOG.info("Slowest routes by p95 (count p50 p95 p99 max), full report in {}:{}", path, sb);
+    }
+
+    static String percentiles(LatencyHistogram histogram) {
+        return String.format("%7d %8.1f %8.1f %8.1f %8.1f", histogram.getCount(),
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getMax() / 1000.0);
+    }
+}
@@ -0,0 +1,38 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/** Checks how ApiMetrics groups calls into routes, which needs no server. */
+public class ApiMetricsTest {
+
+    @Test
+    public void keepsVersionsAndLiteralSegments() {
+        assertEquals("/v3/participants/self", ApiMetrics.normalize("/v3/participants/self"));
+        assertEquals("/v5/studies", ApiMetrics.normalize("/v5/studies"));
+    }
+
+    @Test
+    public void collapsesNumericSegments() {
+        assertEquals("/v3/participants/{id}", ApiMetrics.normalize("/v3/participants/12345"));
+    }
+
+    @Test
+    public void collapsesGuidSegments() {
+        assertEquals("/v5/schedules/{id}",
+                ApiMetrics.normalize("/v5/schedules/0c2a7c56-2bd1-4ed5-9c3e-1b7f5e9f4a11"));
+    }
+
+    @Test
+    public void collapsesRandomAlphabeticSegments() {
+        assertEquals("/v5/studies/{id}/schedule", ApiMetrics.normalize("/v5/studies/XkQpLmNz/schedule"));
+        assertEquals("/v5/studies/{id}/schedule",
+                ApiMetrics.normalize("/v5/studies/sdk-apimetricstest-qwert/schedule"));
+    }
+
+    @Test
+    public void keepsATrailingSlash() {
+        assertEquals("/v3/participants/{id}/", ApiMetrics.normalize("/v3/participants/12345/"));
+    }
+}
@@ -21,7 +21,6 @@ import org.sagebionetworks.bridge.rest.model.Role;
 import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.rest.model.VersionHolder;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 @SuppressWarnings("ConstantConditions")
 public class AppConfigElementTest {
@@ -34,8 +33,8 @@ public class AppConfigElementTest {
 
     @Before
     public void before() throws IOException {
-        developer = TestUserHelper.createAndSignInUser(AppConfigElementTest.class, false, Role.DEVELOPER);
-        admin = TestUserHelper.getSignedInAdmin();
+        developer = Tests.createAndSignInUser(AppConfigElementTest.class, false, Role.DEVELOPER);
+        admin = Tests.getSignedInAdmin();
         id = Tests.randomIdentifier(getClass());
         id2 = Tests.randomIdentifier(getClass());
         adminConfigsApi = admin.getClient(AppConfigsApi.class);
@@ -96,10 +96,10 @@ public class AppConfigTest {
     
     @Before
     public void before() throws IOException {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         
-        developer = TestUserHelper.createAndSignInUser(AppConfigTest.class, false, Role.DEVELOPER);
-        // user = TestUserHelper.createAndSignInUser(AppConfigTest.class, true);
+        developer = Tests.createAndSignInUser(AppConfigTest.class, false, Role.DEVELOPER);
+        // user = Tests.createAndSignInUser(AppConfigTest.class, true);
         
         admin.getClient(OrganizationsApi.class).addMember(ORG_ID_1, developer.getUserId()).execute();
 
@@ -291,7 +291,7 @@ public class AppConfigTest {
         configsToDelete.add(holder.getGuid());
         
         // Let's verify resolution of the identifiers...
-        user = TestUserHelper.createAndSignInUser(AppConfigTest.class, true);
+        user = Tests.createAndSignInUser(AppConfigTest.class, true);
         AppConfig resolvedAppConfig = user.getClient(ForConsentedUsersApi.class)
                 .getConfigForApp(user.getAppId()).execute().body();
         AssessmentReference retAssessmentRef = resolvedAppConfig.getAssessmentReferences().get(0);
@@ -454,8 +454,8 @@ public class AppConfigTest {
             .deviceName("SomeAndroid").osName("Android").osVersion("2.0.0")
             .sdkName(developer.getClientManager().getClientInfo().getSdkName())
             .sdkVersion(developer.getClientManager().getClientInfo().getSdkVersion());
-        user = new TestUserHelper.Builder(AppConfigTest.class)
-                .withClientInfo(clientInfo).createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(AppConfigTest.class)
+                .withClientInfo(clientInfo).createAndSignInUser());
         
         String elementId = Tests.randomIdentifier(getClass());
         // Create an app config element
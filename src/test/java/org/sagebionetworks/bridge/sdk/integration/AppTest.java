@@ -70,7 +70,6 @@ import org.sagebionetworks.bridge.rest.model.UploadSession;
 import org.sagebionetworks.bridge.rest.model.UploadValidationStrictness;
 import org.sagebionetworks.bridge.rest.model.VersionHolder;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 @SuppressWarnings({ "ConstantConditions", "deprecation" })
 public class AppTest {
@@ -92,7 +91,7 @@ public class AppTest {
 
     @Before
     public void before() throws IOException {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         // This signs out our admin since it uses the same credentials.
         // synapseClient = Tests.getSynapseClient();
     }
@@ -117,7 +116,7 @@ public class AppTest {
     @Ignore
     public void createSynapseProjectTeam() throws IOException, SynapseException {
         // only use developer to signin
-        TestUser developer = TestUserHelper.createAndSignInUser(AppTest.class, false, DEVELOPER);
+        TestUser developer = Tests.createAndSignInUser(AppTest.class, false, DEVELOPER);
         try {
             AppsApi appsApi = developer.getClient(AppsApi.class);
 
@@ -335,7 +334,7 @@ public class AppTest {
 
     @Test
     public void researcherCannotAccessAnotherApp() throws Exception {
-        TestUser researcher = TestUserHelper.createAndSignInUser(AppTest.class, false, RESEARCHER);
+        TestUser researcher = Tests.createAndSignInUser(AppTest.class, false, RESEARCHER);
         try {
             appId = Tests.randomIdentifier(getClass());
             App app = Tests.getApp(appId, null);
@@ -358,7 +357,7 @@ public class AppTest {
 
     @Test(expected = UnauthorizedException.class)
     public void butNormalUserCannotAccessApp() throws Exception {
-        TestUser user = TestUserHelper.createAndSignInUser(AppTest.class, false);
+        TestUser user = Tests.createAndSignInUser(AppTest.class, false);
         try {
             AppsApi appsApi = user.getClient(AppsApi.class);
             appsApi.getUsersApp().execute();
@@ -369,7 +368,7 @@ public class AppTest {
 
     @Test
     public void developerCannotChangeAdminOnlySettings() throws Exception {
-        TestUser developer = TestUserHelper.createAndSignInUser(AppTest.class, false, DEVELOPER);
+        TestUser developer = Tests.createAndSignInUser(AppTest.class, false, DEVELOPER);
         try {
             AppsApi appsApi = developer.getClient(AppsApi.class);
 
@@ -402,7 +401,7 @@ public class AppTest {
     @Test
     public void resendVerifyConsentNotificationEmail() throws Exception {
         // We currently can't check an email address as part of a test. Just verify that the call succeeds.
-        TestUser developer = TestUserHelper.createAndSignInUser(AppTest.class, false, DEVELOPER);
+        TestUser developer = Tests.createAndSignInUser(AppTest.class, false, DEVELOPER);
         try {
             AppsApi appsApi = developer.getClient(AppsApi.class);
             Response<Message> response = appsApi.resendVerifyEmail("consent_notification").execute();
@@ -572,7 +571,7 @@ public class AppTest {
             app.getMinSupportedAppVersions().put("Android", 1);
             superadminApi.updateApp(TEST_APP_ID, app).execute();
         }
-        TestUser user = TestUserHelper.createAndSignInUser(AppTest.class, true);
+        TestUser user = Tests.createAndSignInUser(AppTest.class, true);
         try {
 
             // This is a version zero client, it should not be accepted
@@ -602,9 +601,9 @@ public class AppTest {
 
     @Test
     public void getAppUploads() throws Exception {
-        TestUser developer = TestUserHelper.createAndSignInUser(AppTest.class, false, DEVELOPER);
-        TestUser user = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true);
-        TestUser user2 = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true);
+        TestUser developer = Tests.createAndSignInUser(AppTest.class, false, DEVELOPER);
+        TestUser user = Tests.createAndSignInUser(ParticipantsTest.class, true);
+        TestUser user2 = Tests.createAndSignInUser(ParticipantsTest.class, true);
         try {
             UploadsApi adminUploadsApi = admin.getClient(UploadsApi.class);
             DateTime startTime = DateTime.now(DateTimeZone.UTC).minusHours(2);
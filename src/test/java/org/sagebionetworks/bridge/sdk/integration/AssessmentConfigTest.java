@@ -53,9 +53,10 @@ public class AssessmentConfigTest {
         id = randomIdentifier(AssessmentTest.class);
         markerTag = "test:" + randomIdentifier(AssessmentTest.class);
 
-        developer = new TestUserHelper.Builder(AssessmentTest.class).withRoles(DEVELOPER).createAndSignInUser();
+        developer = ApiMetrics.instrument(new TestUserHelper.Builder(AssessmentTest.class).withRoles(DEVELOPER)
+                .createAndSignInUser());
 
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         OrganizationsApi orgsApi = admin.getClient(OrganizationsApi.class);
         orgsApi.addMember(ORG_ID_1, developer.getUserId()).execute();
         
@@ -67,7 +68,7 @@ public class AssessmentConfigTest {
         if (developer != null) {
             developer.signOutAndDeleteUser();            
         }
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         AssessmentsApi api = admin.getClient(AssessmentsApi.class);
         SharedAssessmentsApi sharedApi = admin.getClient(SharedAssessmentsApi.class);
 
@@ -37,9 +37,10 @@ public class AssessmentIdentifierChangeTest {
         id = randomIdentifier(AssessmentTest.class);
         markerTag = "test:" + randomIdentifier(AssessmentTest.class);
 
-        developer = new TestUserHelper.Builder(AssessmentTest.class).withRoles(DEVELOPER).createAndSignInUser();
+        developer = ApiMetrics.instrument(new TestUserHelper.Builder(AssessmentTest.class).withRoles(DEVELOPER)
+                .createAndSignInUser());
 
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         OrganizationsApi orgsApi = admin.getClient(OrganizationsApi.class);
         orgsApi.addMember(ORG_ID_1, developer.getUserId()).execute();
         
@@ -51,7 +52,7 @@ public class AssessmentIdentifierChangeTest {
         if (developer != null) {
             developer.signOutAndDeleteUser();            
         }
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         AssessmentsApi api = admin.getClient(AssessmentsApi.class);
         SharedAssessmentsApi sharedApi = admin.getClient(SharedAssessmentsApi.class);
         
@@ -58,7 +58,7 @@ public class AssessmentResourceTest {
     @Before
     public void before() throws Exception {
         id = randomIdentifier(AssessmentResourceTest.class);
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         orgsApi = admin.getClient(OrganizationsApi.class);
     }
 
@@ -77,7 +77,7 @@ public class AssessmentResourceTest {
             studyDesignerOrg2.signOutAndDeleteUser();
         }
 
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         AssessmentsApi api = admin.getClient(AssessmentsApi.class);
         SharedAssessmentsApi sharedApi = admin.getClient(SharedAssessmentsApi.class);
 
@@ -97,11 +97,13 @@ public class AssessmentResourceTest {
 
     @Test
     public void testForDeveloper() throws Exception {
-        developerOrg1 = new TestUserHelper.Builder(AssessmentResourceTest.class).withRoles(DEVELOPER).createAndSignInUser();
+        developerOrg1 = ApiMetrics.instrument(new TestUserHelper.Builder(AssessmentResourceTest.class)
+                .withRoles(DEVELOPER).createAndSignInUser());
         orgsApi.addMember(ORG_ID_1, developerOrg1.getUserId()).execute();
         
-        developerOrg2 = new TestUserHelper.Builder(AssessmentResourceTest.class).withRoles(DEVELOPER)
-                .createAndSignInUser();
+        developerOrg2 = ApiMetrics.instrument(new TestUserHelper.Builder(AssessmentResourceTest.class)
+                .withRoles(DEVELOPER)
+                .createAndSignInUser());
         orgsApi.addMember(ORG_ID_2, developerOrg2.getUserId()).execute();
         
         assessmentApiOrg1 = developerOrg1.getClient(AssessmentsApi.class);
@@ -307,11 +309,13 @@ public class AssessmentResourceTest {
     
     @Test
     public void testForStudyDesigner() throws Exception {
-        studyDesignerOrg1 = new TestUserHelper.Builder(AssessmentResourceTest.class).withRoles(STUDY_DESIGNER).createAndSignInUser();
+        studyDesignerOrg1 = ApiMetrics.instrument(new TestUserHelper.Builder(AssessmentResourceTest.class)
+                .withRoles(STUDY_DESIGNER).createAndSignInUser());
         orgsApi.addMember(ORG_ID_1, studyDesignerOrg1.getUserId()).execute();
         
-        studyDesignerOrg2 = new TestUserHelper.Builder(AssessmentResourceTest.class).withRoles(STUDY_DESIGNER)
-                .createAndSignInUser();
+        studyDesignerOrg2 = ApiMetrics.instrument(new TestUserHelper.Builder(AssessmentResourceTest.class)
+                .withRoles(STUDY_DESIGNER)
+                .createAndSignInUser());
         orgsApi.addMember(ORG_ID_2, studyDesignerOrg2.getUserId()).execute();
         
         assessmentApiOrg1 = studyDesignerOrg1.getClient(AssessmentsApi.class);
@@ -87,7 +87,7 @@ public class AssessmentTest {
         id = randomIdentifier(AssessmentTest.class);
         markerTag = "test:" + randomIdentifier(AssessmentTest.class);
 
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         orgsApi = admin.getClient(OrganizationsApi.class);
     }
     
@@ -105,7 +105,7 @@ public class AssessmentTest {
         if (studyDesignerOrg2 != null) {
             studyDesignerOrg2.signOutAndDeleteUser();
         }
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         AssessmentsApi api = admin.getClient(AssessmentsApi.class);
         SharedAssessmentsApi sharedApi = admin.getClient(SharedAssessmentsApi.class);
         
@@ -135,10 +135,12 @@ public class AssessmentTest {
     
     @Test
     public void testForDeveloper() throws Exception {
-        devOrg1 = new TestUserHelper.Builder(AssessmentTest.class).withRoles(DEVELOPER).createAndSignInUser();
+        devOrg1 = ApiMetrics.instrument(new TestUserHelper.Builder(AssessmentTest.class).withRoles(DEVELOPER)
+                .createAndSignInUser());
         orgsApi.addMember(ORG_ID_1, devOrg1.getUserId()).execute();
         
-        devOrg2 = new TestUserHelper.Builder(AssessmentTest.class).withRoles(DEVELOPER).createAndSignInUser();
+        devOrg2 = ApiMetrics.instrument(new TestUserHelper.Builder(AssessmentTest.class).withRoles(DEVELOPER)
+                .createAndSignInUser());
         orgsApi.addMember(ORG_ID_2, devOrg2.getUserId()).execute();
         
         assessmentApiOrg1 = devOrg1.getClient(AssessmentsApi.class);
@@ -338,12 +340,12 @@ public class AssessmentTest {
             assertTrue(e.getMessage().contains("Assessment exists in shared library under a different owner"));
         } finally {
             if (otherAssessment != null) {
-                TestUser admin = TestUserHelper.getSignedInAdmin();
+                TestUser admin = Tests.getSignedInAdmin();
                 admin.getClient(AssessmentsApi.class).deleteAssessment(otherAssessment.getGuid(), true).execute();
             }
         }
         
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         AuthenticationApi authApi = admin.getClient(AuthenticationApi.class);
         SharedAssessmentsApi adminSharedApi = admin.getClient(SharedAssessmentsApi.class);
 
@@ -560,10 +562,12 @@ public class AssessmentTest {
     // Study designers cannot work across the ownership boundary
     @Test
     public void testForStudyDesigner() throws Exception {
-        studyDesignerOrg1 = new TestUserHelper.Builder(AssessmentTest.class).withRoles(STUDY_DESIGNER).createAndSignInUser();
+        studyDesignerOrg1 = ApiMetrics.instrument(new TestUserHelper.Builder(AssessmentTest.class)
+                .withRoles(STUDY_DESIGNER).createAndSignInUser());
         orgsApi.addMember(ORG_ID_1, studyDesignerOrg1.getUserId()).execute();
         
-        studyDesignerOrg2 = new TestUserHelper.Builder(AssessmentTest.class).withRoles(STUDY_DESIGNER).createAndSignInUser();
+        studyDesignerOrg2 = ApiMetrics.instrument(new TestUserHelper.Builder(AssessmentTest.class)
+                .withRoles(STUDY_DESIGNER).createAndSignInUser());
         orgsApi.addMember(ORG_ID_2, studyDesignerOrg2.getUserId()).execute();
         
         assessmentApiOrg1 = studyDesignerOrg1.getClient(AssessmentsApi.class);
@@ -68,16 +68,16 @@ public class AuthenticationTest {
 
     @BeforeClass
     public static void beforeClass() throws IOException {
-        researchUser = TestUserHelper.createAndSignInUser(AuthenticationTest.class, true, RESEARCHER);
+        researchUser = Tests.createAndSignInUser(AuthenticationTest.class, true, RESEARCHER);
         
         // Make a test user with a phone number.
         SignUp phoneOnlyUser = new SignUp().appId(TEST_APP_ID).consent(true).phone(PHONE);
         phoneOnlyTestUser = new TestUserHelper.Builder(AuthenticationTest.class).withConsentUser(true)
                 .withSignUp(phoneOnlyUser).createUser();
-        testUser = TestUserHelper.createAndSignInUser(AuthenticationTest.class, true);
+        testUser = Tests.createAndSignInUser(AuthenticationTest.class, true);
         authApi = testUser.getClient(AuthenticationApi.class);
 
-        adminUser = TestUserHelper.getSignedInAdmin();
+        adminUser = Tests.getSignedInAdmin();
         adminApi = adminUser.getClient(ForAdminsApi.class);
 
         // Verify necessary flags (health code export, email sign in, phone sign in, reauth) are enabled
@@ -249,8 +249,8 @@ public class AuthenticationTest {
     public void emailVerificationThrowsTheCorrectError() throws Exception {
         String hostUrl = testUser.getClientManager().getHostUrl();
 
-        HttpResponse response = Request.Post(hostUrl + "/v3/auth/verifyEmail?appId=api")
-                .body(new StringEntity("{\"sptoken\":\"testtoken\",\"appId\":\"api\"}")).execute().returnResponse();
+        HttpResponse response = HttpTransport.execute(Request.Post(hostUrl + "/v3/auth/verifyEmail?appId=api")
+                .body(new StringEntity("{\"sptoken\":\"testtoken\",\"appId\":\"api\"}"))).returnResponse();
         assertEquals(400, response.getStatusLine().getStatusCode());
         
         JsonNode node = new ObjectMapper().readTree(EntityUtils.toString(response.getEntity()));
@@ -261,8 +261,8 @@ public class AuthenticationTest {
     public void phoneVerificationThrowsTheCorrectError() throws Exception {
         String hostUrl = testUser.getClientManager().getHostUrl();
 
-        HttpResponse response = Request.Post(hostUrl + "/v3/auth/verifyPhone?appId=api")
-                .body(new StringEntity("{\"sptoken\":\"testtoken\",\"appId\":\"api\"}")).execute().returnResponse();
+        HttpResponse response = HttpTransport.execute(Request.Post(hostUrl + "/v3/auth/verifyPhone?appId=api")
+                .body(new StringEntity("{\"sptoken\":\"testtoken\",\"appId\":\"api\"}"))).returnResponse();
         assertEquals(400, response.getStatusLine().getStatusCode());
         
         JsonNode node = new ObjectMapper().readTree(EntityUtils.toString(response.getEntity()));
@@ -274,7 +274,7 @@ public class AuthenticationTest {
     // Server change is not yet checked in for this.
     @Test
     public void secondTimeSignUpLooksTheSameAsFirstTimeSignUp() throws Exception {
-        TestUser testUser = TestUserHelper.createAndSignInUser(AuthenticationTest.class, true);
+        TestUser testUser = Tests.createAndSignInUser(AuthenticationTest.class, true);
         try {
             testUser.signOut();
             
@@ -393,8 +393,8 @@ public class AuthenticationTest {
     // activity events.
     private static void verifySession(int expectedStatusCode, String sessionId) throws Exception {
         String hostUrl = testUser.getClientManager().getHostUrl();
-        HttpResponse httpResponse = Request.Get(hostUrl + "/v1/activityevents")
-                .setHeader("Bridge-Session", sessionId).execute().returnResponse();
+        HttpResponse httpResponse = HttpTransport.execute(Request.Get(hostUrl + "/v1/activityevents")
+                .setHeader("Bridge-Session", sessionId)).returnResponse();
         assertEquals(expectedStatusCode, httpResponse.getStatusLine().getStatusCode());
     }
 
@@ -51,14 +51,14 @@ public class AuthorizationTest {
 
     @BeforeClass
     public static void beforeTests() throws Exception {
-        developer = TestUserHelper.createAndSignInUser(AuthorizationTest.class, false, DEVELOPER);
-        researcher = TestUserHelper.createAndSignInUser(AuthorizationTest.class, false, RESEARCHER);
-        studyDesigner = TestUserHelper.createAndSignInUser(AuthorizationTest.class, false, STUDY_DESIGNER);
-        studyCoordinator = TestUserHelper.createAndSignInUser(AuthorizationTest.class, false, STUDY_COORDINATOR);
+        developer = Tests.createAndSignInUser(AuthorizationTest.class, false, DEVELOPER);
+        researcher = Tests.createAndSignInUser(AuthorizationTest.class, false, RESEARCHER);
+        studyDesigner = Tests.createAndSignInUser(AuthorizationTest.class, false, STUDY_DESIGNER);
+        studyCoordinator = Tests.createAndSignInUser(AuthorizationTest.class, false, STUDY_COORDINATOR);
 
         // remove the app-scoped accounts from an organization (at first) to verify they work
         // without organizational associations
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         ForOrgAdminsApi orgApi = admin.getClient(ForOrgAdminsApi.class);
         orgApi.removeMember(SAGE_ID, developer.getUserId()).execute();
         orgApi.removeMember(SAGE_ID, researcher.getUserId()).execute();
@@ -66,8 +66,9 @@ public class AuthorizationTest {
     
     @Before
     public void before() throws Exception {
-        prodUser = TestUserHelper.createAndSignInUser(AuthorizationTest.class, false);
-        testUser = new TestUserHelper.Builder(AuthorizationTest.class).withTestDataGroup().createAndSignInUser();
+        prodUser = Tests.createAndSignInUser(AuthorizationTest.class, false);
+        testUser = ApiMetrics.instrument(new TestUserHelper.Builder(AuthorizationTest.class).withTestDataGroup()
+                .createAndSignInUser());
         prodUserId = prodUser.getUserId();
         prodUserEmail = prodUser.getEmail();
         testUserId = testUser.getUserId();
@@ -76,7 +77,7 @@ public class AuthorizationTest {
          // Creating a non-design study to test non-test user account behavior
          // Create a study that is not in design so this test doesn't fail on the enforced 
          // "test_user" flag.
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         StudiesApi studiesApi = admin.getClient(StudiesApi.class);
     
         studyId = Tests.randomIdentifier(getClass());
@@ -109,7 +110,7 @@ public class AuthorizationTest {
         if (testUser != null) {
             testUser.signOutAndDeleteUser();
         }
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         admin.getClient(StudiesApi.class).deleteStudy(studyId, true).execute();
     }
     
@@ -119,7 +120,7 @@ public class AuthorizationTest {
         ParticipantsApi resPartApi = researcher.getClient(ParticipantsApi.class);
         StudyParticipantsApi desPartApi = studyDesigner.getClient(StudyParticipantsApi.class);
         StudyParticipantsApi coordPartApi = studyCoordinator.getClient(StudyParticipantsApi.class);
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         ForOrgAdminsApi orgApi = admin.getClient(ForOrgAdminsApi.class);
         StudiesApi coordStudiesApi = studyCoordinator.getClient(StudiesApi.class);
 
@@ -0,0 +1,148 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Waits for eventually consistent reads (anything backed by a DynamoDB secondary index,
+ * asynchronous workers, etc.) to return the expected result. The first attempt is made
+ * immediately (or after a minimum settle time, for reads whose expected result could also be a
+ * stale one, such as an empty list); subsequent attempts back off exponentially with jitter
+ * until the deadline passes. The time each call site takes to converge is recorded, and InitListener logs a
+ * summary at the end of the run so we can see which reads are actually slow.
+ */
+public class Await {
+    private static final Logger LOG = LoggerFactory.getLogger(Await.class);
+
+    static final long INITIAL_DELAY_MILLIS = 100;
+    static final long MAX_DELAY_MILLIS = 3000;
+    static final long DEFAULT_DEADLINE_MILLIS = 15000;
+    /** How long the retry helper used to wait before its first try, which some reads still rely on. */
+    static final long SETTLE_MILLIS = 1000;
+
+    private static final Map<String, Convergence> CONVERGENCE = new ConcurrentHashMap<>();
+
+    /** Convergence statistics for one call site. */
+    static final class Convergence {
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder attempts = new LongAdder();
+        final LongAdder totalMillis = new LongAdder();
+        final AtomicLong maxMillis = new AtomicLong();
+
+        void record(int attemptCount, long millis, boolean converged) {
+            calls.increment();
+            attempts.add(attemptCount);
+            totalMillis.add(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+            if (!converged) {
+                failures.increment();
+            }
+        }
+    }
+
+    public static <T> T until(String label, Callable<T> call, Predicate<T> validation) {
+        return until(label, call, validation, DEFAULT_DEADLINE_MILLIS);
+    }
+
+    /**
+     * Call until the result passes validation, or throw a RuntimeException once the deadline
+     * has passed.
+     *
+     * @param label
+     *         identifies the read in the convergence report (usually the calling test and method)
+     * @param call
+     *         the server call that might not yet reflect an earlier write
+     * @param validation
+     *         returns true if the result is the one we are waiting for
+     * @param deadlineMillis
+     *         how long to keep trying
+     */
+    public static <T> T until(String label, Callable<T> call, Predicate<T> validation, long deadlineMillis) {
+        return until(label, call, validation, deadlineMillis, 0);
+    }
+
+    /**
+     * Like {@link #until(String, Callable, Predicate, long)}, but wait settleMillis before the first
+     * attempt. Use this when a stale result would also pass validation (waiting for something to
+     * disappear, or for an index that is only read for its side effect on later calls); the deadline
+     * starts after the settle time.
+     */
+    public static <T> T until(String label, Callable<T> call, Predicate<T> validation, long deadlineMillis,
+            long settleMillis) {
+        long start = System.currentTimeMillis();
+        if (settleMillis > 0) {
+            try {
+                Thread.sleep(settleMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        long deadline = System.currentTimeMillis() + deadlineMillis;
+        long delay = INITIAL_DELAY_MILLIS;
+        Exception lastException = null;
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            try {
+                T result = call.call();
+                if (validation.test(result)) {
+                    record(label, attempt, System.currentTimeMillis() - start, true);
+                    return result;
+                }
+                LOG.debug("Validation failed awaiting {} (try #{})", label, attempt);
+            } catch (Exception ex) {
+                lastException = ex;
+                LOG.debug("Exception thrown awaiting " + label + " (try #" + attempt + "): " + ex.getMessage(), ex);
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            // "Equal jitter": sleep between half and all of the current delay, so parallel
+            // callers don't retry in lock step.
+            long sleep = Math.min(remaining, delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+            try {
+                Thread.sleep(sleep);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            delay = Math.min(delay * 2, MAX_DELAY_MILLIS);
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        record(label, attempt, elapsed, false);
+        throw new RuntimeException("Await failed for " + label + " after " + attempt + " tries and " + elapsed
+                + " ms", lastException);
+    }
+
+    private static void record(String label, int attempts, long millis, boolean converged) {
+        CONVERGENCE.computeIfAbsent(label, k -> new Convergence()).record(attempts, millis, converged);
+    }
+
+    /** Log the convergence time of every call site that has been awaited, slowest first. */
+    static void logReport() {
+        if (CONVERGENCE.isEmpty()) {
+            return;
+        }
+        Map<Long, String> lines = new TreeMap<>((a, b) -> Long.compare(b, a));
+        for (Map.Entry<String, Convergence> entry : CONVERGENCE.entrySet()) {
+            Convergence c = entry.getValue();
+            long calls = c.calls.sum();
+            long mean = c.totalMillis.sum() / calls;
+            lines.merge(mean, String.format("  %-70s calls=%d attempts=%d failures=%d mean=%dms max=%dms",
+                    entry.getKey(), calls, c.attempts.sum(), c.failures.sum(), mean, c.maxMillis.get()),
+                    (a, b) -> a + "\n" + b);
+        }
+        LOG.info("Eventually consistent reads, by mean time to converge:\n{}", String.join("\n", lines.values()));
+    }
+}
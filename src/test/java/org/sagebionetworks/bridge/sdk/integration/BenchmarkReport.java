@@ -0,0 +1,74 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Splitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * What the load tests have in common: their comma-separated list properties (e.g.
+ * {@code -DaccountSearch.populations=1000,10000}), latencies in milliseconds, and their reports, a
+ * table that is logged and written to a text file, and the same rows as a CSV file.
+ */
+public class BenchmarkReport {
+    private static final Logger LOG = LoggerFactory.getLogger(BenchmarkReport.class);
+
+    private static final Splitter LIST = Splitter.on(',').trimResults().omitEmptyStrings();
+
+    /** The items of a comma-separated list. */
+    static List<String> split(String value) {
+        return LIST.splitToList(value);
+    }
+
+    /** The items of a comma-separated system property, or of its default. */
+    static List<String> listProperty(String name, String defaultValue) {
+        return split(System.getProperty(name, defaultValue));
+    }
+
+    /** The numbers in a comma-separated system property, or in its default. */
+    static List<Integer> intListProperty(String name, String defaultValue) {
+        List<Integer> values = new ArrayList<>();
+        for (String value : listProperty(name, defaultValue)) {
+            values.add(Integer.valueOf(value));
+        }
+        return values;
+    }
+
+    /** The latency at the percentile (0-100), in milliseconds. */
+    static double millis(LatencyHistogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /** Log the lines and write them to the file. */
+    static void write(Path reportFile, String title, List<String> lines) throws IOException {
+        List<String> all = new ArrayList<>(lines.size() + 1);
+        all.add(title);
+        all.addAll(lines);
+        writeLines(reportFile, all);
+        LOG.info("{} (also in {}):\n{}", title, reportFile, String.join("\n", lines));
+    }
+
+    /** Write the rows, the first of them the header, to the file. */
+    static void writeCsv(Path csvFile, List<String> rows) throws IOException {
+        writeLines(csvFile, rows);
+    }
+
+    private static void writeLines(Path file, List<String> lines) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+            }
+        }
+    }
+}
@@ -85,7 +85,7 @@ public class CRCTest {
     
     @Before
     public void beforeMethod() throws IOException {
-        adminUser = TestUserHelper.getSignedInAdmin();
+        adminUser = Tests.getSignedInAdmin();
         AppsApi appsApi = adminUser.getClient(AppsApi.class);
         
         AccountSummarySearch search = new AccountSummarySearch()
@@ -133,9 +133,8 @@ public class CRCTest {
 
         setupShippingInfo();
 
-        HttpResponse response = Request.Post(host + "/v1/cuimc/participants/self/labshipments/request")
-                .addHeader("Bridge-Session", user.getSession().getSessionToken())
-                .execute()
+        HttpResponse response = HttpTransport.execute(Request.Post(host + "/v1/cuimc/participants/self/labshipments/request")
+                .addHeader("Bridge-Session", user.getSession().getSessionToken()))
                 .returnResponse();
 
         assertEquals(HttpStatus.SC_ACCEPTED, response.getStatusLine().getStatusCode());
@@ -160,10 +159,9 @@ public class CRCTest {
                 .getParticipantById(user.getUserId(), false).execute().body();
         String healthCode = participant.getHealthCode();
 
-        HttpResponse response = Request.Post(
+        HttpResponse response = HttpTransport.execute(Request.Post(
                 host + "/v1/cuimc/participants/healthcode:" + healthCode + "/labshipments/request")
-                .addHeader("Authorization", "Basic " + credentials)
-                .execute()
+                .addHeader("Authorization", "Basic " + credentials))
                 .returnResponse();
 
         assertEquals(HttpStatus.SC_ACCEPTED, response.getStatusLine().getStatusCode());
@@ -208,9 +206,8 @@ public class CRCTest {
                 .getParticipantById(user.getUserId(), false).execute().body();
         String healthCode = participant.getHealthCode();
         
-        HttpResponse response = Request.Post(host + "/v1/cuimc/participants/healthcode:" + healthCode + "/laborders")
-                .addHeader("Authorization", "Basic " + credentials)
-                .execute()
+        HttpResponse response = HttpTransport.execute(Request.Post(host + "/v1/cuimc/participants/healthcode:" + healthCode + "/laborders")
+                .addHeader("Authorization", "Basic " + credentials))
                 .returnResponse();
         
         Message message = RestUtils.GSON.fromJson(EntityUtils.toString(response.getEntity()), Message.class);
@@ -250,20 +247,18 @@ public class CRCTest {
         IParser parser = CONTEXT.newJsonParser();
         String body = parser.encodeResourceToString(appointment);
         
-        HttpResponse response = Request.Put(host + "/v1/cuimc/appointments")
+        HttpResponse response = HttpTransport.execute(Request.Put(host + "/v1/cuimc/appointments")
             .addHeader("Authorization", "Basic " + credentials)
-            .bodyString(body, APPLICATION_JSON)
-            .execute()
+            .bodyString(body, APPLICATION_JSON))
             .returnResponse();
         
         Message message = RestUtils.GSON.fromJson(EntityUtils.toString(response.getEntity()), Message.class);
         assertEquals("Appointment created (status = booked).", message.getMessage());
         assertEquals(201, response.getStatusLine().getStatusCode());
         
-        response = Request.Put(host + "/v1/cuimc/appointments")
+        response = HttpTransport.execute(Request.Put(host + "/v1/cuimc/appointments")
                 .addHeader("Authorization", "Basic " + credentials)
-                .bodyString(body, APPLICATION_JSON)
-                .execute()
+                .bodyString(body, APPLICATION_JSON))
                 .returnResponse();
         message = RestUtils.GSON.fromJson(EntityUtils.toString(response.getEntity()), Message.class);
         assertEquals("Appointment updated (status = booked).", message.getMessage());
@@ -290,10 +285,9 @@ public class CRCTest {
         appointment.setStatus(CANCELLED);
         body = parser.encodeResourceToString(appointment);
         
-        response = Request.Put(host + "/v1/cuimc/appointments")
+        response = HttpTransport.execute(Request.Put(host + "/v1/cuimc/appointments")
             .addHeader("Authorization", "Basic " + credentials)
-            .bodyString(body, APPLICATION_JSON)
-            .execute()
+            .bodyString(body, APPLICATION_JSON))
             .returnResponse();
         
         message = RestUtils.GSON.fromJson(EntityUtils.toString(response.getEntity()), Message.class);
@@ -308,10 +302,9 @@ public class CRCTest {
         appointment.setStatus(AppointmentStatus.ENTEREDINERROR);
         body = parser.encodeResourceToString(appointment);
         
-        response = Request.Put(host + "/v1/cuimc/appointments")
+        response = HttpTransport.execute(Request.Put(host + "/v1/cuimc/appointments")
                 .addHeader("Authorization", "Basic " + credentials)
-                .bodyString(body, APPLICATION_JSON)
-                .execute()
+                .bodyString(body, APPLICATION_JSON))
                 .returnResponse();
         message = RestUtils.GSON.fromJson(EntityUtils.toString(response.getEntity()), Message.class);
         assertEquals("Appointment deleted.", message.getMessage());
@@ -357,20 +350,18 @@ public class CRCTest {
         IParser parser = CONTEXT.newJsonParser();
         String body = parser.encodeResourceToString(procedure);
         
-        HttpResponse response = Request.Put(host + "/v1/cuimc/procedurerequests")
+        HttpResponse response = HttpTransport.execute(Request.Put(host + "/v1/cuimc/procedurerequests")
             .addHeader("Authorization", "Basic " + credentials)
-            .bodyString(body, APPLICATION_JSON)
-            .execute()
+            .bodyString(body, APPLICATION_JSON))
             .returnResponse();
         
         Message message = RestUtils.GSON.fromJson(EntityUtils.toString(response.getEntity()), Message.class);
         assertEquals("ProcedureRequest created.", message.getMessage());
         assertEquals(201, response.getStatusLine().getStatusCode());
         
-        response = Request.Put(host + "/v1/cuimc/procedurerequests")
+        response = HttpTransport.execute(Request.Put(host + "/v1/cuimc/procedurerequests")
                 .addHeader("Authorization", "Basic " + credentials)
-                .bodyString(body, APPLICATION_JSON)
-                .execute()
+                .bodyString(body, APPLICATION_JSON))
                 .returnResponse();
         message = RestUtils.GSON.fromJson(EntityUtils.toString(response.getEntity()), Message.class);
         assertEquals("ProcedureRequest updated.", message.getMessage());
@@ -426,19 +417,17 @@ public class CRCTest {
         IParser parser = CONTEXT.newJsonParser();
         String body = parser.encodeResourceToString(observation);
         
-        HttpResponse response = Request.Put(host + "/v1/cuimc/observations")
+        HttpResponse response = HttpTransport.execute(Request.Put(host + "/v1/cuimc/observations")
             .addHeader("Authorization", "Basic " + credentials)
-            .bodyString(body, APPLICATION_JSON)
-            .execute()
+            .bodyString(body, APPLICATION_JSON))
             .returnResponse();
         Message message = RestUtils.GSON.fromJson(EntityUtils.toString(response.getEntity()), Message.class);
         assertEquals("Observation created.", message.getMessage());
         assertEquals(201, response.getStatusLine().getStatusCode());
         
-        response = Request.Put(host + "/v1/cuimc/observations")
+        response = HttpTransport.execute(Request.Put(host + "/v1/cuimc/observations")
                 .addHeader("Authorization", "Basic " + credentials)
-                .bodyString(body, APPLICATION_JSON)
-                .execute()
+                .bodyString(body, APPLICATION_JSON))
                 .returnResponse();
         message = RestUtils.GSON.fromJson(EntityUtils.toString(response.getEntity()), Message.class);
         assertEquals("Observation updated.", message.getMessage());
@@ -468,19 +457,17 @@ public class CRCTest {
         IParser parser = CONTEXT.newJsonParser();
         String body = parser.encodeResourceToString(observation);
         
-        HttpResponse response = Request.Put(host + "/v1/cuimc/observations")
+        HttpResponse response = HttpTransport.execute(Request.Put(host + "/v1/cuimc/observations")
             .addHeader("Authorization", "Basic " + credentials)
-            .bodyString(body, APPLICATION_JSON)
-            .execute()
+            .bodyString(body, APPLICATION_JSON))
             .returnResponse();
         Message message = RestUtils.GSON.fromJson(EntityUtils.toString(response.getEntity()), Message.class);
         assertEquals("Observation created.", message.getMessage());
         assertEquals(201, response.getStatusLine().getStatusCode());
         
-        response = Request.Put(host + "/v1/cuimc/observations")
+        response = HttpTransport.execute(Request.Put(host + "/v1/cuimc/observations")
                 .addHeader("Authorization", "Basic " + credentials)
-                .bodyString(body, APPLICATION_JSON)
-                .execute()
+                .bodyString(body, APPLICATION_JSON))
                 .returnResponse();
         message = RestUtils.GSON.fromJson(EntityUtils.toString(response.getEntity()), Message.class);
         assertEquals("Observation updated.", message.getMessage());
@@ -0,0 +1,532 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the HTTP traffic of a test run into cassettes (one JSON file per test class), and
+ * replays it later without a server, so harness changes can be checked offline in seconds.
+ *
+ * An in-process HTTP server listens on the port of the local environment (set
+ * {@code env = local} in ~/bridge-sdk.properties), so SDK clients and the raw Apache
+ * {@code Request} calls in tests like HttpTest and CRCTest go through it unchanged:
+ *
+ * <ul>
+ *     <li>{@code -Dcassettes=record -Dcassettes.upstream=https://...} forwards every request to
+ *     the upstream server and records the exchange to {@code target/cassettes};</li>
+ *     <li>{@code -Dcassettes=replay} answers every request from the cassettes in
+ *     {@code src/test/resources/cassettes}.</li>
+ * </ul>
+ *
+ * Record in a single JVM: the parallel-tests profile's forks would all write the same bootstrap
+ * cassette, so recording refuses to start there. Recordings are not replayed until a developer
+ * promotes them, by copying the files from {@code target/cassettes} to
+ * {@code src/test/resources/cassettes} (or by pointing both modes at one directory with
+ * {@code -Dcassettes.dir}). Passwords, session and reauthentication tokens are redacted before
+ * a cassette is written, so a recording can be checked in.
+ *
+ * Requests are matched on test class, method, route template (see ApiMetrics#normalize) and
+ * query parameter names, in the order they were recorded, so server-generated GUIDs don't
+ * matter and classes can run in any order. A request that its class never recorded (the
+ * admin's sign-in, say, which SessionCache makes once per run) is answered from another
+ * class's cassette. Identifiers the tests generate at random ({@link Tests#randomIdentifier(Class)},
+ * {@code RandomStringUtils.randomAlphabetic}, emails from {@code IntegTestUtils.makeEmail})
+ * differ between runs; the values found in the recorded request (path identifiers, query
+ * parameter values and JSON string values, as well as anything that looks like a random
+ * identifier or email) are mapped to those in the live request, and replaced in the response.
+ * Calls that don't go to the Bridge server (S3 uploads, Synapse) are not recorded.
+ */
+public class Cassettes {
+    private static final Logger LOG = LoggerFactory.getLogger(Cassettes.class);
+
+    public static final String MODE_PROPERTY = "cassettes";
+    public static final String UPSTREAM_PROPERTY = "cassettes.upstream";
+    public static final String PORT_PROPERTY = "cassettes.port";
+    public static final String DIR_PROPERTY = "cassettes.dir";
+    // The port of the SDK's local environment.
+    private static final int DEFAULT_PORT = 9000;
+    private static final String DEFAULT_RECORD_DIR = "target/cassettes";
+    private static final String DEFAULT_REPLAY_DIR = "src/test/resources/cassettes";
+    private static final String NO_CLASS = "InitListener";
+    private static final int SERVER_THREADS = 16;
+    // Differing request values shorter than this (flags, small numbers) are not substituted in responses.
+    private static final int MIN_SUBSTITUTED_LENGTH = 5;
+    static final String REDACTED = "[REDACTED]";
+
+    private static final List<Pattern> RANDOM_VALUES = ImmutableList.of(
+            // Tests.randomIdentifier()
+            Pattern.compile("sdk-[a-z0-9]+-[a-z]{5}"),
+            // IntegTestUtils.makeEmail(), raw or URL-encoded
+            Pattern.compile("[A-Za-z0-9._+\\-]+(@|%40)sagebase\\.org"));
+    // Hop-by-hop headers, and those that the server or OkHttp will set again.
+    private static final ImmutableSet<String> SKIPPED_HEADERS = ImmutableSet.of("host", "connection",
+            "content-length", "transfer-encoding", "accept-encoding", "content-encoding", "keep-alive");
+    // JSON fields and response headers that carry credentials.
+    private static final ImmutableSet<String> REDACTED_FIELDS = ImmutableSet.of("password", "sessiontoken",
+            "reauthtoken", "token", "bridge-session", "set-cookie", "authorization");
+
+    enum Mode {
+        OFF, RECORD, REPLAY
+    }
+
+    /** One recorded request and its response. */
+    static final class Exchange {
+        long sequence;
+        String method;
+        String uri;
+        String requestBody;
+        int status;
+        Map<String, String> responseHeaders = new LinkedHashMap<>();
+        String responseBody;
+    }
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private static volatile String currentClass = NO_CLASS;
+    private static final Map<String, List<Exchange>> RECORDED = new ConcurrentHashMap<>();
+    // Test class to request key to the exchanges recorded for it, in order.
+    private static final Map<String, Map<String, Deque<Exchange>>> REPLAYABLE = new ConcurrentHashMap<>();
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final AtomicInteger MISSES = new AtomicInteger();
+
+    private static Mode mode = Mode.OFF;
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static OkHttpClient upstreamClient;
+    private static String upstream;
+
+    static Mode getMode() {
+        return Mode.valueOf(System.getProperty(MODE_PROPERTY, "off").toUpperCase(Locale.ENGLISH));
+    }
+
+    /** Start recording or replaying, if enabled. Called by InitListener before anything else. */
+    static synchronized void start() throws IOException {
+        mode = getMode();
+        if (mode == Mode.OFF || server != null) {
+            return;
+        }
+        if (mode == Mode.RECORD) {
+            // Every fork would record the bootstrap to the same InitListener.json, and a class's
+            // fallback requests to whichever fork ran it.
+            if (Boolean.getBoolean(LatencyGate.FORKED_PROPERTY)) {
+                throw new IllegalStateException("Cassettes can't be recorded by forked test runs; record without the "
+                        + "parallel-tests profile");
+            }
+            // Recording the fake server's responses is useful for checking the harness without either.
+            upstream = System.getProperty(UPSTREAM_PROPERTY, FakeBridgeServer.getRunningUrl());
+            if (upstream == null) {
+                throw new IllegalStateException("-D" + UPSTREAM_PROPERTY + " (or -D" + FakeBridgeServer.ENABLED_PROPERTY
+                        + "=true) is required to record cassettes");
+            }
+            upstream = upstream.replaceAll("/+$", "");
+            upstreamClient = new OkHttpClient.Builder().followRedirects(false).build();
+        } else {
+            loadCassettes();
+        }
+        int port = Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+        executor = Executors.newFixedThreadPool(SERVER_THREADS);
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", Cassettes::handle);
+        server.setExecutor(executor);
+        server.start();
+        LOG.info("Cassettes: {} on port {}{}", mode.name().toLowerCase(Locale.ENGLISH), port,
+                (mode == Mode.RECORD) ? (", forwarding to " + upstream) : "");
+    }
+
+    /** The test class that subsequent requests are recorded for. Called by InitListener. */
+    static void setCurrentClass(String className) {
+        currentClass = (className == null) ? NO_CLASS : className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /** Stop the server, and write the cassettes if recording. Called by InitListener. */
+    static synchronized void stop() throws IOException {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdown();
+        server = null;
+        if (mode == Mode.RECORD) {
+            Path dir = Paths.get(System.getProperty(DIR_PROPERTY, DEFAULT_RECORD_DIR));
+            Files.createDirectories(dir);
+            for (Map.Entry<String, List<Exchange>> entry : RECORDED.entrySet()) {
+                try (Writer writer = Files.newBufferedWriter(dir.resolve(entry.getKey() + ".json"),
+                        StandardCharsets.UTF_8)) {
+                    synchronized (entry.getValue()) {
+                        entry.getValue().forEach(Cassettes::redact);
+                        GSON.toJson(entry.getValue(), writer);
+                    }
+                }
+            }
+            LOG.info("Cassettes: recorded {} classes to {}; copy them to {} to replay them", RECORDED.size(), dir,
+                    DEFAULT_REPLAY_DIR);
+        } else {
+            LOG.info("Cassettes: {} requests had no recorded response", MISSES.get());
+        }
+    }
+
+    private static void handle(HttpExchange http) throws IOException {
+        try {
+            Exchange exchange = new Exchange();
+            exchange.sequence = SEQUENCE.incrementAndGet();
+            exchange.method = http.getRequestMethod();
+            exchange.uri = http.getRequestURI().toString();
+            exchange.requestBody = new String(ByteStreams.toByteArray(http.getRequestBody()), StandardCharsets.UTF_8);
+
+            if (mode == Mode.RECORD) {
+                forward(http.getRequestHeaders(), exchange);
+                List<Exchange> cassette = RECORDED.computeIfAbsent(currentClass, k -> new ArrayList<>());
+                synchronized (cassette) {
+                    cassette.add(exchange);
+                }
+                respond(http, exchange.status, exchange.responseHeaders, exchange.responseBody);
+            } else {
+                replay(http, exchange);
+            }
+        } catch (Exception e) {
+            LOG.warn("Cassettes could not handle " + http.getRequestURI(), e);
+            respond(http, 502, new HashMap<>(), "{\"message\":\"" + e.getMessage() + "\",\"statusCode\":502}");
+        } finally {
+            http.close();
+        }
+    }
+
+    private static void forward(Headers headers, Exchange exchange) throws IOException {
+        okhttp3.Request.Builder builder = new okhttp3.Request.Builder().url(upstream + exchange.uri);
+        String contentType = null;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ENGLISH);
+            if ("content-type".equals(name)) {
+                contentType = header.getValue().get(0);
+            }
+            if (!SKIPPED_HEADERS.contains(name)) {
+                for (String value : header.getValue()) {
+                    builder.addHeader(header.getKey(), value);
+                }
+            }
+        }
+        RequestBody body = null;
+        boolean requiresBody = "POST".equals(exchange.method) || "PUT".equals(exchange.method)
+                || "PATCH".equals(exchange.method);
+        if (requiresBody || (!exchange.requestBody.isEmpty() && !"GET".equals(exchange.method))) {
+            body = RequestBody.create((contentType == null) ? null : MediaType.parse(contentType),
+                    exchange.requestBody);
+        }
+        builder.method(exchange.method, body);
+
+        try (Response response = upstreamClient.newCall(builder.build()).execute()) {
+            exchange.status = response.code();
+            for (String name : response.headers().names()) {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ENGLISH))) {
+                    exchange.responseHeaders.put(name, response.header(name));
+                }
+            }
+            exchange.responseBody = (response.body() == null) ? "" : response.body().string();
+        }
+    }
+
+    private static void replay(HttpExchange http, Exchange live) throws IOException {
+        String key = key(live.method, live.uri);
+        Exchange recorded = nextRecorded(currentClass, key);
+        if (recorded == null) {
+            MISSES.incrementAndGet();
+            LOG.warn("Cassettes: no recorded response for {} {}", live.method, live.uri);
+            respond(http, 501, new HashMap<>(), "{\"message\":\"No recorded response for " + key
+                    + "\",\"statusCode\":501}");
+            return;
+        }
+        Map<String, String> substitutions = requestSubstitutions(recorded, live);
+        substitutions.putAll(substitutions(recorded.uri + " " + recorded.requestBody,
+                live.uri + " " + live.requestBody));
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Map.Entry<String, String> header : recorded.responseHeaders.entrySet()) {
+            headers.put(header.getKey(), substitute(header.getValue(), substitutions));
+        }
+        respond(http, recorded.status, headers, substitute(recorded.responseBody, substitutions));
+    }
+
+    /** Pair up the random values in the recorded and live requests, in the order they appear. */
+    static Map<String, String> substitutions(String recorded, String live) {
+        Map<String, String> substitutions = new HashMap<>();
+        for (Pattern pattern : RANDOM_VALUES) {
+            List<String> recordedValues = findAll(pattern, recorded);
+            List<String> liveValues = findAll(pattern, live);
+            for (int i = 0; i < Math.min(recordedValues.size(), liveValues.size()); i++) {
+                String from = recordedValues.get(i);
+                String to = liveValues.get(i);
+                substitutions.put(from, to);
+                // The same value may be URL-encoded in the request but not in the response.
+                if (from.contains("%") || to.contains("%")) {
+                    substitutions.put(decode(from), decode(to));
+                }
+            }
+        }
+        return substitutions;
+    }
+
+    /** The next exchange recorded for this class and key, or failing that, for any other class. */
+    private static Exchange nextRecorded(String testClass, String key) {
+        Map<String, Deque<Exchange>> cassette = REPLAYABLE.get(testClass);
+        Deque<Exchange> candidates = (cassette == null) ? null : cassette.get(key);
+        if (candidates != null) {
+            return candidates.pollFirst();
+        }
+        for (Map<String, Deque<Exchange>> other : REPLAYABLE.values()) {
+            candidates = other.get(key);
+            Exchange recorded = (candidates == null) ? null : candidates.pollFirst();
+            if (recorded != null) {
+                return recorded;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pair up the values that differ between two requests for the same route: the identifiers in
+     * the path, the values of query parameters, and the string values of JSON bodies. This catches
+     * random values that RANDOM_VALUES doesn't recognize, like RandomStringUtils.randomAlphabetic().
+     */
+    static Map<String, String> requestSubstitutions(Exchange recorded, Exchange live) {
+        Map<String, String> substitutions = new HashMap<>();
+        URI recordedUri = URI.create(recorded.uri);
+        URI liveUri = URI.create(live.uri);
+        String[] recordedSegments = recordedUri.getRawPath().split("/");
+        String[] liveSegments = liveUri.getRawPath().split("/");
+        if (recordedSegments.length == liveSegments.length) {
+            for (int i = 0; i < recordedSegments.length; i++) {
+                pair(decode(recordedSegments[i]), decode(liveSegments[i]), substitutions);
+            }
+        }
+        Map<String, String> liveParams = queryParams(liveUri);
+        for (Map.Entry<String, String> param : queryParams(recordedUri).entrySet()) {
+            pair(param.getValue(), liveParams.get(param.getKey()), substitutions);
+        }
+        pairJson(parseJson(recorded.requestBody), parseJson(live.requestBody), substitutions);
+        return substitutions;
+    }
+
+    private static void pairJson(JsonElement recorded, JsonElement live, Map<String, String> substitutions) {
+        if (recorded == null || live == null) {
+            return;
+        }
+        if (recorded.isJsonObject() && live.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> field : recorded.getAsJsonObject().entrySet()) {
+                pairJson(field.getValue(), live.getAsJsonObject().get(field.getKey()), substitutions);
+            }
+        } else if (recorded.isJsonArray() && live.isJsonArray()) {
+            JsonArray recordedArray = recorded.getAsJsonArray();
+            JsonArray liveArray = live.getAsJsonArray();
+            for (int i = 0; i < Math.min(recordedArray.size(), liveArray.size()); i++) {
+                pairJson(recordedArray.get(i), liveArray.get(i), substitutions);
+            }
+        } else if (recorded.isJsonPrimitive() && live.isJsonPrimitive()
+                && recorded.getAsJsonPrimitive().isString() && live.getAsJsonPrimitive().isString()) {
+            pair(recorded.getAsString(), live.getAsString(), substitutions);
+        }
+    }
+
+    private static void pair(String recorded, String live, Map<String, String> substitutions) {
+        if (recorded != null && live != null && !recorded.equals(live) && !REDACTED.equals(recorded)
+                && recorded.length() >= MIN_SUBSTITUTED_LENGTH) {
+            substitutions.putIfAbsent(recorded, live);
+        }
+    }
+
+    private static Map<String, String> queryParams(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        if (uri.getRawQuery() != null) {
+            for (String param : uri.getRawQuery().split("&")) {
+                String[] parts = param.split("=", 2);
+                params.putIfAbsent(parts[0], (parts.length == 2) ? decode(parts[1]) : "");
+            }
+        }
+        return params;
+    }
+
+    private static JsonElement parseJson(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return new JsonParser().parse(text);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    /** Remove credentials from a recorded exchange before it is written. */
+    static void redact(Exchange exchange) {
+        exchange.requestBody = redactJson(exchange.requestBody);
+        exchange.responseBody = redactJson(exchange.responseBody);
+        for (Map.Entry<String, String> header : exchange.responseHeaders.entrySet()) {
+            if (REDACTED_FIELDS.contains(header.getKey().toLowerCase(Locale.ENGLISH))) {
+                header.setValue(REDACTED);
+            }
+        }
+    }
+
+    private static String redactJson(String text) {
+        JsonElement json = parseJson(text);
+        if (json == null || !redactJson(json)) {
+            return text;
+        }
+        return json.toString();
+    }
+
+    private static boolean redactJson(JsonElement json) {
+        boolean redacted = false;
+        if (json.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> field : json.getAsJsonObject().entrySet()) {
+                if (REDACTED_FIELDS.contains(field.getKey().toLowerCase(Locale.ENGLISH))
+                        && field.getValue().isJsonPrimitive()) {
+                    field.setValue(new JsonPrimitive(REDACTED));
+                    redacted = true;
+                } else {
+                    redacted |= redactJson(field.getValue());
+                }
+            }
+        } else if (json.isJsonArray()) {
+            for (JsonElement element : json.getAsJsonArray()) {
+                redacted |= redactJson(element);
+            }
+        }
+        return redacted;
+    }
+
+    private static String substitute(String text, Map<String, String> substitutions) {
+        if (text == null || substitutions.isEmpty()) {
+            return text;
+        }
+        for (Map.Entry<String, String> entry : substitutions.entrySet()) {
+            text = text.replace(entry.getKey(), entry.getValue());
+        }
+        return text;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (Exception e) {
+            return value;
+        }
+    }
+
+    private static List<String> findAll(Pattern pattern, String text) {
+        List<String> values = new ArrayList<>();
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            if (!values.contains(matcher.group())) {
+                values.add(matcher.group());
+            }
+        }
+        return values;
+    }
+
+    /** Method, route template and the names of the query parameters. */
+    static String key(String method, String uri) {
+        URI parsed = URI.create(uri);
+        TreeSet<String> paramNames = new TreeSet<>();
+        if (parsed.getRawQuery() != null) {
+            for (String param : parsed.getRawQuery().split("&")) {
+                paramNames.add(param.split("=", 2)[0]);
+            }
+        }
+        return method + " " + ApiMetrics.normalize(parsed.getRawPath())
+                + (paramNames.isEmpty() ? "" : "?" + paramNames);
+    }
+
+    private static void loadCassettes() throws IOException {
+        Path dir = Paths.get(System.getProperty(DIR_PROPERTY, DEFAULT_REPLAY_DIR));
+        if (!Files.isDirectory(dir)) {
+            throw new IllegalStateException("No cassettes in " + dir.toAbsolutePath()
+                    + ", record them and copy them from " + DEFAULT_RECORD_DIR + " first");
+        }
+        int count = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path file : files) {
+                String testClass = file.getFileName().toString().replaceAll("\\.json$", "");
+                List<Exchange> exchanges;
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    exchanges = GSON.fromJson(reader, new TypeToken<List<Exchange>>() {}.getType());
+                }
+                // Replay in the order the requests were recorded.
+                exchanges.sort(Comparator.comparingLong(exchange -> exchange.sequence));
+                Map<String, Deque<Exchange>> cassette = REPLAYABLE.computeIfAbsent(testClass,
+                        k -> new ConcurrentHashMap<>());
+                for (Exchange exchange : exchanges) {
+                    cassette.computeIfAbsent(key(exchange.method, exchange.uri), k -> new ConcurrentLinkedDeque<>())
+                            .addLast(exchange);
+                }
+                count += exchanges.size();
+            }
+        }
+        LOG.info("Cassettes: loaded {} recorded requests for {} classes from {}", count, REPLAYABLE.size(), dir);
+    }
+
+    private static void respond(HttpExchange http, int status, Map<String, String> headers, String body)
+            throws IOException {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            http.getResponseHeaders().set(header.getKey(), header.getValue());
+        }
+        if (!http.getResponseHeaders().containsKey("Content-Type")) {
+            http.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        }
+        byte[] bytes = (body == null) ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        boolean noBody = bytes.length == 0 || status == 204 || status == 304
+                || "HEAD".equals(http.getRequestMethod());
+        http.sendResponseHeaders(status, noBody ? -1 : bytes.length);
+        if (!noBody) {
+            try (OutputStream out = http.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.sagebionetworks.bridge.rest.api.AssessmentsApi;
+import org.sagebionetworks.bridge.rest.api.SchedulesV2Api;
+import org.sagebionetworks.bridge.rest.api.StudiesApi;
+import org.sagebionetworks.bridge.rest.exceptions.EntityNotFoundException;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * A registry of objects created by tests that should be deleted after them. Rather than
+ * deleting users, schedules, assessments and studies one call at a time in @After methods,
+ * tests register them as they are created, and InitListener deletes them in bulk. Deletion
+ * happens in phases so dependent objects go first (users before studies, schedules before the
+ * assessments they reference); the deletes within a phase run concurrently
+ * ({@code -Dcleanup.threads=N}, 8 by default).
+ *
+ * Participants and the other objects a class registers are deleted when that class finishes,
+ * so accounts don't pile up over the run; use {@link #user} for any account a class creates.
+ * LoadGenerator runs every scenario inside one test class, and several at once, so it opens a
+ * scope for each scenario run instead: what the worker thread (and any thread it starts)
+ * registers during the run is deleted when the run finishes.
+ * Only studies ({@link #study}, which IsolatedStudy uses) are deferred to the end of the run,
+ * after every participant that could be enrolled in them, along with anything registered
+ * outside a test class. Only register objects that later tests won't trip over if they are
+ * still present. A schedule on a shared study, for example, must still be deleted inline.
+ */
+public class Cleanup {
+    private static final Logger LOG = LoggerFactory.getLogger(Cleanup.class);
+
+    public static final String THREADS_PROPERTY = "cleanup.threads";
+    private static final int DEFAULT_THREADS = 8;
+
+    /** Phases are drained in declaration order. */
+    public enum Phase {
+        USERS, SCHEDULES, ASSESSMENTS, STUDIES, OTHER;
+
+        /** Whether this phase waits for the end of the run rather than of the class. */
+        boolean isDeferred() {
+            return this == STUDIES;
+        }
+    }
+
+    private static final class Task {
+        private final String description;
+        private final ThrowingRunnable runnable;
+
+        Task(String description, ThrowingRunnable runnable) {
+            this.description = description;
+            this.runnable = runnable;
+        }
+    }
+
+    // Tasks for the end of the run, and for the end of each test class by class name.
+    private static final Map<Phase, Queue<Task>> TASKS = new ConcurrentHashMap<>();
+    private static final Map<String, Map<Phase, Queue<Task>>> CLASS_TASKS = new ConcurrentHashMap<>();
+    // Not a thread local: tests register objects they create on their own executors too.
+    private static volatile String currentClass;
+    // A LoadGenerator scenario run, which takes precedence over the class. Inherited by the threads
+    // a scenario starts, though not by pool threads that already existed.
+    private static final InheritableThreadLocal<String> SCOPE = new InheritableThreadLocal<>();
+
+    public static void register(Phase phase, String description, ThrowingRunnable runnable) {
+        String owner = (SCOPE.get() != null) ? SCOPE.get() : currentClass;
+        Map<Phase, Queue<Task>> tasks = (phase.isDeferred() || owner == null) ? TASKS
+                : CLASS_TASKS.computeIfAbsent(owner, k -> new ConcurrentHashMap<>());
+        tasks.computeIfAbsent(phase, p -> new ConcurrentLinkedQueue<>()).add(new Task(description, runnable));
+    }
+
+    public static TestUser user(TestUser user) {
+        register(Phase.USERS, "user " + user.getUserId(), user::signOutAndDeleteUser);
+        return user;
+    }
+
+    public static void schedule(String guid) {
+        register(Phase.SCHEDULES, "schedule " + guid, () ->
+            Tests.getSignedInAdmin().getClient(SchedulesV2Api.class).deleteSchedule(guid).execute());
+    }
+
+    public static void assessment(String guid) {
+        register(Phase.ASSESSMENTS, "assessment " + guid, () ->
+            Tests.getSignedInAdmin().getClient(AssessmentsApi.class).deleteAssessment(guid, true).execute());
+    }
+
+    public static void study(String studyId) {
+        register(Phase.STUDIES, "study " + studyId, () ->
+            Tests.getSignedInAdmin().getClient(StudiesApi.class).deleteStudy(studyId, true).execute());
+    }
+
+    /** Called by InitListener when a test class starts. */
+    static void classStarted(String className) {
+        currentClass = className;
+    }
+
+    /** Delete what the class registered, other than studies. Called by InitListener when the class finishes. */
+    static void classFinished(String className) throws InterruptedException {
+        currentClass = null;
+        Map<Phase, Queue<Task>> tasks = CLASS_TASKS.remove(className);
+        if (tasks != null) {
+            drain(tasks, className);
+        }
+    }
+
+    /** Called by LoadGenerator on the worker thread before it runs a scenario. */
+    static void scopeStarted(String scope) {
+        SCOPE.set(scope);
+    }
+
+    /** Delete what the scenario run registered, other than studies. */
+    static void scopeFinished(String scope) throws InterruptedException {
+        SCOPE.remove();
+        Map<Phase, Queue<Task>> tasks = CLASS_TASKS.remove(scope);
+        if (tasks != null) {
+            drain(tasks, scope);
+        }
+    }
+
+    /** Run every remaining deletion. Called by InitListener when the test run finishes. */
+    static void drain() throws InterruptedException {
+        for (String className : CLASS_TASKS.keySet()) {
+            classFinished(className);
+        }
+        drain(TASKS, "the test run");
+    }
+
+    private static void drain(Map<Phase, Queue<Task>> tasks, String owner) throws InterruptedException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        AtomicInteger count = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Integer.getInteger(THREADS_PROPERTY, DEFAULT_THREADS));
+        try {
+            for (Phase phase : Phase.values()) {
+                Queue<Task> queue = tasks.remove(phase);
+                if (queue == null) {
+                    continue;
+                }
+                List<Future<?>> futures = new ArrayList<>();
+                for (Task task : queue) {
+                    futures.add(executor.submit(() -> {
+                        count.incrementAndGet();
+                        try {
+                            task.runnable.run();
+                        } catch (EntityNotFoundException e) {
+                            // Already deleted, nothing to do.
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                            LOG.warn("Could not delete " + task.description, e);
+                        }
+                    }));
+                }
+                // The next phase can't start until everything in this phase is gone.
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        LOG.warn("Cleanup task failed", e.getCause());
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        LOG.info("Cleaned up {} objects for {} in {} ms ({} failures)", count.get(), owner,
+                System.currentTimeMillis() - start, failures.get());
+    }
+}
@@ -22,7 +22,6 @@ import org.sagebionetworks.bridge.rest.model.Role;
 import org.sagebionetworks.bridge.rest.model.SchemaReference;
 import org.sagebionetworks.bridge.rest.model.SurveyReference;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class CompoundActivityDefinitionTest {
     private static final String SCHEMA_ID = "test-schema";
@@ -42,7 +41,7 @@ public class CompoundActivityDefinitionTest {
 
     @BeforeClass
     public static void beforeClass() throws Exception {
-        developer = TestUserHelper.createAndSignInUser(UploadSchemaTest.class, false, Role.DEVELOPER);
+        developer = Tests.createAndSignInUser(UploadSchemaTest.class, false, Role.DEVELOPER);
         forDevelopersApi = developer.getClient(ForDevelopersApi.class);
     }
 
@@ -0,0 +1,370 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.net.HttpHeaders;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import retrofit2.Call;
+import retrofit2.Response;
+
+import org.sagebionetworks.bridge.rest.RestUtils;
+import org.sagebionetworks.bridge.rest.exceptions.BridgeSDKException;
+import org.sagebionetworks.bridge.rest.model.UserSessionInfo;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * An opt-in client-side HTTP cache, so that tests and load runs fetch timelines and schedules
+ * the way mobile clients do: the body of every GET that comes back with an ETag is kept, per
+ * session and URL, and the next GET of that URL is sent with {@code If-None-Match}. A 304 is
+ * answered from the cache. Enable it with {@code -DconditionalCache=true}; every instrumented
+ * user (see ApiMetrics) then caches.
+ *
+ * Like ApiMetrics, this wraps the Retrofit service interfaces, because the rest client does not
+ * expose its OkHttp interceptor chain. A revalidation is the call's own request with
+ * {@code If-None-Match} added, sent through the OkHttp client the call would have used, so the
+ * rest client's interceptors still add the User-Agent, Accept-Language and session headers and
+ * sign in again if the session has expired. A 304 or a 200 becomes a 200 for the caller, with
+ * the body parsed by the rest client's Gson; errors are thrown as the rest client throws them.
+ * If that client can't be found (a different Retrofit version), GETs are not revalidated.
+ * Bodies are kept as JSON, so a test that changes a returned model doesn't change the cache.
+ *
+ * Caching is opt-in, for the whole run: every user that ApiMetrics instruments caches
+ * ({@link Tests#getSignedInAdmin()}, {@code Tests.createAndSignInUser()}, pooled users). Users
+ * that a test builds itself from a ClientManager don't.
+ *
+ * The store is an LRU bounded by {@code -DconditionalCache.maxEntries} (default 10000) and
+ * {@code -DconditionalCache.maxBytes} (default 64 MB). InitListener logs the hits, misses,
+ * evictions and bytes saved, per route, at the end of the run.
+ */
+public class ConditionalCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ConditionalCache.class);
+
+    public static final String ENABLED_PROPERTY = "conditionalCache";
+    private static final int MAX_ENTRIES = Integer.getInteger("conditionalCache.maxEntries", 10000);
+    private static final long MAX_BYTES = Long.getLong("conditionalCache.maxBytes", 64L * 1024 * 1024);
+
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+    private static long storedBytes;
+    private static final LongAdder EVICTIONS = new LongAdder();
+    private static final Map<String, RouteStats> ROUTES = new ConcurrentHashMap<>();
+
+    /** A cached response body and the ETag it was served with. */
+    private static final class Entry {
+        final String etag;
+        final String json;
+        final long bytes;
+
+        Entry(String etag, String json, long bytes) {
+            this.etag = etag;
+            this.json = json;
+            this.bytes = bytes;
+        }
+    }
+
+    /** How the cache did for one route. */
+    static final class RouteStats {
+        final LongAdder misses = new LongAdder();
+        final LongAdder notModified = new LongAdder();
+        final LongAdder modified = new LongAdder();
+        final LongAdder passedOn = new LongAdder();
+        final LongAdder bytesSaved = new LongAdder();
+        final LongAdder bytesDownloaded = new LongAdder();
+    }
+
+    /** Whether instrumented users should cache, as set with -DconditionalCache. */
+    static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /** Wrap a Retrofit service so that its GETs are revalidated against the cache of this user's session. */
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> service, TestUser user, T client) {
+        if (client == null || Proxy.isProxyClass(client.getClass())
+                && Proxy.getInvocationHandler(client) instanceof ServiceHandler) {
+            return client;
+        }
+        return (T) Proxy.newProxyInstance(service.getClassLoader(), new Class<?>[] { service },
+                new ServiceHandler(user, client));
+    }
+
+    private static final class ServiceHandler implements InvocationHandler {
+        private final TestUser user;
+        private final Object target;
+
+        ServiceHandler(TestUser user, Object target) {
+            this.user = user;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Call && method.getGenericReturnType() instanceof ParameterizedType) {
+                Type bodyType = ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0];
+                return wrapCall(user, (Call<?>) result, bodyType);
+            }
+            return result;
+        }
+    }
+
+    private static Call<?> wrapCall(TestUser user, Call<?> call, Type bodyType) {
+        return (Call<?>) Proxy.newProxyInstance(Call.class.getClassLoader(), new Class<?>[] { Call.class },
+                new CallHandler(user, call, bodyType));
+    }
+
+    private static final class CallHandler implements InvocationHandler {
+        private final TestUser user;
+        private final Call<?> target;
+        private final Type bodyType;
+
+        CallHandler(TestUser user, Call<?> target, Type bodyType) {
+            this.user = user;
+            this.target = target;
+            this.bodyType = bodyType;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("clone".equals(method.getName()) && method.getParameterCount() == 0) {
+                return wrapCall(user, target.clone(), bodyType);
+            }
+            if (!"execute".equals(method.getName()) || method.getParameterCount() != 0
+                    || !"GET".equals(target.request().method())) {
+                return invokeTarget(target, method, args);
+            }
+            UserSessionInfo session = user.getSession();
+            if (session == null || session.getSessionToken() == null) {
+                return target.execute();
+            }
+            return execute(target, session.getSessionToken(), bodyType);
+        }
+    }
+
+    private static Response<?> execute(Call<?> call, String sessionToken, Type bodyType) throws IOException {
+        Request request = call.request();
+        String url = request.url().toString();
+        String key = sessionToken + " " + url;
+        RouteStats stats = ROUTES.computeIfAbsent(ApiMetrics.normalize(request.url().encodedPath()),
+                k -> new RouteStats());
+
+        Entry entry = get(key);
+        if (entry == null) {
+            stats.misses.increment();
+            Response<?> response = call.execute();
+            if (response.isSuccessful() && response.body() != null) {
+                String etag = response.headers().get(HttpHeaders.ETAG);
+                if (etag != null) {
+                    String json = RestUtils.GSON.toJson(response.body());
+                    long bytes = contentLength(response.headers().get(HttpHeaders.CONTENT_LENGTH), json);
+                    stats.bytesDownloaded.add(bytes);
+                    put(key, new Entry(etag, json, bytes));
+                }
+            }
+            return response;
+        }
+
+        okhttp3.Call.Factory callFactory = callFactory(call);
+        if (callFactory == null) {
+            // Can't send the request through the rest client's interceptors, so don't revalidate.
+            stats.passedOn.increment();
+            return call.execute();
+        }
+        Request revalidation = request.newBuilder().header(HttpHeaders.IF_NONE_MATCH, entry.etag).build();
+        try (okhttp3.Response response = callFactory.newCall(revalidation).execute()) {
+            int status = response.code();
+            if (status == 304) {
+                return notModified(request, entry, bodyType, stats);
+            }
+            if (status == 200 && response.body() != null) {
+                String json = response.body().string();
+                String etag = response.header(HttpHeaders.ETAG);
+                long bytes = contentLength(null, json);
+                stats.modified.increment();
+                stats.bytesDownloaded.add(bytes);
+                if (etag == null) {
+                    remove(key);
+                } else {
+                    put(key, new Entry(etag, json, bytes));
+                }
+                return success(request, etag, json, bodyType, true);
+            }
+        } catch (BridgeSDKException e) {
+            // The rest client's error interceptor may treat a 304 as an error.
+            if (e.getStatusCode() == 304) {
+                return notModified(request, entry, bodyType, stats);
+            }
+            stats.passedOn.increment();
+            remove(key);
+            throw e;
+        }
+        // Let the rest client deal with anything else.
+        stats.passedOn.increment();
+        remove(key);
+        return call.execute();
+    }
+
+    private static Response<?> notModified(Request request, Entry entry, Type bodyType, RouteStats stats) {
+        stats.notModified.increment();
+        stats.bytesSaved.add(entry.bytes);
+        return success(request, entry.etag, entry.json, bodyType, false);
+    }
+
+    /**
+     * The OkHttp client that a Retrofit call would be executed with, which carries the rest client's
+     * interceptors (user agent, language, session, sign-in retry and error handling). Retrofit keeps it
+     * in a private field of the call, or of the call's service method in older versions. Returns null if
+     * it can't be found.
+     */
+    static okhttp3.Call.Factory callFactory(Call<?> call) {
+        Object target = call;
+        // Unwrap call adapters (e.g. Retrofit's ExecutorCallbackCall) that delegate to the OkHttp call.
+        for (int depth = 0; depth < 3 && target != null; depth++) {
+            Object factory = field(target, "callFactory");
+            if (factory == null) {
+                Object serviceMethod = field(target, "serviceMethod");
+                factory = (serviceMethod == null) ? null : field(serviceMethod, "callFactory");
+            }
+            if (factory instanceof okhttp3.Call.Factory) {
+                return (okhttp3.Call.Factory) factory;
+            }
+            target = field(target, "delegate");
+        }
+        return null;
+    }
+
+    private static Object field(Object target, String name) {
+        for (Class<?> cls = target.getClass(); cls != null; cls = cls.getSuperclass()) {
+            try {
+                Field field = cls.getDeclaredField(name);
+                field.setAccessible(true);
+                return field.get(target);
+            } catch (NoSuchFieldException e) {
+                // try the superclass
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A 200 for the caller. Downloaded bodies carry a Content-Length, so that ApiMetrics counts
+     * their size; bodies served from the cache don't.
+     */
+    private static Response<?> success(Request request, String etag, String json, Type bodyType,
+            boolean downloaded) {
+        okhttp3.Response.Builder raw = new okhttp3.Response.Builder().request(request)
+                .protocol(Protocol.HTTP_1_1).code(200).message("OK");
+        if (etag != null) {
+            raw.header(HttpHeaders.ETAG, etag);
+        }
+        if (downloaded) {
+            raw.header(HttpHeaders.CONTENT_LENGTH, Long.toString(json.getBytes(StandardCharsets.UTF_8).length));
+        }
+        return Response.success(RestUtils.GSON.fromJson(json, bodyType), raw.build());
+    }
+
+    private static long contentLength(String header, String json) {
+        if (header != null) {
+            try {
+                return Long.parseLong(header);
+            } catch (NumberFormatException e) {
+                // fall through to the size of the body
+            }
+        }
+        return json.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static synchronized Entry get(String key) {
+        return ENTRIES.get(key);
+    }
+
+    private static synchronized void put(String key, Entry entry) {
+        Entry previous = ENTRIES.put(key, entry);
+        storedBytes += entry.bytes - ((previous == null) ? 0 : previous.bytes);
+        // Least recently used first.
+        Iterator<Entry> iterator = ENTRIES.values().iterator();
+        while ((ENTRIES.size() > MAX_ENTRIES || storedBytes > MAX_BYTES) && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (eldest == entry) {
+                break;
+            }
+            storedBytes -= eldest.bytes;
+            iterator.remove();
+            EVICTIONS.increment();
+        }
+    }
+
+    private static synchronized void remove(String key) {
+        Entry entry = ENTRIES.remove(key);
+        if (entry != null) {
+            storedBytes -= entry.bytes;
+        }
+    }
+
+    /** The bytes that 304s saved downloading, on all routes so far. */
+    static long getBytesSaved() {
+        long saved = 0;
+        for (RouteStats stats : ROUTES.values()) {
+            saved += stats.bytesSaved.sum();
+        }
+        return saved;
+    }
+
+    /** What the cache did on each route so far. */
+    static Map<String, RouteStats> getRouteStats() {
+        return new TreeMap<>(ROUTES);
+    }
+
+    static void logReport() {
+        if (ROUTES.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, RouteStats> route : getRouteStats().entrySet()) {
+            RouteStats stats = route.getValue();
+            if (stats.notModified.sum() + stats.modified.sum() + stats.bytesDownloaded.sum() == 0) {
+                continue;
+            }
+            lines.add(String.format("%n  %-70s %7d %7d %7d %7d %10.1f %10.1f", route.getKey(), stats.misses.sum(),
+                    stats.notModified.sum(), stats.modified.sum(), stats.passedOn.sum(),
+                    stats.bytesSaved.sum() / 1024.0, stats.bytesDownloaded.sum() / 1024.0));
+        }
+        int entries;
+        long bytes;
+        synchronized (ConditionalCache.class) {
+            entries = ENTRIES.size();
+            bytes = storedBytes;
+        }
+        LOG.info("Conditional cache: {} entries ({} KB), {} evictions, {} KB saved "
+                + "(misses, 304s, 200s, passed on, KB saved, KB downloaded):{}", entries, bytes / 1024,
+                EVICTIONS.sum(), getBytesSaved() / 1024, String.join("", lines));
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
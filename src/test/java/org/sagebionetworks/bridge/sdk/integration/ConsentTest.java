@@ -101,25 +101,29 @@ public class ConsentTest {
     private static TestUser adminUser;
     private static TestUser phoneOnlyTestUser;
     private static TestUser researchUser;
+    // Takes the place of study1 where the tests change its schedule.
+    private static String studyId;
     
     private TestUser user;
     private Schedule2 schedule;
     private Assessment assessmentA;
     private String externalId;
+    private String subpopGuid;
 
     @BeforeClass
     public static void before() throws Exception {
         // Get admin API.
-        adminUser = TestUserHelper.getSignedInAdmin();
+        adminUser = Tests.getSignedInAdmin();
+        studyId = IsolatedStudy.create(ConsentTest.class);
 
         // Make researcher.
-        researchUser = TestUserHelper.createAndSignInUser(ConsentTest.class, true, RESEARCHER);
+        researchUser = TestUserPool.lease(ConsentTest.class, true, RESEARCHER);
 
         // Make phone user.
         IntegTestUtils.deletePhoneUser();
         SignUp phoneOnlyUser = new SignUp().appId(TEST_APP_ID).consent(true).phone(PHONE);
-        phoneOnlyTestUser = new TestUserHelper.Builder(ConsentTest.class).withConsentUser(true)
-                .withSignUp(phoneOnlyUser).createAndSignInUser();
+        phoneOnlyTestUser = ApiMetrics.instrument(new TestUserHelper.Builder(ConsentTest.class).withConsentUser(true)
+                .withSignUp(phoneOnlyUser).createAndSignInUser());
 
         // Verify necessary flags (health code export) are enabled
         ForAdminsApi adminApi = adminUser.getClient(ForAdminsApi.class);
@@ -130,9 +134,12 @@ public class ConsentTest {
 
     @AfterClass
     public static void deleteResearcher() throws Exception {
-        if (researchUser != null) {
-            researchUser.signOutAndDeleteUser();
-        }
+        TestUserPool.release(researchUser);
+    }
+
+    @AfterClass
+    public static void deleteStudy() throws Exception {
+        IsolatedStudy.delete(ConsentTest.class);
     }
 
     @AfterClass
@@ -144,15 +151,15 @@ public class ConsentTest {
     
     @After
     public void deleteUser() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
-        if (user != null) {
-            user.signOutAndDeleteUser();
-        }
+        TestUser admin = Tests.getSignedInAdmin();
         if (externalId != null) {
             StudyParticipantsApi participantApi = admin.getClient(StudyParticipantsApi.class);
             StudyParticipant participant = participantApi.getStudyParticipantById(
-                    STUDY_ID_1, "externalid:"+externalId, false).execute().body();
-            participantApi.deleteStudyParticipant(STUDY_ID_1, participant.getId()).execute();
+                    studyId, "externalid:"+externalId, false).execute().body();
+            participantApi.deleteStudyParticipant(studyId, participant.getId()).execute();
+        }
+        if (subpopGuid != null) {
+            admin.getClient(SubpopulationsApi.class).deleteSubpopulation(subpopGuid, true).execute();
         }
         if (schedule != null) {
             admin.getClient(ForAdminsApi.class).deleteSchedule(schedule.getGuid()).execute();
@@ -164,53 +171,49 @@ public class ConsentTest {
 
     @Test
     public void canToggleDataSharing() throws Exception {
-        TestUser testUser = TestUserHelper.createAndSignInUser(ConsentTest.class, true);
+        TestUser testUser = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, true));
         ForConsentedUsersApi userApi = testUser.getClient(ForConsentedUsersApi.class);
-        try {
-            // starts out with no sharing
-            UserSessionInfo session = testUser.getSession();
-            assertEquals(NO_SHARING, session.getSharingScope());
+        // starts out with no sharing
+        UserSessionInfo session = testUser.getSession();
+        assertEquals(NO_SHARING, session.getSharingScope());
 
-            // Change, verify in-memory session changed, verify after signing in again that server state has changed
-            StudyParticipant participant = new StudyParticipant();
+        // Change, verify in-memory session changed, verify after signing in again that server state has changed
+        StudyParticipant participant = new StudyParticipant();
 
-            participant.sharingScope(SPONSORS_AND_PARTNERS);
-            userApi.updateUsersParticipantRecord(participant).execute();
-            
-            participant = userApi.getUsersParticipantRecord(false).execute().body();
-            assertEquals(SPONSORS_AND_PARTNERS, participant.getSharingScope());
+        participant.sharingScope(SPONSORS_AND_PARTNERS);
+        userApi.updateUsersParticipantRecord(participant).execute();
+        
+        participant = userApi.getUsersParticipantRecord(false).execute().body();
+        assertEquals(SPONSORS_AND_PARTNERS, participant.getSharingScope());
 
-            // Do the same thing in reverse, setting to no sharing
-            participant = new StudyParticipant();
-            participant.sharingScope(NO_SHARING);
+        // Do the same thing in reverse, setting to no sharing
+        participant = new StudyParticipant();
+        participant.sharingScope(NO_SHARING);
 
-            userApi.updateUsersParticipantRecord(participant).execute();
+        userApi.updateUsersParticipantRecord(participant).execute();
 
-            participant = userApi.getUsersParticipantRecord(true).execute().body();
-            assertEquals(NO_SHARING, participant.getSharingScope());
-            
-            Map<String,List<UserConsentHistory>> map = participant.getConsentHistories();
-            UserConsentHistory history = map.get(TEST_APP_ID).get(0);
-            
-            assertEquals(TEST_APP_ID, history.getSubpopulationGuid());
-            assertNotNull(history.getConsentCreatedOn());
-            assertNotNull(history.getName());
-            assertNotNull(history.getBirthdate());
-            assertTrue(history.getSignedOn().isAfter(DateTime.now().minusHours(1)));
-            assertTrue(history.isHasSignedActiveConsent());
-            
-            AuthenticationApi authApi = testUser.getClient(AuthenticationApi.class);
-            authApi.signOut().execute();
-        } finally {
-            testUser.signOutAndDeleteUser();
-        }
+        participant = userApi.getUsersParticipantRecord(true).execute().body();
+        assertEquals(NO_SHARING, participant.getSharingScope());
+        
+        Map<String,List<UserConsentHistory>> map = participant.getConsentHistories();
+        UserConsentHistory history = map.get(TEST_APP_ID).get(0);
+        
+        assertEquals(TEST_APP_ID, history.getSubpopulationGuid());
+        assertNotNull(history.getConsentCreatedOn());
+        assertNotNull(history.getName());
+        assertNotNull(history.getBirthdate());
+        assertTrue(history.getSignedOn().isAfter(DateTime.now().minusHours(1)));
+        assertTrue(history.isHasSignedActiveConsent());
+        
+        AuthenticationApi authApi = testUser.getClient(AuthenticationApi.class);
+        authApi.signOut().execute();
     }
 
     // BRIDGE-1594
     @Test
     public void giveConsentAndWithdrawTwice() throws Exception {
-        TestUser developer = TestUserHelper.createAndSignInUser(ConsentTest.class, true, DEVELOPER);
-        TestUser user = TestUserHelper.createAndSignInUser(ConsentTest.class, false);
+        TestUser developer = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, true, DEVELOPER));
+        TestUser user = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, false));
         SubpopulationsApi subpopsApi = developer.getClientManager().getClient(SubpopulationsApi.class);
         GuidVersionHolder keys = null;
         try {
@@ -256,8 +259,6 @@ public class ConsentTest {
             }
         } finally {
             adminUser.getClient(SubpopulationsApi.class).deleteSubpopulation(keys.getGuid(), true).execute();
-            user.signOutAndDeleteUser();
-            developer.signOutAndDeleteUser();
         }
     }
 
@@ -274,30 +275,26 @@ public class ConsentTest {
     @SuppressWarnings("deprecation")
     @Test
     public void signedInUserMustGiveConsent() throws Exception {
-        TestUser user = TestUserHelper.createAndSignInUser(ConsentTest.class, false);
+        TestUser user = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, false));
+        ForConsentedUsersApi userApi = user.getClient(ForConsentedUsersApi.class);
+        assertFalse("User has not consented", user.getSession().isConsented());
         try {
-            ForConsentedUsersApi userApi = user.getClient(ForConsentedUsersApi.class);
-            assertFalse("User has not consented", user.getSession().isConsented());
-            try {
-                userApi.getSchedulesV1().execute();
-                fail("Should have required consent.");
-            } catch (ConsentRequiredException e) {
-                assertEquals("Exception is a 412 Precondition Failed", 412, e.getStatusCode());
-            }
+            userApi.getSchedulesV1().execute();
+            fail("Should have required consent.");
+        } catch (ConsentRequiredException e) {
+            assertEquals("Exception is a 412 Precondition Failed", 412, e.getStatusCode());
+        }
 
-            LocalDate date = new LocalDate(1970, 10, 10);
-            ConsentSignature signature = new ConsentSignature().name(user.getEmail()).birthdate(date)
-                    .scope(SPONSORS_AND_PARTNERS);
-            userApi.createConsentSignature(user.getDefaultSubpopulation(), signature).execute();
+        LocalDate date = new LocalDate(1970, 10, 10);
+        ConsentSignature signature = new ConsentSignature().name(user.getEmail()).birthdate(date)
+                .scope(SPONSORS_AND_PARTNERS);
+        userApi.createConsentSignature(user.getDefaultSubpopulation(), signature).execute();
 
-            UserSessionInfo session = user.signInAgain();
+        UserSessionInfo session = user.signInAgain();
 
-            assertTrue("User has consented", session.isConsented());
-            // This should succeed
-            userApi.getSchedulesV1().execute();
-        } finally {
-            user.signOutAndDeleteUser();
-        }
+        assertTrue("User has consented", session.isConsented());
+        // This should succeed
+        userApi.getSchedulesV1().execute();
     }
 
     @SuppressWarnings("deprecation")
@@ -305,24 +302,20 @@ public class ConsentTest {
     public void userMustMeetMinAgeRequirements() throws Exception {
         TestUser user = null;
         try {
-            user = TestUserHelper.createAndSignInUser(ConsentTest.class, false);
+            user = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, false));
         } catch (ConsentRequiredException e) {
             // this is expected when you sign in.
         }
+        ForConsentedUsersApi userApi = user.getClient(ForConsentedUsersApi.class);
         try {
-            ForConsentedUsersApi userApi = user.getClient(ForConsentedUsersApi.class);
-            try {
-                userApi.getSchedulesV1();
-            } catch (ConsentRequiredException e) {
-                // this is what we're expecting now
-            }
-            LocalDate date = LocalDate.now();
-            ConsentSignature signature = new ConsentSignature().name(user.getEmail()).birthdate(date)
-                    .scope(SPONSORS_AND_PARTNERS);
-            userApi.createConsentSignature(user.getDefaultSubpopulation(), signature).execute();
-        } finally {
-            user.signOutAndDeleteUser();
+            userApi.getSchedulesV1();
+        } catch (ConsentRequiredException e) {
+            // this is what we're expecting now
         }
+        LocalDate date = LocalDate.now();
+        ConsentSignature signature = new ConsentSignature().name(user.getEmail()).birthdate(date)
+                .scope(SPONSORS_AND_PARTNERS);
+        userApi.createConsentSignature(user.getDefaultSubpopulation(), signature).execute();
     }
 
     @Test
@@ -356,122 +349,114 @@ public class ConsentTest {
     @SuppressWarnings("deprecation")
     private static void giveAndGetConsentHelper(String name, LocalDate birthdate, String imageData,
             String imageMimeType) throws Exception {
-        TestUser testUser = TestUserHelper.createAndSignInUser(ConsentTest.class, false);
+        TestUser testUser = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, false));
 
         ConsentSignature sig = new ConsentSignature().name(name).birthdate(birthdate).imageData(imageData)
                 .imageMimeType(imageMimeType).scope(ALL_QUALIFIED_RESEARCHERS);
-        try {
-            ForConsentedUsersApi userApi = testUser.getClient(ForConsentedUsersApi.class);
+        ForConsentedUsersApi userApi = testUser.getClient(ForConsentedUsersApi.class);
 
-            assertFalse("User has not consented", testUser.getSession().isConsented());
-            assertFalse(RestUtils.isUserConsented(testUser.getSession()));
+        assertFalse("User has not consented", testUser.getSession().isConsented());
+        assertFalse(RestUtils.isUserConsented(testUser.getSession()));
 
-            // get consent should fail if the user hasn't given consent
-            try {
-                userApi.getConsentSignature(testUser.getDefaultSubpopulation()).execute();
-                fail("ConsentRequiredException not thrown");
-            } catch (ConsentRequiredException ex) {
-                // expected
-            }
-            
-            // Verify this does not change for older versions of the SDK that were not mapped
-            // to intercept and update the session from this call.
-            String existingSessionToken = testUser.getSession().getSessionToken();
-            
-            // give consent
-            UserSessionInfo session = userApi.createConsentSignature(testUser.getDefaultSubpopulation(), sig).execute()
-                    .body();
-            
-            assertEquals(existingSessionToken, session.getSessionToken());
-
-            // Session should be updated to reflect this consent.
-            ConsentStatus status = session.getConsentStatuses().get(testUser.getDefaultSubpopulation());
-            assertTrue(status.isConsented());
-            assertTrue(status.isSignedMostRecentConsent());
-
-            // Participant record includes the sharing scope that was set
-            StudyParticipant participant = userApi.getUsersParticipantRecord(false).execute().body();
-            assertEquals(ALL_QUALIFIED_RESEARCHERS, participant.getSharingScope());
-
-            // Session now shows consent...
-            session = testUser.signInAgain();
-            assertTrue(RestUtils.isUserConsented(session));
-
-            // get consent and validate that it's the same consent
-            ConsentSignature sigFromServer = userApi.getConsentSignature(testUser.getDefaultSubpopulation()).execute()
-                    .body();
-            assertEquals("name matches", name, sigFromServer.getName());
-            assertEquals("birthdate matches", birthdate, sigFromServer.getBirthdate());
-            assertEquals("imageData matches", imageData, sigFromServer.getImageData());
-            assertEquals("imageMimeType matches", imageMimeType, sigFromServer.getImageMimeType());
-            assertNotNull(sigFromServer.getSignedOn());
-            
-            // giving consent again will throw
-            try {
-                // See BRIDGE-1568
-                sig = new ConsentSignature().name(sig.getName()).birthdate(sig.getBirthdate())
-                        .scope(ALL_QUALIFIED_RESEARCHERS).imageData(sig.getImageData())
-                        .imageMimeType(sig.getImageMimeType());
-                userApi.createConsentSignature(testUser.getDefaultSubpopulation(), sig).execute();
-                fail("EntityAlreadyExistsException not thrown");
-            } catch (EntityAlreadyExistsException ex) {
-                // expected
-            }
+        // get consent should fail if the user hasn't given consent
+        try {
+            userApi.getConsentSignature(testUser.getDefaultSubpopulation()).execute();
+            fail("ConsentRequiredException not thrown");
+        } catch (ConsentRequiredException ex) {
+            // expected
+        }
+        
+        // Verify this does not change for older versions of the SDK that were not mapped
+        // to intercept and update the session from this call.
+        String existingSessionToken = testUser.getSession().getSessionToken();
+        
+        // give consent
+        UserSessionInfo session = userApi.createConsentSignature(testUser.getDefaultSubpopulation(), sig).execute()
+                .body();
+        
+        assertEquals(existingSessionToken, session.getSessionToken());
+
+        // Session should be updated to reflect this consent.
+        ConsentStatus status = session.getConsentStatuses().get(testUser.getDefaultSubpopulation());
+        assertTrue(status.isConsented());
+        assertTrue(status.isSignedMostRecentConsent());
+
+        // Participant record includes the sharing scope that was set
+        StudyParticipant participant = userApi.getUsersParticipantRecord(false).execute().body();
+        assertEquals(ALL_QUALIFIED_RESEARCHERS, participant.getSharingScope());
+
+        // Session now shows consent...
+        session = testUser.signInAgain();
+        assertTrue(RestUtils.isUserConsented(session));
+
+        // get consent and validate that it's the same consent
+        ConsentSignature sigFromServer = userApi.getConsentSignature(testUser.getDefaultSubpopulation()).execute()
+                .body();
+        assertEquals("name matches", name, sigFromServer.getName());
+        assertEquals("birthdate matches", birthdate, sigFromServer.getBirthdate());
+        assertEquals("imageData matches", imageData, sigFromServer.getImageData());
+        assertEquals("imageMimeType matches", imageMimeType, sigFromServer.getImageMimeType());
+        assertNotNull(sigFromServer.getSignedOn());
+        
+        // giving consent again will throw
+        try {
+            // See BRIDGE-1568
+            sig = new ConsentSignature().name(sig.getName()).birthdate(sig.getBirthdate())
+                    .scope(ALL_QUALIFIED_RESEARCHERS).imageData(sig.getImageData())
+                    .imageMimeType(sig.getImageMimeType());
+            userApi.createConsentSignature(testUser.getDefaultSubpopulation(), sig).execute();
+            fail("EntityAlreadyExistsException not thrown");
+        } catch (EntityAlreadyExistsException ex) {
+            // expected
+        }
 
-            // The remote session should also reflect the sharing scope
-            AuthenticationApi authApi = testUser.getClient(AuthenticationApi.class);
-            authApi.signOut().execute();
+        // The remote session should also reflect the sharing scope
+        AuthenticationApi authApi = testUser.getClient(AuthenticationApi.class);
+        authApi.signOut().execute();
 
-            session = testUser.signInAgain();
-            existingSessionToken = session.getSessionToken();
-            
-            assertEquals(ALL_QUALIFIED_RESEARCHERS, session.getSharingScope());
-            assertTrue(RestUtils.isUserConsented(session));
-
-            // withdraw consent
-            Withdrawal withdrawal = new Withdrawal().reason("Withdrawing test user from study");
-            userApi = testUser.getClient(ForConsentedUsersApi.class);
-            session = userApi.withdrawConsentFromSubpopulation(testUser.getDefaultSubpopulation(), withdrawal).execute()
-                    .body();
-            
-            // Again, the session token should not change as a result of withdrawing.
-            assertEquals(existingSessionToken, session.getSessionToken());
-
-            // Session should reflect the withdrawal of consent
-            status = session.getConsentStatuses().get(testUser.getDefaultSubpopulation());
-            assertFalse(status.isConsented());
-            assertFalse(status.isSignedMostRecentConsent());
-            assertNull(status.getSignedOn());
-            
-            // Get the consent signature and verify it is withdrawn. You can't get it as the test 
-            // user... the user is withdrawn! 
-            ParticipantsApi participantsApi = researchUser.getClient(ParticipantsApi.class);
-            StudyParticipant retrieved = participantsApi.getParticipantById(testUser.getUserId(), true).execute().body();
-            
-            List<UserConsentHistory> history = retrieved.getConsentHistories().get(testUser.getDefaultSubpopulation());
-            assertTrue( history.get(0).getWithdrewOn().isAfter(DateTime.now().minusHours(1)) );
-            
-            // This method should now (immediately) throw a ConsentRequiredException
-            try {
-                userApi.getSchedulesV1().execute();
-                fail("Should have thrown exception");
-            } catch (ConsentRequiredException e) {
-                // what we want
-            }
-        } finally {
-            testUser.signOutAndDeleteUser();
+        session = testUser.signInAgain();
+        existingSessionToken = session.getSessionToken();
+        
+        assertEquals(ALL_QUALIFIED_RESEARCHERS, session.getSharingScope());
+        assertTrue(RestUtils.isUserConsented(session));
+
+        // withdraw consent
+        Withdrawal withdrawal = new Withdrawal().reason("Withdrawing test user from study");
+        userApi = testUser.getClient(ForConsentedUsersApi.class);
+        session = userApi.withdrawConsentFromSubpopulation(testUser.getDefaultSubpopulation(), withdrawal).execute()
+                .body();
+        
+        // Again, the session token should not change as a result of withdrawing.
+        assertEquals(existingSessionToken, session.getSessionToken());
+
+        // Session should reflect the withdrawal of consent
+        status = session.getConsentStatuses().get(testUser.getDefaultSubpopulation());
+        assertFalse(status.isConsented());
+        assertFalse(status.isSignedMostRecentConsent());
+        assertNull(status.getSignedOn());
+        
+        // Get the consent signature and verify it is withdrawn. You can't get it as the test 
+        // user... the user is withdrawn! 
+        ParticipantsApi participantsApi = researchUser.getClient(ParticipantsApi.class);
+        StudyParticipant retrieved = participantsApi.getParticipantById(testUser.getUserId(), true).execute().body();
+        
+        List<UserConsentHistory> history = retrieved.getConsentHistories().get(testUser.getDefaultSubpopulation());
+        assertTrue( history.get(0).getWithdrewOn().isAfter(DateTime.now().minusHours(1)) );
+        
+        // This method should now (immediately) throw a ConsentRequiredException
+        try {
+            userApi.getSchedulesV1().execute();
+            fail("Should have thrown exception");
+        } catch (ConsentRequiredException e) {
+            // what we want
         }
     }
 
     @Test
     public void canResendConsentAgreement() throws Exception {
-        TestUser testUser = TestUserHelper.createAndSignInUser(ConsentTest.class, true);
-        try {
-            ForConsentedUsersApi userApi = testUser.getClient(ForConsentedUsersApi.class);
-            userApi.resendConsentAgreement(testUser.getDefaultSubpopulation()).execute();
-        } finally {
-            testUser.signOutAndDeleteUser();
-        }
+        TestUser testUser = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, true));
+        ForConsentedUsersApi userApi = testUser.getClient(ForConsentedUsersApi.class);
+        userApi.resendConsentAgreement(testUser.getDefaultSubpopulation()).execute();
     }
 
     @Test
@@ -525,26 +510,22 @@ public class ConsentTest {
     @SuppressWarnings("deprecation")
     @Test
     public void canWithdrawFromApp() throws Exception {
-        TestUser testUser = TestUserHelper.createAndSignInUser(ConsentTest.class, true);
-        try {
-            UserSessionInfo session = testUser.getSession();
+        TestUser testUser = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, true));
+        UserSessionInfo session = testUser.getSession();
 
-            // Can get activities without an error... user is indeed consented.
-            ForConsentedUsersApi userApi = testUser.getClient(ForConsentedUsersApi.class);
-            userApi.getScheduledActivities("+00:00", 1, null).execute();
+        // Can get activities without an error... user is indeed consented.
+        ForConsentedUsersApi userApi = testUser.getClient(ForConsentedUsersApi.class);
+        userApi.getScheduledActivities("+00:00", 1, null).execute();
 
-            assertTrue(RestUtils.isUserConsented(session));
+        assertTrue(RestUtils.isUserConsented(session));
 
-            Withdrawal withdrawal = new Withdrawal().reason("I'm just a test user.");
-            testUser.getClient(ForConsentedUsersApi.class).withdrawFromApp(withdrawal).execute();
+        Withdrawal withdrawal = new Withdrawal().reason("I'm just a test user.");
+        testUser.getClient(ForConsentedUsersApi.class).withdrawFromApp(withdrawal).execute();
 
-            try {
-                testUser.signInAgain();
-                fail("Should have thrown exception");
-            } catch (EntityNotFoundException e) {
-            }
-        } finally {
-            testUser.signOutAndDeleteUser();
+        try {
+            testUser.signInAgain();
+            fail("Should have thrown exception");
+        } catch (EntityNotFoundException e) {
         }
     }
 
@@ -552,31 +533,27 @@ public class ConsentTest {
     public void canWithdrawParticipantFromApp() throws Exception {
         String externalId = Tests.randomIdentifier(getClass());
         SignUp signUp = new SignUp().externalIds(ImmutableMap.of(STUDY_ID_2, externalId));
-        TestUser testUser = TestUserHelper.createAndSignInUser(ConsentTest.class, true, signUp);
+        TestUser testUser = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, true, signUp));
         String userId = testUser.getSession().getId();
-        try {
-            ParticipantsApi participantsApi = researchUser.getClient(ParticipantsApi.class);
-
-            Withdrawal withdrawal = new Withdrawal().reason("Reason for withdrawal.");
-            Message message = participantsApi.withdrawParticipantFromApp(userId, withdrawal).execute().body();
-            assertEquals("User has been withdrawn from one or more studies in the app.", message.getMessage());
-
-            // Retrieve the account and verify it has been processed correctly.
-            StudyParticipant theUser = participantsApi.getParticipantById(userId, true).execute().body();
-            assertEquals(NO_SHARING, theUser.getSharingScope());
-            assertFalse(theUser.isNotifyByEmail());
-            assertNull(theUser.getEmail());
-            assertFalse(theUser.isEmailVerified());
-            assertNull(theUser.getPhone());
-            assertFalse(theUser.isPhoneVerified());
-            assertTrue(theUser.getExternalIds().isEmpty());
-            for (List<UserConsentHistory> histories : theUser.getConsentHistories().values()) {
-                for (UserConsentHistory oneHistory : histories) {
-                    assertNotNull(oneHistory.getWithdrewOn());
-                }
+        ParticipantsApi participantsApi = researchUser.getClient(ParticipantsApi.class);
+
+        Withdrawal withdrawal = new Withdrawal().reason("Reason for withdrawal.");
+        Message message = participantsApi.withdrawParticipantFromApp(userId, withdrawal).execute().body();
+        assertEquals("User has been withdrawn from one or more studies in the app.", message.getMessage());
+
+        // Retrieve the account and verify it has been processed correctly.
+        StudyParticipant theUser = participantsApi.getParticipantById(userId, true).execute().body();
+        assertEquals(NO_SHARING, theUser.getSharingScope());
+        assertFalse(theUser.isNotifyByEmail());
+        assertNull(theUser.getEmail());
+        assertFalse(theUser.isEmailVerified());
+        assertNull(theUser.getPhone());
+        assertFalse(theUser.isPhoneVerified());
+        assertTrue(theUser.getExternalIds().isEmpty());
+        for (List<UserConsentHistory> histories : theUser.getConsentHistories().values()) {
+            for (UserConsentHistory oneHistory : histories) {
+                assertNotNull(oneHistory.getWithdrewOn());
             }
-        } finally {
-            testUser.signOutAndDeleteUser();
         }
     }
 
@@ -663,7 +640,7 @@ public class ConsentTest {
             subpop.setGuid(keys.getGuid());
             subpop.setVersion(keys.getVersion());
             
-            user = TestUserHelper.createAndSignInUser(ConsentTest.class, true);
+            user = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, true));
             
             ConsentSignature sig = new ConsentSignature()
                     .name(user.getSession().getFirstName() + " " + user.getSession().getLastName())
@@ -677,9 +654,6 @@ public class ConsentTest {
             assertTrue(status.isConsented());
             
         } finally {
-            if (user != null) {
-                user.signOutAndDeleteUser();
-            }
             if (subpop.getGuid() != null) {
                 subpopsApi.deleteSubpopulation(subpop.getGuid(), true).execute();    
             }
@@ -691,9 +665,9 @@ public class ConsentTest {
         ForDevelopersApi developersApi = adminUser.getClient(ForDevelopersApi.class);
         AssessmentsApi asmtsApi = adminUser.getClient(AssessmentsApi.class);
         
-        Study study = developersApi.getStudy(Tests.STUDY_ID_1).execute().body();
+        Study study = developersApi.getStudy(studyId).execute().body();
         
-        // If there's a schedule associated to study 1, we need to delete it.
+        // If there's a schedule associated to the study, we need to delete it.
         if (study.getScheduleGuid() != null) {
             adminUser.getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid()).execute();
         }
@@ -717,13 +691,13 @@ public class ConsentTest {
                         .startTime("08:00").expiration("PT6H"))
                 .addTimeWindowsItem(new TimeWindow()
                         .startTime("16:00").expiration("PT6H").persistent(true));
-        schedule = developersApi.saveScheduleForStudy(STUDY_ID_1, new Schedule2()
+        schedule = developersApi.saveScheduleForStudy(studyId, new Schedule2()
                 .name("ConsentTest Schedule")
                 .duration("P22D")
                 .addStudyBurstsItem(burst)
                 .addSessionsItem(s1)).execute().body();
         
-        user = TestUserHelper.createAndSignInUser(ConsentTest.class, false);
+        user = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, false));
         
         ForConsentedUsersApi userApi = user.getClient(ForConsentedUsersApi.class);
         ConsentSignature sig = new ConsentSignature()
@@ -734,8 +708,19 @@ public class ConsentTest {
         // This fails without server code to ensure the caller has access to the study they have
         // just enrolled into.
         userApi.createConsentSignature("api", sig).execute().body();
+        if (!STUDY_ID_1.equals(studyId)) {
+            // Consenting to the default subpopulation enrolls the user in study1. The isolated study
+            // needs a subpopulation of its own to enroll the user on consent.
+            Subpopulation subpop = new Subpopulation();
+            subpop.setName("ConsentTest " + studyId);
+            subpop.setAutoSendConsentSuppressed(true);
+            subpop.setStudyIdsAssignedOnConsent(ImmutableList.of(studyId));
+            subpopGuid = adminUser.getClient(SubpopulationsApi.class).createSubpopulation(subpop).execute().body()
+                    .getGuid();
+            userApi.createConsentSignature(subpopGuid, sig).execute().body();
+        }
         
-        StudyActivityEventList list = userApi.getStudyActivityEvents(STUDY_ID_1).execute().body();
+        StudyActivityEventList list = userApi.getStudyActivityEvents(studyId).execute().body();
         
         Set<String> events = list.getItems().stream().map(StudyActivityEvent::getEventId).collect(toSet());
         assertTrue(events.containsAll(ImmutableSet.of("enrollment", "study_burst:foo:01", "study_burst:foo:02")));
@@ -747,9 +732,9 @@ public class ConsentTest {
         externalId = Tests.randomIdentifier(getClass());
         SignUp signUp = new SignUp().appId(TEST_APP_ID)
                 .dataGroups(ImmutableList.of("test_user"))
-                .externalIds(ImmutableMap.of(STUDY_ID_1, externalId)).password(PASSWORD);
+                .externalIds(ImmutableMap.of(studyId, externalId)).password(PASSWORD);
 
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         ApiClientProvider provider = Tests.getUnauthenticatedClientProvider(admin.getClientManager(), TEST_APP_ID);
         AuthenticationApi authApi = provider.getClient(AuthenticationApi.class);
         authApi.signUp(signUp).execute();
@@ -760,7 +745,7 @@ public class ConsentTest {
             fail("Should have thrown exception");
         } catch(ConsentRequiredException e) {
             UserSessionInfo session = e.getSession();
-            EnrollmentInfo en = session.getEnrollments().get(STUDY_ID_1);
+            EnrollmentInfo en = session.getEnrollments().get(studyId);
             assertEquals(externalId, en.getExternalId());
         }
     }
@@ -775,7 +760,7 @@ public class ConsentTest {
     private void withdrawalTest(WithdrawMethod withdrawMethod) throws Exception {
         TestUser user = null;
         Subpopulation subpop = null;
-        TestUser devUser = TestUserHelper.createAndSignInUser(ConsentTest.class, true, DEVELOPER);
+        TestUser devUser = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, true, DEVELOPER));
         SubpopulationsApi subpopApi = devUser.getClient(SubpopulationsApi.class);
         try {
             AppsApi appsApi = devUser.getClient(AppsApi.class);
@@ -796,7 +781,7 @@ public class ConsentTest {
             // The user is signed in to all required consents, so no need to consent again 
             // create a user and consent to that subpopulation. Verify that the session 
             // contains all the correct information
-            user = TestUserHelper.createAndSignInUser(ConsentTest.class, true);
+            user = Cleanup.user(Tests.createAndSignInUser(ConsentTest.class, true));
             UserSessionInfo session = user.getSession();
             assertTrue(session.getStudyIds().contains(STUDY_ID_2));
             assertTrue(session.getDataGroups().containsAll(dataGroupList));
@@ -804,15 +789,10 @@ public class ConsentTest {
             // withdraw and verify
             withdrawMethod.withdraw(user, studyIds, subpop);
         } finally {
-            // delete the user
-            if (user != null) {
-                user.signOutAndDeleteUser();
-            }
             // delete the subpopulation
             if (subpop != null && subpop.getGuid() != null) {
                 adminUser.getClient(SubpopulationsApi.class).deleteSubpopulation(subpop.getGuid(), true).execute();
             }
-            devUser.signOutAndDeleteUser();
         }
     }
 }
@@ -21,7 +21,6 @@ import org.sagebionetworks.bridge.rest.model.AppConfig;
 import org.sagebionetworks.bridge.rest.model.Criteria;
 import org.sagebionetworks.bridge.rest.model.GuidVersionHolder;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class CriteriaTest {
 
@@ -33,13 +32,13 @@ public class CriteriaTest {
     @Before
     public void before() throws Exception {
         appConfigGuids = new HashSet<>();
-        developer = TestUserHelper.createAndSignInUser(CriteriaTest.class, false, DEVELOPER);
-        user = TestUserHelper.createAndSignInUser(CriteriaTest.class, true);
+        developer = Tests.createAndSignInUser(CriteriaTest.class, false, DEVELOPER);
+        user = Tests.createAndSignInUser(CriteriaTest.class, true);
     }
     
     @After
     public void after() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         for (String oneGuid : appConfigGuids) {
             admin.getClient(ForAdminsApi.class).deleteAppConfig(oneGuid, true).execute();
         }
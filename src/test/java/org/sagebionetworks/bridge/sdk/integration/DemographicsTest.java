@@ -39,7 +39,6 @@ import org.sagebionetworks.bridge.rest.model.Enrollment;
 import org.sagebionetworks.bridge.rest.model.Role;
 import org.sagebionetworks.bridge.rest.model.Study;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -87,18 +86,18 @@ public class DemographicsTest {
 
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
 
         adminsApi = admin.getClient(ForAdminsApi.class);
         studiesApi = admin.getClient(StudiesApi.class);
         organizationsApi = admin.getClient(OrganizationsApi.class);
 
-        researcherStudyCoordinator = TestUserHelper.createAndSignInUser(DemographicsTest.class, true, Role.RESEARCHER,
+        researcherStudyCoordinator = Tests.createAndSignInUser(DemographicsTest.class, true, Role.RESEARCHER,
                 Role.STUDY_COORDINATOR);
-        consentedUserInStudy = TestUserHelper.createAndSignInUser(DemographicsTest.class, true);
-        secondConsentedUserInStudy = TestUserHelper.createAndSignInUser(DemographicsTest.class, true);
-        consentedUserNotInStudy = TestUserHelper.createAndSignInUser(DemographicsTest.class, true);
-        unconsentedUser = TestUserHelper.createAndSignInUser(DemographicsTest.class, false);
+        consentedUserInStudy = Tests.createAndSignInUser(DemographicsTest.class, true);
+        secondConsentedUserInStudy = Tests.createAndSignInUser(DemographicsTest.class, true);
+        consentedUserNotInStudy = Tests.createAndSignInUser(DemographicsTest.class, true);
+        unconsentedUser = Tests.createAndSignInUser(DemographicsTest.class, false);
 
         researchersApi = researcherStudyCoordinator.getClient(ForResearchersApi.class);
         consentedUsersApi = consentedUserInStudy.getClient(ForConsentedUsersApi.class);
@@ -38,7 +38,6 @@ import org.sagebionetworks.bridge.rest.model.IdentifierHolder;
 import org.sagebionetworks.bridge.rest.model.SignUp;
 import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class EnrollmentTest {
     
@@ -70,9 +69,9 @@ public class EnrollmentTest {
     
     @Before
     public void before() throws Exception {
-        researcher = TestUserHelper.createAndSignInUser(EnrollmentTest.class, false, RESEARCHER);
+        researcher = Tests.createAndSignInUser(EnrollmentTest.class, false, RESEARCHER);
         
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         OrganizationsApi orgsApi = admin.getClient(OrganizationsApi.class);
 
         orgsApi.addMember(ORG_ID_1, researcher.getUserId()).execute();
@@ -93,7 +92,7 @@ public class EnrollmentTest {
     @Test
     public void test() throws Exception {
         String externalId = Tests.randomIdentifier(getClass());
-        user = TestUserHelper.createAndSignInUser(EnrollmentTest.class, true);
+        user = Tests.createAndSignInUser(EnrollmentTest.class, true);
         
         DateTime timestamp = DateTime.now();
         StudiesApi studiesApi = admin.getClient(StudiesApi.class);
@@ -192,7 +191,7 @@ public class EnrollmentTest {
         String externalId = Tests.randomIdentifier(getClass());
         IdentifierHolder keys = null;
         
-        studyCoordinator = TestUserHelper.createAndSignInUser(EnrollmentTest.class, false, STUDY_COORDINATOR);
+        studyCoordinator = Tests.createAndSignInUser(EnrollmentTest.class, false, STUDY_COORDINATOR);
         try {
             // study coordinator can enroll the user in study1. Include an external ID as well.
             ForStudyCoordinatorsApi coordApi = studyCoordinator.getClient(ForStudyCoordinatorsApi.class);
@@ -220,20 +219,20 @@ public class EnrollmentTest {
     
     @Test
     public void enrollmentsAreFiltered() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         OrganizationsApi orgsApi = admin.getClient(OrganizationsApi.class);
         StudiesApi studiesApi = admin.getClient(StudiesApi.class);
 
         // Can access only study 1
-        org1StudyCoordinator = TestUserHelper.createAndSignInUser(EnrollmentTest.class, false, STUDY_COORDINATOR);
+        org1StudyCoordinator = Tests.createAndSignInUser(EnrollmentTest.class, false, STUDY_COORDINATOR);
         orgsApi.addMember(ORG_ID_1, org1StudyCoordinator.getUserId()).execute();
 
         // Can access only study 2
-        org2StudyCoordinator = TestUserHelper.createAndSignInUser(EnrollmentTest.class, false, STUDY_COORDINATOR);
+        org2StudyCoordinator = Tests.createAndSignInUser(EnrollmentTest.class, false, STUDY_COORDINATOR);
         orgsApi.addMember(ORG_ID_2, org2StudyCoordinator.getUserId()).execute();
         
         // Enroll user in both studies
-        user = TestUserHelper.createAndSignInUser(EnrollmentTest.class, true);
+        user = Tests.createAndSignInUser(EnrollmentTest.class, true);
         studiesApi.enrollParticipant(STUDY_ID_1, new Enrollment().userId(user.getUserId())).execute();
         studiesApi.enrollParticipant(STUDY_ID_2, new Enrollment().userId(user.getUserId())).execute();
         
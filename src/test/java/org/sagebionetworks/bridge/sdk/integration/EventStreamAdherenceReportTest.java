@@ -10,14 +10,15 @@ import static org.sagebionetworks.bridge.rest.model.SessionCompletionState.NOT_Y
 import static org.sagebionetworks.bridge.rest.model.SessionCompletionState.UNSTARTED;
 import static org.sagebionetworks.bridge.sdk.integration.InitListener.CLINIC_VISIT;
 import static org.sagebionetworks.bridge.sdk.integration.InitListener.FAKE_ENROLLMENT;
-import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_1;
 import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
 
 import java.util.Set;
 
 import org.joda.time.DateTime;
 import org.junit.After;
+import org.junit.AfterClass;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.sagebionetworks.bridge.rest.api.AssessmentsApi;
 import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
@@ -35,12 +36,13 @@ import org.sagebionetworks.bridge.rest.model.Study;
 import org.sagebionetworks.bridge.rest.model.StudyActivityEventRequest;
 import org.sagebionetworks.bridge.rest.model.TimeWindow;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.google.common.collect.ImmutableSet;
 
 public class EventStreamAdherenceReportTest {
     
+    private static String studyId;
+    
     private TestUser participant;
     private TestUser developer;
     
@@ -50,16 +52,26 @@ public class EventStreamAdherenceReportTest {
     private String asmtATag;
     private String asmtBTag;
     
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        studyId = IsolatedStudy.create(EventStreamAdherenceReportTest.class);
+    }
+    
+    @AfterClass
+    public static void afterClass() throws Exception {
+        IsolatedStudy.delete(EventStreamAdherenceReportTest.class);
+    }
+    
     @Before
     public void before() throws Exception {
-        developer = TestUserHelper.createAndSignInUser(getClass(), false, DEVELOPER);
+        developer = Cleanup.user(Tests.createAndSignInUser(getClass(), false, DEVELOPER));
         ForDevelopersApi developersApi = developer.getClient(ForDevelopersApi.class);
         AssessmentsApi asmtsApi = developer.getClient(AssessmentsApi.class);
         
-        Study study = developersApi.getStudy(STUDY_ID_1).execute().body();
+        Study study = developersApi.getStudy(studyId).execute().body();
         
         // If there's a schedule associated to study 1, we need to delete it.
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         if (study.getScheduleGuid() != null) {
             admin.getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid()).execute();
         }        
@@ -73,6 +85,7 @@ public class EventStreamAdherenceReportTest {
                 .ownerId(developer.getSession().getOrgMembership())
                 .title("Assessment A");
         assessmentA = asmtsApi.createAssessment(assessmentA).execute().body();
+        Cleanup.assessment(assessmentA.getGuid());
         
         assessmentB = new Assessment()
                 .identifier(asmtBTag)
@@ -80,6 +93,7 @@ public class EventStreamAdherenceReportTest {
                 .ownerId(developer.getSession().getOrgMembership())
                 .title("Assessment B");
         assessmentB = asmtsApi.createAssessment(assessmentB).execute().body();
+        Cleanup.assessment(assessmentB.getGuid());
         
         Session s1 = new Session()
                 .name("Session #1")
@@ -116,37 +130,25 @@ public class EventStreamAdherenceReportTest {
                 .addSessionsItem(s1)
                 .addSessionsItem(s2)
                 .addSessionsItem(s3);
-        schedule = developersApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute().body();
+        schedule = developersApi.saveScheduleForStudy(studyId, schedule).execute().body();
     }
     
     @After
     public void after() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
-        AssessmentsApi assessmentsApi = admin.getClient(AssessmentsApi.class);
+        TestUser admin = Tests.getSignedInAdmin();
         SchedulesV2Api schedulesApi = admin.getClient(SchedulesV2Api.class);
-        if (participant != null) {
-            participant.signOutAndDeleteUser();
-        }
         if (schedule != null && schedule.getGuid() != null) {
             schedulesApi.deleteSchedule(schedule.getGuid()).execute();
         }
-        if (assessmentA != null && assessmentA.getGuid() != null) {
-            assessmentsApi.deleteAssessment(assessmentA.getGuid(), true).execute();
-        }
-        if (assessmentB != null && assessmentB.getGuid() != null) {
-            assessmentsApi.deleteAssessment(assessmentB.getGuid(), true).execute();
-        }
-        if (developer != null) {
-            developer.signOutAndDeleteUser();
-        }
     }
     
     @Test
     public void test() throws Exception { 
-        participant = TestUserHelper.createAndSignInUser(getClass(), true);
+        participant = Cleanup.user(Tests.createAndSignInUser(getClass(), true));
+        IsolatedStudy.enroll(studyId, participant);
         
         ForConsentedUsersApi userApi = participant.getClient(ForConsentedUsersApi.class);
-        EventStreamAdherenceReport report = userApi.getUsersStudyParticipantEventStreamAdherenceReport(STUDY_ID_1, null, null).execute().body();
+        EventStreamAdherenceReport report = userApi.getUsersStudyParticipantEventStreamAdherenceReport(studyId, null, null).execute().body();
         
         // The user hasn't done anything...
         assertEquals(ParticipantStudyProgress.UNSTARTED, report.getProgression());
@@ -157,9 +159,9 @@ public class EventStreamAdherenceReportTest {
         
         StudyActivityEventRequest request = new StudyActivityEventRequest()
                 .eventId(FAKE_ENROLLMENT).timestamp(DateTime.now());
-        userApi.createStudyActivityEvent(STUDY_ID_1, request, true, false).execute();
+        userApi.createStudyActivityEvent(studyId, request, true, false).execute();
         
-        report = userApi.getUsersStudyParticipantEventStreamAdherenceReport(STUDY_ID_1, 
+        report = userApi.getUsersStudyParticipantEventStreamAdherenceReport(studyId, 
                 DateTime.now(), null).execute().body();
         assertEquals(ParticipantStudyProgress.IN_PROGRESS, report.getProgression());
         assertEquals(report.getStreams().size(), 2);
@@ -173,14 +175,14 @@ public class EventStreamAdherenceReportTest {
         assertEquals(ImmutableSet.of(NOT_YET_AVAILABLE), getStates(report, FAKE_ENROLLMENT));
 
         // This is in the far future when everything will have been expired
-        report = userApi.getUsersStudyParticipantEventStreamAdherenceReport(STUDY_ID_1, 
+        report = userApi.getUsersStudyParticipantEventStreamAdherenceReport(studyId, 
                 DateTime.now().plusYears(2), null).execute().body();
         assertEquals(Integer.valueOf(0), report.getAdherencePercent());
         assertEquals(ImmutableSet.of(NOT_APPLICABLE), getStates(report, CLINIC_VISIT));
         assertEquals(ImmutableSet.of(EXPIRED), getStates(report, FAKE_ENROLLMENT));
         
         // Now lets' step into the schedule...
-        report = userApi.getUsersStudyParticipantEventStreamAdherenceReport(STUDY_ID_1, 
+        report = userApi.getUsersStudyParticipantEventStreamAdherenceReport(studyId, 
                 DateTime.now().plusDays(11), null).execute().body();
         assertEquals(ImmutableSet.of(EXPIRED, UNSTARTED, NOT_YET_AVAILABLE), getStates(report, FAKE_ENROLLMENT));
     }
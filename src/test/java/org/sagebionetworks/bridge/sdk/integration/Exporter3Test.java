@@ -109,6 +109,8 @@ public class Exporter3Test {
     private static String testQueueArn;
     private static String testQueueUrl;
     private static ForWorkersApi workersApi;
+    // Takes the place of study1 for the study's Exporter 3 configuration.
+    private static String studyId;
 
     private String extId;
     private String subscriptionArn;
@@ -119,12 +121,13 @@ public class Exporter3Test {
         Config config = Tests.loadTestConfig();
 
         synapseClient = Tests.getSynapseClient();
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         adminsApi = admin.getClient(ForAdminsApi.class);
         oneHourAgo = DateTime.now().minusHours(1);
         testQueueArn = config.get("integ.test.queue.arn");
         testQueueUrl = config.get("integ.test.queue.url");
         workersApi = admin.getClient(ForWorkersApi.class);
+        studyId = IsolatedStudy.create(Exporter3Test.class);
 
         // Set up AWS clients.
         AWSCredentials awsCredentials = new BasicAWSCredentials(config.get("aws.key"),
@@ -170,6 +173,7 @@ public class Exporter3Test {
     public static void afterClass() throws Exception {
         // Clean up Synapse resources.
         deleteEx3Resources();
+        IsolatedStudy.delete(Exporter3Test.class);
     }
 
     private static void deleteEx3Resources() throws IOException {
@@ -184,13 +188,13 @@ public class Exporter3Test {
 
         // Delete for study.
         StudiesApi studiesApi = admin.getClient(StudiesApi.class);
-        Study study = studiesApi.getStudy(Tests.STUDY_ID_1).execute().body();
+        Study study = studiesApi.getStudy(studyId).execute().body();
         Exporter3Configuration ex3ConfigForStudy = study.getExporter3Configuration();
         deleteEx3Resources(ex3ConfigForStudy);
 
         study.setExporter3Configuration(null);
         study.setExporter3Enabled(false);
-        studiesApi.updateStudy(Tests.STUDY_ID_1, study).execute();
+        studiesApi.updateStudy(studyId, study).execute();
     }
 
     private static void deleteEx3Resources(Exporter3Configuration ex3Config) {
@@ -259,10 +263,10 @@ public class Exporter3Test {
         subscriptionArn = exporterSubscriptionResult.getSubscriptionArn();
 
         // Init Exporter 3 for study.
-        adminsApi.initExporter3ForStudy(STUDY_ID_1).execute();
+        adminsApi.initExporter3ForStudy(studyId).execute();
 
         // Verify that study has been updated.
-        Study updatedStudy = adminsApi.getStudy(STUDY_ID_1).execute().body();
+        Study updatedStudy = adminsApi.getStudy(studyId).execute().body();
         assertTrue(updatedStudy.isExporter3Enabled());
         Exporter3Configuration ex3Config = updatedStudy.getExporter3Configuration();
         verifySynapseResources(ex3Config);
@@ -273,7 +277,7 @@ public class Exporter3Test {
         assertEquals(AnnotationsValueType.STRING, annotations.getAnnotations().get("appId").getType());
         assertEquals(ImmutableList.of(TEST_APP_ID), annotations.getAnnotations().get("appId").getValue());
         assertEquals(AnnotationsValueType.STRING, annotations.getAnnotations().get("studyId").getType());
-        assertEquals(ImmutableList.of(STUDY_ID_1), annotations.getAnnotations().get("studyId").getValue());
+        assertEquals(ImmutableList.of(studyId), annotations.getAnnotations().get("studyId").getValue());
 
         // Verify notification in queue.
         ReceiveMessageRequest receiveMessageRequest = new ReceiveMessageRequest();
@@ -288,7 +292,7 @@ public class Exporter3Test {
         assertEquals(notificationNode.get("appId").textValue(), TEST_APP_ID);
         assertEquals(notificationNode.get("parentProjectId").textValue(), ex3Config.getProjectId());
         assertEquals(notificationNode.get("rawFolderId").textValue(), ex3Config.getRawDataFolderId());
-        assertEquals(notificationNode.get("studyId").textValue(), STUDY_ID_1);
+        assertEquals(notificationNode.get("studyId").textValue(), studyId);
 
         // Delete message.
         sqsClient.deleteMessage(testQueueUrl, notification.getReceiptHandle());
@@ -526,7 +530,7 @@ public class Exporter3Test {
     public void adminCreatedUser() throws Exception {
         // This is a simpler test than the previous test. Go ahead and create a user that's already consented. However,
         // createUser() API automatically initially sets user to no_sharing.
-        TestUser user = TestUserHelper.createAndSignInUser(Exporter3Test.class, true);
+        TestUser user = Tests.createAndSignInUser(Exporter3Test.class, true);
         userId = user.getUserId();
 
         // Add test_user data group.
@@ -576,7 +580,7 @@ public class Exporter3Test {
     @Test
     public void accountWithRoleHasNoVersions() throws Exception {
         // Create a developer w/ consent. This should never happen in real life, but we'll test it in case it happens.
-        TestUser developer = TestUserHelper.createAndSignInUser(Exporter3Test.class, true, Role.DEVELOPER);
+        TestUser developer = Tests.createAndSignInUser(Exporter3Test.class, true, Role.DEVELOPER);
         userId = developer.getUserId();
 
         // Add test_user data group.
@@ -604,7 +608,7 @@ public class Exporter3Test {
         adminsApi.updateUsersApp(app).execute();
 
         // Create test user. We have to set the sharing scope, too.
-        TestUser user = TestUserHelper.createAndSignInUser(Exporter3Test.class, true);
+        TestUser user = Tests.createAndSignInUser(Exporter3Test.class, true);
         userId = user.getUserId();
         user.getClient(ForConsentedUsersApi.class).changeSharingScope(new SharingScopeForm()
                 .scope(SharingScope.ALL_QUALIFIED_RESEARCHERS)).execute();
@@ -644,8 +648,9 @@ public class Exporter3Test {
 
     @Test
     public void upload_completedByUploader() throws Exception {
-        TestUser user = new TestUserHelper.Builder(Exporter3Test.class).withClientInfo(CLIENT_INFO_FOR_USER)
-                .withConsentUser(true).createAndSignInUser();
+        TestUser user = ApiMetrics.instrument(new TestUserHelper.Builder(Exporter3Test.class)
+                .withClientInfo(CLIENT_INFO_FOR_USER)
+                .withConsentUser(true).createAndSignInUser());
         userId = user.getUserId();
 
         // Upload.
@@ -662,8 +667,9 @@ public class Exporter3Test {
 
     @Test
     public void upload_completedByWorker() throws Exception {
-        TestUser user = new TestUserHelper.Builder(Exporter3Test.class).withClientInfo(CLIENT_INFO_FOR_USER)
-                .withConsentUser(true).createAndSignInUser();
+        TestUser user = ApiMetrics.instrument(new TestUserHelper.Builder(Exporter3Test.class)
+                .withClientInfo(CLIENT_INFO_FOR_USER)
+                .withConsentUser(true).createAndSignInUser());
         userId = user.getUserId();
 
         // Upload.
@@ -57,8 +57,8 @@ public class ExternalIdsV4Test {
     @Before
     public void before() throws Exception {
         prefix = RandomStringUtils.randomAlphabetic(5);
-        admin = TestUserHelper.getSignedInAdmin();
-        researcher = TestUserHelper.createAndSignInUser(ExternalIdsV4Test.class, true, Role.RESEARCHER);
+        admin = Tests.getSignedInAdmin();
+        researcher = Tests.createAndSignInUser(ExternalIdsV4Test.class, true, Role.RESEARCHER);
     }
 
     @After
@@ -191,8 +191,9 @@ public class ExternalIdsV4Test {
             // Create a researcher in org 1 that sponsors only study 1, and retrieving external IDs
             // should be filtered
             SignUp signUp = new SignUp().appId(TEST_APP_ID);
-            user = new TestUserHelper.Builder(ExternalIdsV4Test.class).withRoles(RESEARCHER, DEVELOPER)
-                    .withConsentUser(true).withSignUp(signUp).createAndSignInUser();
+            user = ApiMetrics.instrument(new TestUserHelper.Builder(ExternalIdsV4Test.class)
+                    .withRoles(RESEARCHER, DEVELOPER)
+                    .withConsentUser(true).withSignUp(signUp).createAndSignInUser());
             admin.getClient(OrganizationsApi.class).addMember(ORG_ID_1, user.getUserId()).execute();
             
             ForResearchersApi scopedResearcherApi = user.getClient(ForResearchersApi.class);
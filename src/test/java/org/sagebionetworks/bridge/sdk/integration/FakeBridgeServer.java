@@ -0,0 +1,720 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.io.ByteStreams;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in-memory stand-in for BridgeServer2, so the cost of the harness itself (client setup,
+ * serialization, fixture logic) can be measured without the network or the server. Start the
+ * suite with {@code -DfakeServer=true} and {@code env = local} in ~/bridge-sdk.properties;
+ * InitListener starts the fake on the local environment's port before anything else. When
+ * cassettes are on, they take that port, so the fake binds an ephemeral port instead and
+ * becomes the cassettes' upstream; the bound port is published as {@code -DfakeServer.port}
+ * and the URL as {@code -DfakeServer.url} (see {@link #getUrl()}). It is
+ * typically combined with the load-tests profile, whose report then shows per-scenario CPU and
+ * allocation on a zero-network baseline.
+ *
+ * The fake implements what the IntegrationSmokeTest scenarios need: sign in/out (anyone can
+ * sign in; accounts that haven't consented get a 412), account creation and consent,
+ * participant records, upload sessions and upload status. Upload URLs point at a LocalS3 stand-in,
+ * and completing an upload checks that the file was PUT there with the MD5 given when the
+ * session was requested; validation takes {@code -DfakeServer.validationMillis} (0 by default),
+ * during which the status is validation_in_progress (or a synchronous completion waits for
+ * it). A study's Schedule2 is saved, read and deleted as the server does it (saving
+ * assigns GUIDs to the schedule, its sessions and their time windows), and its timeline is
+ * a minimal one: the sessions, with nothing scheduled. Sponsoring a study files a copy of it
+ * under the organization, which is what listing the sponsored studies returns. Anything else
+ * (studies, organizations...) falls through to a generic in-memory document store: POST to a
+ * collection creates a document with a new GUID, GET, POST and DELETE of that path read, update
+ * and delete it, and GET of the collection lists its documents. The store starts with the API
+ * app and its default subpopulation, which InitListener's bootstrap reads. It does not validate
+ * anything, so don't use it to test the server.
+ *
+ * Artificial latency can be added to every response with {@code -DfakeServer.latencyMillis=N}
+ * (and {@code -DfakeServer.jitterMillis=N}); responses are delayed on a scheduler rather than
+ * by holding a thread, so thousands of requests can be outstanding at once.
+ */
+public class FakeBridgeServer {
+    private static final Logger LOG = LoggerFactory.getLogger(FakeBridgeServer.class);
+
+    public static final String ENABLED_PROPERTY = "fakeServer";
+    public static final String PORT_PROPERTY = "fakeServer.port";
+    public static final String LATENCY_PROPERTY = "fakeServer.latencyMillis";
+    public static final String JITTER_PROPERTY = "fakeServer.jitterMillis";
+    public static final String VALIDATION_PROPERTY = "fakeServer.validationMillis";
+    public static final String S3_PORT_PROPERTY = "fakeServer.s3Port";
+    public static final String URL_PROPERTY = "fakeServer.url";
+    // The port of the SDK's local environment.
+    private static final int LOCAL_PORT = 9000;
+    private static final int HANDLER_THREADS = 32;
+    private static final int BACKLOG = 4096;
+    private static final String SESSION_HEADER = "Bridge-Session";
+    private static final String UPLOAD_BUCKET = "uploads";
+
+    private static final Pattern SIGN_IN = Pattern.compile("/v[34]/auth/signIn");
+    private static final Pattern SIGN_OUT = Pattern.compile("/v[34]/auth/signOut");
+    private static final Pattern CHANGE_APP = Pattern.compile("/v[34]/auth/app");
+    private static final Pattern CONSENT = Pattern.compile("/v3/subpopulations/[^/]+/consents/signature");
+    private static final Pattern PARTICIPANTS = Pattern.compile("/v3/participants");
+    private static final Pattern PARTICIPANT = Pattern.compile("/v3/participants/([^/]+)");
+    private static final Pattern UPLOADS = Pattern.compile("/v3/uploads");
+    private static final Pattern UPLOAD_COMPLETE = Pattern.compile("/v3/uploads/([^/]+)/complete");
+    private static final Pattern UPLOAD_STATUS = Pattern.compile("/v3/uploadstatuses/([^/]+)");
+    private static final Pattern STUDY_SCHEDULE = Pattern.compile("/v5/studies/([^/]+)/schedule");
+    private static final Pattern SCHEDULE = Pattern.compile("/v5/schedules/([^/]+)");
+    private static final Pattern SPONSORED_STUDIES = Pattern.compile("/v1/organizations/([^/]+)/studies");
+    private static final Pattern SPONSORSHIP = Pattern.compile("/v1/organizations/([^/]+)/studies/([^/]+)");
+    private static final Pattern TIMELINE = Pattern.compile("/v5/studies/([^/]+)(?:/participants/self)?/timeline");
+
+    private static FakeBridgeServer instance;
+
+    private final Gson gson = new Gson();
+    private int port;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final long validationMillis;
+    private final LocalS3 s3;
+    private final Map<String, JsonObject> accountsByEmail = new ConcurrentHashMap<>();
+    private final Map<String, JsonObject> accountsById = new ConcurrentHashMap<>();
+    private final Map<String, JsonObject> sessions = new ConcurrentHashMap<>();
+    private final NavigableMap<String, JsonObject> documents = new ConcurrentSkipListMap<>();
+    private final Map<String, JsonObject> uploads = new ConcurrentHashMap<>();
+    private final Map<String, JsonObject> uploadRequests = new ConcurrentHashMap<>();
+    private final Map<String, JsonObject> schedulesByStudy = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger maxOutstanding = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService handlers;
+    private ScheduledExecutorService scheduler;
+
+    public FakeBridgeServer(int port, long latencyMillis, long jitterMillis, long validationMillis, LocalS3 s3) {
+        this.port = port;
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.validationMillis = validationMillis;
+        this.s3 = s3;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /** Start the fake server if it's enabled. Called by InitListener before anything else. */
+    static synchronized void startIfEnabled() throws IOException {
+        if (!isEnabled() || instance != null) {
+            return;
+        }
+        LocalS3 s3 = new LocalS3(Integer.getInteger(S3_PORT_PROPERTY, 0), Long.getLong(LocalS3.BANDWIDTH_PROPERTY, 0L));
+        // Cassettes listen on the local environment's port and forward to the fake.
+        int defaultPort = (Cassettes.getMode() == Cassettes.Mode.OFF) ? LOCAL_PORT : 0;
+        instance = new FakeBridgeServer(Integer.getInteger(PORT_PROPERTY, defaultPort),
+                Long.getLong(LATENCY_PROPERTY, 0L), Long.getLong(JITTER_PROPERTY, 0L),
+                Long.getLong(VALIDATION_PROPERTY, 0L), s3);
+        instance.start();
+        System.setProperty(PORT_PROPERTY, Integer.toString(instance.getPort()));
+        System.setProperty(URL_PROPERTY, instance.getUrl());
+    }
+
+    /** The URL of the running fake server, or null if it wasn't started. */
+    static synchronized String getRunningUrl() {
+        return (instance == null) ? null : instance.getUrl();
+    }
+
+    /** Stop the fake server if it was started. Called by InitListener. */
+    static synchronized void stopIfStarted() {
+        if (instance != null) {
+            instance.stop();
+            instance = null;
+        }
+    }
+
+    public void start() throws IOException {
+        s3.start();
+        handlers = Executors.newFixedThreadPool(HANDLER_THREADS);
+        scheduler = Executors.newScheduledThreadPool(2);
+        server = HttpServer.create(new InetSocketAddress("localhost", port), BACKLOG);
+        server.createContext("/", this::handle);
+        server.setExecutor(handlers);
+        server.start();
+        port = server.getAddress().getPort();
+        seed();
+        LOG.info("Fake Bridge server listening on port {} ({} ms latency, {} ms jitter)", port, latencyMillis,
+                jitterMillis);
+    }
+
+    /** The port the server is bound to (the ephemeral port, if it was started with port 0). */
+    public int getPort() {
+        return port;
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + port;
+    }
+
+    /** The objects that exist in every app, and that the bootstrap reads rather than creates. */
+    private void seed() {
+        JsonObject subpop = new JsonObject();
+        subpop.addProperty("guid", TEST_APP_ID);
+        subpop.addProperty("name", "Default Consent Group");
+        subpop.addProperty("required", true);
+        subpop.add("studyIdsAssignedOnConsent", new JsonArray());
+        subpop.addProperty("version", 1);
+        subpop.addProperty("type", "Subpopulation");
+        documents.put("/v3/subpopulations/" + TEST_APP_ID, subpop);
+
+        JsonObject app = new JsonObject();
+        app.addProperty("identifier", TEST_APP_ID);
+        app.addProperty("name", "Fake API App");
+        app.add("installLinks", new JsonObject());
+        app.addProperty("version", 1);
+        app.addProperty("type", "App");
+        documents.put("/v3/apps/self", app);
+    }
+
+    public void stop() {
+        server.stop(0);
+        scheduler.shutdownNow();
+        handlers.shutdownNow();
+        s3.stop();
+        LOG.info("Fake Bridge server handled {} requests, at most {} at once", requests.sum(),
+                maxOutstanding.get());
+    }
+
+    private void handle(HttpExchange http) {
+        requests.increment();
+        maxOutstanding.accumulateAndGet(outstanding.incrementAndGet(), Math::max);
+        Reply reply;
+        try {
+            reply = route(http);
+        } catch (Exception e) {
+            LOG.warn("Fake server failed on " + http.getRequestURI(), e);
+            reply = error(500, "BridgeServiceException", String.valueOf(e.getMessage()));
+        }
+        long delay = latencyMillis + reply.delayMillis;
+        if (jitterMillis > 0) {
+            delay += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+        }
+        Reply finalReply = reply;
+        if (delay <= 0) {
+            send(http, finalReply);
+        } else {
+            // Don't hold a handler thread while "the server is working".
+            scheduler.schedule(() -> send(http, finalReply), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static final class Reply {
+        final int status;
+        final JsonElement body;
+        // Time the server spends on this request, on top of the configured latency.
+        final long delayMillis;
+        Reply(int status, JsonElement body) {
+            this(status, body, 0);
+        }
+        Reply(int status, JsonElement body, long delayMillis) {
+            this.status = status;
+            this.body = body;
+            this.delayMillis = delayMillis;
+        }
+    }
+
+    private Reply route(HttpExchange http) throws IOException {
+        String method = http.getRequestMethod();
+        String path = http.getRequestURI().getPath().replaceAll("/+$", "");
+        byte[] bytes = ByteStreams.toByteArray(http.getRequestBody());
+
+        Matcher matcher;
+        JsonObject body = (bytes.length == 0) ? new JsonObject() : parse(bytes);
+        if (SIGN_IN.matcher(path).matches() && "POST".equals(method)) {
+            return signIn(body);
+        }
+        JsonObject account = accountForSession(http.getRequestHeaders().getFirst(SESSION_HEADER));
+        if (account == null) {
+            return error(401, "NotAuthenticatedException", "Not signed in.");
+        }
+        if (SIGN_OUT.matcher(path).matches()) {
+            sessions.remove(http.getRequestHeaders().getFirst(SESSION_HEADER));
+            return new Reply(200, message("Signed out."));
+        }
+        if (CHANGE_APP.matcher(path).matches()) {
+            account.addProperty("appId", body.has("appId") ? body.get("appId").getAsString() : "api");
+            return new Reply(200, session(account, http.getRequestHeaders().getFirst(SESSION_HEADER)));
+        }
+        if (CONSENT.matcher(path).matches() && "POST".equals(method)) {
+            account.addProperty("consented", true);
+            return new Reply(201, session(account, http.getRequestHeaders().getFirst(SESSION_HEADER)));
+        }
+        if (PARTICIPANTS.matcher(path).matches() && "POST".equals(method)) {
+            return createAccount(body);
+        }
+        if ((matcher = PARTICIPANT.matcher(path)).matches()) {
+            return participant(method, matcher.group(1), account, body);
+        }
+        if (UPLOADS.matcher(path).matches() && "POST".equals(method)) {
+            return createUpload(body);
+        }
+        if ((matcher = UPLOAD_COMPLETE.matcher(path)).matches()) {
+            String query = String.valueOf(http.getRequestURI().getQuery());
+            return completeUpload(matcher.group(1), query.contains("synchronous=true"),
+                    query.contains("redrive=true"));
+        }
+        if ((matcher = UPLOAD_STATUS.matcher(path)).matches()) {
+            JsonObject status = uploads.get(matcher.group(1));
+            if (status == null) {
+                return error(404, "EntityNotFoundException", "Upload not found.");
+            }
+            return new Reply(200, snapshot(status));
+        }
+        if ((matcher = STUDY_SCHEDULE.matcher(path)).matches()) {
+            return studySchedule(method, matcher.group(1), body);
+        }
+        if ((matcher = SCHEDULE.matcher(path)).matches()) {
+            return schedule(method, matcher.group(1));
+        }
+        if ((matcher = TIMELINE.matcher(path)).matches() && "GET".equals(method)) {
+            return timeline(matcher.group(1));
+        }
+        if (SPONSORED_STUDIES.matcher(path).matches() && "GET".equals(method)) {
+            return sponsoredStudies(path);
+        }
+        if ((matcher = SPONSORSHIP.matcher(path)).matches()) {
+            return sponsorship(method, path, matcher.group(2));
+        }
+        return document(method, path, body);
+    }
+
+    private Reply signIn(JsonObject signIn) {
+        String email = signIn.has("email") ? signIn.get("email").getAsString() : null;
+        if (email == null) {
+            return error(400, "BadRequestException", "Fake server requires an email to sign in.");
+        }
+        // Accounts the fake doesn't know about (e.g. the admin) are created on first sign in, as admins.
+        JsonObject account = accountsByEmail.computeIfAbsent(email, k -> {
+            JsonObject admin = newAccount(email, true);
+            JsonArray roles = new JsonArray();
+            roles.add("superadmin");
+            admin.add("roles", roles);
+            accountsById.put(admin.get("id").getAsString(), admin);
+            return admin;
+        });
+        String token = UUID.randomUUID().toString();
+        sessions.put(token, account);
+        JsonObject session = session(account, token);
+        // Like the server, sign in is refused with the session when the participant hasn't consented.
+        boolean isParticipant = account.getAsJsonArray("roles").size() == 0;
+        return new Reply((isParticipant && !account.get("consented").getAsBoolean()) ? 412 : 200, session);
+    }
+
+    private Reply createAccount(JsonObject participant) {
+        String email = participant.has("email") ? participant.get("email").getAsString()
+                : UUID.randomUUID() + "@fake.sagebase.org";
+        JsonObject account = newAccount(email, false);
+        for (Map.Entry<String, JsonElement> entry : participant.entrySet()) {
+            if (!"id".equals(entry.getKey()) && !"password".equals(entry.getKey())) {
+                account.add(entry.getKey(), entry.getValue());
+            }
+        }
+        accountsByEmail.put(email, account);
+        accountsById.put(account.get("id").getAsString(), account);
+        JsonObject holder = new JsonObject();
+        holder.addProperty("identifier", account.get("id").getAsString());
+        holder.addProperty("type", "IdentifierHolder");
+        return new Reply(201, holder);
+    }
+
+    private Reply participant(String method, String userId, JsonObject caller, JsonObject body) {
+        JsonObject account = "self".equals(userId) ? caller : accountsById.get(userId);
+        if (account == null) {
+            return error(404, "EntityNotFoundException", "Account not found.");
+        }
+        if ("DELETE".equals(method)) {
+            accountsById.remove(account.get("id").getAsString());
+            accountsByEmail.remove(account.get("email").getAsString());
+            sessions.values().removeIf(session -> session == account);
+            return new Reply(200, message("User deleted."));
+        } else if ("POST".equals(method)) {
+            for (Map.Entry<String, JsonElement> entry : body.entrySet()) {
+                if (!"id".equals(entry.getKey())) {
+                    account.add(entry.getKey(), entry.getValue());
+                }
+            }
+            return new Reply(200, message("Participant updated."));
+        }
+        JsonObject participant = gson.fromJson(account, JsonObject.class);
+        participant.addProperty("type", "StudyParticipant");
+        return new Reply(200, participant);
+    }
+
+    private Reply createUpload(JsonObject request) {
+        String uploadId = UUID.randomUUID().toString();
+        JsonObject status = new JsonObject();
+        status.addProperty("id", uploadId);
+        status.addProperty("status", "requested");
+        status.add("messageList", new JsonArray());
+        status.addProperty("type", "UploadValidationStatus");
+        uploads.put(uploadId, status);
+        uploadRequests.put(uploadId, request);
+
+        JsonObject session = new JsonObject();
+        session.addProperty("id", uploadId);
+        session.addProperty("url", s3.url(UPLOAD_BUCKET, uploadId));
+        session.addProperty("expires", DateTime.now().plusDays(1).toString());
+        session.addProperty("type", "UploadSession");
+        return new Reply(201, session);
+    }
+
+    /**
+     * Validate the uploaded file (it exists and has the expected MD5). Completing an upload a
+     * second time is a no-op unless it is redriven.
+     */
+    private Reply completeUpload(String uploadId, boolean synchronous, boolean redrive) {
+        JsonObject status = uploads.get(uploadId);
+        if (status == null) {
+            return error(404, "EntityNotFoundException", "Upload not found.");
+        }
+        synchronized (status) {
+            if (!"requested".equals(status.get("status").getAsString()) && !redrive) {
+                return new Reply(200, snapshot(status));
+            }
+            status.addProperty("status", "validation_in_progress");
+        }
+        JsonObject request = uploadRequests.get(uploadId);
+        LocalS3.StoredObject object = s3.getObject(UPLOAD_BUCKET, uploadId);
+        String message = null;
+        if (object == null) {
+            message = "Upload file not found in S3.";
+        } else if (request.has("contentMd5")
+                && !request.get("contentMd5").getAsString().equals(object.getMd5Base64())) {
+            message = "Upload file does not match the MD5 of the upload request.";
+        }
+        String result = (message == null) ? "succeeded" : "validation_failed";
+        String finalMessage = message;
+        if (validationMillis <= 0) {
+            setValidated(status, result, finalMessage);
+            return new Reply(200, snapshot(status));
+        }
+        scheduler.schedule(() -> setValidated(status, result, finalMessage), validationMillis,
+                TimeUnit.MILLISECONDS);
+        if (synchronous) {
+            // The reply is sent when validation has finished.
+            JsonObject validated = snapshot(status);
+            validated.addProperty("status", result);
+            if (finalMessage != null) {
+                validated.getAsJsonArray("messageList").add(finalMessage);
+            }
+            return new Reply(200, validated, validationMillis);
+        }
+        return new Reply(200, snapshot(status));
+    }
+
+    private void setValidated(JsonObject status, String result, String message) {
+        synchronized (status) {
+            status.addProperty("status", result);
+            if (message != null) {
+                status.getAsJsonArray("messageList").add(message);
+            }
+        }
+    }
+
+    /** Save a study's schedule, creating it the first time, or read it. */
+    private Reply studySchedule(String method, String studyId, JsonObject body) {
+        if ("GET".equals(method)) {
+            JsonObject schedule = schedulesByStudy.get(studyId);
+            if (schedule == null) {
+                return error(404, "EntityNotFoundException", "Schedule not found.");
+            }
+            return new Reply(200, snapshot(schedule));
+        } else if (!"POST".equals(method)) {
+            return error(405, "UnsupportedOperationException", method + " not supported.");
+        }
+        String now = DateTime.now().toString();
+        JsonObject saved = schedulesByStudy.compute(studyId, (id, existing) -> {
+            body.addProperty("guid", (existing == null) ? UUID.randomUUID().toString()
+                    : existing.get("guid").getAsString());
+            body.addProperty("version", (existing == null) ? 1 : existing.get("version").getAsInt() + 1);
+            body.addProperty("createdOn", (existing == null) ? now : existing.get("createdOn").getAsString());
+            body.addProperty("modifiedOn", now);
+            body.addProperty("type", "Schedule2");
+            if (body.has("sessions")) {
+                for (JsonElement session : body.getAsJsonArray("sessions")) {
+                    assignGuid(session.getAsJsonObject());
+                    if (session.getAsJsonObject().has("timeWindows")) {
+                        for (JsonElement window : session.getAsJsonObject().getAsJsonArray("timeWindows")) {
+                            assignGuid(window.getAsJsonObject());
+                        }
+                    }
+                }
+            }
+            return body;
+        });
+        JsonObject study = documents.get("/v5/studies/" + studyId);
+        if (study != null) {
+            study.add("scheduleGuid", saved.get("guid"));
+        }
+        return new Reply(saved.get("version").getAsInt() == 1 ? 201 : 200, snapshot(saved));
+    }
+
+    /** Read or delete a schedule by its GUID. */
+    private Reply schedule(String method, String guid) {
+        for (Map.Entry<String, JsonObject> entry : schedulesByStudy.entrySet()) {
+            if (!guid.equals(entry.getValue().get("guid").getAsString())) {
+                continue;
+            }
+            if ("GET".equals(method)) {
+                return new Reply(200, snapshot(entry.getValue()));
+            } else if ("DELETE".equals(method)) {
+                schedulesByStudy.remove(entry.getKey());
+                JsonObject study = documents.get("/v5/studies/" + entry.getKey());
+                if (study != null) {
+                    study.remove("scheduleGuid");
+                }
+                return new Reply(200, message("Schedule deleted."));
+            }
+            return error(405, "UnsupportedOperationException", method + " not supported.");
+        }
+        return error(404, "EntityNotFoundException", "Schedule not found.");
+    }
+
+    /** The studies the organization sponsors, an empty list if there are none. */
+    private Reply sponsoredStudies(String path) {
+        JsonArray items = new JsonArray();
+        for (JsonObject study : children(path).values()) {
+            items.add(study);
+        }
+        JsonObject list = new JsonObject();
+        list.add("items", items);
+        list.addProperty("total", items.size());
+        list.addProperty("type", "StudyList");
+        return new Reply(200, list);
+    }
+
+    /** Adding a sponsorship stores the study under the organization; removing it deletes that copy. */
+    private Reply sponsorship(String method, String path, String studyId) {
+        if ("POST".equals(method)) {
+            JsonObject study = documents.get("/v5/studies/" + studyId);
+            if (study == null) {
+                return error(404, "EntityNotFoundException", "Study not found.");
+            }
+            documents.put(path, snapshot(study));
+            return new Reply(201, message("Organization now sponsoring study."));
+        } else if ("DELETE".equals(method)) {
+            documents.remove(path);
+            return new Reply(200, message("Organization was removed as sponsor of study."));
+        }
+        return error(405, "UnsupportedOperationException", method + " not supported.");
+    }
+
+    /** The study's timeline, with the schedule's sessions but nothing scheduled. */
+    private Reply timeline(String studyId) {
+        JsonObject schedule = schedulesByStudy.get(studyId);
+        if (schedule == null) {
+            return error(404, "EntityNotFoundException", "Schedule not found.");
+        }
+        schedule = snapshot(schedule);
+        JsonArray sessions = new JsonArray();
+        if (schedule.has("sessions")) {
+            for (JsonElement element : schedule.getAsJsonArray("sessions")) {
+                JsonObject session = element.getAsJsonObject();
+                JsonObject info = new JsonObject();
+                info.add("guid", session.get("guid"));
+                info.add("label", session.get("name"));
+                if (session.has("performanceOrder")) {
+                    info.add("performanceOrder", session.get("performanceOrder"));
+                }
+                info.addProperty("type", "SessionInfo");
+                sessions.add(info);
+            }
+        }
+        JsonObject timeline = new JsonObject();
+        timeline.add("duration", schedule.get("duration"));
+        timeline.addProperty("totalMinutes", 0);
+        timeline.addProperty("totalNotifications", 0);
+        timeline.add("schedule", new JsonArray());
+        timeline.add("assessments", new JsonArray());
+        timeline.add("sessions", sessions);
+        timeline.add("studyBursts", new JsonArray());
+        timeline.addProperty("type", "Timeline");
+        return new Reply(200, timeline);
+    }
+
+    private static void assignGuid(JsonObject object) {
+        if (!object.has("guid")) {
+            object.addProperty("guid", UUID.randomUUID().toString());
+        }
+    }
+
+    /** A copy of a document that other threads may be changing, to send. */
+    private JsonObject snapshot(JsonObject document) {
+        synchronized (document) {
+            return gson.fromJson(document, JsonObject.class);
+        }
+    }
+
+    private Reply document(String method, String path, JsonObject body) {
+        switch (method) {
+            case "GET":
+                JsonObject document = documents.get(path);
+                if (document != null) {
+                    return new Reply(200, document);
+                }
+                JsonArray items = new JsonArray();
+                for (Map.Entry<String, JsonObject> entry : children(path).entrySet()) {
+                    if (entry.getKey().indexOf('/', path.length() + 1) < 0) {
+                        items.add(entry.getValue());
+                    }
+                }
+                if (items.size() == 0 && !documents.containsKey(path)) {
+                    return error(404, "EntityNotFoundException", "Not found: " + path);
+                }
+                JsonObject list = new JsonObject();
+                list.add("items", items);
+                list.addProperty("total", items.size());
+                list.addProperty("type", "ResourceList");
+                return new Reply(200, list);
+            case "POST":
+            case "PUT":
+                JsonObject existing = documents.get(path);
+                if (existing != null) {
+                    for (Map.Entry<String, JsonElement> entry : body.entrySet()) {
+                        existing.add(entry.getKey(), entry.getValue());
+                    }
+                    int version = existing.has("version") ? existing.get("version").getAsInt() : 0;
+                    existing.addProperty("version", version + 1);
+                    return new Reply(200, versionHolder(existing));
+                }
+                String id = body.has("guid") ? body.get("guid").getAsString()
+                        : body.has("identifier") ? body.get("identifier").getAsString()
+                        : UUID.randomUUID().toString();
+                if (!body.has("guid")) {
+                    body.addProperty("guid", id);
+                }
+                body.addProperty("version", 1);
+                body.addProperty("createdOn", DateTime.now().toString());
+                documents.put(path + "/" + id, body);
+                return new Reply(201, versionHolder(body));
+            case "DELETE":
+                documents.remove(path);
+                children(path).clear();
+                return new Reply(200, message("Deleted."));
+            default:
+                return error(405, "UnsupportedOperationException", method + " not supported.");
+        }
+    }
+
+    /** Everything stored below the path. */
+    private Map<String, JsonObject> children(String path) {
+        return documents.subMap(path + "/", path + "/\uffff");
+    }
+
+    private JsonObject newAccount(String email, boolean consented) {
+        JsonObject account = new JsonObject();
+        account.addProperty("id", UUID.randomUUID().toString());
+        account.addProperty("email", email);
+        account.addProperty("appId", "api");
+        account.addProperty("consented", consented);
+        account.add("roles", new JsonArray());
+        account.add("dataGroups", new JsonArray());
+        account.add("studyIds", new JsonArray());
+        account.addProperty("createdOn", DateTime.now().toString());
+        return account;
+    }
+
+    private JsonObject accountForSession(String token) {
+        return (token == null) ? null : sessions.get(token);
+    }
+
+    private JsonObject session(JsonObject account, String token) {
+        JsonObject session = gson.fromJson(account, JsonObject.class);
+        session.addProperty("sessionToken", token);
+        session.addProperty("authenticated", true);
+        session.addProperty("signedMostRecentConsent", account.get("consented").getAsBoolean());
+        session.addProperty("environment", "local");
+        session.addProperty("dataSharing", false);
+        session.addProperty("sharingScope", "no_sharing");
+        session.add("consentStatuses", new JsonObject());
+        session.addProperty("type", "UserSessionInfo");
+        return session;
+    }
+
+    private static JsonObject versionHolder(JsonObject document) {
+        JsonObject holder = new JsonObject();
+        for (String field : new String[] { "guid", "identifier", "version", "createdOn" }) {
+            if (document.has(field)) {
+                holder.add(field, document.get(field));
+            }
+        }
+        holder.addProperty("type", "GuidVersionHolder");
+        return holder;
+    }
+
+    private static JsonObject message(String message) {
+        JsonObject json = new JsonObject();
+        json.addProperty("message", message);
+        json.addProperty("type", "StatusMessage");
+        return json;
+    }
+
+    private static Reply error(int status, String type, String message) {
+        JsonObject json = new JsonObject();
+        json.addProperty("statusCode", status);
+        json.addProperty("message", message);
+        json.addProperty("type", type);
+        return new Reply(status, json);
+    }
+
+    private JsonObject parse(byte[] bytes) {
+        JsonElement element = new JsonParser().parse(new String(bytes, StandardCharsets.UTF_8));
+        return element.isJsonObject() ? element.getAsJsonObject() : new JsonObject();
+    }
+
+    private void send(HttpExchange http, Reply reply) {
+        try {
+            byte[] bytes = (reply.body == null) ? new byte[0]
+                    : gson.toJson(reply.body).getBytes(StandardCharsets.UTF_8);
+            http.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            http.sendResponseHeaders(reply.status, (bytes.length == 0) ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                try (OutputStream out = http.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Could not send fake response", e);
+        } finally {
+            http.close();
+            outstanding.decrementAndGet();
+        }
+    }
+}
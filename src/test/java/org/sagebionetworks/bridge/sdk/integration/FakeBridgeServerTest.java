@@ -0,0 +1,144 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_1;
+import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_2;
+import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
+
+import java.nio.charset.StandardCharsets;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.fluent.Request;
+import org.apache.http.entity.ContentType;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+
+import org.sagebionetworks.bridge.rest.api.ForAdminsApi;
+import org.sagebionetworks.bridge.rest.api.SubpopulationsApi;
+import org.sagebionetworks.bridge.rest.model.App;
+import org.sagebionetworks.bridge.rest.model.Subpopulation;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * Checks that the fake server can stand in for the real one where the harness needs it: at the
+ * start of a run, when InitListener bootstraps the test objects.
+ */
+public class FakeBridgeServerTest {
+
+    @Test
+    public void bindsAnEphemeralPortAndServesTheBootstrapObjects() throws Exception {
+        FakeBridgeServer server = new FakeBridgeServer(0, 0, 0, 0, new LocalS3(0, 0));
+        server.start();
+        try {
+            assertNotEquals(0, server.getPort());
+
+            HttpResponse response = HttpTransport.execute(Request.Post(server.getUrl() + "/v3/auth/signIn")
+                    .bodyString("{\"appId\":\"" + TEST_APP_ID + "\",\"email\":\"admin@fake.sagebase.org\"}",
+                            ContentType.APPLICATION_JSON)).returnResponse();
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            String sessionToken = parse(response).get("sessionToken").getAsString();
+
+            response = HttpTransport.execute(Request.Get(server.getUrl() + "/v3/subpopulations/" + TEST_APP_ID)
+                    .setHeader("Bridge-Session", sessionToken)).returnResponse();
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals(TEST_APP_ID, parse(response).get("guid").getAsString());
+
+            response = HttpTransport.execute(Request.Get(server.getUrl() + "/v3/apps/self")
+                    .setHeader("Bridge-Session", sessionToken)).returnResponse();
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals(TEST_APP_ID, parse(response).get("identifier").getAsString());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void savesReadsAndDeletesASchedule() throws Exception {
+        FakeBridgeServer server = new FakeBridgeServer(0, 0, 0, 0, new LocalS3(0, 0));
+        server.start();
+        try {
+            String sessionToken = parse(HttpTransport.execute(Request.Post(server.getUrl() + "/v3/auth/signIn")
+                    .bodyString("{\"appId\":\"" + TEST_APP_ID + "\",\"email\":\"admin@fake.sagebase.org\"}",
+                            ContentType.APPLICATION_JSON)).returnResponse()).get("sessionToken").getAsString();
+            HttpTransport.execute(Request.Post(server.getUrl() + "/v5/studies")
+                    .setHeader("Bridge-Session", sessionToken)
+                    .bodyString("{\"identifier\":\"fake-study\"}", ContentType.APPLICATION_JSON)).discardContent();
+            String scheduleUrl = server.getUrl() + "/v5/studies/fake-study/schedule";
+
+            HttpResponse response = HttpTransport.execute(Request.Get(scheduleUrl)
+                    .setHeader("Bridge-Session", sessionToken)).returnResponse();
+            assertEquals(404, response.getStatusLine().getStatusCode());
+
+            String json = "{\"name\":\"Fake schedule\",\"duration\":\"P10W\",\"sessions\":[{\"name\":\"Session #1\","
+                    + "\"timeWindows\":[{\"startTime\":\"08:00\"}]}]}";
+            response = HttpTransport.execute(Request.Post(scheduleUrl).setHeader("Bridge-Session", sessionToken)
+                    .bodyString(json, ContentType.APPLICATION_JSON)).returnResponse();
+            assertEquals(201, response.getStatusLine().getStatusCode());
+            JsonObject saved = parse(response);
+            assertEquals("Schedule2", saved.get("type").getAsString());
+            String guid = saved.get("guid").getAsString();
+            JsonObject session = saved.getAsJsonArray("sessions").get(0).getAsJsonObject();
+            assertNotNull(session.get("guid"));
+            assertNotNull(session.getAsJsonArray("timeWindows").get(0).getAsJsonObject().get("guid"));
+
+            response = HttpTransport.execute(Request.Post(scheduleUrl).setHeader("Bridge-Session", sessionToken)
+                    .bodyString(json, ContentType.APPLICATION_JSON)).returnResponse();
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            JsonObject updated = parse(response);
+            assertEquals(guid, updated.get("guid").getAsString());
+            assertEquals(2, updated.get("version").getAsInt());
+
+            JsonObject schedule = parse(HttpTransport.execute(Request.Get(scheduleUrl)
+                    .setHeader("Bridge-Session", sessionToken)).returnResponse());
+            assertEquals(guid, schedule.get("guid").getAsString());
+            JsonObject study = parse(HttpTransport.execute(Request.Get(server.getUrl() + "/v5/studies/fake-study")
+                    .setHeader("Bridge-Session", sessionToken)).returnResponse());
+            assertEquals(guid, study.get("scheduleGuid").getAsString());
+
+            JsonObject timeline = parse(HttpTransport.execute(Request.Get(server.getUrl()
+                    + "/v5/studies/fake-study/participants/self/timeline").setHeader("Bridge-Session", sessionToken))
+                    .returnResponse());
+            assertEquals("Timeline", timeline.get("type").getAsString());
+            assertEquals("Session #1", timeline.getAsJsonArray("sessions").get(0).getAsJsonObject().get("label")
+                    .getAsString());
+
+            response = HttpTransport.execute(Request.Delete(server.getUrl() + "/v5/schedules/" + guid)
+                    .setHeader("Bridge-Session", sessionToken)).returnResponse();
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            response = HttpTransport.execute(Request.Get(scheduleUrl)
+                    .setHeader("Bridge-Session", sessionToken)).returnResponse();
+            assertEquals(404, response.getStatusLine().getStatusCode());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void initListenerBootstrapsAgainstTheFake() throws Exception {
+        assumeTrue("Runs with -DfakeServer=true", FakeBridgeServer.isEnabled());
+        TestUser admin = Tests.getSignedInAdmin();
+
+        InitListener.bootstrap(admin);
+
+        String fingerprint = InitListener.fingerprint(admin);
+        assertNotNull(fingerprint);
+        assertTrue(fingerprint.contains("[" + STUDY_ID_1 + ", " + STUDY_ID_2 + "]"));
+        assertEquals(fingerprint, InitListener.fingerprint(admin));
+        Subpopulation subpop = admin.getClient(SubpopulationsApi.class).getSubpopulation(TEST_APP_ID).execute()
+                .body();
+        assertTrue(subpop.getStudyIdsAssignedOnConsent().contains(STUDY_ID_1));
+        App app = admin.getClient(ForAdminsApi.class).getUsersApp().execute().body();
+        assertNotNull(app.getInstallLinks().get("Universal"));
+    }
+
+    private static JsonObject parse(HttpResponse response) throws Exception {
+        String body = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+        return new JsonParser().parse(body).getAsJsonObject();
+    }
+}
@@ -26,7 +26,6 @@ import org.sagebionetworks.bridge.rest.model.FileRevision;
 import org.sagebionetworks.bridge.rest.model.FileRevisionList;
 import org.sagebionetworks.bridge.rest.model.GuidVersionHolder;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -40,8 +39,8 @@ public class FileTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        developer = TestUserHelper.createAndSignInUser(FileTest.class, true, DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        developer = Tests.createAndSignInUser(FileTest.class, true, DEVELOPER);
     }
     
     @After
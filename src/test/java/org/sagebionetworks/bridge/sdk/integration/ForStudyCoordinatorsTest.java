@@ -53,7 +53,6 @@ import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.rest.model.SubpopulationList;
 import org.sagebionetworks.bridge.rest.model.UploadList;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 import retrofit2.Response;
@@ -72,7 +71,7 @@ public class ForStudyCoordinatorsTest {
     @Before
     public void beforeMethod() throws Exception {
         // In Sage Bionetworks, so has access to study1
-        studyCoordinator = TestUserHelper.createAndSignInUser(ForStudyCoordinatorsTest.class, false, STUDY_COORDINATOR);
+        studyCoordinator = Tests.createAndSignInUser(ForStudyCoordinatorsTest.class, false, STUDY_COORDINATOR);
         coordApi = studyCoordinator.getClient(ForStudyCoordinatorsApi.class);
     }
 
@@ -91,7 +90,7 @@ public class ForStudyCoordinatorsTest {
             researcher.signOutAndDeleteUser();
         }
         if (studyId != null) {
-            TestUser admin = TestUserHelper.getSignedInAdmin();
+            TestUser admin = Tests.getSignedInAdmin();
             admin.getClient(ForAdminsApi.class).deleteStudy(studyId, true).execute();
         }
     }
@@ -211,7 +210,7 @@ public class ForStudyCoordinatorsTest {
     
     @Test
     public void resendStudyParticipantConsentAgreement() throws Exception {
-        user = TestUserHelper.createAndSignInUser(ForStudyCoordinatorsTest.class, false);
+        user = Tests.createAndSignInUser(ForStudyCoordinatorsTest.class, false);
         
         try {
             coordApi.resendStudyParticipantConsentAgreement(STUDY_ID_1, user.getUserId(), TEST_APP_ID).execute();
@@ -229,7 +228,7 @@ public class ForStudyCoordinatorsTest {
     
     @Test
     public void createAndThenEnrollStudyParticipant() throws Exception {
-        researcher = TestUserHelper.createAndSignInUser(ForStudyCoordinatorsTest.class, false, RESEARCHER);
+        researcher = Tests.createAndSignInUser(ForStudyCoordinatorsTest.class, false, RESEARCHER);
         
         String email = IntegTestUtils.makeEmail(ForStudyCoordinatorsTest.class);
         SignUp signUp = new SignUp()
@@ -279,7 +278,7 @@ public class ForStudyCoordinatorsTest {
     public void deleteTestStudyParticipant() throws Exception {
         // Create a study that is not in design so this test doesn't fail on the
         // enforced "test_user" flag.
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         StudiesApi studiesApi = admin.getClient(StudiesApi.class);
 
         studyId = Tests.randomIdentifier(getClass());
@@ -288,7 +287,7 @@ public class ForStudyCoordinatorsTest {
         studiesApi.transitionStudyToRecruitment(studyId).execute();
 
         // Enrolled in studyId
-        user = TestUserHelper.createAndSignInUser(ForStudyCoordinatorsTest.class, false);
+        user = Tests.createAndSignInUser(ForStudyCoordinatorsTest.class, false);
         coordApi.enrollParticipant(studyId, new Enrollment().userId(user.getUserId())).execute();
         
         // User is not a test user so this fails
@@ -315,7 +314,7 @@ public class ForStudyCoordinatorsTest {
     @Test
     public void getEnrollmentsForUser() throws Exception {
         // Enrolled in study 1 due to consent.
-        user = TestUserHelper.createAndSignInUser(ForStudyCoordinatorsTest.class, true);
+        user = Tests.createAndSignInUser(ForStudyCoordinatorsTest.class, true);
         
         EnrollmentDetailList list = coordApi.getStudyParticipantEnrollments(STUDY_ID_1, user.getUserId()).execute().body();
         
@@ -339,7 +338,7 @@ public class ForStudyCoordinatorsTest {
     
     @Test
     public void installLinkWorks() throws Exception {
-        user = TestUserHelper.createAndSignInUser(ForStudyCoordinatorsTest.class, true);
+        user = Tests.createAndSignInUser(ForStudyCoordinatorsTest.class, true);
         
         Response<Message> response = coordApi.sendStudyParticipantInstallLinkMessage(
                 STUDY_ID_1, user.getUserId()).execute();
@@ -19,7 +19,6 @@ import org.sagebionetworks.bridge.rest.api.ForStudyDesignersApi;
 import org.sagebionetworks.bridge.rest.exceptions.UnauthorizedException;
 import org.sagebionetworks.bridge.rest.model.Study;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class ForStudyDesignersTest {
     
@@ -32,9 +31,9 @@ public class ForStudyDesignersTest {
     
     @Before
     public void before() throws Exception {
-        studyDesigner = TestUserHelper.createAndSignInUser(ForStudyDesignersTest.class, false, STUDY_DESIGNER);
+        studyDesigner = Tests.createAndSignInUser(ForStudyDesignersTest.class, false, STUDY_DESIGNER);
         // Put them in org two, so we can verify they cannot see org 1
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         ForAdminsApi adminsApi = admin.getClient(ForAdminsApi.class);
         adminsApi.removeMember(SAGE_ID, studyDesigner.getUserId()).execute();
         adminsApi.addMember(ORG_ID_2, studyDesigner.getUserId()).execute();
@@ -10,7 +10,6 @@ import org.sagebionetworks.bridge.rest.model.HealthDataDocumentation;
 import org.sagebionetworks.bridge.rest.model.HealthDataDocumentationList;
 import org.sagebionetworks.bridge.rest.model.Role;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import java.io.EOFException;
 import java.io.IOException;
@@ -34,9 +33,9 @@ public class HealthDataDocumentationTest {
 
     @Before
     public void before() throws IOException {
-        admin = TestUserHelper.getSignedInAdmin();
-        researcher = TestUserHelper.createAndSignInUser(HealthDataDocumentationTest.class, false, Role.RESEARCHER);
-        developer = TestUserHelper.createAndSignInUser(HealthDataDocumentationTest.class, false, Role.DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        researcher = Tests.createAndSignInUser(HealthDataDocumentationTest.class, false, Role.RESEARCHER);
+        developer = Tests.createAndSignInUser(HealthDataDocumentationTest.class, false, Role.DEVELOPER);
 
         identifier1 = Tests.randomIdentifier(getClass());
         identifier2 = Tests.randomIdentifier(getClass());
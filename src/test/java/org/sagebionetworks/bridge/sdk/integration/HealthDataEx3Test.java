@@ -29,7 +29,6 @@ import org.sagebionetworks.bridge.rest.model.HealthDataRecordEx3List;
 import org.sagebionetworks.bridge.rest.model.Role;
 import org.sagebionetworks.bridge.rest.model.Study;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 @SuppressWarnings("ConstantConditions")
@@ -47,8 +46,8 @@ public class HealthDataEx3Test {
 
     @BeforeClass
     public static void beforeClass() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        worker = TestUserHelper.createAndSignInUser(HealthDataEx3Test.class, false, Role.WORKER);
+        admin = Tests.getSignedInAdmin();
+        worker = Tests.createAndSignInUser(HealthDataEx3Test.class, false, Role.WORKER);
         createdOn = DateTime.now(DateTimeZone.UTC);
 
         // Create study.
@@ -61,7 +60,7 @@ public class HealthDataEx3Test {
 
     @Before
     public void before() throws Exception {
-        user = TestUserHelper.createAndSignInUser(HealthDataEx3Test.class, true);
+        user = TestUserPool.lease(HealthDataEx3Test.class, true);
         userHealthCode = admin.getClient(ParticipantsApi.class).getParticipantById(user.getUserId(), false)
                 .execute().body().getHealthCode();
     }
@@ -69,7 +68,10 @@ public class HealthDataEx3Test {
     @After
     public void deleteUser() throws Exception {
         if (user != null) {
-            user.signOutAndDeleteUser();
+            // The account goes back to the pool, so its records mustn't outlive the test.
+            admin.getClient(ForSuperadminsApi.class).deleteRecordsEx3ForUser(IntegTestUtils.TEST_APP_ID,
+                    user.getUserId()).execute();
+            TestUserPool.release(user);
         }
     }
 
@@ -173,7 +175,7 @@ public class HealthDataEx3Test {
         // List by user will now return an empty list.
         Tests.retryHelper(() -> workersApi.getRecordsEx3ForUser(IntegTestUtils.TEST_APP_ID, user.getUserId(), createdOnStart, createdOnEnd,
                 null, null).execute().body().getItems(),
-                List::isEmpty);
+                List::isEmpty, Await.SETTLE_MILLIS);
     }
     
     @Test
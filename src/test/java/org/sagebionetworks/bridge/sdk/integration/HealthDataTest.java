@@ -75,7 +75,7 @@ public class HealthDataTest {
     @SuppressWarnings("deprecation")
     @BeforeClass
     public static void beforeClass() throws Exception {
-        developer = TestUserHelper.createAndSignInUser(HealthDataTest.class, false, Role.DEVELOPER);
+        developer = Tests.createAndSignInUser(HealthDataTest.class, false, Role.DEVELOPER);
         studiesApi = developer.getClient(AppsApi.class);
 
         // Ensure schema exists, so we have something to submit against.
@@ -167,9 +167,9 @@ public class HealthDataTest {
 
         // Set up user with data groups, external ID, and sharing scope.
         externalIdentifier = Tests.randomIdentifier(HealthDataTest.class);
-        user = new TestUserHelper.Builder(UploadTest.class)
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(UploadTest.class)
                 .withExternalIds(ImmutableMap.of(STUDY_ID_1, externalIdentifier))
-                .withConsentUser(true).createAndSignInUser();
+                .withConsentUser(true).createAndSignInUser());
         ParticipantsApi participantsApi = user.getClient(ParticipantsApi.class);
 
         StudyParticipant participant = participantsApi.getUsersParticipantRecord(false).execute().body();
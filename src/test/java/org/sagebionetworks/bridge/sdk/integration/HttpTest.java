@@ -8,13 +8,10 @@ import org.apache.http.HttpResponse;
 import org.apache.http.client.fluent.Request;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.sagebionetworks.bridge.rest.model.Environment;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 /**
  * Tests of headers, CORS, and other configuration at the HTTP level.
@@ -35,16 +32,16 @@ public class HttpTest {
     
     @Before
     public void before() {
-        this.testBaseUrl = TestUserHelper.getSignedInAdmin().getClientManager().getHostUrl();
+        this.testBaseUrl = Tests.getSignedInAdmin().getClientManager().getHostUrl();
     }
 
     @Test
     public void testPreflight() throws Exception {
-        HttpResponse response = Request.Options(testBaseUrl+"/v1/apps?summary=true")
+        HttpResponse response = HttpTransport.execute(Request.Options(testBaseUrl+"/v1/apps?summary=true")
             .setHeader(ACCESS_CONTROL_REQUEST_HEADERS, "accept, content-type")
             .setHeader(ACCESS_CONTROL_REQUEST_METHOD, "POST")
             .setHeader(ORIGIN, "https://some.remote.server.org")
-            .connectTimeout(TIMEOUT).execute().returnResponse();
+            .connectTimeout(TIMEOUT)).returnResponse();
         assertEquals(200, response.getStatusLine().getStatusCode());
         
         assertEquals("Should echo back the origin",
@@ -57,11 +54,11 @@ public class HttpTest {
 
     @Test
     public void testCors() throws Exception {
-        HttpResponse response = Request.Get(testBaseUrl+"/")
+        HttpResponse response = HttpTransport.execute(Request.Get(testBaseUrl+"/")
                 .setHeader(ORIGIN, "https://some.remote.server.org")
                 .setHeader(REFERER, "https://some.remote.server.org")
-                .connectTimeout(TIMEOUT)
-                .execute().returnResponse();
+                .connectTimeout(TIMEOUT))
+                .returnResponse();
         assertEquals(200, response.getStatusLine().getStatusCode());
     }
 
@@ -69,13 +66,12 @@ public class HttpTest {
     public void testHttpRedirect() throws Exception {
         // This test only makes sense on servers supporting https redirection, and that's not
         // localhost. For all other environments, run this test.
-        if (TestUserHelper.getSignedInAdmin().getClientManager().getConfig().getEnvironment() != Environment.LOCAL) {
+        if (Tests.getSignedInAdmin().getClientManager().getConfig().getEnvironment() != Environment.LOCAL) {
             
             // You can't use the fluent API because it doesn't allow you to observe redirects.
-            CloseableHttpClient httpclient = HttpClients.custom().disableRedirectHandling().build();
-            
             HttpGet httpGet = new HttpGet(testBaseUrl.replace("https","http")+"/");
-            CloseableHttpResponse response = httpclient.execute(httpGet);
+            httpGet.setConfig(HttpTransport.requestConfig().setRedirectsEnabled(false).build());
+            CloseableHttpResponse response = HttpTransport.execute(httpGet);
             try {
                 assertEquals(301, response.getStatusLine().getStatusCode());
                 assertNotNull(response.getFirstHeader("location").getValue());
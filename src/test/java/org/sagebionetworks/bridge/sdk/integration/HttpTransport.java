@@ -0,0 +1,179 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.fluent.Executor;
+import org.apache.http.client.fluent.Request;
+import org.apache.http.client.fluent.Response;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.apache.http.ssl.SSLContexts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One pooled, keep-alive HTTP client for the requests tests make outside of the SDK (CORS and
+ * redirect checks, raw requests with custom headers, PUTs to presigned S3 URLs). Use
+ * {@code HttpTransport.execute(Request.Get(url)...)} rather than {@code Request.Get(url)...execute()}
+ * so that consecutive requests to the same host reuse a connection.
+ *
+ * The pool and timeouts are set with {@code -Dhttp.maxConnections} (default 50),
+ * {@code -Dhttp.maxConnectionsPerRoute} (20), {@code -Dhttp.connectTimeoutMillis} (10000) and
+ * {@code -Dhttp.socketTimeoutMillis} (30000). InitListener logs how many requests reused a
+ * connection, how many connections and TLS handshakes were made, and percentiles of the
+ * connect time (including the TLS handshake), the handshake alone, and the time to first
+ * byte (from sending the request to receiving the response headers).
+ */
+public class HttpTransport {
+    private static final Logger LOG = LoggerFactory.getLogger(HttpTransport.class);
+
+    private static final LatencyHistogram CONNECT = new LatencyHistogram();
+    private static final LatencyHistogram TLS_HANDSHAKE = new LatencyHistogram();
+    private static final LatencyHistogram TIME_TO_FIRST_BYTE = new LatencyHistogram();
+    private static final LongAdder REQUESTS = new LongAdder();
+    private static final LongAdder REUSED = new LongAdder();
+    // Requests run on the caller's thread, so this tells us whether a request opened a connection.
+    private static final ThreadLocal<Boolean> CONNECTED = ThreadLocal.withInitial(() -> false);
+
+    private static final RequestConfig DEFAULT_CONFIG = RequestConfig.custom()
+            .setConnectTimeout(Integer.getInteger("http.connectTimeoutMillis", 10000))
+            .setConnectionRequestTimeout(Integer.getInteger("http.connectTimeoutMillis", 10000))
+            .setSocketTimeout(Integer.getInteger("http.socketTimeoutMillis", 30000)).build();
+    private static final CloseableHttpClient CLIENT = createClient();
+    private static final Executor EXECUTOR = Executor.newInstance(CLIENT);
+
+    /** Execute a fluent request on the shared client. */
+    public static Response execute(Request request) throws IOException {
+        CONNECTED.set(false);
+        try {
+            return EXECUTOR.execute(request);
+        } finally {
+            counted();
+        }
+    }
+
+    /**
+     * Execute a request on the shared client, for what the fluent API can't do (e.g. observing
+     * redirects, see {@link #requestConfig()}). Close the response to return the connection.
+     */
+    public static CloseableHttpResponse execute(HttpRequestBase request) throws IOException {
+        CONNECTED.set(false);
+        try {
+            return CLIENT.execute(request);
+        } finally {
+            counted();
+        }
+    }
+
+    /** The client's default request configuration, to be changed for a single request. */
+    public static RequestConfig.Builder requestConfig() {
+        return RequestConfig.copy(DEFAULT_CONFIG);
+    }
+
+    private static void counted() {
+        REQUESTS.increment();
+        if (!CONNECTED.get()) {
+            REUSED.increment();
+        }
+    }
+
+    static void logReport() {
+        long requests = REQUESTS.sum();
+        if (requests == 0) {
+            return;
+        }
+        LOG.info("Raw HTTP: {} requests, {} reused a connection, {} connections, {} TLS handshakes "
+                + "(count p50 p95 p99 max)\n  connect       {}\n  TLS handshake {}\n  first byte    {}", requests,
+                REUSED.sum(), CONNECT.getCount(), TLS_HANDSHAKE.getCount(), ApiMetrics.percentiles(CONNECT),
+                ApiMetrics.percentiles(TLS_HANDSHAKE), ApiMetrics.percentiles(TIME_TO_FIRST_BYTE));
+    }
+
+    private static CloseableHttpClient createClient() {
+        Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", new TimedPlainSocketFactory())
+                .register("https", new TimedSslSocketFactory()).build();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(registry);
+        connectionManager.setMaxTotal(Integer.getInteger("http.maxConnections", 50));
+        connectionManager.setDefaultMaxPerRoute(Integer.getInteger("http.maxConnectionsPerRoute", 20));
+        connectionManager.setValidateAfterInactivity(2000);
+
+        return HttpClients.custom().setConnectionManager(connectionManager).setDefaultRequestConfig(DEFAULT_CONFIG)
+                .setRequestExecutor(new TimedRequestExecutor()).evictIdleConnections(30, TimeUnit.SECONDS)
+                .build();
+    }
+
+    private static void connected(long startNanos) {
+        CONNECT.record((System.nanoTime() - startNanos) / 1000);
+        CONNECTED.set(true);
+    }
+
+    private static final class TimedPlainSocketFactory extends PlainConnectionSocketFactory {
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                InetSocketAddress localAddress, HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            Socket connected = super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress,
+                    context);
+            connected(start);
+            return connected;
+        }
+    }
+
+    private static final class TimedSslSocketFactory extends SSLConnectionSocketFactory {
+        TimedSslSocketFactory() {
+            super(SSLContexts.createDefault(), SSLConnectionSocketFactory.getDefaultHostnameVerifier());
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                InetSocketAddress localAddress, HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            Socket connected = super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress,
+                    context);
+            connected(start);
+            return connected;
+        }
+
+        // Called by connectSocket once the TCP connection is open; this is where the handshake happens.
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context)
+                throws IOException {
+            long start = System.nanoTime();
+            Socket layered = super.createLayeredSocket(socket, target, port, context);
+            TLS_HANDSHAKE.record((System.nanoTime() - start) / 1000);
+            return layered;
+        }
+    }
+
+    /** Times each request from sending it to receiving the response headers. */
+    private static final class TimedRequestExecutor extends HttpRequestExecutor {
+        @Override
+        public HttpResponse execute(HttpRequest request, HttpClientConnection connection, HttpContext context)
+                throws IOException, HttpException {
+            long start = System.nanoTime();
+            HttpResponse response = super.execute(request, connection, context);
+            TIME_TO_FIRST_BYTE.record((System.nanoTime() - start) / 1000);
+            return response;
+        }
+    }
+}
@@ -13,11 +13,28 @@ import static org.sagebionetworks.bridge.util.IntegTestUtils.SAGE_ID;
 import static org.sagebionetworks.bridge.util.IntegTestUtils.SAGE_NAME;
 import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.junit.runner.Description;
 import org.junit.runner.Result;
 import org.junit.runner.notification.RunListener;
@@ -31,6 +48,7 @@ import org.sagebionetworks.bridge.rest.api.OrganizationsApi;
 import org.sagebionetworks.bridge.rest.api.StudiesApi;
 import org.sagebionetworks.bridge.rest.api.SubpopulationsApi;
 import org.sagebionetworks.bridge.rest.exceptions.ConstraintViolationException;
+import org.sagebionetworks.bridge.rest.exceptions.EntityAlreadyExistsException;
 import org.sagebionetworks.bridge.rest.exceptions.EntityNotFoundException;
 import org.sagebionetworks.bridge.rest.model.App;
 import org.sagebionetworks.bridge.rest.model.CustomEvent;
@@ -39,13 +57,15 @@ import org.sagebionetworks.bridge.rest.model.Organization;
 import org.sagebionetworks.bridge.rest.model.Study;
 import org.sagebionetworks.bridge.rest.model.Subpopulation;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 /**
  * We have some frequently used model classes that need specific relationships for
  * our tests to work given our permissions model. This listener sets these up one
  * time before running all our integration tests. These objects are safe to leave 
- * between runs of our tests in the API study (there is no cleanup).
+ * between runs of our tests in the API study (there is no cleanup). A fingerprint of
+ * these objects is recorded in ~/.bridge-integ-bootstrap.properties after they are set 
+ * up, and if it hasn't changed by the next run, setup is skipped (run with 
+ * -Dbootstrap.force=true to set them up regardless).
  */
 public class InitListener extends RunListener {
     private static final Logger LOG = LoggerFactory.getLogger(InitListener.class);
@@ -56,6 +76,15 @@ public class InitListener extends RunListener {
     public static final String FAKE_ENROLLMENT = "fake_enrollment";
     public static final String CLINIC_VISIT = "clinic_visit";
 
+    // Bump this when the objects set up by this listener change, so that environments that have been 
+    // bootstrapped with the older definitions are bootstrapped again.
+    private static final int BOOTSTRAP_VERSION = 1;
+    private static final String FINGERPRINT_FILE = System.getProperty("user.home")
+            + "/.bridge-integ-bootstrap.properties";
+    private static final String FORCE_BOOTSTRAP_PROPERTY = "bootstrap.force";
+    private static final String INSTALL_LINK = "http://example.com/";
+    private static final int BOOTSTRAP_THREADS = 6;
+
     private boolean testRunInitialized;
 
     @Override
@@ -63,122 +92,304 @@ public class InitListener extends RunListener {
         if (testRunInitialized) {
             return;
         }
+        // When recording or replaying, requests to the server go through the cassette server; when measuring the 
+        // harness alone, they go to an in-memory fake server.
+        FakeBridgeServer.startIfEnabled();
+        Cassettes.start();
+
         // Must do this first to initialize the logger correctly
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
+
+        String fingerprintKey = admin.getSession().getEnvironment().name().toLowerCase(Locale.ENGLISH) + "."
+                + admin.getClientManager().getHostUrl();
+        String fingerprint = fingerprint(admin);
+        if (fingerprint != null && !Boolean.getBoolean(FORCE_BOOTSTRAP_PROPERTY)
+                && fingerprint.equals(readFingerprints().getProperty(fingerprintKey))) {
+            LOG.info("Test objects are unchanged since the last run, skipping initialization");
+        } else {
+            bootstrap(admin);
+            writeFingerprint(fingerprintKey, fingerprint(admin));
+        }
+        testRunInitialized = true;
+    }
 
+    /**
+     * Get or create the test objects. Independent objects are set up concurrently, in three stages: studies and 
+     * organizations, then the sponsorships between them, then the objects that refer to those (the subpopulation, 
+     * the admin's membership and the app). Changing to the shared app changes the admin's session, so that is done 
+     * last, on its own.
+     */
+    static void bootstrap(TestUser admin) throws Exception {
         LOG.info("Initializing some frequently used test objects...");
 
         StudiesApi studiesApi = admin.getClient(StudiesApi.class);
+        OrganizationsApi orgsApi = admin.getClient(OrganizationsApi.class);
+
+        ExecutorService executor = Executors.newFixedThreadPool(BOOTSTRAP_THREADS);
         try {
-            studiesApi.getStudy(STUDY_ID_1).execute();
-        } catch(EntityNotFoundException e) {
-            Study study = new Study().identifier(STUDY_ID_1).name(STUDY_ID_1);
-            studiesApi.createStudy(study).execute();
-            LOG.info("  Creating study “{}”", STUDY_ID_1);
+            runAll(executor,
+                () -> {
+                    createStudyIfMissing(studiesApi, STUDY_ID_1);
+                    Study study1 = studiesApi.getStudy(STUDY_ID_1).execute().body();
+                    List<CustomEvent> events = getStudyCustomEvents();
+                    if (study1.getCustomEvents() == null
+                            || !ImmutableSet.copyOf(study1.getCustomEvents()).equals(ImmutableSet.copyOf(events))) {
+                        study1.setCustomEvents(events);
+                        studiesApi.updateStudy(study1.getIdentifier(), study1).execute();
+                    }
+                },
+                () -> createStudyIfMissing(studiesApi, STUDY_ID_2),
+                () -> createOrgIfMissing(orgsApi, ORG_ID_1, ORG_ID_1, "Org 1 sponsors study 1 only"),
+                () -> createOrgIfMissing(orgsApi, ORG_ID_2, ORG_ID_2, "Org 2 sponsors study 2 only"),
+                () -> createOrgIfMissing(orgsApi, SAGE_ID, SAGE_NAME, "Sage sponsors study1 and study2"));
+
+            runAll(executor,
+                () -> addSponsorship(orgsApi, SAGE_ID, STUDY_ID_1),
+                () -> addSponsorship(orgsApi, SAGE_ID, STUDY_ID_2),
+                () -> addSponsorship(orgsApi, ORG_ID_1, STUDY_ID_1),
+                () -> addSponsorship(orgsApi, ORG_ID_2, STUDY_ID_2));
+
+            runAll(executor,
+                () -> {
+                    SubpopulationsApi subpopApi = admin.getClient(SubpopulationsApi.class);
+                    Subpopulation subpop = subpopApi.getSubpopulation(TEST_APP_ID).execute().body();
+                    if (!subpop.getStudyIdsAssignedOnConsent().contains(STUDY_ID_1)) {
+                        // Note: Required subpopulations can only have 1 study ID.
+                        subpop.setStudyIdsAssignedOnConsent(ImmutableList.of(STUDY_ID_1));
+                        subpopApi.updateSubpopulation(subpop.getGuid(), subpop).execute();
+                        LOG.info("  “{}” consent now enrolls participants in study “{}”", subpop.getGuid(),
+                                STUDY_ID_1);
+                    }
+                },
+                () -> {
+                    // The admin should be in Sage Bionetworks if it is not already.
+                    if (!SAGE_ID.equals(admin.getSession().getOrgMembership())) {
+                        admin.getClient(ForOrgAdminsApi.class).addMember(SAGE_ID, admin.getUserId()).execute();
+                    }
+                },
+                () -> {
+                    // Add dummy install link.
+                    ForAdminsApi adminApi = admin.getClient(ForAdminsApi.class);
+                    App app = adminApi.getUsersApp().execute().body();
+                    if (app.getInstallLinks() == null || !INSTALL_LINK.equals(app.getInstallLinks().get("Universal"))) {
+                        app.setInstallLinks(ImmutableMap.of("Universal", INSTALL_LINK));
+                        adminApi.updateUsersApp(app).execute();
+                    }
+                });
+        } finally {
+            executor.shutdown();
         }
         
-        Study study1 = studiesApi.getStudy(STUDY_ID_1).execute().body();
-        List<CustomEvent> events = new ArrayList<>();
-        events.add(new CustomEvent().eventId(EVENT_KEY1).updateType(MUTABLE));
-        events.add(new CustomEvent().eventId(EVENT_KEY2).updateType(IMMUTABLE));
-        events.add(new CustomEvent().eventId(EVENT_KEY3).updateType(FUTURE_ONLY));
-        events.add(new CustomEvent().eventId(FAKE_ENROLLMENT).updateType(MUTABLE));
-        events.add(new CustomEvent().eventId(CLINIC_VISIT).updateType(MUTABLE));
-        study1.setCustomEvents(events);
-        studiesApi.updateStudy(study1.getIdentifier(), study1).execute();
-        
-        try {
-            studiesApi.getStudy(STUDY_ID_2).execute();
-        } catch(EntityNotFoundException e) {
-            Study study = new Study().identifier(STUDY_ID_2).name(STUDY_ID_2);
-            studiesApi.createStudy(study).execute();
-            LOG.info("  Creating study “{}”", STUDY_ID_2);
+        // The bootstrap user does not have access to the shared app in production, so skip this in that environment.
+        if (admin.getSession().getEnvironment() != Environment.PRODUCTION) {
+            admin.getClient(AuthenticationApi.class).changeApp(SHARED_SIGNIN).execute();
+            try {
+                createOrgIfMissing(orgsApi, SAGE_ID, SAGE_NAME, "Sage sponsors study1 and study2");
+            } finally {
+                admin.getClient(AuthenticationApi.class).changeApp(API_SIGNIN).execute();
+            }
         }
+    }
 
-        OrganizationsApi orgsApi = admin.getClient(OrganizationsApi.class);
-        try {
-            orgsApi.getOrganization(ORG_ID_1).execute();
-        } catch(EntityNotFoundException e) {
-            Organization org = new Organization().identifier(ORG_ID_1).name(ORG_ID_1)
-                    .description("Org 1 sponsors study 1 only");
-            orgsApi.createOrganization(org).execute();
-            LOG.info("  Creating organization “{}”", ORG_ID_1);
-        }
+    private static void createStudyIfMissing(StudiesApi studiesApi, String studyId) throws Exception {
         try {
-            orgsApi.getOrganization(ORG_ID_2).execute();
+            studiesApi.getStudy(studyId).execute();
         } catch(EntityNotFoundException e) {
-            Organization org = new Organization().identifier(ORG_ID_2).name(ORG_ID_2)
-                    .description("Org 2 sponsors study 2 only");
-            orgsApi.createOrganization(org).execute();
-            LOG.info("  Creating organization “{}”", ORG_ID_2);
+            Study study = new Study().identifier(studyId).name(studyId);
+            try {
+                studiesApi.createStudy(study).execute();
+                LOG.info("  Creating study “{}”", studyId);
+            } catch(EntityAlreadyExistsException e2) {
+                // Created by a concurrent test run (e.g. another surefire fork).
+            }
         }
+    }
+
+    private static void createOrgIfMissing(OrganizationsApi orgsApi, String orgId, String name, String description)
+            throws Exception {
         try {
-            orgsApi.getOrganization(SAGE_ID).execute();
+            orgsApi.getOrganization(orgId).execute();
         } catch(EntityNotFoundException e) {
-            Organization org = new Organization().identifier(SAGE_ID).name(SAGE_NAME)
-                    .description("Sage sponsors study1 and study2");
-            orgsApi.createOrganization(org).execute();
-            LOG.info("  Creating organization “{}”", SAGE_ID);
+            Organization org = new Organization().identifier(orgId).name(name).description(description);
+            try {
+                orgsApi.createOrganization(org).execute();
+                LOG.info("  Creating organization “{}”", orgId);
+            } catch(EntityAlreadyExistsException e2) {
+                // Created by a concurrent test run (e.g. another surefire fork).
+            }
         }
+    }
+
+    private static void addSponsorship(OrganizationsApi orgsApi, String orgId, String studyId) throws Exception {
         try {
-            orgsApi.addStudySponsorship(SAGE_ID, STUDY_ID_1).execute();
-            LOG.info("  {} sponsoring study “{}”", SAGE_NAME, STUDY_ID_1);
+            orgsApi.addStudySponsorship(orgId, studyId).execute();
+            LOG.info("  “{}” sponsoring study “{}”", orgId, studyId);
         } catch(ConstraintViolationException e) {
         }
-        try {
-            orgsApi.addStudySponsorship(SAGE_ID, STUDY_ID_2).execute();
-            LOG.info("  {} sponsoring study “{}”", SAGE_NAME, STUDY_ID_2);
-        } catch(ConstraintViolationException e) {
+    }
+
+    /** Run the tasks concurrently and wait for all of them, rethrowing the first failure. */
+    private static void runAll(ExecutorService executor, ThrowingRunnable... tasks) throws Exception {
+        List<Future<Void>> futures = new ArrayList<>();
+        for (ThrowingRunnable task : tasks) {
+            futures.add(executor.submit(() -> {
+                task.run();
+                return null;
+            }));
+        }
+        Exception failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch(ExecutionException e) {
+                if (failure == null) {
+                    failure = (e.getCause() instanceof Exception) ? (Exception)e.getCause() : e;
+                }
+            }
         }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * A cheap summary of the server-side state the tests rely on: the fields this listener sets up (study1's 
+     * custom events, the subpopulation's criteria and consent studies, the install link, the admin's organization,
+     * the organizations' sponsored studies and the shared app's Sage organization) and the app's data groups, task
+     * identifiers and activity event keys. Versions and modification times are 
+     * left out, so edits that don't touch these fields don't force a bootstrap. If a previous run against the same 
+     * environment recorded the same fingerprint after bootstrapping, the bootstrap can be skipped. Returns null if 
+     * any object is missing.
+     */
+    static String fingerprint(TestUser admin) throws Exception {
+        StudiesApi studiesApi = admin.getClient(StudiesApi.class);
         try {
-            orgsApi.addStudySponsorship(ORG_ID_1, STUDY_ID_1).execute();
-            LOG.info("  “{}” sponsoring study “{}”", ORG_ID_1, STUDY_ID_1);
-        } catch(ConstraintViolationException e) {
+            Study study1 = studiesApi.getStudy(STUDY_ID_1).execute().body();
+            Study study2 = studiesApi.getStudy(STUDY_ID_2).execute().body();
+            Subpopulation subpop = admin.getClient(SubpopulationsApi.class).getSubpopulation(TEST_APP_ID)
+                    .execute().body();
+            App app = admin.getClient(ForAdminsApi.class).getUsersApp().execute().body();
+            OrganizationsApi orgsApi = admin.getClient(OrganizationsApi.class);
+            return Joiner.on(":").useForNull("").join(BOOTSTRAP_VERSION, admin.getUserId(),
+                    admin.getSession().getOrgMembership(), study1.getIdentifier(), sorted(study1.getCustomEvents()),
+                    study2.getIdentifier(), sorted(subpop.getStudyIdsAssignedOnConsent()), subpop.getCriteria(),
+                    (app.getInstallLinks() == null) ? null : app.getInstallLinks().get("Universal"),
+                    sorted(app.getDataGroups()), sorted(app.getTaskIdentifiers()),
+                    sorted(app.getActivityEventKeys()), sponsoredStudies(orgsApi, SAGE_ID),
+                    sponsoredStudies(orgsApi, ORG_ID_1), sponsoredStudies(orgsApi, ORG_ID_2), sharedSageOrg(admin));
+        } catch(EntityNotFoundException e) {
+            return null;
+        }
+    }
+
+    /** The identifiers of the studies the organization sponsors, in a stable order. */
+    private static String sponsoredStudies(OrganizationsApi orgsApi, String orgId) throws Exception {
+        List<String> studyIds = new ArrayList<>();
+        for (Study study : orgsApi.getSponsoredStudies(orgId, null, null).execute().body().getItems()) {
+            studyIds.add(study.getIdentifier());
+        }
+        return sorted(studyIds);
+    }
+
+    /**
+     * The Sage organization in the shared app, which the bootstrap creates everywhere but production (and which
+     * is therefore not part of the production fingerprint).
+     */
+    private static String sharedSageOrg(TestUser admin) throws Exception {
+        if (admin.getSession().getEnvironment() == Environment.PRODUCTION) {
+            return null;
         }
+        admin.getClient(AuthenticationApi.class).changeApp(SHARED_SIGNIN).execute();
         try {
-            orgsApi.addStudySponsorship(ORG_ID_2, STUDY_ID_2).execute();
-            LOG.info("  “{}” sponsoring study “{}”", ORG_ID_2, STUDY_ID_2);
-        } catch(ConstraintViolationException e) {
+            return admin.getClient(OrganizationsApi.class).getOrganization(SAGE_ID).execute().body().getIdentifier();
+        } finally {
+            admin.getClient(AuthenticationApi.class).changeApp(API_SIGNIN).execute();
         }
+    }
 
-        SubpopulationsApi subpopApi = admin.getClient(SubpopulationsApi.class);
-        Subpopulation subpop = subpopApi.getSubpopulation(TEST_APP_ID).execute().body();
-        if (!subpop.getStudyIdsAssignedOnConsent().contains(STUDY_ID_1)) {
-            // Note: Required subpopulations can only have 1 study ID.
-            subpop.setStudyIdsAssignedOnConsent(ImmutableList.of(STUDY_ID_1));
-            subpopApi.updateSubpopulation(subpop.getGuid(), subpop).execute();
-            LOG.info("  “{}” consent now enrolls participants in study “{}”", subpop.getGuid(), STUDY_ID_1);
+    /** The values in a stable order, so that a list the server reorders fingerprints the same. */
+    private static String sorted(Collection<?> values) {
+        if (values == null) {
+            return null;
         }
-        
-        // The admin should be in Sage Bionetworks if it is not already.
-        if (!SAGE_ID.equals(admin.getSession().getOrgMembership())) {
-            admin.getClient(ForOrgAdminsApi.class).addMember(SAGE_ID, admin.getUserId()).execute();
+        Set<String> sorted = new TreeSet<>();
+        for (Object value : values) {
+            sorted.add(String.valueOf(value));
         }
-        
-        // Add dummy install link.
-        ForAdminsApi adminApi = admin.getClient(ForAdminsApi.class);
-        App app = adminApi.getUsersApp().execute().body();
-        app.setInstallLinks(ImmutableMap.of("Universal", "http://example.com/"));
-        adminApi.updateUsersApp(app).execute();
-        
-        // The bootstrap user does not have access to the shared app in production, so skip this in that environment.
-        if (admin.getSession().getEnvironment() != Environment.PRODUCTION) {
-            admin.getClient(AuthenticationApi.class).changeApp(SHARED_SIGNIN).execute();
-            try {
-                orgsApi.getOrganization(SAGE_ID).execute();
-            } catch(EntityNotFoundException e) {
-                Organization org = new Organization().identifier(SAGE_ID).name(SAGE_NAME)
-                        .description("Sage sponsors study1 and study2");
-                orgsApi.createOrganization(org).execute();
-                LOG.info("  Creating organization “{}” in shared study", SAGE_ID);
-            } finally {
-                admin.getClient(AuthenticationApi.class).changeApp(API_SIGNIN).execute();
+        return sorted.toString();
+    }
+
+    private static Properties readFingerprints() {
+        Properties props = new Properties();
+        Path path = Paths.get(FINGERPRINT_FILE);
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path)) {
+                props.load(reader);
+            } catch(IOException e) {
+                LOG.warn("Could not read " + FINGERPRINT_FILE, e);
             }
         }
-        testRunInitialized = true;
+        return props;
+    }
+
+    private static synchronized void writeFingerprint(String key, String fingerprint) {
+        if (fingerprint == null) {
+            return;
+        }
+        Properties props = readFingerprints();
+        props.setProperty(key, fingerprint);
+        try (Writer writer = Files.newBufferedWriter(Paths.get(FINGERPRINT_FILE))) {
+            props.store(writer, "Last successful integration test bootstrap, by environment");
+        } catch(IOException e) {
+            LOG.warn("Could not write " + FINGERPRINT_FILE, e);
+        }
     }
+
     @Override
     public void testRunFinished(Result result) throws Exception {
-        // noop
+        Cleanup.drain();
+        TestUserPool.drain();
+        Await.logReport();
+        UploadWaiter.logReport();
+        SessionCache.logReport();
+        HttpTransport.logReport();
+        ConditionalCache.logReport();
+        ApiMetrics.writeReport();
+        LatencyGate.check();
+        TestShards.saveDurations();
+        Cassettes.stop();
+        FakeBridgeServer.stopIfStarted();
+    }
+
+    @Override
+    public void testSuiteStarted(Description description) {
+        if (description.getTestClass() != null) {
+            Cassettes.setCurrentClass(description.getClassName());
+            Cleanup.classStarted(description.getClassName());
+            TestShards.classStarted(description.getClassName());
+        }
+    }
+
+    @Override
+    public void testSuiteFinished(Description description) throws Exception {
+        if (description.getTestClass() != null) {
+            Cassettes.setCurrentClass(null);
+            Cleanup.classFinished(description.getClassName());
+            TestShards.classFinished(description.getClassName());
+        }
+    }
+    
+    /**
+     * The custom events defined on study1. Studies created for a single test class (see 
+     * IsolatedStudy) are given the same events so schedules can be moved between them.
+     */
+    static List<CustomEvent> getStudyCustomEvents() {
+        List<CustomEvent> events = new ArrayList<>();
+        events.add(new CustomEvent().eventId(EVENT_KEY1).updateType(MUTABLE));
+        events.add(new CustomEvent().eventId(EVENT_KEY2).updateType(IMMUTABLE));
+        events.add(new CustomEvent().eventId(EVENT_KEY3).updateType(FUTURE_ONLY));
+        events.add(new CustomEvent().eventId(FAKE_ENROLLMENT).updateType(MUTABLE));
+        events.add(new CustomEvent().eventId(CLINIC_VISIT).updateType(MUTABLE));
+        return events;
     }
 }
\ No newline at end of file
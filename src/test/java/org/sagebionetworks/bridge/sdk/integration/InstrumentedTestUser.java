@@ -0,0 +1,45 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import org.sagebionetworks.bridge.rest.model.UserSessionInfo;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * A test user whose API clients record the latency of every call in ApiMetrics. It shares the
+ * client manager (and so the session) of the user it was created from, and signing in and out
+ * is left to that user (the bootstrap admin, for example, refuses to sign out). With
+ * {@code -DconditionalCache=true}, its GETs are also revalidated against ConditionalCache.
+ */
+public class InstrumentedTestUser extends TestUser {
+    private final TestUser user;
+
+    InstrumentedTestUser(TestUser user) {
+        super(user.getSignIn(), user.getClientManager(), user.getUserId());
+        this.user = user;
+    }
+
+    @Override
+    public <T> T getClient(Class<T> service) {
+        T client = super.getClient(service);
+        if (ConditionalCache.isEnabled()) {
+            client = ConditionalCache.wrap(service, this, client);
+        }
+        return ApiMetrics.wrap(service, client);
+    }
+
+    @Override
+    public UserSessionInfo signInAgain() {
+        return user.signInAgain();
+    }
+
+    @Override
+    public void signOut() {
+        user.signOut();
+        SessionCache.invalidate(this);
+    }
+
+    @Override
+    public void signOutAndDeleteUser() {
+        user.signOutAndDeleteUser();
+        SessionCache.invalidate(this);
+    }
+}
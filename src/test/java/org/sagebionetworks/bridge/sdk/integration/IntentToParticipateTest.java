@@ -34,8 +34,8 @@ public class IntentToParticipateTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        researcher = TestUserHelper.createAndSignInUser(IntentToParticipateTest.class, false, Role.RESEARCHER);
+        admin = Tests.getSignedInAdmin();
+        researcher = Tests.createAndSignInUser(IntentToParticipateTest.class, false, Role.RESEARCHER);
         IntegTestUtils.deletePhoneUser();
     }
     
@@ -0,0 +1,112 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.sagebionetworks.bridge.sdk.integration.Tests.ORG_ID_1;
+import static org.sagebionetworks.bridge.sdk.integration.Tests.ORG_ID_2;
+import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_1;
+import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_2;
+import static org.sagebionetworks.bridge.util.IntegTestUtils.SAGE_ID;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.sagebionetworks.bridge.rest.api.OrganizationsApi;
+import org.sagebionetworks.bridge.rest.api.StudiesApi;
+import org.sagebionetworks.bridge.rest.model.Enrollment;
+import org.sagebionetworks.bridge.rest.model.Study;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * Several test classes delete and replace the schedule attached to study1, so they cannot run
+ * at the same time. When the suite is run with {@code -DisolatedStudies=true} (the
+ * parallel-tests profile sets this), each of these classes is given its own throwaway study,
+ * set up the way InitListener sets up study1 or study2 (same custom events, sponsored by Sage
+ * and by org1 or org2 respectively). Otherwise these methods fall back to the shared studies
+ * and the tests run as they always have.
+ */
+public class IsolatedStudy {
+    private static final Logger LOG = LoggerFactory.getLogger(IsolatedStudy.class);
+
+    public static final String ISOLATED_STUDIES_PROPERTY = "isolatedStudies";
+
+    private static final Map<String, String> STUDY_IDS = new ConcurrentHashMap<>();
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ISOLATED_STUDIES_PROPERTY);
+    }
+
+    /**
+     * Returns the ID of the study the test class should use in place of study1, creating a 
+     * study for the class if isolated studies are enabled. Call from @BeforeClass.
+     */
+    public static String create(Class<?> testClass) throws IOException {
+        return create(testClass, STUDY_ID_1);
+    }
+
+    /**
+     * Returns the ID of the study the test class should use in place of the shared study 
+     * (study1 or study2), creating a study for the class if isolated studies are enabled.
+     */
+    public static String create(Class<?> testClass, String sharedStudyId) throws IOException {
+        if (!isEnabled()) {
+            return sharedStudyId;
+        }
+        String key = keyPrefix(testClass) + sharedStudyId;
+        String existingId = STUDY_IDS.get(key);
+        if (existingId != null) {
+            return existingId;
+        }
+        TestUser admin = Tests.getSignedInAdmin();
+        StudiesApi studiesApi = admin.getClient(StudiesApi.class);
+        OrganizationsApi orgsApi = admin.getClient(OrganizationsApi.class);
+
+        String sponsorId = STUDY_ID_2.equals(sharedStudyId) ? ORG_ID_2 : ORG_ID_1;
+        String studyId = Tests.randomIdentifier(testClass);
+        Study study = new Study().identifier(studyId).name("Study " + studyId)
+                .customEvents(InitListener.getStudyCustomEvents());
+        studiesApi.createStudy(study).execute();
+        orgsApi.addStudySponsorship(SAGE_ID, studyId).execute();
+        orgsApi.addStudySponsorship(sponsorId, studyId).execute();
+        LOG.info("Created study “{}” in place of “{}” for {}", studyId, sharedStudyId,
+                testClass.getSimpleName());
+
+        STUDY_IDS.put(key, studyId);
+        return studyId;
+    }
+
+    /**
+     * Consenting to the default subpopulation enrolls a participant in study1. When the test
+     * class has its own study, the participant must also be enrolled in that study, and signed
+     * in again so the session reflects the enrollment.
+     */
+    public static void enroll(String studyId, TestUser participant) throws IOException {
+        if (STUDY_ID_1.equals(studyId) || STUDY_ID_2.equals(studyId)) {
+            return;
+        }
+        TestUser admin = Tests.getSignedInAdmin();
+        admin.getClient(StudiesApi.class).enrollParticipant(studyId,
+                new Enrollment().userId(participant.getUserId())).execute();
+        participant.signInAgain();
+    }
+
+    // LoadGenerator loads a copy of the test class for each worker, and each copy needs its own study.
+    private static String keyPrefix(Class<?> testClass) {
+        return testClass.getName() + "@" + Integer.toHexString(System.identityHashCode(testClass)) + ":";
+    }
+
+    /**
+     * Registers the studies created for this test class, if there are any, to be physically 
+     * deleted once their participants have been deleted (see Cleanup). Call from @AfterClass.
+     */
+    public static void delete(Class<?> testClass) {
+        String prefix = keyPrefix(testClass);
+        for (String key : STUDY_IDS.keySet()) {
+            if (key.startsWith(prefix)) {
+                Cleanup.study(STUDY_IDS.remove(key));
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.sagebionetworks.bridge.util.IntegTestUtils.CONFIG;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.google.common.base.Splitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the p95 latency of each route in this run against a rolling baseline of previous
+ * runs in the same environment, so that the post-deploy smoke run catches performance
+ * regressions as well as broken behavior. Enabled with {@code -DlatencyGate=warn} (report
+ * regressions) or {@code -DlatencyGate=fail} (also fail the build); the integration smoke
+ * profile uses warn unless told otherwise.
+ *
+ * Each run appends its per-route percentiles to {@code ~/.bridge-integ-latency/<env>.tsv}
+ * ({@code -DlatencyGate.history} to change the directory). The baseline of a route is the
+ * median of its p95 over the last {@code latencyGate.window} runs (default 10). A route has
+ * regressed when its p95 exceeds the baseline by more than {@code latencyGate.thresholdPercent}
+ * (default 50) and by at least {@code latencyGate.minDeltaMillis} (default 50), so that noise on
+ * fast routes isn't reported. Routes called fewer than {@code latencyGate.minCount} times in a
+ * run, or with fewer than {@code latencyGate.minRuns} runs of history, are not compared.
+ *
+ * The report is written to {@code target/latency-gate.txt}. In fail mode, regressions are also
+ * written to {@code target/latency-regressions.txt}, which the smoke profile's enforcer rule
+ * rejects after the tests have run (a listener can't fail a surefire run itself).
+ *
+ * The gate needs the whole run in one JVM. When the suite is split over several surefire forks
+ * (the parallel-tests profile sets {@code -DlatencyGate.forked=true}), each fork would compare a
+ * fraction of the routes against a whole-run baseline, append its own run to the history and
+ * overwrite the others' reports, so the gate is turned off.
+ */
+public class LatencyGate {
+    private static final Logger LOG = LoggerFactory.getLogger(LatencyGate.class);
+
+    public static final String MODE_PROPERTY = "latencyGate";
+    public static final String FORKED_PROPERTY = "latencyGate.forked";
+    static final Path REPORT_FILE = Paths.get("target/latency-gate.txt");
+    static final Path REGRESSIONS_FILE = Paths.get("target/latency-regressions.txt");
+    private static final String DEFAULT_HISTORY_DIR = System.getProperty("user.home") + "/.bridge-integ-latency";
+
+    enum Mode { OFF, WARN, FAIL }
+
+    /** One route's numbers from one run, as stored in the history file. */
+    static final class Sample {
+        final long runTimestamp;
+        final String route;
+        final long count;
+        final long p50;
+        final long p95;
+        final long p99;
+
+        Sample(long runTimestamp, String route, long count, long p50, long p95, long p99) {
+            this.runTimestamp = runTimestamp;
+            this.route = route;
+            this.count = count;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+        }
+
+        String toLine() {
+            return String.join("\t", Long.toString(runTimestamp), route, Long.toString(count), Long.toString(p50),
+                    Long.toString(p95), Long.toString(p99));
+        }
+
+        static Sample fromLine(String line) {
+            List<String> fields = Splitter.on('\t').splitToList(line);
+            return new Sample(Long.parseLong(fields.get(0)), fields.get(1), Long.parseLong(fields.get(2)),
+                    Long.parseLong(fields.get(3)), Long.parseLong(fields.get(4)), Long.parseLong(fields.get(5)));
+        }
+    }
+
+    /** Compare this run to the baseline, report, and add this run to the history. Called by InitListener. */
+    static void check() throws IOException {
+        Mode mode = Mode.valueOf(System.getProperty(MODE_PROPERTY, "off").toUpperCase(Locale.ENGLISH));
+        if (mode == Mode.OFF) {
+            return;
+        }
+        if (Boolean.getBoolean(FORKED_PROPERTY)) {
+            LOG.info("Latency gate: off, because the tests are split over several forks");
+            return;
+        }
+        Files.deleteIfExists(REGRESSIONS_FILE);
+        Map<String, LatencyHistogram> routes = ApiMetrics.getRouteLatencies();
+        if (routes.isEmpty()) {
+            return;
+        }
+        int window = Integer.getInteger("latencyGate.window", 10);
+        int minRuns = Integer.getInteger("latencyGate.minRuns", 3);
+        int minCount = Integer.getInteger("latencyGate.minCount", 3);
+        int thresholdPercent = Integer.getInteger("latencyGate.thresholdPercent", 50);
+        long minDeltaMicros = Integer.getInteger("latencyGate.minDeltaMillis", 50) * 1000L;
+
+        String env = CONFIG.getEnvironment().name().toLowerCase(Locale.ENGLISH);
+        Path historyFile = Paths.get(System.getProperty("latencyGate.history", DEFAULT_HISTORY_DIR), env + ".tsv");
+        Map<String, List<Long>> baselines = baselines(readHistory(historyFile), window, minCount);
+
+        long now = System.currentTimeMillis();
+        List<Sample> samples = new ArrayList<>();
+        List<String> lines = new ArrayList<>();
+        List<String> regressions = new ArrayList<>();
+        lines.add(String.format("Environment %s, p95 compared to the median of the last %d runs, threshold +%d%%",
+                env, window, thresholdPercent));
+        lines.add(String.format("%-80s %7s %10s %10s %8s  %s", "Route", "count", "p95ms", "baseline", "change",
+                "verdict"));
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(routes).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            Sample sample = new Sample(now, entry.getKey(), histogram.getCount(), histogram.getValueAtPercentile(50),
+                    histogram.getValueAtPercentile(95), histogram.getValueAtPercentile(99));
+            samples.add(sample);
+
+            List<Long> history = baselines.get(sample.route);
+            if (sample.count < minCount || history == null || history.size() < minRuns) {
+                lines.add(String.format("%-80s %7d %10.1f %10s %8s  %s", sample.route, sample.count,
+                        sample.p95 / 1000.0, "-", "-", "not enough data"));
+                continue;
+            }
+            long baseline = median(history);
+            double change = (baseline == 0) ? 0 : (sample.p95 - baseline) * 100.0 / baseline;
+            boolean regressed = change > thresholdPercent && (sample.p95 - baseline) >= minDeltaMicros;
+            String line = String.format("%-80s %7d %10.1f %10.1f %+7.0f%%  %s", sample.route, sample.count,
+                    sample.p95 / 1000.0, baseline / 1000.0, change, regressed ? "REGRESSED" : "ok");
+            lines.add(line);
+            if (regressed) {
+                regressions.add(line);
+            }
+        }
+        write(REPORT_FILE, lines, false);
+        appendHistory(historyFile, samples);
+
+        if (regressions.isEmpty()) {
+            LOG.info("Latency gate: no route regressed beyond +{}% p95 (report in {})", thresholdPercent,
+                    REPORT_FILE);
+            return;
+        }
+        LOG.warn("Latency gate: {} route(s) regressed beyond +{}% p95 against the {} baseline:\n{}",
+                regressions.size(), thresholdPercent, env, String.join("\n", regressions));
+        if (mode == Mode.FAIL) {
+            write(REGRESSIONS_FILE, regressions, false);
+        }
+    }
+
+    /** The p95 of each route over the most recent runs in the history, oldest first. */
+    static Map<String, List<Long>> baselines(List<Sample> history, int window, int minCount) {
+        TreeSet<Long> runs = new TreeSet<>();
+        for (Sample sample : history) {
+            runs.add(sample.runTimestamp);
+        }
+        while (runs.size() > window) {
+            runs.pollFirst();
+        }
+        Map<String, List<Long>> baselines = new HashMap<>();
+        for (Sample sample : history) {
+            if (runs.contains(sample.runTimestamp) && sample.count >= minCount) {
+                baselines.computeIfAbsent(sample.route, k -> new ArrayList<>()).add(sample.p95);
+            }
+        }
+        return baselines;
+    }
+
+    static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int middle = sorted.size() / 2;
+        return (sorted.size() % 2 == 1) ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    private static List<Sample> readHistory(Path historyFile) throws IOException {
+        List<Sample> samples = new ArrayList<>();
+        if (Files.exists(historyFile)) {
+            for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    samples.add(Sample.fromLine(line));
+                } catch (RuntimeException e) {
+                    LOG.warn("Skipping unreadable line in {}: {}", historyFile, line);
+                }
+            }
+        }
+        return samples;
+    }
+
+    private static void appendHistory(Path historyFile, List<Sample> samples) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Sample sample : samples) {
+            lines.add(sample.toLine());
+        }
+        write(historyFile, lines, true);
+    }
+
+    private static void write(Path path, List<String> lines, boolean append) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        StandardOpenOption[] options = append
+                ? new StandardOpenOption[] { StandardOpenOption.CREATE, StandardOpenOption.APPEND }
+                : new StandardOpenOption[] { StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING };
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, options)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+            }
+        }
+    }
+}
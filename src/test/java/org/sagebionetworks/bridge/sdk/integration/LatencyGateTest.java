@@ -0,0 +1,65 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+/** Checks how the latency gate builds its baselines, which needs no server. */
+public class LatencyGateTest {
+    private static final String ROUTE = "GET /v3/participants/self";
+    private static final String OTHER_ROUTE = "POST /v3/auth/signIn";
+
+    @Test
+    public void baselineKeepsOnlyTheLastWindowOfRuns() {
+        List<LatencyGate.Sample> history = ImmutableList.of(sample(1, ROUTE, 10, 100), sample(2, ROUTE, 10, 200),
+                sample(3, ROUTE, 10, 300), sample(4, ROUTE, 10, 400));
+
+        Map<String, List<Long>> baselines = LatencyGate.baselines(history, 2, 3);
+
+        assertEquals(ImmutableList.of(300L, 400L), baselines.get(ROUTE));
+    }
+
+    @Test
+    public void windowCountsRunsNotSamples() {
+        // Run 3 has no sample for OTHER_ROUTE, but still takes a place in the window.
+        List<LatencyGate.Sample> history = ImmutableList.of(sample(1, OTHER_ROUTE, 10, 100),
+                sample(2, OTHER_ROUTE, 10, 200), sample(2, ROUTE, 10, 20), sample(3, ROUTE, 10, 30));
+
+        Map<String, List<Long>> baselines = LatencyGate.baselines(history, 2, 3);
+
+        assertEquals(ImmutableList.of(200L), baselines.get(OTHER_ROUTE));
+        assertEquals(ImmutableList.of(20L, 30L), baselines.get(ROUTE));
+    }
+
+    @Test
+    public void baselineSkipsRunsWithTooFewCalls() {
+        List<LatencyGate.Sample> history = ImmutableList.of(sample(1, ROUTE, 2, 100), sample(2, ROUTE, 3, 200),
+                sample(3, OTHER_ROUTE, 1, 300));
+
+        Map<String, List<Long>> baselines = LatencyGate.baselines(history, 10, 3);
+
+        assertEquals(ImmutableList.of(200L), baselines.get(ROUTE));
+        assertFalse(baselines.containsKey(OTHER_ROUTE));
+    }
+
+    @Test
+    public void medianOfAnOddCountIsTheMiddleValue() {
+        assertEquals(200L, LatencyGate.median(ImmutableList.of(300L, 100L, 200L)));
+        assertEquals(7L, LatencyGate.median(ImmutableList.of(7L)));
+    }
+
+    @Test
+    public void medianOfAnEvenCountIsTheMeanOfTheMiddleValues() {
+        assertEquals(250L, LatencyGate.median(ImmutableList.of(400L, 100L, 300L, 200L)));
+        assertEquals(15L, LatencyGate.median(ImmutableList.of(20L, 10L)));
+    }
+
+    private static LatencyGate.Sample sample(long run, String route, long count, long p95) {
+        return new LatencyGate.Sample(run, route, count, p95 / 2, p95, p95 * 2);
+    }
+}
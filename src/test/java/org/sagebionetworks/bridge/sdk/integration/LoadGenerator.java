@@ -0,0 +1,367 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.experimental.categories.Categories;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.MultipleFailureException;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replays existing test classes as load against a server. Each of N workers runs the selected
+ * classes over and over (all of their tests, or only those in a category) until a duration or
+ * iteration count is reached. The duration of every test method is recorded, and the result
+ * is a report of throughput and latency percentiles per scenario rather than pass/fail;
+ * per-route latencies are in the ApiMetrics report as usual.
+ *
+ * Test classes keep their fixtures in static fields, so each worker loads the scenario
+ * classes in its own class loader and never shares them with another worker. Everything
+ * else (Tests, TestUserPool, ApiMetrics, Cleanup...) is shared, so workers lease their own
+ * users from the same pool. What a scenario run registers with Cleanup is deleted when that run
+ * finishes (studies wait for the end of the load run). Run with
+ * {@code -DisolatedStudies=true} (the load-tests profile does) if a scenario replaces the
+ * schedule of study1.
+ *
+ * The shared admin is shared by the workers too, and some classes switch its session to another
+ * app in @BeforeClass (UploadTest, for example) and back again. So a class's @BeforeClass and
+ * @AfterClass methods run exclusively: they wait for the tests running in other workers to
+ * finish, and no test starts while they run. The tests themselves run concurrently.
+ */
+public class LoadGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final String PACKAGE = LoadGenerator.class.getPackage().getName() + ".";
+
+    private final List<String> classNames;
+    private final Class<?> category;
+    private final int workers;
+    private final long durationMillis;
+    private final int iterations;
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> cpuNanos = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> allocatedBytes = new ConcurrentHashMap<>();
+    private final LongAdder scenarioRuns = new LongAdder();
+
+    /**
+     * @param classNames
+     *         test classes to replay; simple names are resolved in this package
+     * @param category
+     *         if not null, only the tests in this category are run
+     * @param workers
+     *         number of concurrent workers
+     * @param durationMillis
+     *         how long each worker keeps running scenarios, if iterations is 0
+     * @param iterations
+     *         number of times each worker runs each class, or 0 to run for a fixed duration
+     */
+    public LoadGenerator(List<String> classNames, Class<?> category, int workers, long durationMillis,
+            int iterations) {
+        this.classNames = ImmutableList.copyOf(classNames);
+        this.category = category;
+        this.workers = workers;
+        this.durationMillis = durationMillis;
+        this.iterations = iterations;
+    }
+
+    /** Parse a comma-separated list of class names, e.g. from a system property. */
+    public static List<String> classNames(String value) {
+        List<String> names = new ArrayList<>();
+        for (String name : BenchmarkReport.split(value)) {
+            names.add(name.contains(".") ? name : PACKAGE + name);
+        }
+        return names;
+    }
+
+    /** Run the workers, then log the report and write it to the given file. */
+    public void run(Path reportFile) throws Exception {
+        LOG.info("Replaying {} with {} workers for {}", classNames, workers,
+                (iterations > 0) ? (iterations + " iterations") : (durationMillis / 1000 + " seconds"));
+        long apiCallsBefore = ApiMetrics.getCallCount();
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    runWorker(start + durationMillis);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    LOG.warn("Load worker failed", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        report(reportFile, elapsed, ApiMetrics.getCallCount() - apiCallsBefore);
+    }
+
+    private void runWorker(long deadline) throws Exception {
+        URL testClasses = LoadGenerator.class.getProtectionDomain().getCodeSource().getLocation();
+        try (ScenarioClassLoader loader = new ScenarioClassLoader(testClasses, classNames,
+                LoadGenerator.class.getClassLoader())) {
+            List<Class<?>> classes = new ArrayList<>();
+            for (String className : classNames) {
+                classes.add(loader.loadClass(className));
+            }
+            JUnitCore core = new JUnitCore();
+            core.addListener(new TimingListener());
+            for (int i = 0; (iterations > 0) ? (i < iterations) : (System.currentTimeMillis() < deadline); i++) {
+                for (Class<?> cls : classes) {
+                    Request request = cls.isAnnotationPresent(RunWith.class) ? Request.aClass(cls)
+                            : Request.runner(new SerializedSetupRunner(cls));
+                    if (category != null) {
+                        request = request.filterWith(Categories.CategoryFilter.include(category));
+                    }
+                    String scope = cls.getSimpleName() + " (" + Thread.currentThread().getName() + ", iteration "
+                            + i + ")";
+                    Cleanup.scopeStarted(scope);
+                    try {
+                        core.run(request);
+                    } finally {
+                        Cleanup.scopeFinished(scope);
+                    }
+                    scenarioRuns.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a scenario class with its class-level setup and teardown excluded from every other
+     * worker's tests (see the class comment).
+     */
+    static class SerializedSetupRunner extends BlockJUnit4ClassRunner {
+        // Fair, so that a worker waiting to set up isn't starved by the others' tests.
+        private static final ReadWriteLock SETUP_LOCK = new ReentrantReadWriteLock(true);
+        private static final Statement NOTHING = new Statement() {
+            @Override
+            public void evaluate() {
+            }
+        };
+
+        SerializedSetupRunner(Class<?> cls) throws InitializationError {
+            super(cls);
+        }
+
+        @Override
+        protected Statement withBeforeClasses(Statement statement) {
+            Statement befores = super.withBeforeClasses(NOTHING);
+            return new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    locked(SETUP_LOCK.writeLock(), befores);
+                    statement.evaluate();
+                }
+            };
+        }
+
+        @Override
+        protected Statement withAfterClasses(Statement statement) {
+            Statement afters = super.withAfterClasses(NOTHING);
+            return new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    List<Throwable> errors = new ArrayList<>();
+                    try {
+                        statement.evaluate();
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                    try {
+                        locked(SETUP_LOCK.writeLock(), afters);
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                    MultipleFailureException.assertEmpty(errors);
+                }
+            };
+        }
+
+        @Override
+        protected Statement methodBlock(FrameworkMethod method) {
+            Statement test = super.methodBlock(method);
+            return new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    locked(SETUP_LOCK.readLock(), test);
+                }
+            };
+        }
+
+        private static void locked(Lock lock, Statement statement) throws Throwable {
+            lock.lockInterruptibly();
+            try {
+                statement.evaluate();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Records the duration of each test method, and the CPU time and memory allocated by the
+     * worker thread while running it (the cost of the harness and client, not the server; this is
+     * the interesting part when running against FakeBridgeServer). JUnitCore runs the tests on
+     * the worker's thread.
+     */
+    private class TimingListener extends RunListener {
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final ThreadLocal<long[]> started = new ThreadLocal<>();
+
+        @Override
+        public void testStarted(Description description) {
+            started.set(new long[] { System.nanoTime(), cpuTime(), allocated() });
+        }
+
+        @Override
+        public void testFinished(Description description) {
+            long[] start = started.get();
+            if (start != null) {
+                String name = name(description);
+                latencies.computeIfAbsent(name, k -> new LatencyHistogram())
+                        .record((System.nanoTime() - start[0]) / 1000);
+                cpuNanos.computeIfAbsent(name, k -> new LongAdder()).add(cpuTime() - start[1]);
+                allocatedBytes.computeIfAbsent(name, k -> new LongAdder()).add(allocated() - start[2]);
+            }
+        }
+
+        private long cpuTime() {
+            return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : 0;
+        }
+
+        private long allocated() {
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(
+                        Thread.currentThread().getId());
+            }
+            return 0;
+        }
+
+        @Override
+        public void testFailure(Failure failure) {
+            failures.computeIfAbsent(name(failure.getDescription()), k -> new LongAdder()).increment();
+            LOG.debug("Scenario failed: " + failure.getDescription(), failure.getException());
+        }
+
+        private String name(Description description) {
+            String className = description.getClassName();
+            if (className.startsWith(PACKAGE)) {
+                className = className.substring(PACKAGE.length());
+            }
+            return (description.getMethodName() == null) ? className : (className + "." + description.getMethodName());
+        }
+    }
+
+    private void report(Path reportFile, long elapsedMillis, long apiCalls) throws IOException {
+        double seconds = elapsedMillis / 1000.0;
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%d workers, %.1f s, %d class runs, %d instrumented API calls (%.1f/s)", workers,
+                seconds, scenarioRuns.sum(), apiCalls, apiCalls / seconds));
+        lines.add(String.format("%-70s %7s %8s %8s %8s %8s %8s %8s %10s %12s", "Scenario", "count", "p50ms", "p95ms",
+                "p99ms", "maxms", "per sec", "failed", "cpu ms/op", "alloc KB/op"));
+        LatencyHistogram all = new LatencyHistogram();
+        long allFailures = 0;
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(latencies).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            LongAdder failed = failures.get(entry.getKey());
+            long failedCount = (failed == null) ? 0 : failed.sum();
+            lines.add(String.format("%-70s %s %8.2f %8d %10.2f %12.1f", entry.getKey(),
+                    ApiMetrics.percentiles(histogram), histogram.getCount() / seconds, failedCount,
+                    cpuNanos.get(entry.getKey()).sum() / 1e6 / histogram.getCount(),
+                    allocatedBytes.get(entry.getKey()).sum() / 1024.0 / histogram.getCount()));
+            all.add(histogram);
+            allFailures += failedCount;
+        }
+        lines.add(String.format("%-70s %s %8.2f %8d", "(all)", ApiMetrics.percentiles(all), all.getCount() / seconds,
+                allFailures));
+
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+            }
+        }
+        LOG.info("Load results (also in {}):\n{}", reportFile, String.join("\n", lines));
+    }
+
+    /**
+     * Loads the scenario classes (and their nested classes) itself, and delegates everything
+     * else to the parent, so each worker has its own copy of the scenarios' static state.
+     */
+    static class ScenarioClassLoader extends URLClassLoader {
+        private final Set<String> classNames;
+
+        ScenarioClassLoader(URL testClasses, List<String> classNames, ClassLoader parent) {
+            super(new URL[] { testClasses }, parent);
+            this.classNames = ImmutableSet.copyOf(classNames);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!isScenarioClass(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> cls = findLoadedClass(name);
+                if (cls == null) {
+                    cls = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(cls);
+                }
+                return cls;
+            }
+        }
+
+        private boolean isScenarioClass(String name) {
+            int nested = name.indexOf('$');
+            return classNames.contains((nested < 0) ? name : name.substring(0, nested));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+/**
+ * Load generators and benchmarks. These are excluded from the normal test run; run them
+ * with {@code mvn test -DjunitCategory=loadTests}.
+ */
+public interface LoadTest {
+
+}
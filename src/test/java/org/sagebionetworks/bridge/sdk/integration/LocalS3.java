@@ -0,0 +1,194 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.io.BaseEncoding;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A local stand-in for the S3 PUTs of the upload pipeline, so uploads can be benchmarked
+ * offline. FakeBridgeServer hands out upload URLs that point here. It accepts
+ * {@code PUT /bucket/key} like S3: the body is streamed through an MD5 digest (and discarded,
+ * so 100 MB uploads don't need 100 MB of heap), a {@code Content-MD5} header that doesn't match
+ * is rejected with 400 BadDigest, and the response carries the ETag. {@code HEAD} returns the
+ * stored length and ETag, and the fake server checks the MD5 of the object when the upload is
+ * completed, as the server's validation would.
+ *
+ * {@code -DlocalS3.bytesPerSecond=N} limits the rate at which each PUT is read, to approximate
+ * the bandwidth to S3; unlimited by default.
+ */
+public class LocalS3 {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalS3.class);
+
+    public static final String BANDWIDTH_PROPERTY = "localS3.bytesPerSecond";
+    private static final int HANDLER_THREADS = 32;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** What is kept of an object: its size and digest, not its content. */
+    public static final class StoredObject {
+        private final long length;
+        private final String md5Base64;
+        private final String contentType;
+
+        StoredObject(long length, String md5Base64, String contentType) {
+            this.length = length;
+            this.md5Base64 = md5Base64;
+            this.contentType = contentType;
+        }
+        public long getLength() {
+            return length;
+        }
+        public String getMd5Base64() {
+            return md5Base64;
+        }
+        public String getContentType() {
+            return contentType;
+        }
+        String getEtag() {
+            return "\"" + BaseEncoding.base16().lowerCase().encode(Base64.getDecoder().decode(md5Base64)) + "\"";
+        }
+    }
+
+    private final int port;
+    private final long bytesPerSecond;
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+
+    private HttpServer server;
+    private ExecutorService handlers;
+
+    /** @param port the port to listen on, or 0 for any free port */
+    public LocalS3(int port, long bytesPerSecond) {
+        this.port = port;
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    public void start() throws IOException {
+        handlers = Executors.newFixedThreadPool(HANDLER_THREADS);
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(handlers);
+        server.start();
+        LOG.info("Local S3 listening on port {}", server.getAddress().getPort());
+    }
+
+    public void stop() {
+        server.stop(0);
+        handlers.shutdownNow();
+        LOG.info("Local S3 received {} objects, {} MB", puts.sum(), bytesReceived.sum() / (1024 * 1024));
+    }
+
+    /** The URL of an object, to hand out as an upload URL. */
+    public String url(String bucket, String key) {
+        return "http://localhost:" + server.getAddress().getPort() + "/" + bucket + "/" + key;
+    }
+
+    /** The object, or null if nothing has been PUT there. */
+    public StoredObject getObject(String bucket, String key) {
+        return objects.get("/" + bucket + "/" + key);
+    }
+
+    private void handle(HttpExchange http) {
+        String path = http.getRequestURI().getPath();
+        try {
+            switch (http.getRequestMethod()) {
+                case "PUT":
+                    put(http, path);
+                    break;
+                case "HEAD":
+                    StoredObject object = objects.get(path);
+                    if (object == null) {
+                        http.sendResponseHeaders(404, -1);
+                    } else {
+                        http.getResponseHeaders().set("ETag", object.getEtag());
+                        http.getResponseHeaders().set("Content-Length", Long.toString(object.getLength()));
+                        http.sendResponseHeaders(200, -1);
+                    }
+                    break;
+                default:
+                    sendError(http, 405, "MethodNotAllowed", "Only PUT and HEAD are supported.");
+            }
+        } catch (Exception e) {
+            LOG.warn("Local S3 failed on " + path, e);
+            try {
+                sendError(http, 500, "InternalError", String.valueOf(e.getMessage()));
+            } catch (IOException ignored) {
+            }
+        } finally {
+            http.close();
+        }
+    }
+
+    private void put(HttpExchange http, String path) throws IOException, InterruptedException {
+        MessageDigest md5 = md5();
+        long length = 0;
+        long start = System.nanoTime();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = http.getRequestBody()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                md5.update(buffer, 0, read);
+                length += read;
+                throttle(start, length);
+            }
+        }
+        bytesReceived.add(length);
+        String actual = Base64.getEncoder().encodeToString(md5.digest());
+        String expected = http.getRequestHeaders().getFirst("Content-MD5");
+        if (expected != null && !expected.equals(actual)) {
+            sendError(http, 400, "BadDigest", "The Content-MD5 you specified did not match what we received.");
+            return;
+        }
+        StoredObject object = new StoredObject(length, actual, http.getRequestHeaders().getFirst("Content-Type"));
+        objects.put(path, object);
+        puts.increment();
+        http.getResponseHeaders().set("ETag", object.getEtag());
+        http.sendResponseHeaders(200, -1);
+    }
+
+    /** Sleep until reading this many bytes is no faster than the configured bandwidth. */
+    private void throttle(long startNanos, long bytesSoFar) throws InterruptedException {
+        if (bytesPerSecond <= 0) {
+            return;
+        }
+        long dueNanos = startNanos + bytesSoFar * 1000000000L / bytesPerSecond;
+        long aheadMillis = (dueNanos - System.nanoTime()) / 1000000;
+        if (aheadMillis > 0) {
+            Thread.sleep(aheadMillis);
+        }
+    }
+
+    private static void sendError(HttpExchange http, int status, String code, String message) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>" + code + "</Code><Message>"
+                + message + "</Message></Error>").getBytes(StandardCharsets.UTF_8);
+        http.getResponseHeaders().set("Content-Type", "application/xml");
+        http.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = http.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -21,7 +21,6 @@ import org.sagebionetworks.bridge.rest.model.MasterSchedulerConfig;
 import org.sagebionetworks.bridge.rest.model.MasterSchedulerConfigList;
 import org.sagebionetworks.bridge.rest.model.Message;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -39,7 +38,7 @@ public class MasterSchedulerTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         
         superadminApi = admin.getClient(ForSuperadminsApi.class);
         config = Tests.getMastSchedulerConfig();
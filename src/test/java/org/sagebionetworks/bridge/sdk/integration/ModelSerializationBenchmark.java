@@ -0,0 +1,315 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.sagebionetworks.bridge.json.DefaultObjectMapper;
+import org.sagebionetworks.bridge.rest.RestUtils;
+import org.sagebionetworks.bridge.rest.model.AccountSummaryList;
+import org.sagebionetworks.bridge.rest.model.AdherenceRecordList;
+import org.sagebionetworks.bridge.rest.model.HealthDataRecord;
+import org.sagebionetworks.bridge.rest.model.Survey;
+import org.sagebionetworks.bridge.rest.model.Timeline;
+
+/**
+ * JMH benchmarks of the JSON encoding and decoding that the rest client does on the largest
+ * bodies the tests handle, at a realistic size and at 10× and 100× that size. The rest client
+ * decodes every response with Gson ({@link RestUtils#GSON}) into its typed model classes; for
+ * comparison, Jackson databind decodes and encodes the same JSON into the same classes. Run with
+ * {@code mvn test -Dbenchmark=ModelSerializationBenchmark}; the benchmarks profile adds the GC
+ * profiler so allocation rates are reported as well.
+ *
+ * The models only carry Gson annotations, so the Jackson mapper reads and writes enums by their
+ * JSON values (their toString()) and ignores properties it has no setter for. Gson decodes
+ * survey elements into SurveyQuestion and SurveyInfoScreen by their type, which Jackson can't
+ * without the same adapters; it decodes them as plain SurveyElements, so its survey figures
+ * flatter it.
+ *
+ * The payloads are synthetic (built here rather than retrieved from a server) so the
+ * benchmark runs without an environment. At 1× they are about the size tests see: the
+ * TestSurvey survey, a timeline of 50 scheduled sessions, a 500 record page of adherence
+ * records, a 50 account page of account summaries, and a health data record with 20 fields.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelSerializationBenchmark {
+
+    // Starts from the mapper bridge-base uses, for its date handling.
+    static final ObjectMapper JACKSON = DefaultObjectMapper.INSTANCE.copy()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(DeserializationFeature.READ_ENUMS_USING_TO_STRING)
+            .enable(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+    public enum Model {
+        SURVEY(Survey.class),
+        TIMELINE(Timeline.class),
+        ADHERENCE_RECORDS(AdherenceRecordList.class),
+        ACCOUNT_SUMMARIES(AccountSummaryList.class),
+        HEALTH_DATA(HealthDataRecord.class);
+
+        private final Class<?> modelClass;
+
+        Model(Class<?> modelClass) {
+            this.modelClass = modelClass;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Payload {
+        @Param({ "SURVEY", "TIMELINE", "ADHERENCE_RECORDS", "ACCOUNT_SUMMARIES", "HEALTH_DATA" })
+        public Model model;
+
+        @Param({ "1", "10", "100" })
+        public int scale;
+
+        String json;
+        Object decoded;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            json = RestUtils.GSON.toJson(payload(model, scale));
+            decoded = RestUtils.GSON.fromJson(json, model.modelClass);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class HealthData {
+        @Param({ "1", "10", "100" })
+        public int scale;
+
+        HealthDataRecord record;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            String json = RestUtils.GSON.toJson(payload(Model.HEALTH_DATA, scale));
+            record = RestUtils.GSON.fromJson(json, HealthDataRecord.class);
+        }
+    }
+
+    @Benchmark
+    public Object gsonDecode(Payload payload) {
+        return RestUtils.GSON.fromJson(payload.json, payload.model.modelClass);
+    }
+
+    @Benchmark
+    public String gsonEncode(Payload payload) {
+        return RestUtils.GSON.toJson(payload.decoded);
+    }
+
+    @Benchmark
+    public Object jacksonDecode(Payload payload) throws Exception {
+        return JACKSON.readValue(payload.json, payload.model.modelClass);
+    }
+
+    @Benchmark
+    public String jacksonEncode(Payload payload) throws Exception {
+        return JACKSON.writeValueAsString(payload.decoded);
+    }
+
+    /** HealthDataRecord.getData() converted to a map, as HealthDataTest does. */
+    @Benchmark
+    public Object healthDataToMap(HealthData healthData) {
+        return RestUtils.toType(healthData.record.getData(), Map.class);
+    }
+
+    static JsonObject payload(Model model, int scale) throws Exception {
+        switch (model) {
+            case SURVEY:
+                return survey(scale);
+            case TIMELINE:
+                return timeline(50 * scale);
+            case ADHERENCE_RECORDS:
+                return adherenceRecords(500 * scale);
+            case ACCOUNT_SUMMARIES:
+                return accountSummaries(50 * scale);
+            case HEALTH_DATA:
+                return healthData(20 * scale);
+            default:
+                throw new IllegalArgumentException(model.name());
+        }
+    }
+
+    /** The TestSurvey survey, with its elements repeated to scale it up. */
+    private static JsonObject survey(int scale) throws Exception {
+        Survey survey = TestSurvey.getSurvey(ModelSerializationBenchmark.class);
+        JsonObject object = RestUtils.GSON.toJsonTree(survey).getAsJsonObject();
+        JsonArray elements = object.getAsJsonArray("elements");
+        JsonArray scaled = new JsonArray();
+        for (int i = 0; i < scale; i++) {
+            for (JsonElement element : elements) {
+                JsonObject copy = RestUtils.GSON.fromJson(element, JsonObject.class);
+                copy.addProperty("identifier", copy.get("identifier").getAsString() + "_" + i);
+                copy.addProperty("guid", guid("element", scaled.size()));
+                scaled.add(copy);
+            }
+        }
+        object.add("elements", scaled);
+        return object;
+    }
+
+    private static JsonObject timeline(int sessionCount) {
+        JsonArray assessments = new JsonArray();
+        for (int i = 0; i < 5; i++) {
+            JsonObject assessment = new JsonObject();
+            assessment.addProperty("key", "assessment" + i);
+            assessment.addProperty("guid", guid("assessment", i));
+            assessment.addProperty("appId", "api");
+            assessment.addProperty("identifier", "assessment-" + i);
+            assessment.addProperty("revision", 1);
+            assessment.addProperty("label", "Assessment " + i);
+            assessment.addProperty("minutesToComplete", 10);
+            assessment.addProperty("type", "AssessmentInfo");
+            assessments.add(assessment);
+        }
+        JsonArray sessions = new JsonArray();
+        for (int i = 0; i < 3; i++) {
+            JsonObject session = new JsonObject();
+            session.addProperty("guid", guid("session", i));
+            session.addProperty("label", "Session " + i);
+            session.addProperty("startEventId", "enrollment");
+            session.addProperty("performanceOrder", "sequential");
+            session.addProperty("minutesToComplete", 30);
+            session.addProperty("type", "SessionInfo");
+            sessions.add(session);
+        }
+        JsonArray schedule = new JsonArray();
+        for (int i = 0; i < sessionCount; i++) {
+            JsonObject scheduled = new JsonObject();
+            scheduled.addProperty("refGuid", guid("session", i % 3));
+            scheduled.addProperty("instanceGuid", guid("instance", i));
+            scheduled.addProperty("startDay", i);
+            scheduled.addProperty("endDay", i + 1);
+            scheduled.addProperty("startTime", "08:00");
+            scheduled.addProperty("expiration", "PT12H");
+            scheduled.addProperty("timeWindowGuid", guid("window", i % 3));
+            JsonArray refs = new JsonArray();
+            for (int j = 0; j < 2; j++) {
+                JsonObject ref = new JsonObject();
+                ref.addProperty("refKey", "assessment" + ((i + j) % 5));
+                ref.addProperty("instanceGuid", guid("assessmentInstance", i * 2 + j));
+                ref.addProperty("type", "ScheduledAssessment");
+                refs.add(ref);
+            }
+            scheduled.add("assessments", refs);
+            scheduled.addProperty("type", "ScheduledSession");
+            schedule.add(scheduled);
+        }
+        JsonObject timeline = new JsonObject();
+        timeline.addProperty("duration", "P" + Math.max(1, sessionCount / 7) + "W");
+        timeline.addProperty("totalMinutes", sessionCount * 30);
+        timeline.addProperty("totalNotifications", 0);
+        timeline.add("schedule", schedule);
+        timeline.add("assessments", assessments);
+        timeline.add("sessions", sessions);
+        timeline.addProperty("type", "Timeline");
+        return timeline;
+    }
+
+    private static JsonObject adherenceRecords(int count) {
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            JsonObject clientData = new JsonObject();
+            clientData.addProperty("answer", "S3D00W" + (i % 10));
+            clientData.addProperty("score", i % 100);
+
+            JsonObject record = new JsonObject();
+            record.addProperty("userId", guid("user", i % 20));
+            record.addProperty("studyId", "study1");
+            record.addProperty("instanceGuid", guid("instance", i));
+            record.addProperty("eventTimestamp", "2021-05-10T08:00:00.000Z");
+            record.addProperty("startedOn", "2021-05-12T10:15:00.000Z");
+            record.addProperty("finishedOn", "2021-05-12T10:32:00.000Z");
+            record.addProperty("uploadedOn", "2021-05-12T10:33:00.000Z");
+            record.addProperty("clientTimeZone", "America/Los_Angeles");
+            record.addProperty("declined", false);
+            record.add("clientData", clientData);
+            record.addProperty("type", "AdherenceRecord");
+            items.add(record);
+        }
+        return pagedList(items, count);
+    }
+
+    private static JsonObject accountSummaries(int count) {
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            JsonObject phone = new JsonObject();
+            phone.addProperty("number", "+1206555" + String.format("%04d", i % 10000));
+            phone.addProperty("regionCode", "US");
+            phone.addProperty("type", "Phone");
+
+            JsonObject externalIds = new JsonObject();
+            externalIds.addProperty("study1", "extId" + i);
+
+            JsonArray studyIds = new JsonArray();
+            studyIds.add("study1");
+            studyIds.add("study2");
+
+            JsonObject summary = new JsonObject();
+            summary.addProperty("id", guid("user", i));
+            summary.addProperty("appId", "api");
+            summary.addProperty("firstName", "First" + i);
+            summary.addProperty("lastName", "Last" + i);
+            summary.addProperty("email", "bridge-testing+" + i + "@sagebase.org");
+            summary.add("phone", phone);
+            summary.addProperty("createdOn", "2021-05-10T08:00:00.000Z");
+            summary.addProperty("status", "enabled");
+            summary.addProperty("orgMembership", "sage-bionetworks");
+            summary.add("studyIds", studyIds);
+            summary.add("externalIds", externalIds);
+            summary.addProperty("type", "AccountSummary");
+            items.add(summary);
+        }
+        return pagedList(items, count);
+    }
+
+    private static JsonObject healthData(int fieldCount) {
+        JsonObject data = new JsonObject();
+        for (int i = 0; i < fieldCount; i++) {
+            data.addProperty("field" + i, "value " + i);
+        }
+        JsonObject record = new JsonObject();
+        record.addProperty("id", guid("record", 0));
+        record.addProperty("healthCode", guid("healthCode", 0));
+        record.addProperty("createdOn", "2021-05-10T08:00:00.000Z");
+        record.addProperty("schemaId", "benchmark-schema");
+        record.addProperty("schemaRevision", 1);
+        record.add("data", data);
+        record.addProperty("type", "HealthDataRecord");
+        return record;
+    }
+
+    private static JsonObject pagedList(JsonArray items, int total) {
+        JsonObject list = new JsonObject();
+        list.add("items", items);
+        list.addProperty("total", total);
+        list.addProperty("type", "PagedResourceList");
+        return list;
+    }
+
+    private static String guid(String prefix, int i) {
+        return String.format("%s-%08d-0000-0000-0000-000000000000", prefix, i);
+    }
+}
@@ -21,7 +21,6 @@ import org.sagebionetworks.bridge.rest.model.GuidHolder;
 import org.sagebionetworks.bridge.rest.model.NotificationTopic;
 import org.sagebionetworks.bridge.rest.model.Role;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 @SuppressWarnings("ConstantConditions")
 public class NotificationTopicTest {
@@ -33,8 +32,8 @@ public class NotificationTopicTest {
 
     @BeforeClass
     public static void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        developer = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true, Role.DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        developer = Tests.createAndSignInUser(ParticipantsTest.class, true, Role.DEVELOPER);
     }
 
     @AfterClass
@@ -120,7 +119,7 @@ public class NotificationTopicTest {
             assertTrue(guids.contains(keys2.getGuid()));
         } finally {
             // physically delete them all
-            ForAdminsApi adminApi = TestUserHelper.getSignedInAdmin().getClient(ForAdminsApi.class);
+            ForAdminsApi adminApi = Tests.getSignedInAdmin().getClient(ForAdminsApi.class);
             adminApi.deleteNotificationTopic(keys1.getGuid(), true).execute();
             adminApi.deleteNotificationTopic(keys2.getGuid(), true).execute();
             
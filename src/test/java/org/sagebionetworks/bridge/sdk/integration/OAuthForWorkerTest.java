@@ -21,7 +21,6 @@ import org.sagebionetworks.bridge.rest.model.OAuthProvider;
 import org.sagebionetworks.bridge.rest.model.SignUp;
 import org.sagebionetworks.bridge.rest.model.VersionHolder;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.google.common.collect.ImmutableList;
 
@@ -33,7 +32,7 @@ public class OAuthForWorkerTest {
 
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
     }
     
     @After
@@ -47,7 +46,7 @@ public class OAuthForWorkerTest {
     @Test
     public void test() throws Exception {
         String synapseUserId = CONFIG.get("synapse.test.user.id");
-        worker = TestUserHelper.createAndSignInUser(OAuthTest.class, true, 
+        worker = Tests.createAndSignInUser(OAuthTest.class, true, 
                 new SignUp().roles(ImmutableList.of(WORKER)).synapseUserId(synapseUserId));
         
         ForWorkersApi workersApi = worker.getClient(ForWorkersApi.class);
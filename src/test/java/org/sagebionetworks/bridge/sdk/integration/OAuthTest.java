@@ -33,7 +33,6 @@ import org.sagebionetworks.bridge.rest.model.OAuthAuthorizationToken;
 import org.sagebionetworks.bridge.rest.model.SignIn;
 import org.sagebionetworks.bridge.rest.model.UserSessionInfo;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 @Category(IntegrationSmokeTest.class)
 public class OAuthTest {
@@ -47,14 +46,14 @@ public class OAuthTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin(true);
+        admin = SessionCache.refreshAdmin();
         adminUserId = admin.getUserId();
     }
     
     @After
     public void after() throws Exception {
         // Using OAuth will have messed up this sign in, so force it again for the next test.
-        admin = TestUserHelper.getSignedInAdmin(true);
+        admin = SessionCache.refreshAdmin();
         if (user != null) {
             user.signOutAndDeleteUser();
         }
@@ -62,7 +61,7 @@ public class OAuthTest {
     
     @Test(expected = EntityNotFoundException.class)
     public void requestOAuthAccessTokenExists() throws Exception {
-        user = TestUserHelper.createAndSignInUser(OAuthTest.class, true);
+        user = Tests.createAndSignInUser(OAuthTest.class, true);
         ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
         
         OAuthAuthorizationToken token = new OAuthAuthorizationToken().authToken("authToken");
@@ -80,21 +79,21 @@ public class OAuthTest {
         // this is the admin user, so the account does not need to be created
         // Sign in to Synapse
         String payload = escapeJSON(format("{'username':'%s','password':'%s'}", userEmail, userPassword));
-        HttpResponse response = Request.Post(synapseEndpoint + SYNAPSE_LOGIN_URL)
+        HttpResponse response = HttpTransport.execute(Request.Post(synapseEndpoint + SYNAPSE_LOGIN_URL)
                 .setHeader("content-type", "application/json")
-                .body(new StringEntity(payload))
-                .execute().returnResponse();
+                .body(new StringEntity(payload)))
+                .returnResponse();
         
         String sessionToken = getValue(response, "sessionToken");
 
         // Consent to return OAuth authorization token
         payload = escapeJSON("{'clientId':'" + oauthClientId + "','scope':'openid','claims':{'id_token':{'userid':null}},"+
                 "'responseType':'code','redirectUri':'https://research.sagebridge.org'}");
-        response = Request.Post(synapseEndpoint + SYNAPSE_OAUTH_CONSENT)
+        response = HttpTransport.execute(Request.Post(synapseEndpoint + SYNAPSE_OAUTH_CONSENT)
                 .setHeader("content-type", "application/json")
                 .setHeader("sessiontoken", sessionToken)
-                .body(new StringEntity(payload))
-                .execute().returnResponse();
+                .body(new StringEntity(payload)))
+                .returnResponse();
         String authToken = getValue(response, "access_code");
         
         // Call bridge to get a session
@@ -154,7 +153,7 @@ public class OAuthTest {
     @Test
     public void nonSynapseSignInCannotSwitchBetweenStudies() throws Exception {
         try {
-            user = TestUserHelper.createAndSignInUser(OAuthTest.class, true);
+            user = Tests.createAndSignInUser(OAuthTest.class, true);
             user.getClient(AuthenticationApi.class).changeApp(API_2_SIGNIN).execute();
             fail("Should have throw exception");
         } catch(UnauthorizedException e) {
@@ -23,7 +23,6 @@ import org.sagebionetworks.bridge.rest.model.AccountSummaryList;
 import org.sagebionetworks.bridge.rest.model.AccountSummarySearch;
 import org.sagebionetworks.bridge.rest.model.Organization;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 public class OrgMembershipTest {
@@ -34,8 +33,8 @@ public class OrgMembershipTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        orgAdmin = TestUserHelper.createAndSignInUser(OrgMembershipTest.class, false, ORG_ADMIN);
+        admin = Tests.getSignedInAdmin();
+        orgAdmin = Tests.createAndSignInUser(OrgMembershipTest.class, false, ORG_ADMIN);
 
         OrganizationsApi orgApi = admin.getClient(OrganizationsApi.class);
         orgId = Tests.randomIdentifier(getClass());
@@ -58,7 +58,7 @@ public class OrganizationTest {
 
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
     }
 
     @After
@@ -177,7 +177,7 @@ public class OrganizationTest {
         org2 = superadminOrgApi.createOrganization(newOrg2).execute().body();
         
         // Create an admin in organization 1, with researcher permissions to access the participant APIs
-        orgAdmin = TestUserHelper.createAndSignInUser(OrganizationTest.class, false, ADMIN, RESEARCHER);
+        orgAdmin = Tests.createAndSignInUser(OrganizationTest.class, false, ADMIN, RESEARCHER);
         superadminOrgApi.addMember(orgId1, orgAdmin.getUserId()).execute();
         OrganizationsApi appAdminOrgApi = orgAdmin.getClient(OrganizationsApi.class);
         
@@ -187,7 +187,7 @@ public class OrganizationTest {
         
         // create a user. TestUserHelper puts admins in the Sage Bionetworks organization, so for this
         // test, remove the user first.
-        user = TestUserHelper.createAndSignInUser(OrganizationTest.class, false, DEVELOPER);
+        user = Tests.createAndSignInUser(OrganizationTest.class, false, DEVELOPER);
         admin.getClient(OrganizationsApi.class).removeMember(SAGE_ID, user.getUserId()).execute();
         
         // the user is unassigned and should appear in the unassigned API
@@ -13,7 +13,6 @@ import org.sagebionetworks.bridge.rest.exceptions.BadRequestException;
 import org.sagebionetworks.bridge.rest.model.ForwardCursorStringList;
 import org.sagebionetworks.bridge.rest.model.ParticipantData;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import java.io.IOException;
 import java.util.HashSet;
@@ -41,9 +40,9 @@ public class ParticipantDataTest {
 
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        worker = TestUserHelper.createAndSignInUser(ParticipantDataTest.class, false, WORKER);
-        user = TestUserHelper.createAndSignInUser(ParticipantDataTest.class, true);
+        admin = Tests.getSignedInAdmin();
+        worker = TestUserPool.lease(ParticipantDataTest.class, false, WORKER);
+        user = TestUserPool.lease(ParticipantDataTest.class, true);
 
         identifier1 = Tests.randomIdentifier(getClass());
         identifier2 = Tests.randomIdentifier(getClass());
@@ -53,15 +52,13 @@ public class ParticipantDataTest {
 
     @After
     public void after() throws Exception {
-        ForAdminsApi adminsApi = admin.getClient(ForAdminsApi.class);
-        adminsApi.deleteAllParticipantDataForAdmin(user.getAppId(), user.getUserId());
-
         if (user != null) {
-            user.signOutAndDeleteUser();
-        }
-        if (worker != null) {
-            worker.signOutAndDeleteUser();
+            // The account goes back to the pool, so its data mustn't outlive the test.
+            ForAdminsApi adminsApi = admin.getClient(ForAdminsApi.class);
+            adminsApi.deleteAllParticipantDataForAdmin(user.getAppId(), user.getUserId()).execute();
+            TestUserPool.release(user);
         }
+        TestUserPool.release(worker);
     }
 
     @Test
@@ -2,6 +2,9 @@ package org.sagebionetworks.bridge.sdk.integration;
 
 import okhttp3.ResponseBody;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.fluent.Request;
+import org.apache.http.entity.ContentType;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,14 +15,9 @@ import org.sagebionetworks.bridge.rest.model.Message;
 import org.sagebionetworks.bridge.rest.model.ParticipantFile;
 import org.sagebionetworks.bridge.rest.model.ParticipantFileList;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStreamWriter;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Scanner;
 
@@ -32,6 +30,8 @@ import static org.junit.Assert.fail;
 public class ParticipantFileTest {
 
     static final String TEST_UPLOAD_STRING = "This text uploaded as an object via presigned URL.";
+    // The presigned URL is signed for exactly this content type, so no charset is added.
+    private static final ContentType TEXT_PLAIN = ContentType.create("text/plain");
 
     TestUser participant;
 
@@ -41,7 +41,7 @@ public class ParticipantFileTest {
 
     @Before
     public void before() throws Exception {
-        participant = TestUserHelper.createAndSignInUser(ParticipantFileTest.class, true);
+        participant = Tests.createAndSignInUser(ParticipantFileTest.class, true);
         userApi = participant.getClient(ForConsentedUsersApi.class);
     }
 
@@ -84,16 +84,9 @@ public class ParticipantFileTest {
                 Math.abs(keys.getCreatedOn().plusDays(1).getMillis() - keys.getExpiresOn().getMillis()) < (1000*60*5));
         String uploadUrl = keys.getUploadUrl();
 
-        URL url = new URL(uploadUrl);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setDoOutput(true);
-        connection.setRequestMethod("PUT");
-        connection.setRequestProperty("Content-Type", "text/plain");
-        OutputStreamWriter out = new OutputStreamWriter(connection.getOutputStream());
-        out.write(TEST_UPLOAD_STRING);
-        out.close();
-        assertEquals(200, connection.getResponseCode());;
-        connection.disconnect();
+        HttpResponse response = HttpTransport.execute(Request.Put(uploadUrl)
+                .bodyString(TEST_UPLOAD_STRING, TEXT_PLAIN)).returnResponse();
+        assertEquals(200, response.getStatusLine().getStatusCode());
         
         ParticipantFileList results = userApi.getParticipantFiles(null, 5).execute().body();
         assertNotNull(results);
@@ -143,16 +136,9 @@ public class ParticipantFileTest {
             assertEquals(404, exception.getStatusCode());
         }
 
-        url = new URL(updateKeys.getUploadUrl());
-        connection = (HttpURLConnection) url.openConnection();
-        connection.setDoOutput(true);
-        connection.setRequestMethod("PUT");
-        connection.setRequestProperty("Content-Type", "text/plain");
-        out = new OutputStreamWriter(connection.getOutputStream());
-        out.write("Updated text to S3.");
-        out.close();
-        assertEquals(200, connection.getResponseCode());
-        connection.disconnect();
+        response = HttpTransport.execute(Request.Put(updateKeys.getUploadUrl())
+                .bodyString("Updated text to S3.", TEXT_PLAIN)).returnResponse();
+        assertEquals(200, response.getStatusLine().getStatusCode());
 
         ResponseBody updateBody = userApi.getParticipantFile("file_id").execute().body();
         try (InputStream content = updateBody.byteStream(); Scanner sc = new Scanner(content)) {
@@ -178,16 +164,9 @@ public class ParticipantFileTest {
         file = new ParticipantFile();
         file.setMimeType("text/plain");
         ParticipantFile upload = userApi.createParticipantFile("rate-limit-test", file).execute().body();
-        URL uploadUrl = new URL(upload.getUploadUrl());
-        HttpURLConnection connection = (HttpURLConnection) uploadUrl.openConnection();
-        connection.setDoOutput(true);
-        connection.setRequestMethod("PUT");
-        connection.setRequestProperty("Content-Type", "text/plain");
-        OutputStreamWriter out = new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.US_ASCII);
-        out.write(StringUtils.repeat("A", 1000)); // 1 KB in ASCII
-        out.close();
-        assertEquals(200, connection.getResponseCode());
-        connection.disconnect();
+        HttpResponse response = HttpTransport.execute(Request.Put(upload.getUploadUrl())
+                .bodyString(StringUtils.repeat("A", 1000), TEXT_PLAIN)).returnResponse(); // 1 KB in ASCII
+        assertEquals(200, response.getStatusLine().getStatusCode());
 
         // should succeed
         try {
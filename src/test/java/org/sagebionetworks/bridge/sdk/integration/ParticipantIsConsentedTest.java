@@ -40,13 +40,13 @@ public class ParticipantIsConsentedTest {
 
     @BeforeClass
     public static void setup() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
 
-        developer = TestUserHelper.createAndSignInUser(ParticipantIsConsentedTest.class, false,
+        developer = Tests.createAndSignInUser(ParticipantIsConsentedTest.class, false,
                 Role.DEVELOPER);
         subpopApi = developer.getClient(SubpopulationsApi.class);
 
-        studyCoordinator = TestUserHelper.createAndSignInUser(ParticipantIsConsentedTest.class, false,
+        studyCoordinator = Tests.createAndSignInUser(ParticipantIsConsentedTest.class, false,
                 Role.STUDY_COORDINATOR); // accesses study 1 through Sage Bionetworks
         
         participantsApi = studyCoordinator.getClient(StudyParticipantsApi.class);
@@ -111,7 +111,7 @@ public class ParticipantIsConsentedTest {
 
     @Test
     public void defaultRequiredNotSigned() throws Exception {
-        user = TestUserHelper.createAndSignInUser(ParticipantIsConsentedTest.class, false);
+        user = Tests.createAndSignInUser(ParticipantIsConsentedTest.class, false);
         
         // A study coordinator cannot see this account because it hasn't consented into any study the 
         // researcher has access to.
@@ -136,8 +136,8 @@ public class ParticipantIsConsentedTest {
         String email = IntegTestUtils.makeEmail(ParticipantIsConsentedTest.class);
         SignUp signUp = new SignUp().appId(TEST_APP_ID).email(email).password(PASSWORD);
         signUp.addDataGroupsItem(DATA_GROUP);
-        user = new TestUserHelper.Builder(ParticipantIsConsentedTest.class).withConsentUser(false)
-                .withSignUp(signUp).createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(ParticipantIsConsentedTest.class).withConsentUser(false)
+                .withSignUp(signUp).createAndSignInUser());
 
         // This still fails...we no longer support "consent by default," ie without some
         // positive enrollment in a study. During migration, we will fix this by finding
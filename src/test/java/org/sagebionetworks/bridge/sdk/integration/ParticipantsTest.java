@@ -103,10 +103,10 @@ public class ParticipantsTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        developer = TestUserHelper.createAndSignInUser(ParticipantsTest.class, false, DEVELOPER);
-        researcher = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true, RESEARCHER);
-        studyCoordinator = TestUserHelper.createAndSignInUser(ParticipantsTest.class, false, STUDY_COORDINATOR);
+        admin = Tests.getSignedInAdmin();
+        developer = Cleanup.user(Tests.createAndSignInUser(ParticipantsTest.class, false, DEVELOPER));
+        researcher = Cleanup.user(Tests.createAndSignInUser(ParticipantsTest.class, true, RESEARCHER));
+        studyCoordinator = Cleanup.user(Tests.createAndSignInUser(ParticipantsTest.class, false, STUDY_COORDINATOR));
         // Put the study coordinator in org1 so they only have access to study1
         admin.getClient(OrganizationsApi.class).removeMember(SAGE_ID, studyCoordinator.getUserId()).execute();
         admin.getClient(OrganizationsApi.class).addMember(ORG_ID_1, studyCoordinator.getUserId()).execute();
@@ -125,23 +125,16 @@ public class ParticipantsTest {
         }
     }
     
+    // The other accounts are deleted by Cleanup when the class finishes. These two can hold the shared test phone
+    // number, which the next test needs, so they go now.
     @After
     public void after() throws Exception {
-        if (developer != null) {
-            developer.signOutAndDeleteUser();
-        }
-        if (researcher != null) {
-            researcher.signOutAndDeleteUser();
-        }
         if (phoneUser != null) {
             phoneUser.signOutAndDeleteUser();
         }
         if (emailUser != null) {
             emailUser.signOutAndDeleteUser();
         }
-        if (studyCoordinator != null) {
-            studyCoordinator.signOutAndDeleteUser();
-        }
     }
     
     @Test
@@ -177,62 +170,58 @@ public class ParticipantsTest {
     @SuppressWarnings("unchecked")
     @Test
     public void canGetAndUpdateSelf() throws Exception {
-        TestUser user = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true);
-        try {
-            ForConsentedUsersApi userApi = user.getClient(ForConsentedUsersApi.class);
-
-            StudyParticipant self = userApi.getUsersParticipantRecord(false).execute().body();
-            assertEquals(user.getEmail(), self.getEmail());
-            
-            UserSessionInfo session = user.getSession();
-            assertEquals(session.getEnrollments().get(STUDY_ID_1).getEnrolledOn(), 
-                    self.getEnrollments().get(STUDY_ID_1).getEnrolledOn());
-            assertEquals(session.getEnrollments().size(), self.getEnrollments().size());
-
-            // Update and verify changes. Right now there's not a lot that can be changed
-            List<String> languages = ImmutableList.of("nl", "fr", "en");
-
-            self.setLanguages(languages);
-            self.setDataGroups(ImmutableList.of("group1"));
-            self.setSharingScope(ALL_QUALIFIED_RESEARCHERS);
-            self.setNotifyByEmail(null); // BRIDGE-1604: should use default value: true
-            
-            List<String> clientData = new ArrayList<>();
-            clientData.add("A");
-            clientData.add("B");
-            clientData.add("C");
-            self.setClientData(clientData);
-
-            userApi.updateUsersParticipantRecord(self).execute();
-            
-            // Session should reflect these updates, right now.
-            List<String> capturedDataGroups = user.getSession().getDataGroups();
-            assertTrue(capturedDataGroups.contains("group1"));
-            List<String> capturedData = RestUtils.toType(user.getSession().getClientData(), List.class);
-            assertEquals("A", capturedData.get(0));
-            assertEquals("B", capturedData.get(1));
-            assertEquals("C", capturedData.get(2));
-            
-            self = userApi.getUsersParticipantRecord(false).execute().body();
-            assertEquals(ALL_QUALIFIED_RESEARCHERS, self.getSharingScope());
-            assertEquals(ImmutableList.of("test_user", "group1"), self.getDataGroups());
-            assertTrue(self.isNotifyByEmail());  // BRIDGE-1604: true value returned
-            
-            List<String> deserClientData = (List<String>)RestUtils.toType(self.getClientData(), List.class);
-            assertEquals("A", deserClientData.get(0));
-            assertEquals("B", deserClientData.get(1));
-            assertEquals("C", deserClientData.get(2));
-            
-            assertEquals(ImmutableList.of("nl", "fr", "en"), self.getLanguages());
-        } finally {
-            user.signOutAndDeleteUser();
-        }
+        TestUser user = Cleanup.user(Tests.createAndSignInUser(ParticipantsTest.class, true));
+        ForConsentedUsersApi userApi = user.getClient(ForConsentedUsersApi.class);
+
+        StudyParticipant self = userApi.getUsersParticipantRecord(false).execute().body();
+        assertEquals(user.getEmail(), self.getEmail());
+        
+        UserSessionInfo session = user.getSession();
+        assertEquals(session.getEnrollments().get(STUDY_ID_1).getEnrolledOn(), 
+                self.getEnrollments().get(STUDY_ID_1).getEnrolledOn());
+        assertEquals(session.getEnrollments().size(), self.getEnrollments().size());
+
+        // Update and verify changes. Right now there's not a lot that can be changed
+        List<String> languages = ImmutableList.of("nl", "fr", "en");
+
+        self.setLanguages(languages);
+        self.setDataGroups(ImmutableList.of("group1"));
+        self.setSharingScope(ALL_QUALIFIED_RESEARCHERS);
+        self.setNotifyByEmail(null); // BRIDGE-1604: should use default value: true
+        
+        List<String> clientData = new ArrayList<>();
+        clientData.add("A");
+        clientData.add("B");
+        clientData.add("C");
+        self.setClientData(clientData);
+
+        userApi.updateUsersParticipantRecord(self).execute();
+        
+        // Session should reflect these updates, right now.
+        List<String> capturedDataGroups = user.getSession().getDataGroups();
+        assertTrue(capturedDataGroups.contains("group1"));
+        List<String> capturedData = RestUtils.toType(user.getSession().getClientData(), List.class);
+        assertEquals("A", capturedData.get(0));
+        assertEquals("B", capturedData.get(1));
+        assertEquals("C", capturedData.get(2));
+        
+        self = userApi.getUsersParticipantRecord(false).execute().body();
+        assertEquals(ALL_QUALIFIED_RESEARCHERS, self.getSharingScope());
+        assertEquals(ImmutableList.of("test_user", "group1"), self.getDataGroups());
+        assertTrue(self.isNotifyByEmail());  // BRIDGE-1604: true value returned
+        
+        List<String> deserClientData = (List<String>)RestUtils.toType(self.getClientData(), List.class);
+        assertEquals("A", deserClientData.get(0));
+        assertEquals("B", deserClientData.get(1));
+        assertEquals("C", deserClientData.get(2));
+        
+        assertEquals(ImmutableList.of("nl", "fr", "en"), self.getLanguages());
     }
     
     @Test
     public void retrieveParticipant() throws Exception {
-        TestUser user = new TestUserHelper.Builder(ParticipantsTest.class)
-                .withExternalIds(ImmutableMap.of(STUDY_ID_1, externalId)).createAndSignInUser();
+        TestUser user = Cleanup.user(ApiMetrics.instrument(new TestUserHelper.Builder(ParticipantsTest.class)
+                .withExternalIds(ImmutableMap.of(STUDY_ID_1, externalId)).createAndSignInUser()));
         
         ParticipantsApi researcherParticipantsApi = researcher.getClient(ParticipantsApi.class);
         ForSuperadminsApi superadminApi = admin.getClient(ForSuperadminsApi.class);
@@ -270,7 +259,6 @@ public class ParticipantsTest {
             assertEquals(user.getSession().getId(), participant3.getId());
             assertTrue(participant2.getConsentHistories().isEmpty());
         } finally {
-            user.signOutAndDeleteUser();
             app.setHealthCodeExportEnabled(false);
             VersionHolder version = superadminApi.updateApp(app.getIdentifier(), app).execute().body();
             app.version(version.getVersion());
@@ -528,7 +516,7 @@ public class ParticipantsTest {
     @SuppressWarnings("deprecation")
     @Test
     public void canWithdrawUserFromApp() throws Exception {
-        TestUser user = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true);
+        TestUser user = Cleanup.user(Tests.createAndSignInUser(ParticipantsTest.class, true));
         String userId = user.getSession().getId();
         try {
             // Can get activities without an error... user is indeed consented.
@@ -548,15 +536,13 @@ public class ParticipantsTest {
             fail("Should have thrown exception");
         } catch(EntityNotFoundException e) {
             // expected
-        } finally {
-            user.signOutAndDeleteUser();
         }
     }
     
     @SuppressWarnings("deprecation")
     @Test
     public void canWithdrawUserFromSubpopulation() throws Exception {
-        TestUser user = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true);
+        TestUser user = Cleanup.user(Tests.createAndSignInUser(ParticipantsTest.class, true));
         String userId = user.getSession().getId();
         String subpopGuid = user.getSession().getConsentStatuses().entrySet().iterator().next().getValue()
                 .getSubpopulationGuid();
@@ -591,15 +577,13 @@ public class ParticipantsTest {
             
             participant = userApi.getUsersParticipantRecord(true).execute().body();
             assertEquals(NO_SHARING, participant.getSharingScope());
-        } finally {
-            user.signOutAndDeleteUser();
         }
     }
     
     @SuppressWarnings("deprecation")
     @Test
     public void getActivityHistory() throws Exception {
-        TestUser user = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true);
+        TestUser user = Cleanup.user(Tests.createAndSignInUser(ParticipantsTest.class, true));
         ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
         
         SchedulesV1Api schedulePlanApi = developer.getClient(SchedulesV1Api.class);
@@ -652,14 +636,13 @@ public class ParticipantsTest {
             assertEquals(0, resActivities.getItems().size());
         } finally {
             admin.getClient(SchedulesV1Api.class).deleteSchedulePlan(planKeys.getGuid(), true).execute();
-            user.signOutAndDeleteUser();
         }
     }
     
     @SuppressWarnings("deprecation")
     @Test
     public void getActivityHistoryV4() throws Exception {
-        TestUser user = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true);
+        TestUser user = Cleanup.user(Tests.createAndSignInUser(ParticipantsTest.class, true));
 
         ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
         
@@ -691,58 +674,53 @@ public class ParticipantsTest {
             // These other calls return nothing though
             Tests.retryHelper(() -> api.getParticipantSurveyHistory(userId, taskReferentGuid, startsOn, endsOn,
                     null, 100).execute().body().getItems(),
-                    List::isEmpty);
+                    List::isEmpty, Await.SETTLE_MILLIS);
 
             Tests.retryHelper(() -> api.getParticipantCompoundActivityHistory(userId, taskReferentGuid, startsOn,
                     endsOn, null, 100).execute().body().getItems(),
-                    List::isEmpty);
+                    List::isEmpty, Await.SETTLE_MILLIS);
         } finally {
             admin.getClient(SchedulesV1Api.class).deleteSchedulePlan(planKeys.getGuid(), true).execute();
-            user.signOutAndDeleteUser();
         }
     }
 
     @Test
     public void getParticipantUploads() throws Exception {
-        TestUser user = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true);
+        TestUser user = Cleanup.user(Tests.createAndSignInUser(ParticipantsTest.class, true));
         String userId = user.getSession().getId();
-        try {
-            // Create a REQUESTED record that we can retrieve through the reporting API.
-            UploadRequest request = new UploadRequest();
-            request.setContentType("application/zip");
-            request.setContentLength(100L);
-            request.setContentMd5("AAAAAAAAAAAAAAAAAAAAAA==");
-            request.setName("upload.zip");
-            
-            ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
-            UploadSession uploadSession = usersApi.requestUploadSession(request).execute().body();
-            
-            ParticipantsApi participantsApi = researcher.getClient(ParticipantsApi.class);
-            
-            // Jenkins has gotten minutes off from the current time, causing this query to fail. Adjust the range
-            // to ensure if the clock drifts, within reason, the query will still succeed.
-            DateTime endTime = DateTime.now(DateTimeZone.UTC).plusHours(2);
-            DateTime startTime = endTime.minusDays(1).minusHours(21);
-
-            UploadList results = Tests.retryHelper(() -> participantsApi.getParticipantUploads(userId, startTime,
-                    endTime, null, null).execute().body(),
-                    r -> !r.getItems().isEmpty() && uploadSession.getId().equals(r.getItems().get(0).getUploadId()));
-            
-            String uploadId = results.getItems().get(0).getUploadId();
+        // Create a REQUESTED record that we can retrieve through the reporting API.
+        UploadRequest request = new UploadRequest();
+        request.setContentType("application/zip");
+        request.setContentLength(100L);
+        request.setContentMd5("AAAAAAAAAAAAAAAAAAAAAA==");
+        request.setName("upload.zip");
+        
+        ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
+        UploadSession uploadSession = usersApi.requestUploadSession(request).execute().body();
+        
+        ParticipantsApi participantsApi = researcher.getClient(ParticipantsApi.class);
+        
+        // Jenkins has gotten minutes off from the current time, causing this query to fail. Adjust the range
+        // to ensure if the clock drifts, within reason, the query will still succeed.
+        DateTime endTime = DateTime.now(DateTimeZone.UTC).plusHours(2);
+        DateTime startTime = endTime.minusDays(1).minusHours(21);
 
-            assertEquals(uploadSession.getId(), uploadId);
-            assertTrue(results.getItems().get(0).getContentLength() > 0);
-            assertEquals(startTime, results.getRequestParams().getStartTime());
-            assertEquals(endTime, results.getRequestParams().getEndTime());
-        } finally {
-            user.signOutAndDeleteUser();
-        }
+        UploadList results = Tests.retryHelper(() -> participantsApi.getParticipantUploads(userId, startTime,
+                endTime, null, null).execute().body(),
+                r -> !r.getItems().isEmpty() && uploadSession.getId().equals(r.getItems().get(0).getUploadId()));
+        
+        String uploadId = results.getItems().get(0).getUploadId();
+
+        assertEquals(uploadSession.getId(), uploadId);
+        assertTrue(results.getItems().get(0).getContentLength() > 0);
+        assertEquals(startTime, results.getRequestParams().getStartTime());
+        assertEquals(endTime, results.getRequestParams().getEndTime());
     }
     
     @Test
     public void crudUsersWithPhone() throws Exception {
         SignUp signUp = new SignUp().phone(IntegTestUtils.PHONE).password("P@ssword`1");
-        phoneUser = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true, signUp);
+        phoneUser = Tests.createAndSignInUser(ParticipantsTest.class, true, signUp);
         
         ParticipantsApi participantsApi = researcher.getClient(ParticipantsApi.class);
         
@@ -760,7 +738,7 @@ public class ParticipantsTest {
     @Test
     public void addEmailToPhoneUser() throws Exception {
         SignUp signUp = new SignUp().phone(IntegTestUtils.PHONE).password("P@ssword`1").appId(TEST_APP_ID);
-        phoneUser = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true, signUp);
+        phoneUser = Tests.createAndSignInUser(ParticipantsTest.class, true, signUp);
 
         SignIn signIn = new SignIn().phone(signUp.getPhone()).password(signUp.getPassword()).appId(TEST_APP_ID);
 
@@ -787,7 +765,7 @@ public class ParticipantsTest {
     public void addPhoneToEmailUser() throws Exception {
         String email = IntegTestUtils.makeEmail(ParticipantsTest.class);
         SignUp signUp = new SignUp().email(email).password("P@ssword`1").appId(TEST_APP_ID);
-        emailUser = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true, signUp);
+        emailUser = Tests.createAndSignInUser(ParticipantsTest.class, true, signUp);
 
         SignIn signIn = new SignIn().email(signUp.getEmail()).password(signUp.getPassword()).appId(TEST_APP_ID);
 
@@ -811,7 +789,7 @@ public class ParticipantsTest {
     
     @Test
     public void installLinkWorks() throws Exception {
-        emailUser = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true);
+        emailUser = Tests.createAndSignInUser(ParticipantsTest.class, true);
         
         Response<Message> response = researcher.getClient(ForResearchersApi.class)
                 .sendInstallLinkMessage(emailUser.getUserId()).execute();
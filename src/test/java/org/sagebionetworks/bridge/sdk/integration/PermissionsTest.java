@@ -23,7 +23,6 @@ import org.sagebionetworks.bridge.rest.model.Permission;
 import org.sagebionetworks.bridge.rest.model.PermissionDetail;
 import org.sagebionetworks.bridge.rest.model.Study;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 import java.util.List;
@@ -72,9 +71,9 @@ public class PermissionsTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        user1 = TestUserHelper.createAndSignInUser(PermissionsTest.class, false);
-        user2 = TestUserHelper.createAndSignInUser(PermissionsTest.class, false);
+        admin = Tests.getSignedInAdmin();
+        user1 = Tests.createAndSignInUser(PermissionsTest.class, false);
+        user2 = Tests.createAndSignInUser(PermissionsTest.class, false);
         
         studiesApi = admin.getClient(StudiesApi.class);
         orgApi = admin.getClient(OrganizationsApi.class);
@@ -36,12 +36,12 @@ public class PersistentActivityTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        user = new TestUserHelper.Builder(ScheduleTest.class).withConsentUser(true)
-                .createAndSignInUser();
+        admin = Tests.getSignedInAdmin();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(ScheduleTest.class).withConsentUser(true)
+                .createAndSignInUser());
 
-        developer = new TestUserHelper.Builder(ScheduleTest.class).withConsentUser(true)
-                .withRoles(Role.DEVELOPER).createAndSignInUser();
+        developer = ApiMetrics.instrument(new TestUserHelper.Builder(ScheduleTest.class).withConsentUser(true)
+                .withRoles(Role.DEVELOPER).createAndSignInUser());
     }
     
     @SuppressWarnings("deprecation")
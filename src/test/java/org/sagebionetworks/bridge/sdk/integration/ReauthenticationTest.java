@@ -24,7 +24,6 @@ import org.sagebionetworks.bridge.rest.model.SignIn;
 import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.rest.model.UserSessionInfo;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -46,7 +45,7 @@ public class ReauthenticationTest {
     
     @Before
     public void before() throws Exception {
-        user = TestUserHelper.createAndSignInUser(ReauthenticationTest.class, true);
+        user = Tests.createAndSignInUser(ReauthenticationTest.class, true);
     }
     
     @After
@@ -58,7 +57,7 @@ public class ReauthenticationTest {
     
     @BeforeClass
     public static void turnOnReauthentication() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         ForSuperadminsApi superadminApi = admin.getClient(ForSuperadminsApi.class);
         
         App app = superadminApi.getApp(TEST_APP_ID).execute().body();
@@ -68,7 +67,7 @@ public class ReauthenticationTest {
     
     @AfterClass
     public static void turnOffReauthentication() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         ForSuperadminsApi superadminApi = admin.getClient(ForSuperadminsApi.class);
         
         App app = superadminApi.getApp(TEST_APP_ID).execute().body();
@@ -162,7 +161,7 @@ public class ReauthenticationTest {
     
     @Test
     public void consentRequiredException() throws Exception {
-        TestUser unconsentedUser = TestUserHelper.createAndSignInUser(ReauthenticationTest.class, false);
+        TestUser unconsentedUser = Tests.createAndSignInUser(ReauthenticationTest.class, false);
         try {
             try {
                 unconsentedUser.signInAgain();    
@@ -177,7 +176,7 @@ public class ReauthenticationTest {
     
     @Test
     public void reauthenticationWorksAfterAccountUpdate() throws Exception {
-        TestUser testUser = TestUserHelper.createAndSignInUser(ReauthenticationTest.class, true);
+        TestUser testUser = Tests.createAndSignInUser(ReauthenticationTest.class, true);
         try {
             String reauthToken = testUser.getSession().getReauthToken();
             
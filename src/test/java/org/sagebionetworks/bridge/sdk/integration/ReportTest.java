@@ -75,15 +75,15 @@ public class ReportTest {
 
     @BeforeClass
     public static void beforeClass() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         
-        developer = new TestUserHelper.Builder(ReportTest.class).withRoles(DEVELOPER)
-                .createAndSignInUser();
+        developer = ApiMetrics.instrument(new TestUserHelper.Builder(ReportTest.class).withRoles(DEVELOPER)
+                .createAndSignInUser());
         
-        appScopedDeveloper = new TestUserHelper.Builder(ReportTest.class).withRoles(DEVELOPER)
-                .createAndSignInUser(); // assigned to study1, like other admin accounts
+        appScopedDeveloper = ApiMetrics.instrument(new TestUserHelper.Builder(ReportTest.class).withRoles(DEVELOPER)
+                .createAndSignInUser()); // assigned to study1, like other admin accounts
 
-        worker = TestUserHelper.createAndSignInUser(ReportTest.class, false, WORKER, RESEARCHER);
+        worker = Tests.createAndSignInUser(ReportTest.class, false, WORKER, RESEARCHER);
 
         // Worker test needs to be able to get healthcode.
         ForSuperadminsApi superadminApi = admin.getClient(ForSuperadminsApi.class);
@@ -136,8 +136,8 @@ public class ReportTest {
 
     @Test
     public void developerCanCrudParticipantReport() throws Exception {
-        user = new TestUserHelper.Builder(ReportTest.class)
-                .withTestDataGroup().withConsentUser(true).createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(ReportTest.class)
+                .withTestDataGroup().withConsentUser(true).createAndSignInUser());
         
         String userId = user.getSession().getId();
         ParticipantReportsApi reportsApi = developer.getClient(ParticipantReportsApi.class);
@@ -186,7 +186,7 @@ public class ReportTest {
 
     @Test
     public void workerCanCrudParticipantReportByDate() throws Exception {
-        user = TestUserHelper.createAndSignInUser(ReportTest.class, true);
+        user = Tests.createAndSignInUser(ReportTest.class, true);
 
         String healthCode = worker.getClient(ParticipantsApi.class).getParticipantById(user.getSession().getId(),
                 false).execute().body().getHealthCode();
@@ -226,7 +226,7 @@ public class ReportTest {
 
     @Test
     public void workerCanCrudParticipantReportByDateTime() throws Exception {
-        user = TestUserHelper.createAndSignInUser(ReportTest.class, true);
+        user = Tests.createAndSignInUser(ReportTest.class, true);
 
         String healthCode = worker.getClient(ParticipantsApi.class).getParticipantById(user.getSession().getId(),
                 false).execute().body().getHealthCode();
@@ -399,7 +399,7 @@ public class ReportTest {
     
     @Test
     public void userCanCRUDSelfReports() throws Exception {
-        user = TestUserHelper.createAndSignInUser(ReportTest.class, true);
+        user = Tests.createAndSignInUser(ReportTest.class, true);
 
         ForConsentedUsersApi userApi = user.getClient(ForConsentedUsersApi.class);
 
@@ -438,7 +438,7 @@ public class ReportTest {
             // expected exception
         }
 
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         ParticipantReportsApi reportsApi = admin.getClient(ParticipantReportsApi.class);
         reportsApi.deleteAllParticipantReportRecords(user.getSession().getId(), reportId).execute();
         results = userApi.getParticipantReportRecordsV4(
@@ -459,9 +459,9 @@ public class ReportTest {
         
         // Not a member of the study used for these report records
         // Just assign an external ID in order to enroll the account in a study
-        study2User = new TestUserHelper.Builder(ReportTest.class).withConsentUser(false)
+        study2User = ApiMetrics.instrument(new TestUserHelper.Builder(ReportTest.class).withConsentUser(false)
                 .withExternalIds(ImmutableMap.of(STUDY_ID_2, Tests.randomIdentifier(getClass())))
-                .createAndSignInUser();
+                .createAndSignInUser());
         StudyReportsApi reportsApi = study2User.getClient(StudyReportsApi.class);
         try {
             reportsApi.getStudyReportRecords(reportId, SEARCH_START_DATE, SEARCH_END_DATE).execute().body();
@@ -506,9 +506,9 @@ public class ReportTest {
         // It would seem to be dumb to create reports for a participant that are associated to studies the user
         // is not enrolled in. In this edge case we are now erring on the side of returning the report to
         // the user anyway.
-        study2User = new TestUserHelper.Builder(ReportTest.class).withConsentUser(false)
+        study2User = ApiMetrics.instrument(new TestUserHelper.Builder(ReportTest.class).withConsentUser(false)
                 .withExternalIds(ImmutableMap.of(STUDY_ID_2, Tests.randomIdentifier(getClass())))
-                .createAndSignInUser();
+                .createAndSignInUser());
         
         String healthCode = worker.getClient(ParticipantsApi.class)
                 .getParticipantById(study2User.getUserId(), false).execute().body().getHealthCode();
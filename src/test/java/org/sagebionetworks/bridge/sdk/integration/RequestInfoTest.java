@@ -16,7 +16,6 @@ import org.sagebionetworks.bridge.rest.api.ParticipantsApi;
 import org.sagebionetworks.bridge.rest.model.ClientInfo;
 import org.sagebionetworks.bridge.rest.model.RequestInfo;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class RequestInfoTest {
     private static final DateTime ACTIVITIES_ACCESSED_ON = DateTime.parse("2022-09-04T07:58:56.102-04:00");
@@ -37,14 +36,14 @@ public class RequestInfoTest {
 
     @BeforeClass
     public static void beforeClass() {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         participantsApi = admin.getClient(ParticipantsApi.class);
         superadminApi = admin.getClient(ForSuperadminsApi.class);
     }
 
     @Before
     public void before() throws Exception {
-        user = TestUserHelper.createAndSignInUser(RequestInfoTest.class, true);
+        user = Tests.createAndSignInUser(RequestInfoTest.class, true);
         userId = user.getUserId();
     }
 
@@ -0,0 +1,38 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.nio.file.Paths;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Replays existing test classes as load against a server (see LoadGenerator). Configured with
+ * system properties, which the load-tests profile passes through:
+ *
+ * <ul>
+ *     <li>load.classes: comma-separated test classes (default UploadTest,SignInTest,Schedule2Test)</li>
+ *     <li>load.category: only run tests in this category, e.g. IntegrationSmokeTest (default all)</li>
+ *     <li>load.workers: concurrent workers (default 4)</li>
+ *     <li>load.durationSeconds: how long to run (default 60)</li>
+ *     <li>load.iterations: run each class this many times per worker instead of for a duration</li>
+ * </ul>
+ *
+ * Failures in the replayed tests are counted in the report; they don't fail this test.
+ */
+@Category(LoadTest.class)
+public class ScenarioLoadTest {
+    private static final String DEFAULT_CLASSES = "UploadTest,SignInTest,Schedule2Test";
+
+    @Test
+    public void replayScenarios() throws Exception {
+        String categoryName = System.getProperty("load.category", "");
+        Class<?> category = categoryName.isEmpty() ? null
+                : Class.forName(LoadGenerator.classNames(categoryName).get(0));
+
+        LoadGenerator generator = new LoadGenerator(
+                LoadGenerator.classNames(System.getProperty("load.classes", DEFAULT_CLASSES)), category,
+                Integer.getInteger("load.workers", 4), Integer.getInteger("load.durationSeconds", 60) * 1000L,
+                Integer.getInteger("load.iterations", 0));
+        generator.run(Paths.get("target", "load-report.txt"));
+    }
+}
@@ -1,5 +1,6 @@
 package org.sagebionetworks.bridge.sdk.integration;
 
+import static java.lang.String.format;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -15,8 +16,6 @@ import static org.sagebionetworks.bridge.rest.model.Role.STUDY_COORDINATOR;
 import static org.sagebionetworks.bridge.rest.model.Role.STUDY_DESIGNER;
 import static org.sagebionetworks.bridge.sdk.integration.Tests.ORG_ID_1;
 import static org.sagebionetworks.bridge.sdk.integration.Tests.ORG_ID_2;
-import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_1;
-import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_2;
 import static org.sagebionetworks.bridge.util.IntegTestUtils.SAGE_ID;
 import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
 
@@ -31,7 +30,9 @@ import org.apache.http.HttpResponse;
 import org.apache.http.client.fluent.Request;
 import org.joda.time.DateTime;
 import org.junit.After;
+import org.junit.AfterClass;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.sagebionetworks.bridge.rest.api.AssessmentsApi;
 import org.sagebionetworks.bridge.rest.api.ForAdminsApi;
@@ -68,7 +69,6 @@ import org.sagebionetworks.bridge.rest.model.TimeWindow;
 import org.sagebionetworks.bridge.rest.model.Timeline;
 import org.sagebionetworks.bridge.rest.model.TimelineMetadata;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.net.HttpHeaders;
@@ -78,7 +78,9 @@ import retrofit2.Response;
 public class Schedule2Test {
 
     private static final String TIME_ZONE = "America/Chicago";
-    private static final String PARTICIPANT_API = "/v5/studies/study1/participants/self/schedule?clientTimeZone=";
+    private static final String PARTICIPANT_API = "/v5/studies/%s/participants/self/schedule?clientTimeZone=";
+    private static String studyId;
+    private static String studyId2;
     TestUser developer;
     TestUser studyDesigner;
     TestUser studyCoordinator;
@@ -89,10 +91,21 @@ public class Schedule2Test {
     String org1ScheduleGuid;
     String org2ScheduleGuid;
     
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        studyId = IsolatedStudy.create(Schedule2Test.class);
+        studyId2 = IsolatedStudy.create(Schedule2Test.class, Tests.STUDY_ID_2);
+    }
+    
+    @AfterClass
+    public static void afterClass() throws Exception {
+        IsolatedStudy.delete(Schedule2Test.class);
+    }
+    
     @Before
     public void before() throws Exception {
-        developer = TestUserHelper.createAndSignInUser(Schedule2Test.class, false, DEVELOPER);
-        studyDesigner = TestUserHelper.createAndSignInUser(Schedule2Test.class, false, STUDY_DESIGNER);
+        developer = Tests.createAndSignInUser(Schedule2Test.class, false, DEVELOPER);
+        studyDesigner = Tests.createAndSignInUser(Schedule2Test.class, false, STUDY_DESIGNER);
         
         assessment = new Assessment().title(Schedule2Test.class.getSimpleName()).osName("Universal").ownerId(SAGE_ID)
                 .identifier(Tests.randomIdentifier(getClass()));
@@ -100,13 +113,13 @@ public class Schedule2Test {
         assessment = developer.getClient(AssessmentsApi.class).createAssessment(assessment).execute().body();
         
         // If there's a schedule associated to study 1, we need to delete it.
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         StudiesApi studiesApi = admin.getClient(StudiesApi.class);
-        Study study = studiesApi.getStudy(STUDY_ID_1).execute().body();
+        Study study = studiesApi.getStudy(studyId).execute().body();
         if (study.getScheduleGuid() != null) {
             admin.getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid()).execute();
         }
-        study = studiesApi.getStudy(STUDY_ID_2).execute().body();
+        study = studiesApi.getStudy(studyId2).execute().body();
         if (study.getScheduleGuid() != null) {
             admin.getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid()).execute();
         }
@@ -114,7 +127,7 @@ public class Schedule2Test {
     
     @After
     public void after() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         SchedulesV2Api adminSchedulesApi = admin.getClient(SchedulesV2Api.class);
         
         if (org1ScheduleGuid != null) {
@@ -150,7 +163,7 @@ public class Schedule2Test {
         
         schedule = new Schedule2();
         try {
-            schedulesApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute();
+            schedulesApi.saveScheduleForStudy(studyId, schedule).execute();
             fail("Should have thrown exception");
         } catch(InvalidEntityException e) {
         }
@@ -165,7 +178,7 @@ public class Schedule2Test {
         schedule.setVersion(10L);
         
         // create schedule.
-        schedule = schedulesApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute().body();
+        schedule = schedulesApi.saveScheduleForStudy(studyId, schedule).execute().body();
         assertEquals("Test Schedule [Schedule2Test]", schedule.getName());
         assertEquals("P10W", schedule.getDuration());
         assertFalse(schedule.isDeleted());
@@ -226,11 +239,11 @@ public class Schedule2Test {
         
         schedule.addSessionsItem(session);
 
-        schedule = schedulesApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute().body();
+        schedule = schedulesApi.saveScheduleForStudy(studyId, schedule).execute().body();
         assertSchedule(schedule);
         
         // get schedule
-        schedule = schedulesApi.getScheduleForStudy(STUDY_ID_1).execute().body();
+        schedule = schedulesApi.getScheduleForStudy(studyId).execute().body();
         assertSchedule(schedule);
         
         // update schedule, fails validation
@@ -238,7 +251,7 @@ public class Schedule2Test {
         schedule.getSessions().get(0).addLabelsItem(new Label().lang("ja").value("評価を受ける"));
 
         // update schedule, succeeds
-        schedule = schedulesApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute().body();
+        schedule = schedulesApi.saveScheduleForStudy(studyId, schedule).execute().body();
         assertEquals("Updated name for session", schedule.getSessions().get(0).getName());
         assertEquals("ja", schedule.getSessions().get(0).getLabels().get(1).getLang());
         assertEquals("評価を受ける", schedule.getSessions().get(0).getLabels().get(1).getValue());
@@ -247,7 +260,7 @@ public class Schedule2Test {
         assertNotNull(timeWindowGuid);
         
         // You can retrieve the timeline for this schedule
-        Timeline timeline = schedulesApi.getTimelineForStudy(STUDY_ID_1).execute().body();
+        Timeline timeline = schedulesApi.getTimelineForStudy(studyId).execute().body();
         assertEquals(schedule.getDuration(), timeline.getDuration());
         assertFalse(timeline.getAssessments().isEmpty());
         assertFalse(timeline.getSessions().isEmpty());
@@ -311,7 +324,7 @@ public class Schedule2Test {
         assertEquals(scheduledAssessmentCount, asmtInstanceGuids.size());
         
         // And, these values are identical between runs
-        Timeline timeline2 = schedulesApi.getTimelineForStudy(STUDY_ID_1).execute().body();
+        Timeline timeline2 = schedulesApi.getTimelineForStudy(studyId).execute().body();
         Set<String> sessionInstanceGuids2 = new HashSet<>();
         Set<String> asmtInstanceGuids2 = new HashSet<>();
         for (ScheduledSession scheduledSession : timeline2.getSchedule()) {
@@ -324,7 +337,7 @@ public class Schedule2Test {
         assertEquals(asmtInstanceGuids, asmtInstanceGuids2);
         
         // A worker can retrieve timeline data
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         ForWorkersApi workerApi = admin.getClient(ForWorkersApi.class);
         ScheduledSession schSession = timeline.getSchedule().get(0);
         sessionInfo = timeline.getSessions().stream()
@@ -356,7 +369,7 @@ public class Schedule2Test {
         assertTrue(metadata.getMetadata().isEmpty());
 
         try {
-            schedulesApi.getScheduleForStudy(STUDY_ID_1).execute();
+            schedulesApi.getScheduleForStudy(studyId).execute();
             fail("Should have thrown exception");
         } catch(EntityNotFoundException e) {
         }
@@ -365,7 +378,7 @@ public class Schedule2Test {
     
     @Test
     public void schedulesScopedToOrganization() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         OrganizationsApi adminOrgApi = admin.getClient(OrganizationsApi.class);
         
         SchedulesV2Api schedulesApi = studyDesigner.getClient(SchedulesV2Api.class);
@@ -376,43 +389,43 @@ public class Schedule2Test {
         schedule = new Schedule2();
         schedule.setName("ORG1: Test Schedule [Schedule2Test]");
         schedule.setDuration("P30D");
-        org1ScheduleGuid = schedulesApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute().body().getGuid();
+        org1ScheduleGuid = schedulesApi.saveScheduleForStudy(studyId, schedule).execute().body().getGuid();
         
         adminOrgApi.removeMember(ORG_ID_1, studyDesigner.getUserId()).execute();
         adminOrgApi.addMember(ORG_ID_2, studyDesigner.getUserId()).execute();
         
         schedule.setName("ORG2: Test Schedule [Schedule2Test]");
-        org2ScheduleGuid = schedulesApi.saveScheduleForStudy(STUDY_ID_2, schedule).execute().body().getGuid();
+        org2ScheduleGuid = schedulesApi.saveScheduleForStudy(studyId2, schedule).execute().body().getGuid();
         
         // Designer should not be able to see study schedule1
         try {
-            schedulesApi.getScheduleForStudy(STUDY_ID_1).execute().body();
+            schedulesApi.getScheduleForStudy(studyId).execute().body();
             fail("Should have thrown exception");
         } catch(UnauthorizedException e) {
         }
-        Schedule2 newSchedule = schedulesApi.getScheduleForStudy(STUDY_ID_2).execute().body();
+        Schedule2 newSchedule = schedulesApi.getScheduleForStudy(studyId2).execute().body();
         assertEquals(ORG_ID_2, newSchedule.getOwnerId());
         
         adminOrgApi.removeMember(ORG_ID_2, studyDesigner.getUserId()).execute();
         adminOrgApi.addMember(Tests.ORG_ID_1, studyDesigner.getUserId()).execute();
 
         try {
-            schedulesApi.getScheduleForStudy(STUDY_ID_2).execute().body();
+            schedulesApi.getScheduleForStudy(studyId2).execute().body();
             fail("Should have thrown exception");
         } catch(UnauthorizedException e) {
         }
-        newSchedule = schedulesApi.getScheduleForStudy(STUDY_ID_1).execute().body();
+        newSchedule = schedulesApi.getScheduleForStudy(studyId).execute().body();
         assertEquals(ORG_ID_1, newSchedule.getOwnerId());
         
         // Developers see everything
         SchedulesV2Api devSchedulesApi = developer.getClient(SchedulesV2Api.class);
-        devSchedulesApi.getScheduleForStudy(STUDY_ID_1).execute().body();
-        devSchedulesApi.getScheduleForStudy(STUDY_ID_2).execute().body();
+        devSchedulesApi.getScheduleForStudy(studyId).execute().body();
+        devSchedulesApi.getScheduleForStudy(studyId2).execute().body();
     }
     
     @Test
     public void getTimelineForStudyParticipant() throws Exception {
-        studyCoordinator = TestUserHelper.createAndSignInUser(Schedule2Test.class, false, STUDY_COORDINATOR);
+        studyCoordinator = Tests.createAndSignInUser(Schedule2Test.class, false, STUDY_COORDINATOR);
         
         SchedulesV2Api schedulesApi = studyDesigner.getClient(SchedulesV2Api.class);
         StudiesApi studiesApi = studyDesigner.getClient(StudiesApi.class);
@@ -436,46 +449,47 @@ public class Schedule2Test {
         schedule.addSessionsItem(session);
         
         // create schedule.
-        schedule = schedulesApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute().body();
+        schedule = schedulesApi.saveScheduleForStudy(studyId, schedule).execute().body();
         
         // Add it to study 1
-        Study study = studiesApi.getStudy(STUDY_ID_1).execute().body();
-        user = TestUserHelper.createAndSignInUser(Schedule2Test.class, true);
+        Study study = studiesApi.getStudy(studyId).execute().body();
+        user = Tests.createAndSignInUser(Schedule2Test.class, true);
+        IsolatedStudy.enroll(studyId, user);
 
         // This user should now have a timeline via study1:
         ForStudyCoordinatorsApi coordsApi = studyCoordinator.getClient(ForStudyCoordinatorsApi.class);
-        Timeline timeline = coordsApi.getStudyParticipantTimeline(STUDY_ID_1, user.getUserId()).execute().body();
+        Timeline timeline = coordsApi.getStudyParticipantTimeline(studyId, user.getUserId()).execute().body();
         
         // it's there
         assertEquals(7, timeline.getSchedule().size());
         
         ForConsentedUsersApi userApi = user.getClient(ForConsentedUsersApi.class);
-        timeline = userApi.getTimelineForSelf(STUDY_ID_1, null).execute().body();
+        timeline = userApi.getTimelineForSelf(studyId, null).execute().body();
 
         // it's there
         assertEquals(7, timeline.getSchedule().size());
         
         // Let's add the cache header and see what happens.
-        Response<Timeline> res = userApi.getTimelineForSelf(STUDY_ID_1, schedule.getModifiedOn().plusHours(1)).execute();
+        Response<Timeline> res = userApi.getTimelineForSelf(studyId, schedule.getModifiedOn().plusHours(1)).execute();
         assertEquals(304, res.code());
         assertNull(res.body());
         
-        res = userApi.getTimelineForSelf(STUDY_ID_1, schedule.getModifiedOn().minusHours(1)).execute();
+        res = userApi.getTimelineForSelf(studyId, schedule.getModifiedOn().minusHours(1)).execute();
         assertEquals(200, res.code());
         assertNotNull(res.body());
 
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         admin.getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid()).execute();
         schedule = null;
         
         // and this is just a flat-out error
         try {
-            userApi.getTimelineForSelf(STUDY_ID_2, null).execute();
+            userApi.getTimelineForSelf(studyId2, null).execute();
         } catch(UnauthorizedException e) {
-            assertEquals("Caller is not enrolled in study 'study2'", e.getMessage());
+            assertEquals("Caller is not enrolled in study '" + studyId2 + "'", e.getMessage());
         }
         try {
-            coordsApi.getStudyParticipantTimeline(STUDY_ID_2, user.getUserId()).execute();
+            coordsApi.getStudyParticipantTimeline(studyId2, user.getUserId()).execute();
         } catch(EntityNotFoundException e) {
             assertEquals("Account not found.", e.getMessage());
         }
@@ -483,7 +497,7 @@ public class Schedule2Test {
     
     @Test
     public void getParticipantScheduleCachesTimeZoneAppropriately() throws IOException {
-        studyCoordinator = TestUserHelper.createAndSignInUser(Schedule2Test.class, false, STUDY_COORDINATOR);
+        studyCoordinator = Tests.createAndSignInUser(Schedule2Test.class, false, STUDY_COORDINATOR);
         SchedulesV2Api schedulesApi = studyDesigner.getClient(SchedulesV2Api.class);
         AssessmentReference2 ref = new AssessmentReference2()
                 .appId(TEST_APP_ID)
@@ -504,56 +518,57 @@ public class Schedule2Test {
         schedule.addSessionsItem(session);
         
         // create schedule.
-        schedule = schedulesApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute().body();
+        schedule = schedulesApi.saveScheduleForStudy(studyId, schedule).execute().body();
         
-        user = TestUserHelper.createAndSignInUser(Schedule2Test.class, true);
+        user = Tests.createAndSignInUser(Schedule2Test.class, true);
+        IsolatedStudy.enroll(studyId, user);
         
         // set timezone, get back 200
         ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
-        Response<ParticipantSchedule> res = usersApi.getParticipantScheduleForSelf(STUDY_ID_1, "America/Chicago").execute();
+        Response<ParticipantSchedule> res = usersApi.getParticipantScheduleForSelf(studyId, "America/Chicago").execute();
         String etag = res.headers().get(HttpHeaders.ETAG);
         assertNotNull(etag);
         
         // request again, get 304
-        HttpResponse noModResponse = Request.Get(user.getClientManager().getHostUrl() + PARTICIPANT_API + "America/Chicago")
+        HttpResponse noModResponse = HttpTransport.execute(Request.Get(user.getClientManager().getHostUrl() + format(PARTICIPANT_API, studyId) + "America/Chicago")
                 .setHeader("Bridge-Session", user.getSession().getSessionToken())
-                .setHeader(HttpHeaders.IF_NONE_MATCH, etag).execute().returnResponse();
+                .setHeader(HttpHeaders.IF_NONE_MATCH, etag)).returnResponse();
         assertEquals(304, noModResponse.getStatusLine().getStatusCode());
 
         // change timezone get 200
-        HttpResponse modResponse = Request.Get(user.getClientManager().getHostUrl() + PARTICIPANT_API + "America/Los_Angeles")
+        HttpResponse modResponse = HttpTransport.execute(Request.Get(user.getClientManager().getHostUrl() + format(PARTICIPANT_API, studyId) + "America/Los_Angeles")
                 .setHeader("Bridge-Session", user.getSession().getSessionToken())
-                .setHeader(HttpHeaders.IF_NONE_MATCH, etag).execute().returnResponse();
+                .setHeader(HttpHeaders.IF_NONE_MATCH, etag)).returnResponse();
         assertEquals(200, modResponse.getStatusLine().getStatusCode());
         String newEtag = modResponse.getFirstHeader(HttpHeaders.ETAG).getValue();
         
         // request again, get 304
-        noModResponse = Request.Get(user.getClientManager().getHostUrl() + PARTICIPANT_API  + "America/Los_Angeles")
+        noModResponse = HttpTransport.execute(Request.Get(user.getClientManager().getHostUrl() + format(PARTICIPANT_API, studyId)  + "America/Los_Angeles")
                 .setHeader("Bridge-Session", user.getSession().getSessionToken())
-                .setHeader(HttpHeaders.IF_NONE_MATCH, newEtag).execute().returnResponse();
+                .setHeader(HttpHeaders.IF_NONE_MATCH, newEtag)).returnResponse();
         assertEquals(304, noModResponse.getStatusLine().getStatusCode());        
         
         // delete timezone
         StudyParticipantsApi participantsApi = studyCoordinator.getClient(StudyParticipantsApi.class);
         StudyParticipant participant = participantsApi.getStudyParticipantById(
-                STUDY_ID_1, user.getUserId(), false).execute().body();
+                studyId, user.getUserId(), false).execute().body();
         assertEquals("America/Los_Angeles", participant.getClientTimeZone());
         participant.setClientTimeZone(null);
-        participantsApi.updateStudyParticipant(STUDY_ID_1, user.getUserId(), participant).execute().body();
+        participantsApi.updateStudyParticipant(studyId, user.getUserId(), participant).execute().body();
         
         participant = usersApi.getUsersParticipantRecord(false).execute().body();
         assertNull(participant.getClientTimeZone());
         
         // request again, get 200
-        noModResponse = Request.Get(user.getClientManager().getHostUrl() + PARTICIPANT_API  + "America/Los_Angeles")
+        noModResponse = HttpTransport.execute(Request.Get(user.getClientManager().getHostUrl() + format(PARTICIPANT_API, studyId)  + "America/Los_Angeles")
                 .setHeader("Bridge-Session", user.getSession().getSessionToken())
-                .setHeader(HttpHeaders.IF_NONE_MATCH, newEtag).execute().returnResponse();
+                .setHeader(HttpHeaders.IF_NONE_MATCH, newEtag)).returnResponse();
         assertEquals(200, noModResponse.getStatusLine().getStatusCode());
     }
     
     @Test
     public void getParticipantScheduleForStudyParticipant() throws Exception {
-        studyCoordinator = TestUserHelper.createAndSignInUser(Schedule2Test.class, false, STUDY_COORDINATOR);
+        studyCoordinator = Tests.createAndSignInUser(Schedule2Test.class, false, STUDY_COORDINATOR);
         
         SchedulesV2Api schedulesApi = studyDesigner.getClient(SchedulesV2Api.class);
         StudiesApi studiesApi = studyDesigner.getClient(StudiesApi.class);
@@ -577,11 +592,12 @@ public class Schedule2Test {
         schedule.addSessionsItem(session);
         
         // create schedule.
-        schedule = schedulesApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute().body();
+        schedule = schedulesApi.saveScheduleForStudy(studyId, schedule).execute().body();
         
         // Add it to study 1
-        Study study = studiesApi.getStudy(STUDY_ID_1).execute().body();
-        user = TestUserHelper.createAndSignInUser(Schedule2Test.class, true);
+        Study study = studiesApi.getStudy(studyId).execute().body();
+        user = Tests.createAndSignInUser(Schedule2Test.class, true);
+        IsolatedStudy.enroll(studyId, user);
         
         StudyParticipant participant = user.getClient(ForConsentedUsersApi.class).getUsersParticipantRecord(false).execute().body();
         participant.setClientTimeZone(TIME_ZONE);
@@ -589,13 +605,13 @@ public class Schedule2Test {
 
         // This user should now have a timeline via study1:
         ForStudyCoordinatorsApi coordsApi = studyCoordinator.getClient(ForStudyCoordinatorsApi.class);
-        ParticipantSchedule participantSchedule = coordsApi.getParticipantSchedule(STUDY_ID_1, user.getUserId()).execute().body();
+        ParticipantSchedule participantSchedule = coordsApi.getParticipantSchedule(studyId, user.getUserId()).execute().body();
         
         // it's there
         assertEquals(7, participantSchedule.getSchedule().size());
         
         // Check the events (only enrollment is in the schedule)
-        Map<String, DateTime> eventTimestamps = coordsApi.getStudyParticipantStudyActivityEvents(STUDY_ID_1, user.getUserId())
+        Map<String, DateTime> eventTimestamps = coordsApi.getStudyParticipantStudyActivityEvents(studyId, user.getUserId())
                 .execute().body().getItems().stream()
                 .collect(Collectors.toMap(StudyActivityEvent::getEventId, StudyActivityEvent::getTimestamp));
         
@@ -610,31 +626,31 @@ public class Schedule2Test {
         // caching at this point.
         ForConsentedUsersApi userApi = user.getClient(ForConsentedUsersApi.class);
         Response<ParticipantSchedule> response = userApi.getParticipantScheduleForSelf(
-                STUDY_ID_1, TIME_ZONE).execute();
+                studyId, TIME_ZONE).execute();
         participantSchedule = response.body();
         
         userApi = user.getClient(ForConsentedUsersApi.class);
-        response = userApi.getParticipantScheduleForSelf(STUDY_ID_1, TIME_ZONE).execute();
+        response = userApi.getParticipantScheduleForSelf(studyId, TIME_ZONE).execute();
         participantSchedule = response.body();
         
-        HttpResponse noModResponse = Request.Get(user.getClientManager().getHostUrl() + PARTICIPANT_API + "America/Chicago")
+        HttpResponse noModResponse = HttpTransport.execute(Request.Get(user.getClientManager().getHostUrl() + format(PARTICIPANT_API, studyId) + "America/Chicago")
                 .setHeader("Bridge-Session", user.getSession().getSessionToken())
-                .setHeader(HttpHeaders.IF_NONE_MATCH, response.headers().get(HttpHeaders.ETAG))
-                .execute().returnResponse();
+                .setHeader(HttpHeaders.IF_NONE_MATCH, response.headers().get(HttpHeaders.ETAG)))
+                .returnResponse();
         assertEquals(304, noModResponse.getStatusLine().getStatusCode());        
 
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         admin.getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid()).execute();
         schedule = null;
         
         // and this is just a flat-out error
         try {
-            userApi.getParticipantScheduleForSelf(STUDY_ID_2, TIME_ZONE).execute();
+            userApi.getParticipantScheduleForSelf(studyId2, TIME_ZONE).execute();
         } catch(UnauthorizedException e) {
-            assertEquals("Caller is not enrolled in study 'study2'", e.getMessage());
+            assertEquals("Caller is not enrolled in study '" + studyId2 + "'", e.getMessage());
         }
         try {
-            coordsApi.getParticipantSchedule(STUDY_ID_2, user.getUserId()).execute();
+            coordsApi.getParticipantSchedule(studyId2, user.getUserId()).execute();
         } catch(EntityNotFoundException e) {
             assertEquals("Account not found.", e.getMessage());
         }
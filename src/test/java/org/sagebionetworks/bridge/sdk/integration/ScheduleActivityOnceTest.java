@@ -46,11 +46,12 @@ public class ScheduleActivityOnceTest {
     @SuppressWarnings("deprecation")
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        developer = TestUserHelper.createAndSignInUser(ScheduleActivityOnceTest.class, true, DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        developer = Tests.createAndSignInUser(ScheduleActivityOnceTest.class, true, DEVELOPER);
         SignUp signUp = new SignUp().dataGroups(ImmutableList.of("sdk-int-1"));
-        user = new TestUserHelper.Builder(ScheduleActivityOnceTest.class).withConsentUser(true).withSignUp(signUp)
-                .createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(ScheduleActivityOnceTest.class).withConsentUser(true)
+                .withSignUp(signUp)
+                .createAndSignInUser());
         
         SchedulePlanList list = developer.getClient(SchedulesV1Api.class).getSchedulePlans(true).execute().body();
         for (SchedulePlan plan : list.getItems()) {
@@ -38,7 +38,6 @@ import org.sagebionetworks.bridge.rest.model.Survey;
 import org.sagebionetworks.bridge.rest.model.SurveyReference;
 import org.sagebionetworks.bridge.rest.model.TaskReference;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -55,9 +54,9 @@ public class SchedulePlanTest {
 
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        developer = TestUserHelper.createAndSignInUser(SchedulePlanTest.class, true, Role.DEVELOPER);
-        user = TestUserHelper.createAndSignInUser(SchedulePlanTest.class, true);
+        admin = Tests.getSignedInAdmin();
+        developer = Tests.createAndSignInUser(SchedulePlanTest.class, true, Role.DEVELOPER);
+        user = Tests.createAndSignInUser(SchedulePlanTest.class, true);
 
         schedulesApi = developer.getClient(SchedulesV1Api.class);
         surveysApi = developer.getClient(SurveysApi.class);
@@ -101,7 +100,7 @@ public class SchedulePlanTest {
     public void normalUserCannotAccess() throws Exception {
         TestUser normalUser = null;
         try {
-            normalUser = TestUserHelper.createAndSignInUser(SchedulePlanTest.class, true);
+            normalUser = Tests.createAndSignInUser(SchedulePlanTest.class, true);
             SchedulePlan plan = Tests.getABTestSchedulePlan();
             
             normalUser.getClient(SchedulesV1Api.class).createSchedulePlan(plan).execute();
@@ -45,12 +45,14 @@ public class ScheduleTest {
     public void before() throws Exception {
         ClientInfo clientInfo = Tests.getClientInfoWithVersion("Android", 3);
         
-        admin = TestUserHelper.getSignedInAdmin();
-        user = new TestUserHelper.Builder(ScheduleTest.class).withClientInfo(clientInfo).withConsentUser(true)
-                .createAndSignInUser();
+        admin = Tests.getSignedInAdmin();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(ScheduleTest.class).withClientInfo(clientInfo)
+                .withConsentUser(true)
+                .createAndSignInUser());
 
-        developer = new TestUserHelper.Builder(ScheduleTest.class).withClientInfo(clientInfo).withConsentUser(true)
-                .withRoles(Role.DEVELOPER).createAndSignInUser();
+        developer = ApiMetrics.instrument(new TestUserHelper.Builder(ScheduleTest.class).withClientInfo(clientInfo)
+                .withConsentUser(true)
+                .withRoles(Role.DEVELOPER).createAndSignInUser());
     }
     
     @SuppressWarnings("deprecation")
@@ -48,7 +48,6 @@ import org.sagebionetworks.bridge.rest.model.UploadFieldType;
 import org.sagebionetworks.bridge.rest.model.UploadSchema;
 import org.sagebionetworks.bridge.rest.model.UploadSchemaType;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class ScheduledActivityAutoResolutionTest {
     private static final String ACTIVITY_LABEL_PREFIX = "activity-";
@@ -77,13 +76,13 @@ public class ScheduledActivityAutoResolutionTest {
     @SuppressWarnings("deprecation")
     @BeforeClass
     public static void beforeClass() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         // init users and clients
-        developer = TestUserHelper.createAndSignInUser(ScheduledActivityAutoResolutionTest.class, false,
+        developer = Tests.createAndSignInUser(ScheduledActivityAutoResolutionTest.class, false,
                 Role.DEVELOPER);
         forDevelopersApi = developer.getClient(ForDevelopersApi.class);
         schedulePlanApi = developer.getClient(SchedulesV1Api.class);
-        adminSurveyApi = TestUserHelper.getSignedInAdmin().getClient(SurveysApi.class);
+        adminSurveyApi = Tests.getSignedInAdmin().getClient(SurveysApi.class);
         surveyApi = developer.getClient(SurveysApi.class);
 
         // Make sure we have a dummy schema to resolve to. Otherwise, getScheduledActivities will fail spectacularly.
@@ -133,7 +132,7 @@ public class ScheduledActivityAutoResolutionTest {
 
         // We need to create a user for each test. This is because we modify the user client info, and this changes the
         // manager, which changes the scheduled activities client.
-        user = TestUserHelper.createAndSignInUser(ScheduledActivityAutoResolutionTest.class, true);
+        user = Tests.createAndSignInUser(ScheduledActivityAutoResolutionTest.class, true);
     }
 
     @SuppressWarnings("deprecation")
@@ -57,11 +57,12 @@ public class ScheduledActivityRecurringTest {
     @SuppressWarnings("deprecation")
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        developer = TestUserHelper.createAndSignInUser(ScheduledActivityRecurringTest.class, true, DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        developer = Tests.createAndSignInUser(ScheduledActivityRecurringTest.class, true, DEVELOPER);
         SignUp signUp = new SignUp().dataGroups(ImmutableList.of("sdk-int-1"));
-        user = new TestUserHelper.Builder(ScheduledActivityRecurringTest.class).withConsentUser(true).withSignUp(signUp)
-                .createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(ScheduledActivityRecurringTest.class)
+                .withConsentUser(true).withSignUp(signUp)
+                .createAndSignInUser());
         
         App app = admin.getClient(AppsApi.class).getUsersApp().execute().body();
         if (app.isExternalIdRequiredOnSignup() || !app.getCustomEvents().keySet().contains(CUSTOM_EVENT)) {
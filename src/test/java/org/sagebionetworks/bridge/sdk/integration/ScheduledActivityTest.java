@@ -56,7 +56,6 @@ import org.sagebionetworks.bridge.rest.model.UploadFieldType;
 import org.sagebionetworks.bridge.rest.model.UploadSchema;
 import org.sagebionetworks.bridge.rest.model.UploadSchemaType;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 @Category(IntegrationSmokeTest.class)
 @SuppressWarnings("ConstantConditions")
@@ -106,9 +105,9 @@ public class ScheduledActivityTest {
     public void before() throws Exception {
         schedulePlanGuidList = new ArrayList<>();
 
-        admin = TestUserHelper.getSignedInAdmin();
-        researcher = TestUserHelper.createAndSignInUser(ScheduledActivityTest.class, true, Role.RESEARCHER);
-        developer = TestUserHelper.createAndSignInUser(ScheduledActivityTest.class, true, Role.DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        researcher = Tests.createAndSignInUser(ScheduledActivityTest.class, true, Role.RESEARCHER);
+        developer = Tests.createAndSignInUser(ScheduledActivityTest.class, true, Role.DEVELOPER);
         
         AppsApi appsApi = developer.getClient(AppsApi.class);
         App app = appsApi.getUsersApp().execute().body();
@@ -117,7 +116,7 @@ public class ScheduledActivityTest {
             appsApi.updateUsersApp(app).execute().body();
         }
         
-        user = TestUserHelper.createAndSignInUser(ScheduledActivityTest.class, true);
+        user = Tests.createAndSignInUser(ScheduledActivityTest.class, true);
 
         schedulePlansApi = developer.getClient(SchedulesV1Api.class);
         usersApi = user.getClient(ForConsentedUsersApi.class);
@@ -13,7 +13,6 @@ import org.sagebionetworks.bridge.rest.api.AppsApi;
 import org.sagebionetworks.bridge.rest.exceptions.UnauthorizedException;
 import org.sagebionetworks.bridge.rest.model.App;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class SelfAppTest {
 
@@ -24,10 +23,10 @@ public class SelfAppTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        appAdmin = TestUserHelper.createAndSignInUser(SelfAppTest.class, false, ADMIN);
-        researcher = TestUserHelper.createAndSignInUser(SelfAppTest.class, false, RESEARCHER);
-        developer= TestUserHelper.createAndSignInUser(SelfAppTest.class, false, DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        appAdmin = Tests.createAndSignInUser(SelfAppTest.class, false, ADMIN);
+        researcher = Tests.createAndSignInUser(SelfAppTest.class, false, RESEARCHER);
+        developer= Tests.createAndSignInUser(SelfAppTest.class, false, DEVELOPER);
     }
     
     @After
@@ -0,0 +1,105 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.sagebionetworks.bridge.util.IntegTestUtils.CONFIG;
+import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.sagebionetworks.bridge.user.TestUser;
+import org.sagebionetworks.bridge.user.TestUserHelper;
+
+/**
+ * Signed-in users kept for the rest of the run, keyed by environment, app and account, so
+ * that asking for the admin (which almost every class does, some of them in every @Before)
+ * signs in once per run rather than once per request for it. Pooled role users are kept
+ * signed in the same way (see TestUserPool).
+ *
+ * A cached session is not checked when it is handed out. If the server has expired it, the
+ * rest client's authentication handler gets a 401 on the next call, signs in again and retries
+ * that call once, so validation is lazy and only costs a sign-in when the session is really
+ * gone. {@link #invalidate(TestUser)} drops a user whose session a test has deliberately
+ * destroyed (by signing out, for example), and {@link #refreshAdmin()} signs the admin in again.
+ */
+public class SessionCache {
+    private static final Logger LOG = LoggerFactory.getLogger(SessionCache.class);
+
+    private static final String ADMIN_EMAIL_PROPERTY = "admin.email";
+
+    private static final Map<String, TestUser> USERS = new ConcurrentHashMap<>();
+    private static final AtomicInteger REQUESTS = new AtomicInteger();
+    private static final AtomicInteger SIGN_INS = new AtomicInteger();
+
+    /** The signed-in admin, with its calls recorded in ApiMetrics. */
+    public static TestUser getSignedInAdmin() {
+        return admin(TestUserHelper::getSignedInAdmin);
+    }
+
+    /**
+     * Sign the admin in again, and keep the new session for the rest of the run. For tests that
+     * destroy the admin's session on the server (signing in through OAuth does), which would
+     * otherwise force a new sign-in without the cache knowing about it.
+     */
+    public static TestUser refreshAdmin() {
+        USERS.remove(key(TEST_APP_ID, adminEmail()));
+        return admin(() -> TestUserHelper.getSignedInAdmin(true));
+    }
+
+    private static TestUser admin(Callable<TestUser> signIn) {
+        try {
+            return get(TEST_APP_ID, adminEmail(), signIn);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String adminEmail() {
+        String email = CONFIG.get(ADMIN_EMAIL_PROPERTY);
+        return (email == null) ? "admin" : email;
+    }
+
+    /**
+     * Return the cached user for this account in this environment, or sign it in with the
+     * given callable (and keep it) if there is none.
+     */
+    public static TestUser get(String appId, String email, Callable<TestUser> signIn) throws Exception {
+        REQUESTS.incrementAndGet();
+        String key = key(appId, email);
+        TestUser user = USERS.get(key);
+        if (user != null) {
+            return user;
+        }
+        synchronized (USERS) {
+            user = USERS.get(key);
+            if (user == null) {
+                user = ApiMetrics.instrument(signIn.call());
+                SIGN_INS.incrementAndGet();
+                USERS.put(key, user);
+            }
+            return user;
+        }
+    }
+
+    /** Forget a user, so that the next request for the account signs it in again. */
+    public static void invalidate(TestUser user) {
+        USERS.values().removeIf(cached -> cached.getUserId().equals(user.getUserId()));
+    }
+
+    static void logReport() {
+        int requests = REQUESTS.get();
+        LOG.info("Session cache: {} requests for a signed-in user, {} sign-ins", requests, SIGN_INS.get());
+    }
+
+    private static String key(String appId, String email) {
+        return CONFIG.getEnvironment().name().toLowerCase(Locale.ENGLISH) + ":" + appId + ":"
+                + email.toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -8,7 +8,6 @@ import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
 import org.sagebionetworks.bridge.rest.api.ParticipantsApi;
 import org.sagebionetworks.bridge.rest.exceptions.ConsentRequiredException;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import static org.junit.Assert.fail;
 import static org.sagebionetworks.bridge.rest.model.Role.DEVELOPER;
@@ -22,8 +21,8 @@ public class SessionRefreshTest {
 
     @BeforeClass
     public static void createUser() throws Exception {
-        user = TestUserHelper.createAndSignInUser(SessionRefreshTest.class, false);
-        app2Developer = TestUserHelper.createAndSignInUser(SessionRefreshTest.class, TEST_APP_2_ID, DEVELOPER);
+        user = Tests.createAndSignInUser(SessionRefreshTest.class, false);
+        app2Developer = Tests.createAndSignInUser(SessionRefreshTest.class, TEST_APP_2_ID, DEVELOPER);
     }
 
     @AfterClass
@@ -27,7 +27,6 @@ import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.rest.model.UserSessionInfo;
 import org.sagebionetworks.bridge.rest.model.Withdrawal;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
@@ -39,7 +38,7 @@ public class SessionTest {
   
     @Before
     public void beforeMethod() throws IOException {
-        user = TestUserHelper.createAndSignInUser(getClass(), true);
+        user = Tests.createAndSignInUser(getClass(), true);
     }
     
     @After
@@ -129,7 +128,7 @@ public class SessionTest {
 
     @Test
     public void sessionUpdatedWhenResearcherUpdatesOwnAccount() throws Exception {
-        researcher = TestUserHelper.createAndSignInUser(getClass(), false, Role.RESEARCHER);
+        researcher = Tests.createAndSignInUser(getClass(), false, Role.RESEARCHER);
 
         List<String> dataGroups = Lists.newArrayList("group1");
         List<String> languages = Lists.newArrayList("de", "fr");
@@ -45,7 +45,6 @@ import org.sagebionetworks.bridge.rest.model.SharedModuleType;
 import org.sagebionetworks.bridge.rest.model.Survey;
 import org.sagebionetworks.bridge.rest.model.UploadSchema;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class SharedModuleMetadataTest {
     private static final Logger LOG = LoggerFactory.getLogger(SharedModuleMetadataTest.class);
@@ -79,10 +78,10 @@ public class SharedModuleMetadataTest {
 
     @BeforeClass
     public static void beforeClass() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
-        apiDeveloper = TestUserHelper.createAndSignInUser(SharedModuleMetadataTest.class, false, DEVELOPER);
+        TestUser admin = Tests.getSignedInAdmin();
+        apiDeveloper = Tests.createAndSignInUser(SharedModuleMetadataTest.class, false, DEVELOPER);
         apiDeveloperModulesApi = apiDeveloper.getClient(ForDevelopersApi.class);
-        sharedDeveloper = TestUserHelper.createAndSignInUser(SharedModuleMetadataTest.class, SHARED_APP_ID, DEVELOPER);
+        sharedDeveloper = Tests.createAndSignInUser(SharedModuleMetadataTest.class, SHARED_APP_ID, DEVELOPER);
         sharedDeveloperModulesApi = sharedDeveloper.getClient(ForDevelopersApi.class);
         nonAuthSharedModulesApi = Tests.getUnauthenticatedClientProvider(admin.getClientManager(), TEST_APP_ID)
                 .getClient(ForDevelopersApi.class);
@@ -35,7 +35,6 @@ import org.sagebionetworks.bridge.rest.model.UploadFieldType;
 import org.sagebionetworks.bridge.rest.model.UploadSchema;
 import org.sagebionetworks.bridge.rest.model.UploadSchemaType;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class SharedModuleTest {
     private static final Logger LOG = LoggerFactory.getLogger(SharedModuleTest.class);
@@ -52,9 +51,9 @@ public class SharedModuleTest {
 
     @BeforeClass
     public static void beforeClass() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        apiDeveloper = TestUserHelper.createAndSignInUser(SharedModuleTest.class, false, DEVELOPER);
-        sharedDeveloper = TestUserHelper.createAndSignInUser(SharedModuleTest.class, SHARED_APP_ID, DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        apiDeveloper = Tests.createAndSignInUser(SharedModuleTest.class, false, DEVELOPER);
+        sharedDeveloper = Tests.createAndSignInUser(SharedModuleTest.class, SHARED_APP_ID, DEVELOPER);
     }
 
     @Before
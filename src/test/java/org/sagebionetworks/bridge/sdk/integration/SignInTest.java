@@ -40,7 +40,6 @@ import org.sagebionetworks.bridge.rest.model.SignUp;
 import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.rest.model.UserSessionInfo;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 import java.util.List;
@@ -56,9 +55,9 @@ public class SignInTest {
     
     @Before
     public void before() throws Exception {
-        developer = TestUserHelper.createAndSignInUser(SignInTest.class, false, DEVELOPER);
-        researcher = TestUserHelper.createAndSignInUser(SignInTest.class, false, RESEARCHER);
-        user = TestUserHelper.createAndSignInUser(SignInTest.class, true);
+        developer = Tests.createAndSignInUser(SignInTest.class, false, DEVELOPER);
+        researcher = Tests.createAndSignInUser(SignInTest.class, false, RESEARCHER);
+        user = Tests.createAndSignInUser(SignInTest.class, true);
     }
     
     @After
@@ -118,7 +117,7 @@ public class SignInTest {
 
         authApi.signUp(signUp).execute();
         
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         
         // User can no longer enroll themself in a study, but until the user is enrolled, the researcher
         // cannot see the account. Enrollment the participant.
@@ -171,7 +170,7 @@ public class SignInTest {
 
     @Test
     public void signInAccountUnverified() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         SignUp signUp = new SignUp().email(IntegTestUtils.makeEmail(SignInTest.class))
                 .password(PASSWORD).appId(TEST_APP_ID);
         ParticipantsApi participantsApi = admin.getClient(ParticipantsApi.class);
@@ -197,10 +196,10 @@ public class SignInTest {
 
     @Test
     public void signInAccountDisabled() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         ParticipantsApi participantsApi = admin.getClient(ParticipantsApi.class);
         
-        TestUser user = TestUserHelper.createAndSignInUser(SignInTest.class, true);
+        TestUser user = Tests.createAndSignInUser(SignInTest.class, true);
         try {
             
             StudyParticipant participant = participantsApi.getParticipantById(user.getUserId(), false).execute().body();
@@ -29,7 +29,6 @@ import org.sagebionetworks.bridge.rest.model.Study;
 import org.sagebionetworks.bridge.rest.model.StudyList;
 import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
@@ -38,7 +37,7 @@ public class SignUpForWorkerTest {
     
     @Test
     public void signUpWithExternalIdAndNoAccountSucceeds() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin(true);
+        TestUser admin = SessionCache.refreshAdmin();
         ForAdminsApi adminsApi = admin.getClient(ForAdminsApi.class);
         StudiesApi studiesApi = admin.getClient(StudiesApi.class);
         OrganizationsApi orgsApi = admin.getClient(OrganizationsApi.class);
@@ -15,7 +15,6 @@ import org.sagebionetworks.bridge.rest.model.SignUp;
 import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.rest.model.UserSessionInfo;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 import java.io.IOException;
@@ -29,7 +28,7 @@ public class SignUpTest {
 
     @Test
     public void defaultValuesExist() throws Exception {
-        TestUser testUser = TestUserHelper.createAndSignInUser(SignUpTest.class, true);
+        TestUser testUser = Tests.createAndSignInUser(SignUpTest.class, true);
         try {
             ParticipantsApi participantsApi = testUser.getClientManager().getClient(ParticipantsApi.class);
 
@@ -43,7 +42,7 @@ public class SignUpTest {
     
     @Test
     public void canAuthenticateAndCreateClientAndSignOut() throws IOException {
-        TestUser testUser = TestUserHelper.createAndSignInUser(SignUpTest.class, true);
+        TestUser testUser = Tests.createAndSignInUser(SignUpTest.class, true);
         try {
             AuthenticationApi authApi = testUser.getClient(AuthenticationApi.class);
             
@@ -62,7 +61,7 @@ public class SignUpTest {
     
     @Test(expected = EntityNotFoundException.class)
     public void badAppIdReturns404() throws IOException {
-        TestUser testUser = TestUserHelper.createAndSignInUser(SignUpTest.class, true);
+        TestUser testUser = Tests.createAndSignInUser(SignUpTest.class, true);
         try {
             AuthenticationApi authApi = testUser.getClient(AuthenticationApi.class);
             
@@ -75,7 +74,7 @@ public class SignUpTest {
     
     @Test(expected = BadRequestException.class)
     public void badEmailCredentialsReturnsException() throws IOException {
-        TestUser testUser = TestUserHelper.createAndSignInUser(SignUpTest.class, true);
+        TestUser testUser = Tests.createAndSignInUser(SignUpTest.class, true);
         try {
             AuthenticationApi authApi = testUser.getClient(AuthenticationApi.class);
             
@@ -88,7 +87,7 @@ public class SignUpTest {
     
     @Test
     public void signUpForAppWithExternalIdValidation() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         App app = admin.getClient(AppsApi.class).getUsersApp().execute().body();
         app.setExternalIdRequiredOnSignup(true);
         admin.getClient(AppsApi.class).updateUsersApp(app).execute();
@@ -48,7 +48,7 @@ public class SmsNotificationRegistrationTest {
         // 1. auto-topic-1 (assigned to data group sdk-int-1)
         // 2. auto-topic-2 (assigned to data group sdk-int-2)
         // 3. manual-topic (not managed by criteria)
-        developer = TestUserHelper.createAndSignInUser(SmsNotificationRegistrationTest.class, false,
+        developer = Tests.createAndSignInUser(SmsNotificationRegistrationTest.class, false,
                 Role.DEVELOPER);
         NotificationsApi notificationsApi = developer.getClient(NotificationsApi.class);
 
@@ -83,7 +83,7 @@ public class SmsNotificationRegistrationTest {
         }
 
         // Create researcher.
-        researcher = TestUserHelper.createAndSignInUser(SmsNotificationRegistrationTest.class, false,
+        researcher = Tests.createAndSignInUser(SmsNotificationRegistrationTest.class, false,
                 Role.RESEARCHER);
     }
 
@@ -92,8 +92,9 @@ public class SmsNotificationRegistrationTest {
         // Create phone user, initially with data group sdk-int-1.
         SignUp phoneSignUp = new SignUp().appId(TEST_APP_ID).consent(true).phone(IntegTestUtils.PHONE);
         phoneSignUp.addDataGroupsItem("sdk-int-1");
-        phoneUser = new TestUserHelper.Builder(SmsNotificationRegistrationTest.class).withConsentUser(true)
-                .withSignUp(phoneSignUp).createAndSignInUser();
+        phoneUser = ApiMetrics.instrument(new TestUserHelper.Builder(SmsNotificationRegistrationTest.class)
+                .withConsentUser(true)
+                .withSignUp(phoneSignUp).createAndSignInUser());
     }
 
     @AfterClass
@@ -35,7 +35,6 @@ import org.sagebionetworks.bridge.rest.model.StudyActivityEventList;
 import org.sagebionetworks.bridge.rest.model.StudyActivityEventPagedList;
 import org.sagebionetworks.bridge.rest.model.StudyActivityEventRequest;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class StudyActivityEventTest {
     
@@ -46,11 +45,11 @@ public class StudyActivityEventTest {
     
     @Before
     public void beforeAll() throws Exception {
-        researcher = TestUserHelper.createAndSignInUser(StudyActivityEventTest.class, true, Role.RESEARCHER);
+        researcher = Tests.createAndSignInUser(StudyActivityEventTest.class, true, Role.RESEARCHER);
         researchersApi = researcher.getClient(ForResearchersApi.class);
         
         // Create user last, so the automatic custom events are created
-        user = TestUserHelper.createAndSignInUser(StudyActivityEventTest.class, true);
+        user = Tests.createAndSignInUser(StudyActivityEventTest.class, true);
         usersApi = user.getClient(ForConsentedUsersApi.class);
     }
     
@@ -4,7 +4,6 @@ import static org.junit.Assert.*;
 import static org.sagebionetworks.bridge.rest.model.ParticipantStudyProgress.DONE;
 import static org.sagebionetworks.bridge.rest.model.ParticipantStudyProgress.IN_PROGRESS;
 import static org.sagebionetworks.bridge.rest.model.ParticipantStudyProgress.UNSTARTED;
-import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_1;
 import static org.sagebionetworks.bridge.util.IntegTestUtils.SAGE_ID;
 import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
 
@@ -13,7 +12,9 @@ import java.io.IOException;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.joda.time.DateTime;
 import org.junit.After;
+import org.junit.AfterClass;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.sagebionetworks.bridge.rest.api.AssessmentsApi;
 import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
@@ -42,13 +43,13 @@ import org.sagebionetworks.bridge.rest.model.StudyAdherenceReport;
 import org.sagebionetworks.bridge.rest.model.StudyBurst;
 import org.sagebionetworks.bridge.rest.model.TimeWindow;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.google.common.collect.ImmutableList;
 
 public class StudyAdherenceReportTest {
     
     private static final String TIME_ZONE = "America/Chicago";
+    private static String studyId;
     private TestUser studyDesigner;
     private TestUser user;
     
@@ -61,10 +62,21 @@ public class StudyAdherenceReportTest {
     SchedulesV2Api scheduleApi;
     ForStudyCoordinatorsApi coordApi;
     
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        studyId = IsolatedStudy.create(StudyAdherenceReportTest.class);
+    }
+    
+    @AfterClass
+    public static void afterClass() throws Exception {
+        IsolatedStudy.delete(StudyAdherenceReportTest.class);
+    }
+    
     @Before
     public void before() throws Exception {
-        studyDesigner = TestUserHelper.createAndSignInUser(getClass(), false, Role.STUDY_DESIGNER);
-        user = TestUserHelper.createAndSignInUser(getClass(), true);
+        studyDesigner = Tests.createAndSignInUser(getClass(), false, Role.STUDY_DESIGNER);
+        user = Tests.createAndSignInUser(getClass(), true);
+        IsolatedStudy.enroll(studyId, user);
         
         AssessmentsApi asmtsApi = studyDesigner.getClient(AssessmentsApi.class);
         String asmtATag = RandomStringUtils.randomAlphabetic(5);
@@ -99,7 +111,7 @@ public class StudyAdherenceReportTest {
     
     @After
     public void after() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         AssessmentsApi assessmentsApi = admin.getClient(AssessmentsApi.class);
         
         if (schedule != null && schedule.getGuid() != null) {
@@ -127,7 +139,7 @@ public class StudyAdherenceReportTest {
     
     @Test
     public void noSchedules() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         
         String id = Tests.randomIdentifier(getClass());
         study = new Study().identifier(id).name(getClass().getSimpleName());
@@ -161,47 +173,47 @@ public class StudyAdherenceReportTest {
     @Test
     public void test() throws Exception {
         try {
-            Schedule2 existing = scheduleApi.getScheduleForStudy(STUDY_ID_1).execute().body();
+            Schedule2 existing = scheduleApi.getScheduleForStudy(studyId).execute().body();
             schedule.setGuid(existing.getGuid());
             schedule.setVersion(existing.getVersion());
         } catch(EntityNotFoundException e) {
         }
         
-        schedule = scheduleApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute().body();
+        schedule = scheduleApi.saveScheduleForStudy(studyId, schedule).execute().body();
         
         StudyAdherenceReport report = coordApi.getStudyParticipantAdherenceReport(
-                STUDY_ID_1, user.getUserId()).execute().body();
+                studyId, user.getUserId()).execute().body();
         assertEquals(UNSTARTED, report.getProgression());
         assertNull(report.getAdherencePercent());
         
         ForConsentedUsersApi userApi = user.getClient(ForConsentedUsersApi.class);
         
         // generate timeline_retrieved event
-        userApi.getParticipantScheduleForSelf(STUDY_ID_1, TIME_ZONE).execute();
+        userApi.getParticipantScheduleForSelf(studyId, TIME_ZONE).execute();
         
-        report = coordApi.getStudyParticipantAdherenceReport(STUDY_ID_1, user.getUserId()).execute().body();
+        report = coordApi.getStudyParticipantAdherenceReport(studyId, user.getUserId()).execute().body();
         assertEquals(IN_PROGRESS, report.getProgression());
         assertEquals(Integer.valueOf(100), report.getAdherencePercent());
         
         ParticipantSchedule participantSchedule = userApi.getParticipantScheduleForSelf(
-                STUDY_ID_1, TIME_ZONE).execute().body();
+                studyId, TIME_ZONE).execute().body();
         completeAssessments(userApi, participantSchedule);
 
         // The supplemental survey has not been done. If we add it, adherence goes down.
         StudyActivityEventRequest request = new StudyActivityEventRequest()
                 .eventId("custom:event1").timestamp(DateTime.now());
-        userApi.createStudyActivityEvent(STUDY_ID_1, request, true, false).execute();
+        userApi.createStudyActivityEvent(studyId, request, true, false).execute();
         
-        report = coordApi.getStudyParticipantAdherenceReport(STUDY_ID_1, user.getUserId()).execute().body();
+        report = coordApi.getStudyParticipantAdherenceReport(studyId, user.getUserId()).execute().body();
         assertEquals(IN_PROGRESS, report.getProgression());
         assertEquals(Integer.valueOf(85), report.getAdherencePercent());
         
         // do those activities
         participantSchedule = userApi.getParticipantScheduleForSelf(
-                STUDY_ID_1, TIME_ZONE).execute().body();
+                studyId, TIME_ZONE).execute().body();
         completeAssessments(userApi, participantSchedule);
         
-        report = coordApi.getStudyParticipantAdherenceReport(STUDY_ID_1, user.getUserId()).execute().body();
+        report = coordApi.getStudyParticipantAdherenceReport(studyId, user.getUserId()).execute().body();
         assertEquals(DONE, report.getProgression());
         assertEquals(Integer.valueOf(100), report.getAdherencePercent());
     }
@@ -223,7 +235,7 @@ public class StudyAdherenceReportTest {
             }
         }
         if (!updates.getRecords().isEmpty()) {
-            userApi.updateAdherenceRecords(Tests.STUDY_ID_1, updates).execute().body();    
+            userApi.updateAdherenceRecords(studyId, updates).execute().body();    
         }
     }
     
@@ -7,7 +7,6 @@ import static org.sagebionetworks.bridge.rest.model.ActivityEventUpdateType.IMMU
 import static org.sagebionetworks.bridge.rest.model.ActivityEventUpdateType.MUTABLE;
 import static org.sagebionetworks.bridge.rest.model.PerformanceOrder.SEQUENTIAL;
 import static org.sagebionetworks.bridge.rest.model.Role.STUDY_DESIGNER;
-import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_1;
 import static org.sagebionetworks.bridge.util.IntegTestUtils.SAGE_ID;
 import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
 
@@ -15,7 +14,9 @@ import java.util.Set;
 
 import org.joda.time.DateTime;
 import org.junit.After;
+import org.junit.AfterClass;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
 import org.sagebionetworks.bridge.rest.api.ForStudyDesignersApi;
@@ -38,7 +39,6 @@ import org.sagebionetworks.bridge.rest.model.StudyBurstInfo;
 import org.sagebionetworks.bridge.rest.model.TimeWindow;
 import org.sagebionetworks.bridge.rest.model.Timeline;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.google.common.collect.ImmutableList;
 
@@ -47,10 +47,12 @@ import com.google.common.collect.ImmutableList;
  */
 public class StudyBurstTest {
     
-    // These are established in the initializer for study 1.
+    // These are established in the initializer for study 1, and copied to isolated studies.
     private static final String MUTABLE_EVENT = "custom:event1";
     private static final String IMMUTABLE_EVENT = "custom:event2";
     
+    private static String studyId;
+
     private TestUser user;
     private TestUser studyDesigner;
     private Schedule2 schedule;
@@ -59,10 +61,21 @@ public class StudyBurstTest {
     private SchedulesV2Api designerSchedulesApi;
     private ForConsentedUsersApi usersApi;
     
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        studyId = IsolatedStudy.create(StudyBurstTest.class);
+    }
+
+    @AfterClass
+    public static void afterClass() throws Exception {
+        IsolatedStudy.delete(StudyBurstTest.class);
+    }
+
     @Before
     public void before() throws Exception { 
-        user = TestUserHelper.createAndSignInUser(StudyBurstTest.class, true);
-        studyDesigner = TestUserHelper.createAndSignInUser(StudyBurstTest.class, false, STUDY_DESIGNER);
+        user = Tests.createAndSignInUser(StudyBurstTest.class, true);
+        IsolatedStudy.enroll(studyId, user);
+        studyDesigner = Tests.createAndSignInUser(StudyBurstTest.class, false, STUDY_DESIGNER);
         
         usersApi = user.getClient(ForConsentedUsersApi.class);
         
@@ -75,7 +88,7 @@ public class StudyBurstTest {
     
     @After
     public void after() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         if (schedule != null && schedule.getGuid() != null) {
             admin.getClient(SchedulesV2Api.class)
                 .deleteSchedule(schedule.getGuid()).execute();
@@ -96,8 +109,8 @@ public class StudyBurstTest {
             throws Exception {
         // clean up any schedule that is there
         try {
-            TestUser admin = TestUserHelper.getSignedInAdmin();
-            schedule = admin.getClient(SchedulesV2Api.class).getScheduleForStudy(STUDY_ID_1).execute().body();
+            TestUser admin = Tests.getSignedInAdmin();
+            schedule = admin.getClient(SchedulesV2Api.class).getScheduleForStudy(studyId).execute().body();
             admin.getClient(SchedulesV2Api.class).deleteSchedule(schedule.getGuid()).execute();
         } catch(EntityNotFoundException e) {
             
@@ -136,7 +149,7 @@ public class StudyBurstTest {
         session.addTimeWindowsItem(new TimeWindow().startTime("08:00").expiration("PT3H"));
         schedule.addSessionsItem(session);
 
-        schedule = designerSchedulesApi.saveScheduleForStudy(STUDY_ID_1, schedule).execute().body();
+        schedule = designerSchedulesApi.saveScheduleForStudy(studyId, schedule).execute().body();
     }
     
     @Test
@@ -147,7 +160,7 @@ public class StudyBurstTest {
         DateTime timestamp1 = DateTime.now(UTC);
         createOrUpdateEvent(MUTABLE_EVENT, timestamp1, null);
 
-        StudyActivityEventList list = usersApi.getStudyActivityEvents(STUDY_ID_1).execute().body();
+        StudyActivityEventList list = usersApi.getStudyActivityEvents(studyId).execute().body();
 
         StudyActivityEvent originEvent = findEventById(list, "custom:event1");
         assertNull(originEvent.getAnswerValue());
@@ -329,7 +342,7 @@ public class StudyBurstTest {
         // delete the origin event, the study burst events are also deleted
         assertEventTimestampDelete(MUTABLE_EVENT, true);
         
-        Set<String> eventIds = usersApi.getStudyActivityEvents(STUDY_ID_1).execute().body()
+        Set<String> eventIds = usersApi.getStudyActivityEvents(studyId).execute().body()
                 .getItems().stream().map(StudyActivityEvent::getEventId).collect(toSet());
         assertFalse(eventIds.contains("study_burst:burst1:01"));
         assertFalse(eventIds.contains("study_burst:burst1:02"));
@@ -343,7 +356,7 @@ public class StudyBurstTest {
         
         designerSchedulesApi = studyDesigner.getClient(SchedulesV2Api.class);
         
-        Timeline timeline = designerSchedulesApi.getTimelineForStudy(STUDY_ID_1).execute().body();
+        Timeline timeline = designerSchedulesApi.getTimelineForStudy(studyId).execute().body();
         
         ScheduledSession schSession = timeline.getSchedule().get(1);
         assertEquals("burst1", schSession.getStudyBurstId());
@@ -373,14 +386,14 @@ public class StudyBurstTest {
     private void createOrUpdateEvent(String eventId, DateTime timestamp, Boolean updateBursts) throws Exception {
         StudyActivityEventRequest request = new StudyActivityEventRequest()
                 .clientTimeZone("America/Los_Angeles").eventId(eventId).timestamp(timestamp);
-        usersApi.createStudyActivityEvent(STUDY_ID_1, request, true, updateBursts).execute();
+        usersApi.createStudyActivityEvent(studyId, request, true, updateBursts).execute();
     }
     
     private void failToCreateOrUpdateEvent(String eventId, DateTime timestamp) throws Exception {
         StudyActivityEventRequest request = new StudyActivityEventRequest()
                 .eventId(eventId).timestamp(timestamp);
         try {
-            usersApi.createStudyActivityEvent(STUDY_ID_1, request, true, null).execute();
+            usersApi.createStudyActivityEvent(studyId, request, true, null).execute();
             fail("Should have thrown exception");
         } catch(BadRequestException e) {
             // this was expected.
@@ -388,7 +401,7 @@ public class StudyBurstTest {
     }
     
     private void verifyTimestampsStartFrom(String eventId, DateTime eventTimestamp, DateTime timestamp) throws Exception {
-        StudyActivityEventList events = usersApi.getStudyActivityEvents(STUDY_ID_1).execute().body();
+        StudyActivityEventList events = usersApi.getStudyActivityEvents(studyId).execute().body();
         
         StudyActivityEvent event = findEventById(events, eventId);
         StudyActivityEvent burst1 = findEventById(events, "study_burst:burst1:01");
@@ -404,20 +417,20 @@ public class StudyBurstTest {
     }
     
     private void assertEventTimestamp(String eventId, DateTime timestamp) throws Exception {
-        StudyActivityEventList events = usersApi.getStudyActivityEvents(STUDY_ID_1).execute().body();
+        StudyActivityEventList events = usersApi.getStudyActivityEvents(studyId).execute().body();
         StudyActivityEvent event = findEventById(events, eventId);
         assertEquals(timestamp, event.getTimestamp());
     }
     
     private void assertEventTimestampDelete(String eventId, boolean shouldBeDeleted) throws Exception {
         if (shouldBeDeleted) {
-            usersApi.deleteStudyActivityEvent(STUDY_ID_1, eventId, false).execute();
-            StudyActivityEventList events = usersApi.getStudyActivityEvents(STUDY_ID_1).execute().body();
+            usersApi.deleteStudyActivityEvent(studyId, eventId, false).execute();
+            StudyActivityEventList events = usersApi.getStudyActivityEvents(studyId).execute().body();
             StudyActivityEvent event = findEventById(events, eventId);
             assertNull(event);   
         } else {
             try {
-                usersApi.deleteStudyActivityEvent(STUDY_ID_1, eventId, true).execute();
+                usersApi.deleteStudyActivityEvent(studyId, eventId, true).execute();
                 fail("Should have thrown exception");
             } catch(BadRequestException e) {
             }
@@ -18,7 +18,6 @@ import org.sagebionetworks.bridge.rest.model.StudyConsent;
 import org.sagebionetworks.bridge.rest.model.StudyConsentList;
 import org.sagebionetworks.bridge.rest.model.Subpopulation;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class StudyConsentTest {
 
@@ -28,8 +27,8 @@ public class StudyConsentTest {
 
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        developer = TestUserHelper.createAndSignInUser(StudyConsentTest.class, true, Role.DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        developer = Tests.createAndSignInUser(StudyConsentTest.class, true, Role.DEVELOPER);
     }
 
     @After
@@ -44,7 +43,7 @@ public class StudyConsentTest {
 
     @Test(expected=BridgeSDKException.class)
     public void cannotBeAccessedByRegularUser() throws Exception {
-        TestUser user = TestUserHelper.createAndSignInUser(StudyConsentTest.class, true);
+        TestUser user = Tests.createAndSignInUser(StudyConsentTest.class, true);
         try {
             StudyConsent consent = new StudyConsent();
             consent.setDocumentContent("<p>Test content.</p>");
@@ -57,7 +56,7 @@ public class StudyConsentTest {
 
     @Test(expected=BridgeSDKException.class)
     public void cannotBeAccessedByResearcher() throws Exception {
-        TestUser researcher = TestUserHelper.createAndSignInUser(StudyConsentTest.class, true, Role.RESEARCHER);
+        TestUser researcher = Tests.createAndSignInUser(StudyConsentTest.class, true, Role.RESEARCHER);
         try {
             StudyConsent consent = new StudyConsent();
             consent.setDocumentContent("<p>Test content.</p>");
@@ -59,7 +59,6 @@ import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.rest.model.Subpopulation;
 import org.sagebionetworks.bridge.rest.model.TaskReference;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 import com.google.common.collect.ImmutableList;
@@ -92,9 +91,9 @@ public class StudyFilteringTest {
     
     @BeforeClass
     public static void before() throws Exception { 
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
         
-        developer = TestUserHelper.createAndSignInUser(StudyFilteringTest.class, false, DEVELOPER);
+        developer = Tests.createAndSignInUser(StudyFilteringTest.class, false, DEVELOPER);
         
         userIdsToDelete = new HashSet<>();
         
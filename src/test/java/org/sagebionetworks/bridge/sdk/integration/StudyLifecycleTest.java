@@ -27,7 +27,6 @@ import org.sagebionetworks.bridge.rest.model.Schedule2;
 import org.sagebionetworks.bridge.rest.model.Study;
 import org.sagebionetworks.bridge.rest.model.StudyPhase;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import retrofit2.Call;
 
@@ -46,13 +45,13 @@ public class StudyLifecycleTest {
     @Before
     public void before() throws IOException {
         studiesToDelete = new ArrayList<>();
-        studyDesigner = TestUserHelper.createAndSignInUser(StudyLifecycleTest.class, false, STUDY_DESIGNER);
-        studyCoordinator = TestUserHelper.createAndSignInUser(StudyLifecycleTest.class, false, STUDY_COORDINATOR);
+        studyDesigner = Tests.createAndSignInUser(StudyLifecycleTest.class, false, STUDY_DESIGNER);
+        studyCoordinator = Tests.createAndSignInUser(StudyLifecycleTest.class, false, STUDY_COORDINATOR);
     }
     
     @After
     public void after() throws IOException {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         for (String studyId : studiesToDelete) {
             admin.getClient(StudiesApi.class).deleteStudy(studyId, true).execute();
         }
@@ -27,7 +27,6 @@ import org.sagebionetworks.bridge.rest.model.Study;
 import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.rest.model.Withdrawal;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 import com.google.common.collect.ImmutableMap;
@@ -45,8 +44,8 @@ public class StudyMembershipTest {
 
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        appAdmin = TestUserHelper.createAndSignInUser(StudyMembershipTest.class, false, DEVELOPER, RESEARCHER,
+        admin = Tests.getSignedInAdmin();
+        appAdmin = Tests.createAndSignInUser(StudyMembershipTest.class, false, DEVELOPER, RESEARCHER,
                 ADMIN); // Sage Bionetworks
         studiesApi = admin.getClient(StudiesApi.class);
 
@@ -145,7 +144,7 @@ public class StudyMembershipTest {
         String email = IntegTestUtils.makeEmail(StudyMembershipTest.class);
         SignUp signUp = new SignUp().appId(TEST_APP_ID).email(email).password("P@ssword`1");
         signUp.externalIds(ImmutableMap.of(studyId, externalId));
-        TestUser user = TestUserHelper.createAndSignInUser(StudyMembershipTest.class, true, signUp);
+        TestUser user = Tests.createAndSignInUser(StudyMembershipTest.class, true, signUp);
         usersToDelete.add(user);
         return user;
     }
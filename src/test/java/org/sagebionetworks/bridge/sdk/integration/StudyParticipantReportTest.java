@@ -9,7 +9,7 @@ import static org.sagebionetworks.bridge.rest.model.Role.STUDY_COORDINATOR;
 import static org.sagebionetworks.bridge.rest.model.Role.STUDY_DESIGNER;
 import static org.sagebionetworks.bridge.sdk.integration.Tests.ORG_ID_2;
 import static org.sagebionetworks.bridge.sdk.integration.Tests.STUDY_ID_1;
-import static org.sagebionetworks.bridge.user.TestUserHelper.createAndSignInUser;
+import static org.sagebionetworks.bridge.sdk.integration.Tests.createAndSignInUser;
 import static org.sagebionetworks.bridge.util.IntegTestUtils.SAGE_ID;
 
 import java.util.Map;
@@ -85,7 +85,7 @@ public class StudyParticipantReportTest {
             studyCoordinator.signOutAndDeleteUser();
         }
         if (studyId != null) {
-            TestUser admin = TestUserHelper.getSignedInAdmin();
+            TestUser admin = Tests.getSignedInAdmin();
             admin.getClient(ForAdminsApi.class).deleteStudy(studyId, true).execute();
         }
     }
@@ -142,7 +142,7 @@ public class StudyParticipantReportTest {
         // Creating a non-design study to test non-test user account behavior
         // Create a study that is not in design so this test doesn't fail on the
         // enforced "test_user" flag.
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         StudiesApi studiesApi = admin.getClient(StudiesApi.class);
 
         studyId = Tests.randomIdentifier(getClass());
@@ -181,8 +181,8 @@ public class StudyParticipantReportTest {
 
     @Test
     public void studyCoordinatorCanWorkWithTestReports() throws Exception {
-        user = new TestUserHelper.Builder(getClass()).withTestDataGroup().withConsentUser(true)
-                .createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(getClass()).withTestDataGroup().withConsentUser(true)
+                .createAndSignInUser());
         studyDesigner = createAndSignInUser(getClass(), false, STUDY_DESIGNER);
         designerApi = studyDesigner.getClient(ForStudyDesignersApi.class);        
         
@@ -215,7 +215,7 @@ public class StudyParticipantReportTest {
         coordApi.saveStudyParticipantReportRecord(STUDY_ID_1, user.getUserId(), reportId, DATA_2).execute();
         
         // This account cannot see these reports
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         studyDesigner = createAndSignInUser(getClass(), false, STUDY_COORDINATOR);
         admin.getClient(OrganizationsApi.class).removeMember(SAGE_ID, studyDesigner.getUserId()).execute();
         admin.getClient(OrganizationsApi.class).addMember(ORG_ID_2, studyDesigner.getUserId()).execute();
@@ -65,7 +65,6 @@ import org.sagebionetworks.bridge.rest.model.StudyInfo;
 import org.sagebionetworks.bridge.rest.model.StudyList;
 import org.sagebionetworks.bridge.rest.model.VersionHolder;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 import okhttp3.OkHttpClient;
@@ -91,9 +90,9 @@ public class StudyTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        studyDesigner = TestUserHelper.createAndSignInUser(StudyTest.class, false, STUDY_DESIGNER);
-        testResearcher = TestUserHelper.createAndSignInUser(StudyTest.class, false, RESEARCHER);
+        admin = Tests.getSignedInAdmin();
+        studyDesigner = Tests.createAndSignInUser(StudyTest.class, false, STUDY_DESIGNER);
+        testResearcher = Tests.createAndSignInUser(StudyTest.class, false, RESEARCHER);
     }
     
     @After
@@ -298,7 +297,7 @@ public class StudyTest {
         admin.getClient(OrganizationsApi.class).addStudySponsorship(ORG_ID_1, id1).execute();
         admin.getClient(OrganizationsApi.class).addStudySponsorship(ORG_ID_2, id2).execute();
         
-        TestUser studyCoordinator = TestUserHelper.createAndSignInUser(StudyTest.class, true, STUDY_COORDINATOR);
+        TestUser studyCoordinator = Tests.createAndSignInUser(StudyTest.class, true, STUDY_COORDINATOR);
         userIdsToDelete.add(studyCoordinator.getUserId());
         
         admin.getClient(OrganizationsApi.class).addMember(ORG_ID_1, studyCoordinator.getUserId()).execute();
@@ -380,7 +379,7 @@ public class StudyTest {
         StudyInfo deser = new ObjectMapper().readValue(output, StudyInfo.class);
         assertEquals(STUDY_ID_1, deser.getIdentifier());
         
-        TestUser user = TestUserHelper.createAndSignInUser(StudyTest.class, true);
+        TestUser user = Tests.createAndSignInUser(StudyTest.class, true);
         userIdsToDelete.add(user.getUserId());
         
         // This person by default has been put into study 1.
@@ -494,7 +493,7 @@ public class StudyTest {
 
         // Create developer and study designer and remove them from the org. (Note: Study designer is created in
         // before() because it is used in several different tests.)
-        TestUser developer = TestUserHelper.createAndSignInUser(StudyTest.class, false, DEVELOPER);
+        TestUser developer = Tests.createAndSignInUser(StudyTest.class, false, DEVELOPER);
         userIdsToDelete.add(developer.getUserId());
         orgApi.removeMember(SAGE_ID, developer.getUserId()).execute();
         orgApi.removeMember(SAGE_ID, studyDesigner.getUserId()).execute();
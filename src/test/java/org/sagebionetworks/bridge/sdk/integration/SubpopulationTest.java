@@ -39,7 +39,6 @@ import org.sagebionetworks.bridge.rest.model.Study;
 import org.sagebionetworks.bridge.rest.model.Subpopulation;
 import org.sagebionetworks.bridge.rest.model.SubpopulationList;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class SubpopulationTest {
 
@@ -51,8 +50,8 @@ public class SubpopulationTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        developer = TestUserHelper.createAndSignInUser(SubpopulationTest.class, false, Role.DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        developer = Tests.createAndSignInUser(SubpopulationTest.class, false, Role.DEVELOPER);
     }
     
     @After
@@ -193,7 +192,7 @@ public class SubpopulationTest {
     public void createSubpopulationsWithCriteriaAndVerifyFiltering() throws Exception {
         SubpopulationsApi subpopulationsApi = developer.getClient(SubpopulationsApi.class);
         
-        TestUser user = TestUserHelper.createAndSignInUser(SubpopulationTest.class, false);
+        TestUser user = Tests.createAndSignInUser(SubpopulationTest.class, false);
         user.signOut();
         try {
             Criteria criteria1 = new Criteria();
@@ -137,7 +137,6 @@ import org.sagebionetworks.bridge.rest.model.WeightConstraints;
 import org.sagebionetworks.bridge.rest.model.YearConstraints;
 import org.sagebionetworks.bridge.rest.model.YearMonthConstraints;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -164,14 +163,14 @@ public class SurveyTest {
 
     @BeforeClass
     public static void beforeClass() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         adminsApi = admin.getClient(ForAdminsApi.class);
         authApi = admin.getClient(AuthenticationApi.class);
-        developer = TestUserHelper.createAndSignInUser(SurveyTest.class, false, Role.DEVELOPER);
-        user = TestUserHelper.createAndSignInUser(SurveyTest.class, true);
-        worker = TestUserHelper.createAndSignInUser(SurveyTest.class, false, Role.WORKER);
+        developer = Tests.createAndSignInUser(SurveyTest.class, false, Role.DEVELOPER);
+        user = Tests.createAndSignInUser(SurveyTest.class, true);
+        worker = Tests.createAndSignInUser(SurveyTest.class, false, Role.WORKER);
 
-        sharedDeveloper = TestUserHelper.createAndSignInUser(SurveyTest.class, SHARED_APP_ID, DEVELOPER);        
+        sharedDeveloper = Tests.createAndSignInUser(SurveyTest.class, SHARED_APP_ID, DEVELOPER);        
         sharedDeveloperModulesApi = sharedDeveloper.getClient(ForDevelopersApi.class);
         sharedSurveysApi = sharedDeveloper.getClient(SurveysApi.class);
     }
@@ -186,7 +185,7 @@ public class SurveyTest {
     @After
     public void after() throws Exception {
         // cleanup surveys
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         
         SurveysApi surveysApi = admin.getClient(SurveysApi.class);
         for (GuidCreatedOnVersionHolder oneSurvey : surveysToDelete) {
@@ -447,7 +446,7 @@ public class SurveyTest {
         // Verify the index is up-to-date.
         Tests.retryHelper(() -> sharedSurveysApi.getSurvey(IDENTIFIER_PREFIX+survey.getIdentifier(),
                 retSurvey.getCreatedOn()).execute().body(),
-                Predicates.alwaysTrue());
+                Predicates.alwaysTrue(), Await.SETTLE_MILLIS);
 
         SharedModuleMetadata metadataToCreate = new SharedModuleMetadata().id(moduleId).version(0)
                 .name("Integ Test Schema").surveyCreatedOn(retSurvey.getCreatedOn().toString()).surveyGuid(retSurvey.getGuid());
@@ -514,7 +513,7 @@ public class SurveyTest {
         // Verify the index is up-to-date.
         Tests.retryHelper(() -> sharedSurveysApi.getSurvey(IDENTIFIER_PREFIX+survey.getIdentifier(),
                 retSurvey.getCreatedOn()).execute().body(),
-                Predicates.alwaysTrue());
+                Predicates.alwaysTrue(), Await.SETTLE_MILLIS);
 
         SharedModuleMetadata metadataToCreate = new SharedModuleMetadata().id(moduleId).version(0)
                 .name("Integ Test Schema").surveyCreatedOn(retSurvey.getCreatedOn().toString()).surveyGuid(retSurvey.getGuid());
@@ -1650,7 +1649,7 @@ public class SurveyTest {
         // Verify the index is up-to-date.
         Tests.retryHelper(() -> surveysApi.getSurvey(IDENTIFIER_PREFIX+survey.getIdentifier(),
                 keys.getCreatedOn()).execute().body(),
-                Predicates.alwaysTrue());
+                Predicates.alwaysTrue(), Await.SETTLE_MILLIS);
 
         return keys;
     }
@@ -1663,7 +1662,7 @@ public class SurveyTest {
         // Verify the index is up-to-date.
         Tests.retryHelper(() -> surveysApi.getSurvey(IDENTIFIER_PREFIX+survey.getIdentifier(),
                 keys.getCreatedOn()).execute().body(),
-                Predicates.alwaysTrue());
+                Predicates.alwaysTrue(), Await.SETTLE_MILLIS);
 
         survey.setGuid(IDENTIFIER_PREFIX + survey.getIdentifier());
         survey.setCreatedOn(keys.getCreatedOn());
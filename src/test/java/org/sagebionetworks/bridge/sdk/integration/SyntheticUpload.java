@@ -0,0 +1,358 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.fluent.Request;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.util.EntityUtils;
+import org.bouncycastle.asn1.cms.IssuerAndSerialNumber;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cms.CMSAlgorithm;
+import org.bouncycastle.cms.CMSEnvelopedDataStreamGenerator;
+import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.KeyTransRecipientInfoGenerator;
+import org.bouncycastle.cms.jcajce.JceCMSContentEncryptorBuilder;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JceAsymmetricKeyWrapper;
+
+import org.sagebionetworks.bridge.rest.RestUtils;
+import org.sagebionetworks.bridge.rest.model.UploadRequest;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * Generates upload archives of any size without writing them anywhere: the zip (info.json plus
+ * the entries of one of UploadTest's upload types) is produced, compressed and CMS-encrypted
+ * as it is written to the output stream. The upload request needs the length and MD5 of the
+ * encrypted archive before the PUT, so the archive is generated twice: once into a digest, and
+ * once into the request body. Both passes produce the same bytes because the content and the
+ * encryption's randomness (content key, IV, key-wrap padding) all come from the upload's seed.
+ *
+ * <pre>
+ * SyntheticUpload upload = new SyntheticUpload(Format.SCHEMALESS, 1000, 100 * 1024, seed, certificate);
+ * UploadRequest request = upload.request();          // first pass: length and MD5
+ * ... request the upload session ...
+ * upload.put(session.getUrl(), request);              // second pass: streamed to S3
+ * </pre>
+ *
+ * The certificate is the app's upload encryption certificate ({@link #appCertificate(TestUser)});
+ * {@link #selfSignedCertificate()} makes one for offline runs, and a null certificate produces an
+ * unencrypted zip. Seeds should differ between uploads, or the server sees the same archive
+ * many times over.
+ */
+public class SyntheticUpload implements UploadPipeline.Source {
+    private static final long ENTRY_TIME = 1558651647000L; // 2019-05-23T15:47:27-07:00, as in the fixtures
+    private static final String CONTENT_TYPE = "application/zip";
+    private static final int CHUNK_SIZE = 8192;
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789\n";
+
+    /** The upload types of the fixtures in src/test/resources/upload-test. */
+    public enum Format {
+        /** Answers to the legacy-survey schema's questions (AAA, BBB); extra entries are more answers. */
+        LEGACY_SURVEY,
+        /** The legacy-non-survey record with CCC.txt, FFF.json and record.json; extra entries are attachments. */
+        LEGACY_NON_SURVEY,
+        /** A v2_generic upload with no schema; every entry is a data file. */
+        SCHEMALESS
+    }
+
+    private final Format format;
+    private final int entryCount;
+    private final int entryBytes;
+    private final long seed;
+    private final X509Certificate certificate;
+
+    /**
+     * @param entryCount
+     *         number of entries besides info.json and metadata.json (at least the ones the format requires)
+     * @param entryBytes
+     *         approximate size of each free-form entry (the attachment or data), before compression
+     * @param seed
+     *         determines the content and the encryption
+     * @param certificate
+     *         certificate to encrypt for, or null to upload a plain zip
+     */
+    public SyntheticUpload(Format format, int entryCount, int entryBytes, long seed, X509Certificate certificate) {
+        this.format = format;
+        this.entryCount = entryCount;
+        this.entryBytes = entryBytes;
+        this.seed = seed;
+        this.certificate = certificate;
+    }
+
+    /** Compute the length and MD5 of the archive and return the request for its upload session. */
+    @Override
+    public UploadRequest request() throws IOException {
+        MessageDigest md5 = LocalS3.md5();
+        CountingOutputStream counter = new CountingOutputStream(ByteStreams.nullOutputStream());
+        try (OutputStream out = new DigestOutputStream(counter, md5)) {
+            writeTo(out);
+        }
+        return new UploadRequest().name(format.name().toLowerCase(Locale.ENGLISH) + "-" + seed + ".zip")
+                .contentType(CONTENT_TYPE).contentLength(counter.getCount())
+                .contentMd5(Base64.getEncoder().encodeToString(md5.digest()))
+                .encrypted(certificate != null).zipped(true);
+    }
+
+    /** Stream the archive to a (presigned) upload URL, through the shared HttpTransport. */
+    @Override
+    public void put(String url, UploadRequest request) throws IOException {
+        HttpPut put = new HttpPut(url);
+        put.setHeader("Content-MD5", request.getContentMd5());
+        AbstractHttpEntity entity = new AbstractHttpEntity() {
+            @Override
+            public boolean isRepeatable() {
+                return true;
+            }
+            @Override
+            public long getContentLength() {
+                return request.getContentLength();
+            }
+            @Override
+            public InputStream getContent() {
+                throw new UnsupportedOperationException("Synthetic uploads can only be written");
+            }
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                SyntheticUpload.this.writeTo(out);
+            }
+            @Override
+            public boolean isStreaming() {
+                return false;
+            }
+        };
+        entity.setContentType(request.getContentType());
+        put.setEntity(entity);
+        try (CloseableHttpResponse response = HttpTransport.execute(put)) {
+            String body = (response.getEntity() == null) ? "" : EntityUtils.toString(response.getEntity());
+            if (response.getStatusLine().getStatusCode() != 200) {
+                throw new IOException("Upload PUT failed with " + response.getStatusLine() + ": " + body);
+            }
+        }
+    }
+
+    /** Write the (encrypted) archive. Every call writes the same bytes. */
+    public void writeTo(OutputStream out) throws IOException {
+        if (certificate == null) {
+            writeZip(ByteStreams.nonClosingOutputStream(out));
+            return;
+        }
+        try {
+            SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+            random.setSeed(seed);
+            CMSEnvelopedDataStreamGenerator generator = new CMSEnvelopedDataStreamGenerator();
+            generator.addRecipientInfoGenerator(new SeededRecipientInfoGenerator(certificate, random));
+            try (OutputStream encrypted = generator.open(ByteStreams.nonClosingOutputStream(out),
+                    new JceCMSContentEncryptorBuilder(CMSAlgorithm.AES256_CBC).setSecureRandom(random).build())) {
+                writeZip(encrypted);
+            }
+        } catch (GeneralSecurityException | CMSException e) {
+            throw new IOException("Could not encrypt synthetic upload", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s x%d of %d bytes (seed %d%s)", format.name().toLowerCase(Locale.ENGLISH), entryCount,
+                entryBytes, seed, (certificate == null) ? ", unencrypted" : "");
+    }
+
+    private void writeZip(OutputStream out) throws IOException {
+        Random random = new Random(seed);
+        JsonArray files = new JsonArray();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            switch (format) {
+                case LEGACY_SURVEY:
+                    writeJson(zip, files, "AAA.json", answer("AAA", "SingleChoice", "Yes"));
+                    writeJson(zip, files, "BBB.json", answer("BBB", "MultipleChoice", "fencing"));
+                    for (int i = 2; i < entryCount; i++) {
+                        writeJson(zip, files, "answer" + i + ".json",
+                                answer("answer" + i, "Text", randomText(random, entryBytes)));
+                    }
+                    writeJson(zip, null, "info.json", legacyInfo(files, "legacy-survey"));
+                    break;
+                case LEGACY_NON_SURVEY:
+                    writeRandom(zip, files, "CCC.txt", random, entryBytes);
+                    JsonArray names = new JsonArray();
+                    names.add(name("Dwayne"));
+                    names.add(name("Eggplant"));
+                    writeJson(zip, files, "FFF.json", names);
+                    JsonObject record = new JsonObject();
+                    JsonArray hhh = new JsonArray();
+                    hhh.add("attachment");
+                    hhh.add("inside");
+                    hhh.add("file");
+                    record.add("HHH", hhh);
+                    record.addProperty("PPP", 1337);
+                    record.addProperty("QQQ", "2016-06-03T19:21:35.378-0700");
+                    writeJson(zip, files, "record.json", record);
+                    for (int i = 3; i < entryCount; i++) {
+                        writeRandom(zip, files, "attachment" + i + ".txt", random, entryBytes);
+                    }
+                    writeJson(zip, null, "info.json", legacyInfo(files, "legacy-non-survey"));
+                    break;
+                case SCHEMALESS:
+                    for (int i = 0; i < entryCount; i++) {
+                        writeRandom(zip, null, "data" + i + ".txt", random, entryBytes);
+                    }
+                    JsonObject info = new JsonObject();
+                    info.addProperty("createdOn", "2019-05-23T15:47:27.368-07:00");
+                    info.addProperty("format", "v2_generic");
+                    info.addProperty("appVersion", "version 1.0.0, build 1");
+                    info.addProperty("phoneInfo", "Integration Tests");
+                    writeJson(zip, null, "info.json", info);
+                    break;
+                default:
+                    throw new IllegalArgumentException(format.name());
+            }
+            JsonObject metadata = new JsonObject();
+            metadata.addProperty("taskRunId", "synthetic-" + seed);
+            metadata.addProperty("lastMedicationHoursAgo", 3);
+            writeJson(zip, null, "metadata.json", metadata);
+        }
+    }
+
+    private static JsonObject answer(String item, String questionTypeName, String answer) {
+        JsonObject json = new JsonObject();
+        json.addProperty("questionType", 0);
+        JsonArray answers = new JsonArray();
+        answers.add(answer);
+        json.add("choiceAnswers", answers);
+        json.addProperty("startDate", "2015-04-02T03:26:57-07:00");
+        json.addProperty("questionTypeName", questionTypeName);
+        json.addProperty("item", item);
+        json.addProperty("endDate", "2015-04-02T03:26:59-07:00");
+        return json;
+    }
+
+    private static JsonObject name(String name) {
+        JsonObject json = new JsonObject();
+        json.addProperty("name", name);
+        return json;
+    }
+
+    private static JsonObject legacyInfo(JsonArray files, String item) {
+        JsonObject info = new JsonObject();
+        info.add("files", files);
+        info.addProperty("item", item);
+        info.addProperty("schemaRevision", 1);
+        info.addProperty("appVersion", "version 1.0.0, build 1");
+        info.addProperty("phoneInfo", "Integration Tests");
+        return info;
+    }
+
+    private static void writeJson(ZipOutputStream zip, JsonArray files, String name, Object json)
+            throws IOException {
+        startEntry(zip, files, name);
+        zip.write(RestUtils.GSON.toJson(json).getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    /** Write an entry of random text, a chunk at a time. */
+    private static void writeRandom(ZipOutputStream zip, JsonArray files, String name, Random random, int length)
+            throws IOException {
+        startEntry(zip, files, name);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        for (int written = 0; written < length; written += CHUNK_SIZE) {
+            int size = Math.min(CHUNK_SIZE, length - written);
+            for (int i = 0; i < size; i++) {
+                chunk[i] = (byte) ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            }
+            zip.write(chunk, 0, size);
+        }
+        zip.closeEntry();
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    /** Start a zip entry, and list it in info.json's files if the format lists them. */
+    private static void startEntry(ZipOutputStream zip, JsonArray files, String name) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTime(ENTRY_TIME);
+        zip.putNextEntry(entry);
+        if (files != null) {
+            JsonObject file = new JsonObject();
+            file.addProperty("filename", name);
+            file.addProperty("timestamp", "2015-04-02T03:26:59-07:00");
+            files.add(file);
+        }
+    }
+
+    /** The certificate the server decrypts uploads to this user's app with. The user must be a developer. */
+    public static X509Certificate appCertificate(TestUser developer) throws IOException, GeneralSecurityException {
+        HttpResponse response = HttpTransport.execute(Request.Get(developer.getClientManager().getHostUrl()
+                + "/v3/apps/self/publicKey").setHeader("Bridge-Session", developer.getSession().getSessionToken()))
+                .returnResponse();
+        String json = EntityUtils.toString(response.getEntity());
+        if (response.getStatusLine().getStatusCode() != 200) {
+            throw new IOException("Could not get the app's public key: " + json);
+        }
+        String pem = RestUtils.GSON.fromJson(json, JsonObject.class).get("publicKey").getAsString();
+        return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(
+                new ByteArrayInputStream(pem.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** A throwaway certificate, for encrypting uploads that no one will decrypt (e.g. to FakeBridgeServer). */
+    public static X509Certificate selfSignedCertificate() throws GeneralSecurityException {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            X500Name name = new X500Name("CN=Synthetic Uploads, O=Integration Tests");
+            long now = System.currentTimeMillis();
+            JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(name, BigInteger.valueOf(now),
+                    new Date(now - 60000), new Date(now + 86400000L), name, keyPair.getPublic());
+            return new JcaX509CertificateConverter().getCertificate(
+                    builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())));
+        } catch (OperatorCreationException e) {
+            throw new GeneralSecurityException(e);
+        }
+    }
+
+    /**
+     * Wraps the content key for the certificate using the given randomness (for the RSA
+     * padding), so that the whole envelope is reproducible.
+     */
+    private static final class SeededRecipientInfoGenerator extends KeyTransRecipientInfoGenerator {
+        SeededRecipientInfoGenerator(X509Certificate certificate, SecureRandom random)
+                throws GeneralSecurityException {
+            super(new IssuerAndSerialNumber(new JcaX509CertificateHolder(certificate).toASN1Structure()),
+                    new JceAsymmetricKeyWrapper(certificate.getPublicKey()).setSecureRandom(random));
+        }
+    }
+}
@@ -13,13 +13,12 @@ import org.junit.Test;
 import org.sagebionetworks.bridge.rest.api.TagsApi;
 import org.sagebionetworks.bridge.rest.model.Tag;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class TagTest {
     
     @Test
     public void test() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         TagsApi tagsApi = admin.getClient(TagsApi.class);
         
         tagsApi.addTag(new Tag().value("cat1:tag1.1")).execute();
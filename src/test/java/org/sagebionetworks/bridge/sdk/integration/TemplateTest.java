@@ -25,7 +25,6 @@ import org.sagebionetworks.bridge.rest.model.TemplateList;
 import org.sagebionetworks.bridge.rest.model.TemplateRevision;
 import org.sagebionetworks.bridge.rest.model.TemplateRevisionList;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class TemplateTest {
     
@@ -35,8 +34,8 @@ public class TemplateTest {
     
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        developer = TestUserHelper.createAndSignInUser(TemplateTest.class, true, DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        developer = Tests.createAndSignInUser(TemplateTest.class, true, DEVELOPER);
     }
     
     @After
@@ -0,0 +1,211 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits the test classes into shards of about the same total duration, so that CI machines
+ * (or separate surefire runs) can each take a balanced slice of the suite. The wall-clock
+ * duration of every test class is recorded by InitListener at the end of each run, and
+ * merged into {@code ~/.bridge-integ-durations.properties} ({@code -Dshard.durations} to
+ * change it, e.g. to a file CI caches between builds).
+ *
+ * The sharding profile ({@code -DshardCount=N -DshardIndex=i}, i from 0) runs {@link #main}
+ * before the tests. It assigns classes to shards longest first, each to the shard with the
+ * least total duration so far, which keeps the longest shard (and so the wall-clock time of the
+ * whole build) close to the minimum. Classes with no recorded duration are counted as the
+ * median of the ones that have one. Load tests ({@code @Category(LoadTest.class)}) are left
+ * out, as the default run excludes them. The selected classes are written to a surefire
+ * includes file.
+ */
+public class TestShards {
+    private static final Logger LOG = LoggerFactory.getLogger(TestShards.class);
+
+    public static final String DURATIONS_FILE_PROPERTY = "shard.durations";
+    private static final String DEFAULT_DURATIONS_FILE = System.getProperty("user.home")
+            + "/.bridge-integ-durations.properties";
+    private static final String PACKAGE_PATH = TestShards.class.getPackage().getName().replace('.', '/') + "/";
+    // Weight of the latest run when merging it into the recorded duration of a class.
+    private static final double LATEST_RUN_WEIGHT = 0.5;
+    private static final long UNKNOWN_DURATION = 10000L;
+
+    private static final Map<String, Long> STARTED = new ConcurrentHashMap<>();
+    private static final Map<String, Long> DURATIONS = new ConcurrentHashMap<>();
+
+    /** A shard and the classes assigned to it. */
+    static final class Shard {
+        final List<String> classNames = new ArrayList<>();
+        long millis;
+    }
+
+    /** Called by InitListener when a test class starts. */
+    static void classStarted(String className) {
+        STARTED.put(className, System.nanoTime());
+    }
+
+    /** Called by InitListener when a test class has finished. */
+    static void classFinished(String className) {
+        Long start = STARTED.remove(className);
+        if (start != null) {
+            DURATIONS.merge(className, (System.nanoTime() - start) / 1000000, Long::sum);
+        }
+    }
+
+    /**
+     * Merge the durations of this run into the durations file. Forks of the same build update
+     * the file one at a time.
+     */
+    static void saveDurations() throws IOException {
+        if (DURATIONS.isEmpty()) {
+            return;
+        }
+        Path path = durationsFile();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+            Properties properties = new Properties();
+            InputStream in = Channels.newInputStream(channel);
+            properties.load(in);
+            for (Map.Entry<String, Long> entry : DURATIONS.entrySet()) {
+                String previous = properties.getProperty(entry.getKey());
+                long millis = (previous == null) ? entry.getValue()
+                        : Math.round(LATEST_RUN_WEIGHT * entry.getValue()
+                                + (1 - LATEST_RUN_WEIGHT) * Long.parseLong(previous));
+                properties.setProperty(entry.getKey(), Long.toString(millis));
+            }
+            channel.truncate(0);
+            channel.position(0);
+            OutputStream out = Channels.newOutputStream(channel);
+            properties.store(out, "Wall-clock milliseconds per test class, see TestShards");
+            out.flush();
+        }
+        LOG.info("Recorded the durations of {} test classes in {}", DURATIONS.size(), path);
+    }
+
+    /** Assign classes to shards by greedy bin-packing on their recorded durations. */
+    static List<Shard> assign(List<String> classNames, Map<String, Long> durations, int shardCount) {
+        List<Long> known = new ArrayList<>(durations.values());
+        Collections.sort(known);
+        long fallback = known.isEmpty() ? UNKNOWN_DURATION : known.get(known.size() / 2);
+
+        List<String> ordered = new ArrayList<>(classNames);
+        // Longest first; ties broken by name so every machine computes the same assignment.
+        ordered.sort(Comparator.<String>comparingLong(name -> durations.getOrDefault(name, fallback)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard());
+        }
+        for (String className : ordered) {
+            Shard shard = Collections.min(shards, Comparator.comparingLong(s -> s.millis));
+            shard.classNames.add(className);
+            shard.millis += durations.getOrDefault(className, fallback);
+        }
+        return shards;
+    }
+
+    /**
+     * Write the surefire includes file for one shard. Arguments: the test classes directory,
+     * the shard index, the shard count, and the includes file to write.
+     */
+    public static void main(String[] args) throws IOException {
+        Path testClasses = Paths.get(args[0]);
+        int shardIndex = Integer.parseInt(args[1]);
+        int shardCount = Integer.parseInt(args[2]);
+        Path includesFile = Paths.get(args[3]);
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Shard index must be from 0 to shard count - 1");
+        }
+
+        List<Shard> shards = assign(testClassNames(testClasses), loadDurations(), shardCount);
+        for (int i = 0; i < shards.size(); i++) {
+            LOG.info("Shard {}: {} classes, about {} s{}", i, shards.get(i).classNames.size(),
+                    shards.get(i).millis / 1000, (i == shardIndex) ? " (this shard)" : "");
+        }
+        if (includesFile.getParent() != null) {
+            Files.createDirectories(includesFile.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(includesFile, StandardCharsets.UTF_8)) {
+            for (String className : shards.get(shardIndex).classNames) {
+                writer.write(className.replace('.', '/') + ".java");
+                writer.write(System.lineSeparator());
+            }
+        }
+    }
+
+    /**
+     * The classes surefire would run by default (*Test), excluding nested classes and the load
+     * tests, which the default run excludes by category.
+     */
+    private static List<String> testClassNames(Path testClasses) throws IOException {
+        Path packageDir = testClasses.resolve(PACKAGE_PATH);
+        try (Stream<Path> files = Files.list(packageDir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith("Test.class") && !name.contains("$"))
+                    .map(name -> (PACKAGE_PATH + name.substring(0, name.length() - ".class".length()))
+                            .replace('/', '.'))
+                    .filter(name -> !isLoadTest(name))
+                    .sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isLoadTest(String className) {
+        try {
+            // Only the annotation is needed, so leave the class uninitialized.
+            Category category = Class.forName(className, false, TestShards.class.getClassLoader())
+                    .getAnnotation(Category.class);
+            return category != null && Arrays.asList(category.value()).contains(LoadTest.class);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Test class not on the classpath: " + className, e);
+        }
+    }
+
+    private static Map<String, Long> loadDurations() throws IOException {
+        Map<String, Long> durations = new TreeMap<>();
+        Path path = durationsFile();
+        if (Files.exists(path)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            }
+            for (String name : properties.stringPropertyNames()) {
+                durations.put(name, Long.parseLong(properties.getProperty(name)));
+            }
+        } else {
+            LOG.warn("No recorded test class durations in {}, shards are balanced by class count", path);
+        }
+        return durations;
+    }
+
+    private static Path durationsFile() {
+        return Paths.get(System.getProperty(DURATIONS_FILE_PROPERTY, DEFAULT_DURATIONS_FILE));
+    }
+}
@@ -0,0 +1,54 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+/** Checks the shard assignment, which needs no server. */
+public class TestShardsTest {
+
+    @Test
+    public void assignsLongestFirstToTheLeastLoadedShard() {
+        List<TestShards.Shard> shards = TestShards.assign(ImmutableList.of("E", "D", "C", "B", "A"),
+                ImmutableMap.of("A", 50L, "B", 40L, "C", 30L, "D", 20L, "E", 10L), 2);
+
+        // A, B, then C and D each to the lighter shard; E breaks the 70/70 tie towards the first.
+        assertEquals(ImmutableList.of("A", "D", "E"), shards.get(0).classNames);
+        assertEquals(80L, shards.get(0).millis);
+        assertEquals(ImmutableList.of("B", "C"), shards.get(1).classNames);
+        assertEquals(70L, shards.get(1).millis);
+    }
+
+    @Test
+    public void countsUnknownDurationsAtTheMedian() {
+        List<TestShards.Shard> shards = TestShards.assign(ImmutableList.of("A", "B", "C", "X"),
+                ImmutableMap.of("A", 10L, "B", 20L, "C", 30L), 2);
+
+        // X counts as 20, and sorts after B, which has the same duration.
+        assertEquals(ImmutableList.of("C", "A"), shards.get(0).classNames);
+        assertEquals(40L, shards.get(0).millis);
+        assertEquals(ImmutableList.of("B", "X"), shards.get(1).classNames);
+        assertEquals(40L, shards.get(1).millis);
+    }
+
+    @Test
+    public void countsUnknownDurationsAtTheUpperMedianOfAnEvenCount() {
+        List<TestShards.Shard> shards = TestShards.assign(ImmutableList.of("A", "B", "C", "D", "X"),
+                ImmutableMap.of("A", 10L, "B", 20L, "C", 30L, "D", 40L), 1);
+
+        assertEquals(130L, shards.get(0).millis);
+    }
+
+    @Test
+    public void assignsTheSameDurationToEveryClassWhenNoneIsKnown() {
+        List<TestShards.Shard> shards = TestShards.assign(ImmutableList.of("C", "A", "B"), ImmutableMap.of(), 2);
+
+        assertEquals(ImmutableList.of("A", "C"), shards.get(0).classNames);
+        assertEquals(ImmutableList.of("B"), shards.get(1).classNames);
+        assertEquals(2 * shards.get(1).millis, shards.get(0).millis);
+    }
+}
@@ -0,0 +1,261 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
+import org.sagebionetworks.bridge.rest.exceptions.ConsentRequiredException;
+import org.sagebionetworks.bridge.rest.model.Role;
+import org.sagebionetworks.bridge.rest.model.SignUp;
+import org.sagebionetworks.bridge.rest.model.StudyParticipant;
+import org.sagebionetworks.bridge.rest.model.UserSessionInfo;
+import org.sagebionetworks.bridge.user.TestUser;
+import org.sagebionetworks.bridge.user.TestUserHelper;
+import org.sagebionetworks.bridge.util.IntegTestUtils;
+
+/**
+ * A pool of signed-in test accounts, keyed by app, roles, consent state and data groups. Tests
+ * that only need "a developer" or "a consented participant" can lease an account rather than
+ * paying for sign up, consent, sign in and deletion every time:
+ *
+ * <pre>
+ * developer = TestUserPool.lease(UploadTest.class, false, Role.DEVELOPER);
+ * ...
+ * TestUserPool.release(developer);
+ * </pre>
+ *
+ * Released participants have their data groups and attributes reset and are signed in again,
+ * while role users keep their session; an account that can't be reset (e.g. it withdrew its
+ * consent) is deleted instead. Do not lease accounts that a test will move between
+ * organizations, withdraw or delete.
+ *
+ * The pool is warmed lazily: the first lease of a key that finds nothing creates the account it
+ * needs, and {@code -DuserPool.warm=N} more for that key in the background (1 by default, 0 to
+ * disable), so concurrent leases and the next class's lease find one waiting. Only the keys the
+ * run's tests actually lease are ever created. InitListener deletes every pooled account at the
+ * end of the run.
+ */
+public class TestUserPool {
+    private static final Logger LOG = LoggerFactory.getLogger(TestUserPool.class);
+
+    public static final String WARM_COUNT_PROPERTY = "userPool.warm";
+    private static final int DEFAULT_WARM_COUNT = 1;
+    private static final int WARM_THREADS = 8;
+
+    private static final Map<Key, Queue<TestUser>> AVAILABLE = new ConcurrentHashMap<>();
+    // Keys that have been warmed (or are being warmed) in the background.
+    private static final Set<Key> WARMED = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger WARMED_ACCOUNTS = new AtomicInteger();
+    private static ExecutorService warmer;
+    private static final Map<String, Key> KEYS = new ConcurrentHashMap<>();
+    private static final Map<String, List<String>> ORIGINAL_DATA_GROUPS = new ConcurrentHashMap<>();
+    private static final AtomicInteger LEASES = new AtomicInteger();
+    private static final AtomicInteger HITS = new AtomicInteger();
+    private static final AtomicInteger RESETS_FAILED = new AtomicInteger();
+    private static final AtomicInteger SIGN_INS_SKIPPED = new AtomicInteger();
+
+    static final class Key {
+        private final String appId;
+        private final Set<Role> roles;
+        private final boolean consented;
+        private final Set<String> dataGroups;
+
+        Key(String appId, Set<Role> roles, boolean consented, Set<String> dataGroups) {
+            this.appId = appId;
+            this.roles = ImmutableSet.copyOf(roles);
+            this.consented = consented;
+            this.dataGroups = ImmutableSet.copyOf(dataGroups);
+        }
+        boolean isParticipant() {
+            return roles.isEmpty();
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hash(appId, roles, consented, dataGroups);
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return Objects.equals(appId, other.appId) && Objects.equals(roles, other.roles)
+                    && consented == other.consented && Objects.equals(dataGroups, other.dataGroups);
+        }
+        @Override
+        public String toString() {
+            return "[appId=" + appId + ", roles=" + roles + ", consented=" + consented + ", dataGroups="
+                    + dataGroups + "]";
+        }
+    }
+
+    /** Lease an account in the API app. */
+    public static TestUser lease(Class<?> cls, boolean consentUser, Role... roles) throws Exception {
+        return lease(cls, TEST_APP_ID, consentUser, ImmutableSet.of(), roles);
+    }
+
+    public static TestUser lease(Class<?> cls, String appId, boolean consentUser, Set<String> dataGroups,
+            Role... roles) throws Exception {
+        Key key = new Key(appId, ImmutableSet.copyOf(roles), consentUser, dataGroups);
+        LEASES.incrementAndGet();
+
+        TestUser user = available(key).poll();
+        if (user != null) {
+            HITS.incrementAndGet();
+            return user;
+        }
+        LOG.info("User pool miss for {} in {}", key, cls.getSimpleName());
+        if (WARMED.add(key)) {
+            warm(key);
+        }
+        return create(key);
+    }
+
+    /**
+     * Return a leased account to the pool. Accounts that weren't leased from the pool are
+     * signed out and deleted, so this is always safe to call from an @After method.
+     */
+    public static void release(TestUser user) {
+        if (user == null) {
+            return;
+        }
+        Key key = KEYS.get(user.getUserId());
+        if (key == null) {
+            user.signOutAndDeleteUser();
+            return;
+        }
+        try {
+            reset(key, user);
+            available(key).add(user);
+        } catch (Exception e) {
+            LOG.warn("Could not reset pooled user " + user.getUserId() + ", deleting it", e);
+            RESETS_FAILED.incrementAndGet();
+            forget(user);
+            user.signOutAndDeleteUser();
+        }
+    }
+
+    /** Create accounts for a key that has just missed, in the background. */
+    private static void warm(Key key) {
+        int count = Integer.getInteger(WARM_COUNT_PROPERTY, DEFAULT_WARM_COUNT);
+        for (int i = 0; i < count; i++) {
+            warmer().execute(() -> {
+                try {
+                    available(key).add(create(key));
+                    WARMED_ACCOUNTS.incrementAndGet();
+                } catch (Exception e) {
+                    LOG.warn("Could not warm user pool for " + key, e);
+                }
+            });
+        }
+    }
+
+    private static synchronized ExecutorService warmer() {
+        if (warmer == null) {
+            warmer = Executors.newFixedThreadPool(WARM_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "user-pool-warmer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return warmer;
+    }
+
+    /** Delete every account that is sitting in the pool, and report how useful the pool was. */
+    static void drain() throws InterruptedException {
+        synchronized (TestUserPool.class) {
+            // Accounts still being created would otherwise outlive the run.
+            if (warmer != null) {
+                warmer.shutdown();
+                warmer.awaitTermination(5, TimeUnit.MINUTES);
+                warmer = null;
+            }
+        }
+        for (Queue<TestUser> queue : AVAILABLE.values()) {
+            TestUser user;
+            while ((user = queue.poll()) != null) {
+                forget(user);
+                try {
+                    user.signOutAndDeleteUser();
+                } catch (Exception e) {
+                    LOG.warn("Could not delete pooled user " + user.getUserId(), e);
+                }
+            }
+        }
+        int leases = LEASES.get();
+        int hits = HITS.get();
+        LOG.info("User pool: {} leases, {} hits ({}%), {} keys warmed with {} accounts, {} failed resets, "
+                + "{} sign-ins skipped", leases, hits, (leases == 0) ? 0 : (hits * 100 / leases), WARMED.size(),
+                WARMED_ACCOUNTS.get(), RESETS_FAILED.get(), SIGN_INS_SKIPPED.get());
+    }
+
+    private static Queue<TestUser> available(Key key) {
+        return AVAILABLE.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>());
+    }
+
+    private static TestUser create(Key key) throws Exception {
+        SignUp signUp = new SignUp().appId(key.appId).email(IntegTestUtils.makeEmail(TestUserPool.class))
+                .password(Tests.PASSWORD);
+        if (!key.dataGroups.isEmpty()) {
+            signUp.setDataGroups(new ArrayList<>(key.dataGroups));
+        }
+        TestUser user = ApiMetrics.instrument(new TestUserHelper.Builder(TestUserPool.class).withAppId(key.appId)
+                .withConsentUser(key.consented).withRoles(key.roles.toArray(new Role[0]))
+                .withSignUp(signUp).createAndSignInUser());
+        KEYS.put(user.getUserId(), key);
+        if (key.isParticipant()) {
+            ORIGINAL_DATA_GROUPS.put(user.getUserId(), ImmutableList.copyOf(user.getSession().getDataGroups()));
+        }
+        return user;
+    }
+
+    private static void reset(Key key, TestUser user) throws Exception {
+        if (!key.isParticipant()) {
+            // Nothing in a role user's session is changed by the tests that lease them, so it stays
+            // signed in (see SessionCache); the client signs in again if the session has expired.
+            SIGN_INS_SKIPPED.incrementAndGet();
+            return;
+        }
+        ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
+        StudyParticipant participant = usersApi.getUsersParticipantRecord(false).execute().body();
+        participant.setDataGroups(new ArrayList<>(ORIGINAL_DATA_GROUPS.get(user.getUserId())));
+        participant.setAttributes(ImmutableMap.of());
+        usersApi.updateUsersParticipantRecord(participant).execute();
+
+        UserSessionInfo session;
+        try {
+            session = user.signInAgain();
+        } catch (ConsentRequiredException e) {
+            session = e.getSession();
+        }
+        if (session.isConsented() != key.consented) {
+            throw new IllegalStateException("Consent state of pooled user has changed");
+        }
+    }
+
+    private static void forget(TestUser user) {
+        KEYS.remove(user.getUserId());
+        ORIGINAL_DATA_GROUPS.remove(user.getUserId());
+    }
+}
@@ -31,8 +31,6 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.joda.time.DateTime;
 import org.sagebionetworks.client.SynapseClient;
 import org.sagebionetworks.client.SynapseClientImpl;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import org.sagebionetworks.bridge.config.Config;
 import org.sagebionetworks.bridge.config.PropertiesConfig;
@@ -49,19 +47,20 @@ import org.sagebionetworks.bridge.rest.model.ClientInfo;
 import org.sagebionetworks.bridge.rest.model.MasterSchedulerConfig;
 import org.sagebionetworks.bridge.rest.model.OAuthProvider;
 import org.sagebionetworks.bridge.rest.model.Phone;
+import org.sagebionetworks.bridge.rest.model.Role;
 import org.sagebionetworks.bridge.rest.model.Schedule;
 import org.sagebionetworks.bridge.rest.model.SchedulePlan;
 import org.sagebionetworks.bridge.rest.model.ScheduleType;
 import org.sagebionetworks.bridge.rest.model.ScheduledActivity;
 import org.sagebionetworks.bridge.rest.model.SignIn;
+import org.sagebionetworks.bridge.rest.model.SignUp;
 import org.sagebionetworks.bridge.rest.model.SimpleScheduleStrategy;
 import org.sagebionetworks.bridge.rest.model.TaskReference;
 import org.sagebionetworks.bridge.user.TestUser;
+import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 public class Tests {
-    private static final Logger LOG = LoggerFactory.getLogger(Tests.class);
-
     public static final SignIn API_SIGNIN = new SignIn().appId(TEST_APP_ID);
     public static final SignIn API_2_SIGNIN = new SignIn().appId(TEST_APP_2_ID);
     public static final SignIn SHARED_SIGNIN = new SignIn().appId(SHARED_APP_ID);
@@ -79,9 +78,6 @@ public class Tests {
     public static final String NATIONAL_PHONE_FORMAT = "(971) 248-6796";
     public static final String SYNAPSE_USER_ID = "88888";
 
-    private static final int RETRY_MAX_TRIES = 5;
-    private static final long RETRY_SLEEP_MILLIS = 1000;
-
     private static final String CONFIG_FILE = "bridge-sdk-test.properties";
     private static final String DEFAULT_CONFIG_FILE = CONFIG_FILE;
     private static final String USER_CONFIG_FILE = System.getProperty("user.home") + "/" + CONFIG_FILE;
@@ -93,6 +89,30 @@ public class Tests {
                 .osVersion("2.0.0").sdkName("BridgeJavaSDK").sdkVersion(Integer.parseInt(IntegTestUtils.CONFIG.getSdkVersion()));
     }
 
+    /**
+     * The signed-in admin, with its calls recorded in ApiMetrics. Use this rather than
+     * TestUserHelper.getSignedInAdmin(); the session is kept in SessionCache for the whole run.
+     */
+    public static TestUser getSignedInAdmin() {
+        return SessionCache.getSignedInAdmin();
+    }
+
+    /**
+     * TestUserHelper.createAndSignInUser(), with the new user's calls recorded in ApiMetrics. Use these
+     * rather than the TestUserHelper methods, so every participant a test creates shows up in the report.
+     */
+    public static TestUser createAndSignInUser(Class<?> cls, boolean consentUser, Role... roles) throws IOException {
+        return ApiMetrics.instrument(TestUserHelper.createAndSignInUser(cls, consentUser, roles));
+    }
+
+    public static TestUser createAndSignInUser(Class<?> cls, boolean consentUser, SignUp signUp) throws IOException {
+        return ApiMetrics.instrument(TestUserHelper.createAndSignInUser(cls, consentUser, signUp));
+    }
+
+    public static TestUser createAndSignInUser(Class<?> cls, String appId, Role... roles) throws IOException {
+        return ApiMetrics.instrument(TestUserHelper.createAndSignInUser(cls, appId, roles));
+    }
+
     // This API exists because there's a bug in TestUserHelper.getNonAuthClient() which uses ClientManager.getUrl()
     // instead of ClientManager.getHostUrl().
     public static ApiClientProvider getUnauthenticatedClientProvider(ClientManager clientManager, String appId) {
@@ -108,7 +128,8 @@ public class Tests {
 
     /**
      * Helper function that wraps around retries. Used for tests that can fail sporadically (e.g. anything that uses a
-     * DynamoDB secondary index.
+     * DynamoDB secondary index. The first call is made immediately, then retried with backoff (see Await). The
+     * calling test method is used to label the call in the convergence report.
      *
      * @param testCall
      *         the test code that might sporadically fail (e.g. a server call using DynamoDB secondary index)
@@ -116,26 +137,23 @@ public class Tests {
      *         a callable that returns true if the test code succeeded, false if we need to retry
      */
     public static <T> T retryHelper(Callable<T> testCall, Predicate<T> validationCall) {
-        for (int i = 0; i < RETRY_MAX_TRIES; i++) {
-            try {
-                Thread.sleep(RETRY_SLEEP_MILLIS);
-            } catch (InterruptedException ex) {
-                // Ignore exception.
-            }
+        return Await.until(callerLabel(), testCall, validationCall);
+    }
 
-            try {
-                T result = testCall.call();
-                if (validationCall.test(result)) {
-                    return result;
-                } else {
-                    LOG.warn("Validation failed in retryHelper (try #" + i + ")");
-                }
-            } catch (Exception ex) {
-                LOG.warn("Exception thrown in retryHelper (try #" + i + "): " + ex.getMessage(), ex);
-            }
-        }
+    /**
+     * Like {@link #retryHelper(Callable, Predicate)}, but wait settleMillis (usually {@link Await#SETTLE_MILLIS})
+     * before the first call. Use this where a stale result would also pass validation, e.g. waiting for a list to
+     * be empty.
+     */
+    public static <T> T retryHelper(Callable<T> testCall, Predicate<T> validationCall, long settleMillis) {
+        return Await.until(callerLabel(), testCall, validationCall, Await.DEFAULT_DEADLINE_MILLIS, settleMillis);
+    }
 
-        throw new RuntimeException("retryHelper failed");
+    /** The class, method and line that called the retry helper. */
+    private static String callerLabel() {
+        StackTraceElement caller = new Throwable().getStackTrace()[2];
+        return caller.getClassName().substring(caller.getClassName().lastIndexOf('.') + 1) + "."
+                + caller.getMethodName() + ":" + caller.getLineNumber();
     }
 
     public static List<Activity> labelActivities(List<Activity> activities, String randomLabel) {
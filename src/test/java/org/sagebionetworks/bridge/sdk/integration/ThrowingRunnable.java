@@ -0,0 +1,7 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+/** Used for lambdas that take and return nothing but can throw checked exceptions. */
+@FunctionalInterface
+public interface ThrowingRunnable {
+    void run() throws Exception;
+}
@@ -0,0 +1,394 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static java.lang.String.format;
+import static org.sagebionetworks.bridge.rest.model.PerformanceOrder.SEQUENTIAL;
+import static org.sagebionetworks.bridge.rest.model.Role.DEVELOPER;
+import static org.sagebionetworks.bridge.sdk.integration.BenchmarkReport.millis;
+import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
+
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.net.HttpHeaders;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.fluent.Request;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.sagebionetworks.bridge.rest.api.AssessmentsApi;
+import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
+import org.sagebionetworks.bridge.rest.api.ForDevelopersApi;
+import org.sagebionetworks.bridge.rest.api.SchedulesV1Api;
+import org.sagebionetworks.bridge.rest.api.SchedulesV2Api;
+import org.sagebionetworks.bridge.rest.model.Assessment;
+import org.sagebionetworks.bridge.rest.model.AssessmentReference2;
+import org.sagebionetworks.bridge.rest.model.Schedule2;
+import org.sagebionetworks.bridge.rest.model.Session;
+import org.sagebionetworks.bridge.rest.model.Study;
+import org.sagebionetworks.bridge.rest.model.TimeWindow;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * A participant population spread across the IANA time zones, each participant fetching their
+ * scheduled activities (v4, from the start of their local day) and their participant schedule
+ * ({@code /v5/studies/{id}/participants/self/schedule?clientTimeZone=}) over and over. The
+ * schedules come from a daily v1 schedule plan (Tests.getDailyRepeatingSchedulePlan) and a
+ * Schedule2 with a daily session, as in Schedule2Test. Participant schedules are revalidated with
+ * the ETag of the last 200, so a 200 after the first request is a cache miss (see
+ * Schedule2Test#getParticipantScheduleCachesTimeZoneAppropriately).
+ *
+ * Every request is charged to the participant's zone, to its current UTC offset, and, if it was
+ * made within an hour of the participant's local midnight, to a five-minute bucket around that
+ * midnight. Zones cross midnight throughout the day, so a run of a few minutes has traffic on
+ * both sides of some zone's midnight. The report gives latency and the 304 hit ratio by bucket
+ * (to show spikes at local-midnight boundaries) and by UTC offset, and the slowest zones.
+ * Configured with system properties:
+ *
+ * <ul>
+ *     <li>tzLoad.participants: participants, one per zone, spread evenly across the zones ordered
+ *     by offset (default 0, for every zone)</li>
+ *     <li>tzLoad.threads: concurrent requests (default 32; raise -Dhttp.maxConnectionsPerRoute to match)</li>
+ *     <li>tzLoad.thinkMillis: mean pause between a participant's fetches (default 5000)</li>
+ *     <li>tzLoad.durationSeconds: length of the run (default 600)</li>
+ *     <li>tzLoad.windowDays: days of scheduled activities requested (default 3)</li>
+ * </ul>
+ *
+ * Run with {@code mvn test -DjunitCategory=loadTests -Dtest=TimeZoneActivityLoadTest}. The report
+ * is written to target/timezone-load.txt, and per zone as CSV to target/timezone-load.csv.
+ */
+@Category(LoadTest.class)
+@SuppressWarnings("deprecation")
+public class TimeZoneActivityLoadTest {
+    private static final Logger LOG = LoggerFactory.getLogger(TimeZoneActivityLoadTest.class);
+
+    private static final String PARTICIPANT_SCHEDULE_URL = "/v5/studies/%s/participants/self/schedule?clientTimeZone=";
+    private static final int BUCKET_MINUTES = 5;
+    private static final int MIDNIGHT_MINUTES = 60;
+    private static final int SLOWEST_ZONES = 20;
+
+    private final int participantCount = Integer.getInteger("tzLoad.participants", 0);
+    private final int threads = Integer.getInteger("tzLoad.threads", 32);
+    private final long thinkMillis = Long.getLong("tzLoad.thinkMillis", 5000L);
+    private final long durationMillis = Long.getLong("tzLoad.durationSeconds", 600L) * 1000;
+    private final int windowDays = Integer.getInteger("tzLoad.windowDays", 3);
+
+    private final Map<String, Stats> zones = new ConcurrentHashMap<>();
+    private final Map<String, Stats> offsets = new ConcurrentHashMap<>();
+    private final Map<Integer, Stats> buckets = new ConcurrentHashMap<>();
+    private final Stats total = new Stats();
+    private final LatencyHistogram cold = new LatencyHistogram();
+    private volatile boolean running = true;
+
+    private String studyId;
+
+    /** What was measured for a zone, an offset, or a time around local midnight. */
+    private static final class Stats {
+        final LatencyHistogram activities = new LatencyHistogram();
+        final LatencyHistogram schedule = new LatencyHistogram();
+        final LongAdder notModified = new LongAdder();
+        final LongAdder modified = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        double hitRatio() {
+            long requests = notModified.sum() + modified.sum();
+            return (requests == 0) ? 0 : notModified.sum() * 100.0 / requests;
+        }
+    }
+
+    /** A participant in one zone, and the ETag of their last participant schedule. */
+    private final class Participant implements Runnable {
+        final TestUser user;
+        final ForConsentedUsersApi usersApi;
+        final DateTimeZone zone;
+        final ScheduledThreadPoolExecutor executor;
+        String etag;
+
+        Participant(TestUser user, DateTimeZone zone, ScheduledThreadPoolExecutor executor) {
+            this.user = user;
+            this.usersApi = user.getClient(ForConsentedUsersApi.class);
+            this.zone = zone;
+            this.executor = executor;
+        }
+
+        @Override
+        public void run() {
+            fetch(this);
+            if (running) {
+                executor.schedule(this, ThreadLocalRandom.current().nextLong(thinkMillis / 2, thinkMillis * 3 / 2),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void activitiesAcrossTimeZones() throws Exception {
+        List<DateTimeZone> zoneList = zones();
+        studyId = IsolatedStudy.create(TimeZoneActivityLoadTest.class);
+        String schedulePlanGuid = null;
+        Schedule2 schedule = null;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads);
+        try {
+            TestUser developer = Cleanup.user(Tests.createAndSignInUser(TimeZoneActivityLoadTest.class,
+                    false, DEVELOPER));
+            schedulePlanGuid = developer.getClient(SchedulesV1Api.class)
+                    .createSchedulePlan(Tests.getDailyRepeatingSchedulePlan()).execute().body().getGuid();
+            schedule = createSchedule(developer);
+
+            long start = System.currentTimeMillis();
+            List<Participant> participants = participants(zoneList, executor);
+            LOG.info("Created {} participants in {} zones in {} s", participants.size(), zoneList.size(),
+                    (System.currentTimeMillis() - start) / 1000);
+            for (Participant participant : participants) {
+                executor.schedule(participant, ThreadLocalRandom.current().nextLong(thinkMillis),
+                        TimeUnit.MILLISECONDS);
+            }
+            Thread.sleep(durationMillis);
+            running = false;
+            executor.shutdown();
+            executor.awaitTermination(thinkMillis * 2, TimeUnit.MILLISECONDS);
+
+            BenchmarkReport.write(Paths.get("target", "timezone-load.txt"),
+                    format("Scheduled activities and participant schedules for %d participants in %d zones, %d s",
+                            participants.size(), zoneList.size(), durationMillis / 1000), report());
+            BenchmarkReport.writeCsv(Paths.get("target", "timezone-load.csv"), csv());
+        } finally {
+            running = false;
+            executor.shutdownNow();
+            TestUser admin = Tests.getSignedInAdmin();
+            if (schedulePlanGuid != null) {
+                admin.getClient(SchedulesV1Api.class).deleteSchedulePlan(schedulePlanGuid, true).execute();
+            }
+            if (schedule != null) {
+                admin.getClient(SchedulesV2Api.class).deleteSchedule(schedule.getGuid()).execute();
+            }
+            IsolatedStudy.delete(TimeZoneActivityLoadTest.class);
+        }
+    }
+
+    /**
+     * The region zones (not the Etc/ and SystemV/ aliases) ordered by their current offset, or
+     * tzLoad.participants of them spread evenly across that order.
+     */
+    private List<DateTimeZone> zones() {
+        long now = System.currentTimeMillis();
+        List<DateTimeZone> all = new ArrayList<>();
+        for (String id : new TreeSet<>(ZoneId.getAvailableZoneIds())) {
+            if (!id.contains("/") || id.startsWith("Etc/") || id.startsWith("SystemV/")) {
+                continue;
+            }
+            try {
+                all.add(DateTimeZone.forID(id));
+            } catch (IllegalArgumentException e) {
+                LOG.debug("Joda does not know the zone {}", id);
+            }
+        }
+        all.sort(Comparator.comparingInt((DateTimeZone zone) -> zone.getOffset(now)).thenComparing(
+                DateTimeZone::getID));
+        if (participantCount <= 0 || participantCount >= all.size()) {
+            return all;
+        }
+        List<DateTimeZone> spread = new ArrayList<>();
+        for (int i = 0; i < participantCount; i++) {
+            spread.add(all.get((int) ((long) i * all.size() / participantCount)));
+        }
+        return spread;
+    }
+
+    /** A daily session at 08:00, as in Schedule2Test. */
+    private Schedule2 createSchedule(TestUser developer) throws Exception {
+        ForDevelopersApi developersApi = developer.getClient(ForDevelopersApi.class);
+        Study study = developersApi.getStudy(studyId).execute().body();
+        if (study.getScheduleGuid() != null) {
+            Tests.getSignedInAdmin().getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid())
+                    .execute();
+        }
+        Assessment assessment = developer.getClient(AssessmentsApi.class).createAssessment(new Assessment()
+                .identifier(Tests.randomIdentifier(getClass())).osName("Universal")
+                .ownerId(developer.getSession().getOrgMembership()).title(getClass().getSimpleName())).execute()
+                .body();
+        Cleanup.assessment(assessment.getGuid());
+        AssessmentReference2 ref = new AssessmentReference2().appId(TEST_APP_ID).guid(assessment.getGuid())
+                .identifier(assessment.getIdentifier());
+        Session session = new Session().name("Simple repeating assessment").interval("P1D")
+                .addStartEventIdsItem("enrollment").performanceOrder(SEQUENTIAL).addAssessmentsItem(ref)
+                .addTimeWindowsItem(new TimeWindow().startTime("08:00").expiration("PT1H"));
+        return developersApi.saveScheduleForStudy(studyId, new Schedule2().name("Time zone load schedule")
+                .duration("P4W").addSessionsItem(session)).execute().body();
+    }
+
+    /** An enrolled participant for each zone, created in parallel. */
+    private List<Participant> participants(List<DateTimeZone> zoneList, ScheduledThreadPoolExecutor scheduler)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, 16));
+        try {
+            List<Future<Participant>> futures = new ArrayList<>();
+            for (DateTimeZone zone : zoneList) {
+                futures.add(executor.submit(() -> {
+                    TestUser user = Cleanup.user(Tests.createAndSignInUser(TimeZoneActivityLoadTest.class,
+                            true));
+                    IsolatedStudy.enroll(studyId, user);
+                    return new Participant(user, zone, scheduler);
+                }));
+            }
+            List<Participant> participants = new ArrayList<>();
+            for (Future<Participant> future : futures) {
+                participants.add(future.get());
+            }
+            return participants;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void fetch(Participant participant) {
+        DateTime now = DateTime.now(participant.zone);
+        List<Stats> charged = new ArrayList<>();
+        charged.add(total);
+        charged.add(zones.computeIfAbsent(participant.zone.getID(), k -> new Stats()));
+        charged.add(offsets.computeIfAbsent(offset(participant.zone, now), k -> new Stats()));
+        // Signed minutes from the nearest local midnight.
+        int fromMidnight = (now.getMinuteOfDay() < 720) ? now.getMinuteOfDay() : now.getMinuteOfDay() - 1440;
+        if (Math.abs(fromMidnight) < MIDNIGHT_MINUTES) {
+            charged.add(buckets.computeIfAbsent(Math.floorDiv(fromMidnight, BUCKET_MINUTES) * BUCKET_MINUTES,
+                    k -> new Stats()));
+        }
+
+        try {
+            DateTime startOfDay = now.withTimeAtStartOfDay();
+            long start = System.nanoTime();
+            participant.usersApi.getScheduledActivitiesByDateRange(startOfDay, startOfDay.plusDays(windowDays))
+                    .execute();
+            long micros = (System.nanoTime() - start) / 1000;
+            for (Stats stats : charged) {
+                stats.activities.record(micros);
+            }
+        } catch (Exception e) {
+            LOG.debug("Scheduled activities failed in " + participant.zone, e);
+            charged.forEach(stats -> stats.errors.increment());
+        }
+
+        try {
+            Request request = Request.Get(participant.user.getClientManager().getHostUrl()
+                    + format(PARTICIPANT_SCHEDULE_URL, studyId) + participant.zone.getID())
+                    .setHeader("Bridge-Session", participant.user.getSession().getSessionToken());
+            if (participant.etag != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, participant.etag);
+            }
+            long start = System.nanoTime();
+            HttpResponse response = HttpTransport.execute(request).returnResponse();
+            long micros = (System.nanoTime() - start) / 1000;
+            int status = response.getStatusLine().getStatusCode();
+            if (status == 200 && participant.etag == null) {
+                // The first request sets the participant's time zone, so it can't be a hit.
+                cold.record(micros);
+            } else if (status == 200 || status == 304) {
+                for (Stats stats : charged) {
+                    stats.schedule.record(micros);
+                    (status == 304 ? stats.notModified : stats.modified).increment();
+                }
+            } else {
+                charged.forEach(stats -> stats.errors.increment());
+            }
+            if (status == 200) {
+                Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+                participant.etag = (etag == null) ? null : etag.getValue();
+            }
+        } catch (Exception e) {
+            LOG.debug("Participant schedule failed in " + participant.zone, e);
+            charged.forEach(stats -> stats.errors.increment());
+        }
+    }
+
+    private static String offset(DateTimeZone zone, DateTime now) {
+        int minutes = zone.getOffset(now) / 60000;
+        return format("%s%02d:%02d", (minutes < 0) ? "-" : "+", Math.abs(minutes) / 60, Math.abs(minutes) % 60);
+    }
+
+    private List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add(format("%d scheduled activity requests, %d participant schedule revalidations (%.1f%% 304), "
+                + "%d errors", total.activities.getCount(), total.schedule.getCount(), total.hitRatio(),
+                total.errors.sum()));
+        lines.add(format("%-26s %7s %8s %8s %8s %8s", "", "count", "p50ms", "p95ms", "p99ms", "maxms"));
+        lines.add(format("%-26s %s", "activities", ApiMetrics.percentiles(total.activities)));
+        lines.add(format("%-26s %s", "schedule (revalidated)", ApiMetrics.percentiles(total.schedule)));
+        lines.add(format("%-26s %s", "schedule (first request)", ApiMetrics.percentiles(cold)));
+
+        lines.add("");
+        lines.add("Around local midnight (minutes from midnight):");
+        lines.add(header("minutes"));
+        for (Map.Entry<Integer, Stats> entry : new TreeMap<>(buckets).entrySet()) {
+            lines.add(row(format("%+d..%+d", entry.getKey(), entry.getKey() + BUCKET_MINUTES), entry.getValue()));
+        }
+
+        lines.add("");
+        lines.add("By UTC offset:");
+        lines.add(header("offset"));
+        Map<String, Stats> byOffset = new TreeMap<>(Comparator.comparingInt(TimeZoneActivityLoadTest::offsetMinutes));
+        byOffset.putAll(offsets);
+        for (Map.Entry<String, Stats> entry : byOffset.entrySet()) {
+            lines.add(row(entry.getKey(), entry.getValue()));
+        }
+
+        lines.add("");
+        lines.add(format("Slowest %d zones by scheduled activities p95:", SLOWEST_ZONES));
+        lines.add(header("zone"));
+        List<Map.Entry<String, Stats>> slowest = new ArrayList<>(zones.entrySet());
+        slowest.sort((a, b) -> Long.compare(b.getValue().activities.getValueAtPercentile(95),
+                a.getValue().activities.getValueAtPercentile(95)));
+        for (Map.Entry<String, Stats> entry : slowest.subList(0, Math.min(SLOWEST_ZONES, slowest.size()))) {
+            lines.add(row(entry.getKey(), entry.getValue()));
+        }
+        return lines;
+    }
+
+    private static int offsetMinutes(String offset) {
+        int minutes = Integer.parseInt(offset.substring(1, 3)) * 60 + Integer.parseInt(offset.substring(4, 6));
+        return offset.startsWith("-") ? -minutes : minutes;
+    }
+
+    private static String header(String label) {
+        return format("%-32s %7s %9s %9s %9s %7s %9s %9s %6s %6s", label, "act", "act p50", "act p95", "act p99",
+                "sched", "sched p50", "sched p95", "304%", "errors");
+    }
+
+    private static String row(String label, Stats stats) {
+        return format("%-32s %7d %9.1f %9.1f %9.1f %7d %9.1f %9.1f %6.1f %6d", label, stats.activities.getCount(),
+                millis(stats.activities, 50), millis(stats.activities, 95), millis(stats.activities, 99),
+                stats.schedule.getCount(), millis(stats.schedule, 50), millis(stats.schedule, 95), stats.hitRatio(),
+                stats.errors.sum());
+    }
+
+    private List<String> csv() {
+        List<String> lines = new ArrayList<>();
+        lines.add("zone,activities,activitiesP50Ms,activitiesP95Ms,activitiesP99Ms,schedules,scheduleP50Ms,"
+                + "scheduleP95Ms,scheduleP99Ms,hitPercent,errors");
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(zones).entrySet()) {
+            Stats stats = entry.getValue();
+            lines.add(format("%s,%d,%.1f,%.1f,%.1f,%d,%.1f,%.1f,%.1f,%.1f,%d", entry.getKey(),
+                    stats.activities.getCount(), millis(stats.activities, 50), millis(stats.activities, 95),
+                    millis(stats.activities, 99), stats.schedule.getCount(), millis(stats.schedule, 50),
+                    millis(stats.schedule, 95), millis(stats.schedule, 99), stats.hitRatio(), stats.errors.sum()));
+        }
+        return lines;
+    }
+}
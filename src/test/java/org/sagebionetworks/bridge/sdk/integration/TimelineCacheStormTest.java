@@ -0,0 +1,341 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static java.lang.String.format;
+import static org.sagebionetworks.bridge.rest.model.PerformanceOrder.SEQUENTIAL;
+import static org.sagebionetworks.bridge.rest.model.Role.STUDY_DESIGNER;
+import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.net.HttpHeaders;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.fluent.Request;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.sagebionetworks.bridge.rest.api.AssessmentsApi;
+import org.sagebionetworks.bridge.rest.api.ForStudyDesignersApi;
+import org.sagebionetworks.bridge.rest.api.SchedulesV2Api;
+import org.sagebionetworks.bridge.rest.api.StudiesApi;
+import org.sagebionetworks.bridge.rest.model.Assessment;
+import org.sagebionetworks.bridge.rest.model.AssessmentReference2;
+import org.sagebionetworks.bridge.rest.model.Schedule2;
+import org.sagebionetworks.bridge.rest.model.Session;
+import org.sagebionetworks.bridge.rest.model.Study;
+import org.sagebionetworks.bridge.rest.model.TimeWindow;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * Simulates pushing a schedule change to a live study. Thousands of simulated participants
+ * fetch their timeline ({@code /v5/studies/{id}/participants/self/timeline}) over and over,
+ * each sending the ETag of its last 200 response, while a study designer re-saves the schedule
+ * at intervals, which invalidates every cached timeline at once (see EtagsTest).
+ *
+ * The report gives the 304 hit ratio and latency percentiles of 304s, of 200s in steady state,
+ * and of the 200s in the herd that follows each save (requests started after the save, until
+ * the cache has re-warmed). Right after each save one session fetches the timeline back to
+ * back, so the participants' think time isn't counted; for each save the report gives how long
+ * until that probe first got a 304, and how long until the median of its last few fetches was
+ * within cacheStorm.rewarmTolerancePercent of the participants' 304 p50 before the save.
+ *
+ * The schedule has the shape of Schedule2Test's and EtagsTest's: sessions of one assessment,
+ * started by enrollment and repeated daily, each with a window at 08:00 that expires in an hour.
+ * Every save re-sends the same schedule, with only its name changed.
+ *
+ * The timeline's ETag is the schedule's, shared by all participants, so the simulated
+ * participants share a smaller pool of real sessions (they would otherwise cost an account
+ * each). Configured with system properties:
+ *
+ * <ul>
+ *     <li>cacheStorm.participants: simulated participants (default 2000)</li>
+ *     <li>cacheStorm.sessions: real participant sessions they share (default 20)</li>
+ *     <li>cacheStorm.threads: concurrent requests (default 64; raise -Dhttp.maxConnectionsPerRoute to match)</li>
+ *     <li>cacheStorm.thinkMillis: mean pause between a participant's fetches (default 10000)</li>
+ *     <li>cacheStorm.saveIntervalSeconds: time between schedule saves (default 30)</li>
+ *     <li>cacheStorm.durationSeconds: length of the run (default 180)</li>
+ *     <li>cacheStorm.rewarmTolerancePercent: how far above the pre-save 304 p50 counts as re-warmed (default 20)</li>
+ *     <li>cacheStorm.scheduleSessions: sessions in the schedule (default 1)</li>
+ *     <li>cacheStorm.interval: how often each session repeats (default P1D)</li>
+ *     <li>cacheStorm.duration: the schedule's duration (default P10W)</li>
+ * </ul>
+ *
+ * Run with {@code mvn test -DjunitCategory=loadTests -Dtest=TimelineCacheStormTest}. The report
+ * is written to target/timeline-cache-storm.txt.
+ */
+@Category(LoadTest.class)
+public class TimelineCacheStormTest {
+    private static final Logger LOG = LoggerFactory.getLogger(TimelineCacheStormTest.class);
+
+    private static final String PARTICIPANT_SELF_TIMELINE_URL = "/v5/studies/%s/participants/self/timeline";
+    /** How many of the probe's fetches the rolling median is taken over. */
+    private static final int PROBE_WINDOW = 5;
+
+    private final int participantCount = Integer.getInteger("cacheStorm.participants", 2000);
+    private final int sessionCount = Integer.getInteger("cacheStorm.sessions", 20);
+    private final int threads = Integer.getInteger("cacheStorm.threads", 64);
+    private final long thinkMillis = Long.getLong("cacheStorm.thinkMillis", 10000L);
+    private final long saveIntervalMillis = Long.getLong("cacheStorm.saveIntervalSeconds", 30L) * 1000;
+    private final long durationMillis = Long.getLong("cacheStorm.durationSeconds", 180L) * 1000;
+    private final int rewarmTolerancePercent = Integer.getInteger("cacheStorm.rewarmTolerancePercent", 20);
+    private final int scheduleSessions = Integer.getInteger("cacheStorm.scheduleSessions", 1);
+    private final String interval = System.getProperty("cacheStorm.interval", "P1D");
+    private final String duration = System.getProperty("cacheStorm.duration", "P10W");
+
+    private final LatencyHistogram notModified = new LatencyHistogram();
+    private final LatencyHistogram steadyOk = new LatencyHistogram();
+    private final LatencyHistogram herdOk = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    /** The participants' 304s since the last save, for the baseline of the next one. */
+    private volatile LatencyHistogram window = new LatencyHistogram();
+
+    private final List<Invalidation> invalidations = new ArrayList<>();
+    private volatile Invalidation current;
+    private volatile boolean running = true;
+    /** The ETag of the schedule as last saved, for timeline responses that don't carry one. */
+    private volatile String scheduleEtag;
+
+    private String studyId;
+    private String url;
+
+    /** One save of the schedule, and how the participants caught up with it. */
+    private static final class Invalidation {
+        final long savedAtNanos;
+        final long saveMillis;
+        final long baselineMicros;
+        final LatencyHistogram herd = new LatencyHistogram();
+        long firstNotModifiedNanos;
+        long rewarmedNanos;
+
+        Invalidation(long savedAtNanos, long saveMillis, long baselineMicros) {
+            this.savedAtNanos = savedAtNanos;
+            this.saveMillis = saveMillis;
+            this.baselineMicros = baselineMicros;
+        }
+    }
+
+    /** A simulated participant: a session to use, and the ETag and time of its last 200. */
+    private final class Participant implements Runnable {
+        final TestUser user;
+        final ScheduledExecutorService executor;
+        String etag;
+        long refreshedAtNanos;
+
+        Participant(TestUser user, ScheduledExecutorService executor) {
+            this.user = user;
+            this.executor = executor;
+        }
+
+        @Override
+        public void run() {
+            try {
+                fetch(this);
+            } catch (Exception e) {
+                LOG.debug("Timeline fetch failed", e);
+                errors.increment();
+            }
+            if (running) {
+                executor.schedule(this, ThreadLocalRandom.current().nextLong(thinkMillis / 2, thinkMillis * 3 / 2),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void invalidationStorm() throws Exception {
+        studyId = IsolatedStudy.create(TimelineCacheStormTest.class);
+        url = format(PARTICIPANT_SELF_TIMELINE_URL, studyId);
+        Schedule2 schedule = null;
+        List<TestUser> users = new ArrayList<>();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads);
+        try {
+            TestUser designer = Cleanup.user(Tests.createAndSignInUser(TimelineCacheStormTest.class, false,
+                    STUDY_DESIGNER));
+            SchedulesV2Api schedulesApi = designer.getClient(SchedulesV2Api.class);
+            // If there's a schedule associated to the study, we need to delete it.
+            TestUser admin = Tests.getSignedInAdmin();
+            Study study = admin.getClient(StudiesApi.class).getStudy(studyId).execute().body();
+            if (study.getScheduleGuid() != null) {
+                admin.getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid()).execute();
+            }
+            ForStudyDesignersApi designApi = designer.getClient(ForStudyDesignersApi.class);
+            schedule = schedule(admin);
+            schedule = schedulesApi.saveScheduleForStudy(studyId, schedule).execute().body();
+            scheduleEtag = designApi.getScheduleForStudy(studyId).execute().headers().get(HttpHeaders.ETAG);
+
+            for (int i = 0; i < sessionCount; i++) {
+                TestUser user = TestUserPool.lease(TimelineCacheStormTest.class, true);
+                users.add(user);
+                IsolatedStudy.enroll(studyId, user);
+                // The first retrieval records the timeline_retrieved event; get that out of the way.
+                HttpTransport.execute(get(user, null)).discardContent();
+            }
+            for (int i = 0; i < participantCount; i++) {
+                executor.schedule(new Participant(users.get(i % users.size()), executor),
+                        ThreadLocalRandom.current().nextLong(thinkMillis), TimeUnit.MILLISECONDS);
+            }
+
+            long end = System.currentTimeMillis() + durationMillis;
+            long nextSave = System.currentTimeMillis() + saveIntervalMillis;
+            for (int revision = 1; nextSave < end; revision++, nextSave += saveIntervalMillis) {
+                Thread.sleep(Math.max(0, nextSave - System.currentTimeMillis()));
+                schedule.setName("Timeline cache storm [" + revision + "]");
+                String staleEtag = scheduleEtag;
+                long baselineMicros = window.getValueAtPercentile(50);
+                window = new LatencyHistogram();
+                long start = System.nanoTime();
+                schedule = schedulesApi.saveScheduleForStudy(studyId, schedule).execute().body();
+                Invalidation invalidation = new Invalidation(start, (System.nanoTime() - start) / 1000000,
+                        baselineMicros);
+                invalidations.add(invalidation);
+                current = invalidation;
+                scheduleEtag = designApi.getScheduleForStudy(studyId).execute().headers().get(HttpHeaders.ETAG);
+                probe(users.get(0), staleEtag, invalidation,
+                        start + TimeUnit.MILLISECONDS.toNanos(saveIntervalMillis));
+            }
+            Thread.sleep(Math.max(0, end - System.currentTimeMillis()));
+            running = false;
+            executor.shutdown();
+            executor.awaitTermination(thinkMillis * 2, TimeUnit.MILLISECONDS);
+
+            BenchmarkReport.write(Paths.get("target", "timeline-cache-storm.txt"),
+                    format("Timeline cache storm: %d participants on %d sessions, a save every %d s for %d s",
+                            participantCount, users.size(), saveIntervalMillis / 1000, durationMillis / 1000),
+                    report());
+        } finally {
+            running = false;
+            executor.shutdownNow();
+            for (TestUser user : users) {
+                TestUserPool.release(user);
+            }
+            if (schedule != null) {
+                Tests.getSignedInAdmin().getClient(SchedulesV2Api.class).deleteSchedule(schedule.getGuid())
+                        .execute();
+            }
+            IsolatedStudy.delete(TimelineCacheStormTest.class);
+        }
+    }
+
+    /** The schedule the storm starts with (see the class comment). */
+    private Schedule2 schedule(TestUser admin) throws Exception {
+        Assessment assessment = admin.getClient(AssessmentsApi.class).createAssessment(new Assessment()
+                .identifier(Tests.randomIdentifier(getClass())).osName("Universal")
+                .ownerId(admin.getSession().getOrgMembership()).title("Timeline cache storm")).execute().body();
+        Cleanup.assessment(assessment.getGuid());
+        AssessmentReference2 ref = new AssessmentReference2().appId(TEST_APP_ID).guid(assessment.getGuid())
+                .identifier(assessment.getIdentifier());
+
+        Schedule2 schedule = new Schedule2().name("Timeline cache storm [0]").duration(duration);
+        for (int i = 0; i < scheduleSessions; i++) {
+            schedule.addSessionsItem(new Session().name("Session #" + (i + 1)).interval(interval)
+                    .addStartEventIdsItem("enrollment").performanceOrder(SEQUENTIAL).addAssessmentsItem(ref)
+                    .addTimeWindowsItem(new TimeWindow().startTime("08:00").expiration("PT1H")));
+        }
+        return schedule;
+    }
+
+    private Request get(TestUser user, String etag) {
+        Request request = Request.Get(user.getClientManager().getHostUrl() + url)
+                .setHeader("Bridge-Session", user.getSession().getSessionToken());
+        return (etag == null) ? request : request.setHeader(HttpHeaders.IF_NONE_MATCH, etag);
+    }
+
+    /**
+     * Fetch the timeline back to back after a save, starting from the ETag before it, until the
+     * median of the last PROBE_WINDOW fetches is back within the tolerance of the pre-save 304
+     * p50, or the deadline passes.
+     */
+    private void probe(TestUser user, String etag, Invalidation invalidation, long deadlineNanos)
+            throws Exception {
+        long limitMicros = invalidation.baselineMicros * (100 + rewarmTolerancePercent) / 100;
+        long[] recent = new long[PROBE_WINDOW];
+        for (int i = 0; System.nanoTime() < deadlineNanos; i++) {
+            long start = System.nanoTime();
+            HttpResponse response = HttpTransport.execute(get(user, etag)).returnResponse();
+            long now = System.nanoTime();
+            recent[i % PROBE_WINDOW] = (now - start) / 1000;
+            int status = response.getStatusLine().getStatusCode();
+            if (status == 200) {
+                Header header = response.getFirstHeader(HttpHeaders.ETAG);
+                etag = (header == null) ? scheduleEtag : header.getValue();
+            } else if (status == 304 && invalidation.firstNotModifiedNanos == 0) {
+                invalidation.firstNotModifiedNanos = now;
+            }
+            if (invalidation.firstNotModifiedNanos != 0 && i + 1 >= PROBE_WINDOW
+                    && (limitMicros == 0 || median(recent) <= limitMicros)) {
+                invalidation.rewarmedNanos = now;
+                return;
+            }
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private void fetch(Participant participant) throws Exception {
+        Invalidation invalidation = current;
+        long start = System.nanoTime();
+        HttpResponse response = HttpTransport.execute(get(participant.user, participant.etag)).returnResponse();
+        long micros = (System.nanoTime() - start) / 1000;
+        // Whether this request was made after the last save, and the participant hasn't caught up with it yet.
+        boolean afterSave = invalidation != null && start > invalidation.savedAtNanos;
+        int status = response.getStatusLine().getStatusCode();
+        if (status == 304) {
+            notModified.record(micros);
+            window.record(micros);
+        } else if (status == 200) {
+            Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+            participant.etag = (etag == null) ? scheduleEtag : etag.getValue();
+            if (afterSave && participant.refreshedAtNanos < invalidation.savedAtNanos) {
+                herdOk.record(micros);
+                invalidation.herd.record(micros);
+            } else {
+                steadyOk.record(micros);
+            }
+            participant.refreshedAtNanos = System.nanoTime();
+        } else {
+            errors.increment();
+        }
+    }
+
+    private List<String> report() {
+        long total = notModified.getCount() + steadyOk.getCount() + herdOk.getCount() + errors.sum();
+        List<String> lines = new ArrayList<>();
+        lines.add(format("%d requests, %.1f%% 304, %d errors", total,
+                (total == 0) ? 0 : notModified.getCount() * 100.0 / total, errors.sum()));
+        lines.add(format("%-14s %7s %8s %8s %8s %8s", "Response", "count", "p50ms", "p95ms", "p99ms", "maxms"));
+        lines.add(format("%-14s %s", "304", ApiMetrics.percentiles(notModified)));
+        lines.add(format("%-14s %s", "200 (steady)", ApiMetrics.percentiles(steadyOk)));
+        lines.add(format("%-14s %s", "200 (herd)", ApiMetrics.percentiles(herdOk)));
+        lines.add("");
+        lines.add(format("%4s %8s %9s %14s %12s %9s %9s %9s", "save", "save ms", "base p50", "first 304 ms",
+                "rewarm ms", "herd", "herd p50", "herd p95"));
+        for (int i = 0; i < invalidations.size(); i++) {
+            Invalidation invalidation = invalidations.get(i);
+            lines.add(format("%4d %8d %9.1f %14s %12s %9d %9.1f %9.1f", i + 1, invalidation.saveMillis,
+                    invalidation.baselineMicros / 1000.0,
+                    sinceSave(invalidation, invalidation.firstNotModifiedNanos),
+                    sinceSave(invalidation, invalidation.rewarmedNanos), invalidation.herd.getCount(),
+                    invalidation.herd.getValueAtPercentile(50) / 1000.0,
+                    invalidation.herd.getValueAtPercentile(95) / 1000.0));
+        }
+        return lines;
+    }
+
+    private static String sinceSave(Invalidation invalidation, long nanos) {
+        return (nanos == 0) ? "never" : Long.toString((nanos - invalidation.savedAtNanos) / 1000000);
+    }
+}
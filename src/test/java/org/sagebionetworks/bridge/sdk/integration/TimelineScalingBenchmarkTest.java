@@ -0,0 +1,251 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static java.lang.String.format;
+import static org.sagebionetworks.bridge.rest.model.Role.DEVELOPER;
+import static org.sagebionetworks.bridge.sdk.integration.BenchmarkReport.millis;
+import static org.sagebionetworks.bridge.sdk.integration.InitListener.CLINIC_VISIT;
+import static org.sagebionetworks.bridge.sdk.integration.InitListener.EVENT_KEY1;
+import static org.sagebionetworks.bridge.sdk.integration.InitListener.EVENT_KEY2;
+import static org.sagebionetworks.bridge.sdk.integration.InitListener.EVENT_KEY3;
+import static org.sagebionetworks.bridge.sdk.integration.InitListener.FAKE_ENROLLMENT;
+import static org.sagebionetworks.bridge.util.IntegTestUtils.TEST_APP_ID;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.fluent.Request;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.sagebionetworks.bridge.rest.RestUtils;
+import org.sagebionetworks.bridge.rest.api.AssessmentsApi;
+import org.sagebionetworks.bridge.rest.api.ForDevelopersApi;
+import org.sagebionetworks.bridge.rest.api.SchedulesV2Api;
+import org.sagebionetworks.bridge.rest.model.Assessment;
+import org.sagebionetworks.bridge.rest.model.AssessmentReference2;
+import org.sagebionetworks.bridge.rest.model.PerformanceOrder;
+import org.sagebionetworks.bridge.rest.model.Schedule2;
+import org.sagebionetworks.bridge.rest.model.Session;
+import org.sagebionetworks.bridge.rest.model.Study;
+import org.sagebionetworks.bridge.rest.model.TimeWindow;
+import org.sagebionetworks.bridge.rest.model.Timeline;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * Measures how the cost of a Schedule2 grows with its design, one axis at a time: the number
+ * of sessions, time windows per session, start event IDs per session, the session interval,
+ * and the schedule's duration. The other axes stay at the baseline (one session with one
+ * window and one start event, weekly for ten weeks). For each schedule the report gives the
+ * latency of saving it, of the study timeline GET (what designers preview) and of the
+ * participant's timeline GET (what the app fetches at launch), with the number of scheduled
+ * sessions in the timeline and the size of the participant timeline, as sent and gzipped.
+ * The first GETs after each save, which find no cached timeline on the server, are reported
+ * separately as cold latencies; the other percentiles are over warm GETs only.
+ * A schedule the server rejects is reported with its error, and the axis goes on. Timelines
+ * whose participant GET is slower than timeline.budgetMillis are marked, so the last unmarked
+ * row of an axis is the largest design that fits the budget. Configured with system properties:
+ *
+ * <ul>
+ *     <li>timeline.sessions: session counts (default 1,10,25,50,100)</li>
+ *     <li>timeline.windows: time windows per session (default 1,4,12,24)</li>
+ *     <li>timeline.events: start event IDs per session (default 1,2,4,7)</li>
+ *     <li>timeline.intervals: session intervals (default P14D,P7D,P2D,P1D)</li>
+ *     <li>timeline.durations: schedule durations, with a daily session (default P10W,P26W,P52W,P104W,P156W)</li>
+ *     <li>timeline.repeats: times each request is made (default 5)</li>
+ *     <li>timeline.budgetMillis: participant timeline latency budget (default 1000)</li>
+ * </ul>
+ *
+ * Run with {@code mvn test -DjunitCategory=loadTests -Dtest=TimelineScalingBenchmarkTest}. The
+ * report is written to target/timeline-scaling.txt, and as CSV to target/timeline-scaling.csv.
+ */
+@Category(LoadTest.class)
+public class TimelineScalingBenchmarkTest {
+    private static final String PARTICIPANT_SELF_TIMELINE_URL = "/v5/studies/%s/participants/self/timeline";
+    private static final String TIMELINE_URL = "/v5/studies/%s/timeline";
+    private static final List<String> EVENT_IDS = ImmutableList.of("enrollment", "timeline_retrieved", EVENT_KEY1,
+            EVENT_KEY2, EVENT_KEY3, FAKE_ENROLLMENT, CLINIC_VISIT);
+
+    private final int repeats = Integer.getInteger("timeline.repeats", 5);
+    private final long budgetMillis = Long.getLong("timeline.budgetMillis", 1000L);
+
+    private String studyId;
+    private TestUser developer;
+    private TestUser participant;
+    private AssessmentReference2 assessment;
+    // The study's schedule, which each design replaces.
+    private Schedule2 saved;
+
+    /** The shape of a schedule. */
+    private static final class Design {
+        int sessions = 1;
+        int windows = 1;
+        int events = 1;
+        String interval = "P7D";
+        String duration = "P10W";
+    }
+
+    private interface Axis {
+        void apply(Design design, String value);
+    }
+
+    @Test
+    public void timelineScaling() throws Exception {
+        studyId = IsolatedStudy.create(TimelineScalingBenchmarkTest.class);
+        try {
+            setUp();
+            List<String> lines = new ArrayList<>();
+            List<String> csv = new ArrayList<>();
+            csv.add("axis,value,saveP50Ms,studyTimelineColdMs,studyTimelineP50Ms,participantTimelineColdMs,"
+                    + "participantTimelineP50Ms,participantTimelineP95Ms,scheduledSessions,bytes,gzipBytes,error");
+            measureAxis(lines, csv, "sessions", "1,10,25,50,100", (d, v) -> d.sessions = Integer.parseInt(v));
+            measureAxis(lines, csv, "windows", "1,4,12,24", (d, v) -> d.windows = Integer.parseInt(v));
+            measureAxis(lines, csv, "events", "1,2,4,7", (d, v) -> d.events = Integer.parseInt(v));
+            measureAxis(lines, csv, "intervals", "P14D,P7D,P2D,P1D", (d, v) -> d.interval = v);
+            measureAxis(lines, csv, "durations", "P10W,P26W,P52W,P104W,P156W", (d, v) -> {
+                d.interval = "P1D";
+                d.duration = v;
+            });
+            BenchmarkReport.write(Paths.get("target", "timeline-scaling.txt"),
+                    format("Schedule2 timeline scaling (participant timeline budget %d ms, * = over)", budgetMillis),
+                    lines);
+            BenchmarkReport.writeCsv(Paths.get("target", "timeline-scaling.csv"), csv);
+        } finally {
+            if (saved != null) {
+                Tests.getSignedInAdmin().getClient(SchedulesV2Api.class).deleteSchedule(saved.getGuid()).execute();
+            }
+            IsolatedStudy.delete(TimelineScalingBenchmarkTest.class);
+        }
+    }
+
+    private void setUp() throws Exception {
+        developer = Cleanup.user(Tests.createAndSignInUser(TimelineScalingBenchmarkTest.class, false,
+                DEVELOPER));
+        participant = Cleanup.user(Tests.createAndSignInUser(TimelineScalingBenchmarkTest.class, true));
+        IsolatedStudy.enroll(studyId, participant);
+
+        // If there's a schedule associated to the study, we need to delete it.
+        Study study = developer.getClient(ForDevelopersApi.class).getStudy(studyId).execute().body();
+        if (study.getScheduleGuid() != null) {
+            Tests.getSignedInAdmin().getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid())
+                    .execute();
+        }
+        Assessment created = developer.getClient(AssessmentsApi.class).createAssessment(new Assessment()
+                .identifier(Tests.randomIdentifier(getClass())).osName("Universal")
+                .ownerId(developer.getSession().getOrgMembership()).title("Timeline scaling")).execute().body();
+        Cleanup.assessment(created.getGuid());
+        assessment = new AssessmentReference2().appId(TEST_APP_ID).identifier(created.getIdentifier())
+                .guid(created.getGuid());
+    }
+
+    private void measureAxis(List<String> lines, List<String> csv, String axis, String defaultValues, Axis setter)
+            throws Exception {
+        lines.add("");
+        lines.add(format("%-10s %8s %9s %10s %9s %9s %9s %9s %10s %10s %9s", axis, "value", "save p50",
+                "study cold", "study p50", "self cold", "self p50", "self p95", "scheduled", "bytes", "gzipped"));
+        for (String value : BenchmarkReport.listProperty("timeline." + axis, defaultValues)) {
+            Design design = new Design();
+            setter.apply(design, value);
+            LatencyHistogram save = new LatencyHistogram();
+            LatencyHistogram studyCold = new LatencyHistogram();
+            LatencyHistogram studyTimeline = new LatencyHistogram();
+            LatencyHistogram selfCold = new LatencyHistogram();
+            LatencyHistogram selfTimeline = new LatencyHistogram();
+            String body = null;
+            String error = null;
+            try {
+                for (int i = 0; i < repeats; i++) {
+                    Schedule2 schedule = schedule(design);
+                    if (saved != null) {
+                        schedule.guid(saved.getGuid()).version(saved.getVersion());
+                    }
+                    long start = System.nanoTime();
+                    saved = developer.getClient(ForDevelopersApi.class).saveScheduleForStudy(studyId, schedule)
+                            .execute().body();
+                    save.record((System.nanoTime() - start) / 1000);
+                    // The save invalidates the cached timelines, so these are cold.
+                    get(participant, format(PARTICIPANT_SELF_TIMELINE_URL, studyId), selfCold);
+                    get(developer, format(TIMELINE_URL, studyId), studyCold);
+                }
+                for (int i = 0; i < repeats; i++) {
+                    get(developer, format(TIMELINE_URL, studyId), studyTimeline);
+                    body = get(participant, format(PARTICIPANT_SELF_TIMELINE_URL, studyId), selfTimeline);
+                }
+            } catch (Exception e) {
+                error = e.getMessage();
+            }
+            if (error != null) {
+                lines.add(format("%-10s %8s rejected: %s", "", value, error));
+                csv.add(format("%s,%s,,,,,,,,,,\"%s\"", axis, value, error.replace('"', '\'')));
+                continue;
+            }
+            int scheduled = RestUtils.GSON.fromJson(body, Timeline.class).getSchedule().size();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            long gzipped = gzippedSize(bytes);
+            double selfP50 = millis(selfTimeline, 50);
+            lines.add(format("%-10s %8s %9.1f %10.1f %9.1f %9.1f %9.1f %9.1f %10d %10d %9d%s", "", value,
+                    millis(save, 50), millis(studyCold, 50), millis(studyTimeline, 50), millis(selfCold, 50), selfP50,
+                    millis(selfTimeline, 95), scheduled, bytes.length, gzipped, (selfP50 > budgetMillis) ? " *" : ""));
+            csv.add(format("%s,%s,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%d,%d,", axis, value, millis(save, 50),
+                    millis(studyCold, 50), millis(studyTimeline, 50), millis(selfCold, 50), selfP50,
+                    millis(selfTimeline, 95), scheduled, bytes.length, gzipped));
+        }
+    }
+
+    /**
+     * A schedule of the design. Sessions start on successive days of the week, and each
+     * session's windows are spread evenly over the day.
+     */
+    private Schedule2 schedule(Design design) {
+        Schedule2 schedule = new Schedule2().name("Timeline scaling [" + design.sessions + "x" + design.windows
+                + "]").duration(design.duration);
+        int windowMinutes = 24 * 60 / design.windows;
+        for (int i = 0; i < design.sessions; i++) {
+            Session session = new Session().name("Session #" + (i + 1)).interval(design.interval)
+                    .performanceOrder(PerformanceOrder.SEQUENTIAL).addAssessmentsItem(assessment);
+            if (i % 7 > 0) {
+                session.delay("P" + (i % 7) + "D");
+            }
+            for (int e = 0; e < design.events; e++) {
+                session.addStartEventIdsItem(EVENT_IDS.get(e));
+            }
+            for (int w = 0; w < design.windows; w++) {
+                int start = w * windowMinutes;
+                session.addTimeWindowsItem(new TimeWindow().startTime(format("%02d:%02d", start / 60, start % 60))
+                        .expiration("PT" + Math.max(1, windowMinutes - 1) + "M"));
+            }
+            schedule.addSessionsItem(session);
+        }
+        return schedule;
+    }
+
+    /** GET the URL as the user, timing it, and return the body. */
+    private static String get(TestUser user, String path, LatencyHistogram latency) throws IOException {
+        long start = System.nanoTime();
+        HttpResponse response = HttpTransport.execute(Request.Get(user.getClientManager().getHostUrl() + path)
+                .setHeader("Bridge-Session", user.getSession().getSessionToken())).returnResponse();
+        String body = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+        latency.record((System.nanoTime() - start) / 1000);
+        if (response.getStatusLine().getStatusCode() != 200) {
+            throw new IOException(path + " returned " + response.getStatusLine().getStatusCode() + ": " + body);
+        }
+        return body;
+    }
+
+    private static long gzippedSize(byte[] bytes) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream(ByteStreams.nullOutputStream());
+        try (OutputStream gzip = new GZIPOutputStream(counter)) {
+            gzip.write(bytes);
+        }
+        return counter.getCount();
+    }
+}
@@ -9,7 +9,6 @@ import org.sagebionetworks.bridge.rest.model.SignIn;
 import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.rest.model.UserSessionInfo;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import static org.junit.Assert.assertEquals;
 import static org.sagebionetworks.bridge.sdk.integration.Tests.API_SIGNIN;
@@ -19,7 +18,7 @@ public class UTF8Test {
     public void canSaveAndRetrieveDataStoredInDynamo() throws Exception {
         String appId = Tests.randomIdentifier(getClass());
         String appName = "☃지구상의　３대　극지라　불리는";
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         ForSuperadminsApi superadminApi = admin.getClient(ForSuperadminsApi.class);
         AuthenticationApi authApi = admin.getClient(AuthenticationApi.class);
 
@@ -52,7 +51,7 @@ public class UTF8Test {
 
     @Test
     public void canSaveAndRetrieveDataStoredInRedis() throws Exception {
-        TestUser testUser = TestUserHelper.createAndSignInUser(UTF8Test.class, true);
+        TestUser testUser = Tests.createAndSignInUser(UTF8Test.class, true);
         try {
             ForConsentedUsersApi usersApi = testUser.getClient(ForConsentedUsersApi.class);
 
@@ -18,7 +18,6 @@ import org.sagebionetworks.bridge.rest.model.SignUp;
 import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.rest.model.UserSessionInfo;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 public class UpdateIdentifiersTest {
     private TestUser user;
@@ -37,7 +36,7 @@ public class UpdateIdentifiersTest {
     @Test
     public void addPhoneViaUpdate() throws Exception {
         SignUp signUp = new SignUp().appId(TEST_APP_ID).password(PASSWORD);
-        user = TestUserHelper.createAndSignInUser(UpdateIdentifiersTest.class, true, signUp);
+        user = Tests.createAndSignInUser(UpdateIdentifiersTest.class, true, signUp);
         
         IdentifierUpdate update = new IdentifierUpdate().signIn(user.getSignIn()).phoneUpdate(PHONE);
         
@@ -55,7 +54,7 @@ public class UpdateIdentifiersTest {
     public void addSynapseUserIdViaUpdate() throws Exception {
         String synapseUserId = RandomStringUtils.randomNumeric(5);
         SignUp signUp = new SignUp().appId(TEST_APP_ID).password(PASSWORD);
-        user = TestUserHelper.createAndSignInUser(UpdateIdentifiersTest.class, true, signUp);
+        user = Tests.createAndSignInUser(UpdateIdentifiersTest.class, true, signUp);
         
         IdentifierUpdate update = new IdentifierUpdate().signIn(user.getSignIn()).synapseUserIdUpdate(synapseUserId);
         
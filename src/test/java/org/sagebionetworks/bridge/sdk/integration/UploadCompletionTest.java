@@ -0,0 +1,150 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.sagebionetworks.bridge.sdk.integration.BenchmarkReport.millis;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
+import org.sagebionetworks.bridge.sdk.integration.UploadPipeline.Completion;
+import org.sagebionetworks.bridge.sdk.integration.UploadPipeline.Phase;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * Compares the ways of completing an upload under load: asynchronous completion and polling,
+ * synchronous completion, and redrive (see UploadPipeline.Completion). The same batch of
+ * uploads is run through each mode at each concurrency level, and the report gives, per level
+ * and mode, the end-to-end latency, the validation time and the failure rate. Validation time
+ * is what the client can see: the synchronous completion (or redrive) request, or the time from
+ * an asynchronous completion until polling finds the upload validated (so it is rounded up to
+ * the poll interval). Timeouts are failures of a request that timed out, which is how
+ * synchronous completion fails once validation falls behind. Configured with system properties:
+ *
+ * <ul>
+ *     <li>upload.concurrency: concurrency levels (default 1,4,16)</li>
+ *     <li>upload.perLevel: uploads in each batch (default 20)</li>
+ *     <li>upload.modes: completion modes to compare (default async,sync,redrive)</li>
+ *     <li>upload.pollMillis: interval of upload status checks (default 100)</li>
+ *     <li>upload.files, or upload.synthetic with upload.entries and upload.entryBytes: what to
+ *     upload, as for UploadThroughputTest</li>
+ * </ul>
+ *
+ * Run with {@code mvn test -DjunitCategory=loadTests -Dtest=UploadCompletionTest}. The table is
+ * written to target/upload-completion.txt, followed by each run's phase percentiles, and as CSV
+ * to target/upload-completion.csv for charting.
+ */
+@Category(LoadTest.class)
+public class UploadCompletionTest {
+    private static final long DEADLINE_MILLIS = 120000;
+    private static final String CSV_HEADER = "concurrency,mode,uploads,failed,timeouts,uploadsPerSecond,"
+            + "e2eP50Ms,e2eP95Ms,e2eP99Ms,validationP50Ms,validationP95Ms,validationP99Ms";
+
+    @Test
+    public void compareCompletionModes() throws Exception {
+        List<Integer> levels = BenchmarkReport.intListProperty("upload.concurrency", "1,4,16");
+        List<Completion> modes = new ArrayList<>();
+        for (String mode : BenchmarkReport.listProperty("upload.modes", "async,sync,redrive")) {
+            modes.add(Completion.valueOf(mode.toUpperCase(Locale.ENGLISH)));
+        }
+        int perLevel = Integer.getInteger("upload.perLevel", 20);
+        long pollMillis = Long.getLong("upload.pollMillis", 100L);
+        List<UploadPipeline.Source> batch = UploadThroughputTest.sources(perLevel);
+
+        List<TestUser> users = new ArrayList<>();
+        try {
+            for (int i = 0; i < Collections.max(levels); i++) {
+                users.add(TestUserPool.lease(UploadCompletionTest.class, true));
+            }
+            List<String> table = new ArrayList<>();
+            table.add(String.format("%11s %-8s %7s %7s %8s %9s %9s %9s %9s %9s", "concurrency", "mode", "uploads",
+                    "failed%", "timeouts", "uploads/s", "e2e p50", "e2e p95", "valid p50", "valid p95"));
+            List<String> csv = new ArrayList<>();
+            csv.add(CSV_HEADER);
+            List<String> details = new ArrayList<>();
+            for (int level : levels) {
+                for (Completion mode : modes) {
+                    UploadPipeline pipeline = new UploadPipeline(pollMillis, DEADLINE_MILLIS, mode);
+                    long elapsed = run(pipeline, batch, users.subList(0, level));
+                    table.add(row(level, pipeline, elapsed, "%11d %-8s %7d %7.1f %8d %9.2f %9.0f %9.0f %9.0f %9.0f",
+                            false));
+                    csv.add(row(level, pipeline, elapsed, "%d,%s,%d,%d,%d,%.3f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f", true));
+                    details.add("");
+                    details.add(String.format("%s at concurrency %d:", mode, level));
+                    details.addAll(pipeline.report(elapsed));
+                }
+            }
+            table.addAll(details);
+            BenchmarkReport.write(Paths.get("target", "upload-completion.txt"),
+                    String.format("Upload completion modes, %d uploads per batch of %s", perLevel,
+                            (batch.size() > 3) ? batch.get(0) + ", ..." : batch), table);
+            BenchmarkReport.writeCsv(Paths.get("target", "upload-completion.csv"), csv);
+        } finally {
+            for (TestUser user : users) {
+                TestUserPool.release(user);
+            }
+        }
+    }
+
+    /** Run the batch with one thread per user, and return how long it took. */
+    private static long run(UploadPipeline pipeline, List<UploadPipeline.Source> batch, List<TestUser> users)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(users.size());
+        try {
+            long start = System.currentTimeMillis();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                ForConsentedUsersApi usersApi = users.get(i).getClient(ForConsentedUsersApi.class);
+                int worker = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = worker; j < batch.size(); j += users.size()) {
+                        pipeline.upload(usersApi, batch.get(j));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.currentTimeMillis() - start;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** A row for the table (percentiles in whole ms) or the CSV (with the p99s as well). */
+    private static String row(int level, UploadPipeline pipeline, long elapsedMillis, String format, boolean csv) {
+        LatencyHistogram e2e = pipeline.getLatency(Phase.TOTAL);
+        LatencyHistogram validation = pipeline.getLatency(validationPhase(pipeline.getCompletion()));
+        long total = pipeline.getSucceeded() + pipeline.getFailed();
+        double uploadsPerSecond = pipeline.getSucceeded() * 1000.0 / elapsedMillis;
+        String mode = pipeline.getCompletion().name().toLowerCase(Locale.ENGLISH);
+        if (csv) {
+            return String.format(format, level, mode, total, pipeline.getFailed(), pipeline.getTimeouts(),
+                    uploadsPerSecond, millis(e2e, 50), millis(e2e, 95), millis(e2e, 99), millis(validation, 50),
+                    millis(validation, 95), millis(validation, 99));
+        }
+        return String.format(format, level, mode, total, (total == 0) ? 0 : pipeline.getFailed() * 100.0 / total,
+                pipeline.getTimeouts(), uploadsPerSecond, millis(e2e, 50), millis(e2e, 95), millis(validation, 50),
+                millis(validation, 95));
+    }
+
+    /** The phase that times validation in this mode. */
+    private static Phase validationPhase(Completion completion) {
+        switch (completion) {
+            case SYNC:
+                return Phase.COMPLETE;
+            case REDRIVE:
+                return Phase.REDRIVE;
+            default:
+                return Phase.VALIDATION;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Throwables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.sagebionetworks.bridge.rest.RestUtils;
+import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
+import org.sagebionetworks.bridge.rest.model.UploadRequest;
+import org.sagebionetworks.bridge.rest.model.UploadSession;
+import org.sagebionetworks.bridge.rest.model.UploadStatus;
+import org.sagebionetworks.bridge.rest.model.UploadValidationStatus;
+
+/**
+ * Runs uploads one step at a time and records the latency of each step: preparing the upload
+ * request (reading the file for its MD5, or generating a {@link SyntheticUpload}), requesting
+ * the upload session, the PUT to S3, completing the upload, and validation (from completion
+ * until the status is SUCCEEDED). {@link RestUtils#upload} does the first three in one call; here they
+ * are separate so their costs can be told apart. One pipeline can be shared by many threads;
+ * failed uploads are counted and logged rather than thrown.
+ *
+ * How uploads are completed is set by the {@link Completion} mode. Only the asynchronous mode
+ * has a separate validation phase: a synchronous completion validates within the request, so
+ * its COMPLETE latency is the validation time as the client sees it.
+ */
+public class UploadPipeline {
+    private static final Logger LOG = LoggerFactory.getLogger(UploadPipeline.class);
+
+    public enum Phase { PREPARE, SESSION, S3_PUT, COMPLETE, VALIDATION, REDRIVE, TOTAL }
+
+    public enum Completion {
+        /** Complete, then poll the upload status until validation has finished. */
+        ASYNC,
+        /** Complete synchronously: the request returns when validation has finished. */
+        SYNC,
+        /**
+         * Complete asynchronously, then redrive the validated upload synchronously (as an
+         * operator would). The redrive is timed as REDRIVE and is included in TOTAL.
+         */
+        REDRIVE
+    }
+
+    /** What is uploaded: a file ({@link #of(File)}) or a {@link SyntheticUpload}. */
+    public interface Source {
+        /** The request for an upload session, with the content's length and MD5. */
+        UploadRequest request() throws IOException;
+
+        /** PUT the content to the upload session's URL. */
+        void put(String url, UploadRequest request) throws IOException;
+    }
+
+    public static Source of(File file) {
+        return new Source() {
+            @Override
+            public UploadRequest request() throws IOException {
+                return RestUtils.makeUploadRequestForFile(file);
+            }
+            @Override
+            public void put(String url, UploadRequest request) throws IOException {
+                RestUtils.uploadToS3(file, url);
+            }
+            @Override
+            public String toString() {
+                return file.toString();
+            }
+        };
+    }
+
+    private final long pollMillis;
+    private final long deadlineMillis;
+    private final Completion completion;
+    private final Map<Phase, LatencyHistogram> latencies = new EnumMap<>(Phase.class);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * @param pollMillis
+     *         interval between upload status checks while waiting for validation
+     * @param deadlineMillis
+     *         how long to wait for validation before counting the upload as failed
+     */
+    public UploadPipeline(long pollMillis, long deadlineMillis) {
+        this(pollMillis, deadlineMillis, Completion.ASYNC);
+    }
+
+    public UploadPipeline(long pollMillis, long deadlineMillis, Completion completion) {
+        this.pollMillis = pollMillis;
+        this.deadlineMillis = deadlineMillis;
+        this.completion = completion;
+        for (Phase phase : Phase.values()) {
+            latencies.put(phase, new LatencyHistogram());
+        }
+    }
+
+    /** Upload the file and wait for it to be validated. Returns the final status, or null if it failed. */
+    public UploadValidationStatus upload(ForConsentedUsersApi usersApi, File file) {
+        return upload(usersApi, of(file));
+    }
+
+    /** Upload the source and wait for it to be validated. Returns the final status, or null if it failed. */
+    public UploadValidationStatus upload(ForConsentedUsersApi usersApi, Source source) {
+        try {
+            long start = System.nanoTime();
+            UploadRequest request = source.request();
+            long phaseStart = record(Phase.PREPARE, start);
+            UploadSession session = usersApi.requestUploadSession(request).execute().body();
+            phaseStart = record(Phase.SESSION, phaseStart);
+
+            source.put(session.getUrl(), request);
+            phaseStart = record(Phase.S3_PUT, phaseStart);
+
+            UploadValidationStatus status;
+            if (completion == Completion.SYNC) {
+                status = usersApi.completeUploadSession(session.getId(), true, false).execute().body();
+                record(Phase.COMPLETE, phaseStart);
+            } else {
+                usersApi.completeUploadSession(session.getId(), false, false).execute();
+                phaseStart = record(Phase.COMPLETE, phaseStart);
+                status = awaitValidation(usersApi, session.getId());
+                if (succeeded(session.getId(), status)) {
+                    phaseStart = record(Phase.VALIDATION, phaseStart);
+                }
+                if (completion == Completion.REDRIVE && status.getStatus() == UploadStatus.SUCCEEDED) {
+                    status = usersApi.completeUploadSession(session.getId(), true, true).execute().body();
+                    record(Phase.REDRIVE, phaseStart);
+                }
+            }
+            if (!succeeded(session.getId(), status)) {
+                failed.increment();
+                return null;
+            }
+            record(Phase.TOTAL, start);
+            succeeded.increment();
+            bytes.add(request.getContentLength());
+            return status;
+        } catch (Exception e) {
+            LOG.debug("Upload of " + source + " failed", e);
+            failed.increment();
+            if (Throwables.getCausalChain(e).stream().anyMatch(t -> t instanceof InterruptedIOException)) {
+                timeouts.increment();
+            }
+            return null;
+        }
+    }
+
+    private static boolean succeeded(String uploadId, UploadValidationStatus status) {
+        if (status == null || status.getStatus() != UploadStatus.SUCCEEDED) {
+            LOG.debug("Upload {} did not validate: {}", uploadId, status);
+            return false;
+        }
+        return true;
+    }
+
+    private UploadValidationStatus awaitValidation(ForConsentedUsersApi usersApi, String uploadId)
+            throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + deadlineMillis;
+        while (true) {
+            UploadValidationStatus status = usersApi.getUploadStatus(uploadId).execute().body();
+            if (status.getStatus() == UploadStatus.SUCCEEDED || status.getStatus() == UploadStatus.VALIDATION_FAILED
+                    || System.currentTimeMillis() + pollMillis > deadline) {
+                return status;
+            }
+            Thread.sleep(pollMillis);
+        }
+    }
+
+    /** Record the time since phaseStart, and return now as the start of the next phase. */
+    private long record(Phase phase, long phaseStart) {
+        long now = System.nanoTime();
+        latencies.get(phase).record((now - phaseStart) / 1000);
+        return now;
+    }
+
+    public LatencyHistogram getLatency(Phase phase) {
+        return latencies.get(phase);
+    }
+
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /** Failed uploads whose request timed out (e.g. a synchronous completion that outlasted the socket timeout). */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public Completion getCompletion() {
+        return completion;
+    }
+
+    /** Throughput and per-phase percentiles, for a run that took this long. */
+    public List<String> report(long elapsedMillis) {
+        double seconds = elapsedMillis / 1000.0;
+        long total = succeeded.sum() + failed.sum();
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%d uploads in %.1f s: %.2f uploads/s, %.2f MB/s, %d failed (%.1f%%), %d timed out",
+                total, seconds, succeeded.sum() / seconds, bytes.sum() / seconds / (1024 * 1024), failed.sum(),
+                (total == 0) ? 0 : failed.sum() * 100.0 / total, timeouts.sum()));
+        lines.add(String.format("%-12s %7s %8s %8s %8s %8s", "Phase", "count", "p50ms", "p95ms", "p99ms", "maxms"));
+        for (Phase phase : Phase.values()) {
+            if (latencies.get(phase).getCount() == 0) {
+                continue;
+            }
+            lines.add(String.format("%-12s %s", phase.name().toLowerCase(Locale.ENGLISH),
+                    ApiMetrics.percentiles(latencies.get(phase))));
+        }
+        return lines;
+    }
+}
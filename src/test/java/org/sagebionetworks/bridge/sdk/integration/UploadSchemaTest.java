@@ -48,7 +48,6 @@ import org.sagebionetworks.bridge.rest.model.UploadSchema;
 import org.sagebionetworks.bridge.rest.model.UploadSchemaList;
 import org.sagebionetworks.bridge.rest.model.UploadSchemaType;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 @SuppressWarnings("ConstantConditions")
 public class UploadSchemaTest {
@@ -70,11 +69,11 @@ public class UploadSchemaTest {
 
     @BeforeClass
     public static void beforeClass() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
-        developer = TestUserHelper.createAndSignInUser(UploadSchemaTest.class, false, DEVELOPER);
-        user = TestUserHelper.createAndSignInUser(UploadSchemaTest.class, true);
-        worker = TestUserHelper.createAndSignInUser(UploadSchemaTest.class, false, WORKER);
-        sharedDeveloper = TestUserHelper.createAndSignInUser(UploadSchemaTest.class, SHARED_APP_ID, DEVELOPER);
+        TestUser admin = Tests.getSignedInAdmin();
+        developer = Tests.createAndSignInUser(UploadSchemaTest.class, false, DEVELOPER);
+        user = Tests.createAndSignInUser(UploadSchemaTest.class, true);
+        worker = Tests.createAndSignInUser(UploadSchemaTest.class, false, WORKER);
+        sharedDeveloper = Tests.createAndSignInUser(UploadSchemaTest.class, SHARED_APP_ID, DEVELOPER);
         sharedDeveloperModulesApi = sharedDeveloper.getClient(ForDevelopersApi.class);
 
         adminApi = admin.getClient(ForAdminsApi.class);
@@ -56,7 +56,6 @@ import org.sagebionetworks.bridge.rest.model.UploadSession;
 import org.sagebionetworks.bridge.rest.model.UploadStatus;
 import org.sagebionetworks.bridge.rest.model.UploadValidationStatus;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 import com.google.common.collect.Lists;
@@ -66,14 +65,6 @@ public class UploadTest {
     
     private static final String EXTERNAL_ID = "upload-test-extid";
     
-    // On a cold server, validation could take up to 8 seconds (most of this is downloading and caching the encryption
-    // certs for the first time). Subsequent validation attempts take about 2 seconds. 5 second delay is a good
-    // compromise between fast tests and not having to retry a bunch of times.
-    private static final int UPLOAD_STATUS_DELAY_MILLISECONDS = 5000;
-
-    // Retry up to 6 times, so we don't spend more than 30 seconds per test.
-    private static final int UPLOAD_STATUS_DELAY_RETRIES = 6;
-
     // invalid MD5 hashes for validation testing
     private static final String[] INVALID_BASE64_MD5_HASHES = {
             null, // empty
@@ -95,20 +86,20 @@ public class UploadTest {
     @SuppressWarnings("deprecation")
     @BeforeClass
     public static void beforeClass() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
 
         // developer is to ensure schemas exist. user is to do uploads
-        developer = TestUserHelper.createAndSignInUser(UploadTest.class, false, Role.DEVELOPER);
-        researcher = TestUserHelper.createAndSignInUser(UploadTest.class, false, Role.RESEARCHER);
+        developer = TestUserPool.lease(UploadTest.class, false, Role.DEVELOPER);
+        researcher = TestUserPool.lease(UploadTest.class, false, Role.RESEARCHER);
 
         admin.getClient(AuthenticationApi.class).changeApp(API_2_SIGNIN).execute();
-        otherAppAdmin = TestUserHelper.createAndSignInUser(UploadTest.class, TEST_APP_2_ID, Role.ADMIN);
+        otherAppAdmin = Cleanup.user(Tests.createAndSignInUser(UploadTest.class, TEST_APP_2_ID, Role.ADMIN));
         admin.getClient(AuthenticationApi.class).changeApp(API_SIGNIN).execute();
 
         String emailAddress = IntegTestUtils.makeEmail(UploadTest.class);
         SignUp signUp = new SignUp().email(emailAddress).password(Tests.PASSWORD);
         signUp.setExternalIds(ImmutableMap.of(STUDY_ID_1, EXTERNAL_ID));
-        user = TestUserHelper.createAndSignInUser(UploadTest.class, true, signUp);
+        user = Cleanup.user(Tests.createAndSignInUser(UploadTest.class, true, signUp));
 
         // ensure schemas exist, so we have something to upload against
         UploadSchemasApi uploadSchemasApi = developer.getClient(UploadSchemasApi.class);
@@ -184,30 +175,12 @@ public class UploadTest {
 
     @AfterClass
     public static void deleteDeveloper() throws Exception {
-        if (developer != null) {
-            developer.signOutAndDeleteUser();
-        }
-    }
-
-    @AfterClass
-    public static void deleteOtherStudyAdmin() throws Exception {
-        if (otherAppAdmin != null) {
-            otherAppAdmin.signOutAndDeleteUser();
-        }
+        TestUserPool.release(developer);
     }
 
     @AfterClass
     public static void deleteResearcher() throws Exception {
-        if (researcher != null) {
-            researcher.signOutAndDeleteUser();
-        }
-    }
-
-    @AfterClass
-    public static void deleteUser() throws Exception {
-        if (user != null) {
-            user.signOutAndDeleteUser();
-        }
+        TestUserPool.release(researcher);
     }
 
     @Test
@@ -288,22 +261,16 @@ public class UploadTest {
         File file = resolveFilePath(fileLeafName);
         
         ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
+        long startMillis = System.currentTimeMillis();
         UploadSession session = RestUtils.upload(usersApi, file);
         
         String uploadId = session.getId();
         
         // get validation status
-        UploadValidationStatus status = null;
-        for (int i = 0; i < UPLOAD_STATUS_DELAY_RETRIES; i++) {
-            Thread.sleep(UPLOAD_STATUS_DELAY_MILLISECONDS);
-
-            status = usersApi.getUploadStatus(session.getId()).execute().body();
-            if (status.getStatus() == UploadStatus.VALIDATION_FAILED) {
-                // Short-circuit. Validation failed. No need to retry.
-                fail("Upload validation failed, UploadId=" + uploadId);
-            } else if (status.getStatus() == UploadStatus.SUCCEEDED) {
-                break;
-            }
+        UploadValidationStatus status = UploadWaiter.awaitValidation(usersApi, uploadId,
+                UploadWaiter.UploadType.forFile(fileLeafName), startMillis);
+        if (status.getStatus() == UploadStatus.VALIDATION_FAILED) {
+            fail("Upload validation failed, UploadId=" + uploadId);
         }
         // userClient.upload marks the download complete
         // marking an already completed download as complete again should succeed (and be a no-op)
@@ -341,14 +308,15 @@ public class UploadTest {
         usersApi.updateUsersParticipantRecord(participant).execute();
 
         // Upload the file.
+        long startMillis = System.currentTimeMillis();
         UploadRequest request = RestUtils.makeUploadRequestForFile(file);
         UploadSession session = usersApi.requestUploadSession(request).execute().body();
         RestUtils.uploadToS3(file, session.getUrl());
         String uploadId = session.getId();
 
         // Complete upload in synchronous mode.
-        UploadValidationStatus status = usersApi.completeUploadSession(uploadId, true, false)
-                .execute().body();
+        UploadValidationStatus status = UploadWaiter.completeSynchronously(usersApi, uploadId,
+                UploadWaiter.UploadType.GENERIC, startMillis);
         validateUploadValidationStatus(uploadId, status);
 
         // Validate the record data.
@@ -428,13 +396,14 @@ public class UploadTest {
         request.setMetadata(ImmutableMap.of("added-metadata", "added-value"));
 
         ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
+        long startMillis = System.currentTimeMillis();
         UploadSession session = usersApi.requestUploadSession(request).execute().body();
         RestUtils.uploadToS3(file, session.getUrl());
         String uploadId = session.getId();
 
         // Complete upload in synchronous mode, for ease of testing.
-        UploadValidationStatus status = usersApi.completeUploadSession(uploadId, true, false)
-                .execute().body();
+        UploadValidationStatus status = UploadWaiter.completeSynchronously(usersApi, uploadId,
+                UploadWaiter.UploadType.SCHEMALESS, startMillis);
         assertEquals(UploadStatus.SUCCEEDED, status.getStatus());
 
         // Just verify that the metadata was successfully merged.
@@ -495,11 +464,11 @@ public class UploadTest {
 
         // Test CORS configuration of this pre-signed URL. This enables browsers to make these non-encrypted,
         // non-zipped uploads.
-        HttpResponse response = Request.Options(session.getUrl())
+        HttpResponse response = HttpTransport.execute(Request.Options(session.getUrl())
                 .setHeader(HttpTest.ACCESS_CONTROL_REQUEST_HEADERS, "accept, content-type")
                 .setHeader(HttpTest.ACCESS_CONTROL_REQUEST_METHOD, "PUT")
                 .setHeader(HttpTest.ORIGIN, "https://some.remote.server.org")
-                .connectTimeout(HttpTest.TIMEOUT).execute().returnResponse();
+                .connectTimeout(HttpTest.TIMEOUT)).returnResponse();
         assertEquals(200, response.getStatusLine().getStatusCode());
 
         assertEquals("Should echo back the origin", "*",
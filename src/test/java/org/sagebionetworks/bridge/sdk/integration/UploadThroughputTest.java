@@ -0,0 +1,140 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import static org.junit.Assert.assertTrue;
+import static org.sagebionetworks.bridge.util.IntegTestUtils.CONFIG;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
+import org.sagebionetworks.bridge.rest.model.Role;
+import org.sagebionetworks.bridge.user.TestUser;
+
+/**
+ * Measures the throughput of the upload pipeline: K participants each submit M uploads
+ * concurrently, and the report gives uploads/s and the latency percentiles of each phase
+ * (see UploadPipeline). The uploads are files from the environment's corpus in
+ * src/test/resources/upload-test. Configured with system properties:
+ *
+ * <ul>
+ *     <li>upload.participants: concurrent participants (default 4)</li>
+ *     <li>upload.perParticipant: uploads per participant (default 10)</li>
+ *     <li>upload.files: corpus files to cycle through (default schemaless-encrypted, which needs no
+ *     schema; the others need the schemas UploadTest creates)</li>
+ *     <li>upload.pollMillis: interval of upload status checks (default 100)</li>
+ *     <li>upload.synthetic: instead of the corpus, upload archives made by SyntheticUpload in this
+ *     format (legacy_survey, legacy_non_survey or schemaless), with upload.entries entries
+ *     (default 10) of upload.entryBytes bytes (default 10240). They are encrypted with the app's
+ *     certificate, fetched with a developer, or a self-signed one against FakeBridgeServer.</li>
+ * </ul>
+ *
+ * Run with {@code mvn test -DjunitCategory=loadTests -Dtest=UploadThroughputTest}. Add
+ * {@code -DfakeServer=true} to run it offline against FakeBridgeServer and its LocalS3, with
+ * {@code -DfakeServer.validationMillis} and {@code -DlocalS3.bytesPerSecond} to model the
+ * server's validation time and the bandwidth to S3.
+ */
+@Category(LoadTest.class)
+public class UploadThroughputTest {
+    private static final long DEADLINE_MILLIS = 60000;
+
+    @Test
+    public void uploadThroughput() throws Exception {
+        int participants = Integer.getInteger("upload.participants", 4);
+        int perParticipant = Integer.getInteger("upload.perParticipant", 10);
+        List<UploadPipeline.Source> corpus = sources(participants * perParticipant);
+
+        List<TestUser> users = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(participants);
+        try {
+            for (int i = 0; i < participants; i++) {
+                users.add(TestUserPool.lease(UploadThroughputTest.class, true));
+            }
+            UploadPipeline pipeline = new UploadPipeline(Long.getLong("upload.pollMillis", 100L), DEADLINE_MILLIS);
+            long start = System.currentTimeMillis();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < participants; i++) {
+                ForConsentedUsersApi usersApi = users.get(i).getClient(ForConsentedUsersApi.class);
+                int offset = i * perParticipant;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < perParticipant; j++) {
+                        pipeline.upload(usersApi, corpus.get((offset + j) % corpus.size()));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.currentTimeMillis() - start;
+
+            BenchmarkReport.write(Paths.get("target", "upload-throughput.txt"),
+                    String.format("Upload throughput, %d participants x %d uploads of %s", participants,
+                            perParticipant, (corpus.size() > 3) ? corpus.get(0) + ", ..." : corpus),
+                    pipeline.report(elapsed));
+        } finally {
+            executor.shutdown();
+            for (TestUser user : users) {
+                TestUserPool.release(user);
+            }
+        }
+    }
+
+    /**
+     * One source per upload, {@code count} in all: the corpus files, repeated as needed, or a distinct
+     * synthetic upload for every upload.
+     */
+    static List<UploadPipeline.Source> sources(int count) throws Exception {
+        List<UploadPipeline.Source> sources = new ArrayList<>();
+        String synthetic = System.getProperty("upload.synthetic");
+        if (synthetic == null) {
+            List<UploadPipeline.Source> files = new ArrayList<>();
+            for (File file : corpus(System.getProperty("upload.files", "schemaless-encrypted"))) {
+                files.add(UploadPipeline.of(file));
+            }
+            for (int i = 0; i < count; i++) {
+                sources.add(files.get(i % files.size()));
+            }
+            return sources;
+        }
+        X509Certificate certificate;
+        if (Boolean.getBoolean(FakeBridgeServer.ENABLED_PROPERTY)) {
+            certificate = SyntheticUpload.selfSignedCertificate();
+        } else {
+            TestUser developer = TestUserPool.lease(UploadThroughputTest.class, false, Role.DEVELOPER);
+            try {
+                certificate = SyntheticUpload.appCertificate(developer);
+            } finally {
+                TestUserPool.release(developer);
+            }
+        }
+        SyntheticUpload.Format format = SyntheticUpload.Format.valueOf(synthetic.toUpperCase(Locale.ENGLISH));
+        int entries = Integer.getInteger("upload.entries", 10);
+        int entryBytes = Integer.getInteger("upload.entryBytes", 10240);
+        long seed = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            sources.add(new SyntheticUpload(format, entries, entryBytes, seed + i, certificate));
+        }
+        return sources;
+    }
+
+    /** The named files from the upload-test corpus of this environment. */
+    static List<File> corpus(String fileNames) {
+        String envName = CONFIG.getEnvironment().name().toLowerCase(Locale.ENGLISH);
+        List<File> files = new ArrayList<>();
+        for (String name : BenchmarkReport.split(fileNames)) {
+            File file = new File("src/test/resources/upload-test/" + envName + "/" + name);
+            assertTrue("No such upload file: " + file, file.isFile());
+            files.add(file);
+        }
+        return files;
+    }
+}
@@ -0,0 +1,131 @@
+package org.sagebionetworks.bridge.sdk.integration;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.base.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
+import org.sagebionetworks.bridge.rest.model.UploadStatus;
+import org.sagebionetworks.bridge.rest.model.UploadValidationStatus;
+
+/**
+ * Waits for an upload to finish validation. On a cold server, validation could take up to 8
+ * seconds (most of this is downloading and caching the encryption certs for the first time);
+ * subsequent validations take about 2 seconds, and small uploads often less. Rather than
+ * sleeping a fixed interval before every status check, we poll soon after completion and back
+ * off from there. The time from starting the upload to SUCCEEDED is recorded per upload type,
+ * and InitListener logs a histogram at the end of the run.
+ */
+public class UploadWaiter {
+    private static final Logger LOG = LoggerFactory.getLogger(UploadWaiter.class);
+
+    static final long INITIAL_POLL_MILLIS = 250;
+    static final long MAX_POLL_MILLIS = 2000;
+    // Don't spend more than 30 seconds per upload.
+    static final long DEADLINE_MILLIS = 30000;
+
+    // Upper bounds (inclusive) of the histogram buckets, in milliseconds.
+    private static final long[] BUCKETS = { 500, 1000, 2000, 4000, 8000, 16000, 32000 };
+
+    private static final Map<String, List<Long>> LATENCIES = new ConcurrentHashMap<>();
+
+    public enum UploadType {
+        LEGACY, GENERIC, SCHEMALESS, OTHER;
+
+        /** The upload type of one of the test files in src/test/resources/upload-test. */
+        public static UploadType forFile(String fileLeafName) {
+            if (fileLeafName.startsWith("legacy")) {
+                return LEGACY;
+            } else if (fileLeafName.startsWith("generic")) {
+                return GENERIC;
+            } else if (fileLeafName.startsWith("schemaless")) {
+                return SCHEMALESS;
+            }
+            return OTHER;
+        }
+    }
+
+    /**
+     * Poll the status of an upload that has been completed asynchronously until it succeeds,
+     * fails validation, or the deadline passes. Returns the last status retrieved.
+     *
+     * @param startMillis
+     *         when the upload was started (before the upload session was requested)
+     */
+    public static UploadValidationStatus awaitValidation(ForConsentedUsersApi usersApi, String uploadId,
+            UploadType type, long startMillis) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + DEADLINE_MILLIS;
+        long delay = INITIAL_POLL_MILLIS;
+        while (true) {
+            Thread.sleep(delay);
+
+            UploadValidationStatus status = usersApi.getUploadStatus(uploadId).execute().body();
+            if (status.getStatus() == UploadStatus.SUCCEEDED) {
+                record(type, "async", System.currentTimeMillis() - startMillis);
+                return status;
+            } else if (status.getStatus() == UploadStatus.VALIDATION_FAILED
+                    || System.currentTimeMillis() + delay > deadline) {
+                // Short-circuit. Validation failed (or is taking too long). No need to retry.
+                return status;
+            }
+            delay = Math.min(delay * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    /**
+     * Complete the upload in synchronous mode, which returns once validation has finished. Use
+     * this when the test isn't specifically about asynchronous completion.
+     */
+    public static UploadValidationStatus completeSynchronously(ForConsentedUsersApi usersApi, String uploadId,
+            UploadType type, long startMillis) throws IOException {
+        UploadValidationStatus status = usersApi.completeUploadSession(uploadId, true, false).execute().body();
+        if (status != null && status.getStatus() == UploadStatus.SUCCEEDED) {
+            record(type, "sync", System.currentTimeMillis() - startMillis);
+        }
+        return status;
+    }
+
+    private static void record(UploadType type, String mode, long millis) {
+        LATENCIES.computeIfAbsent(type.name().toLowerCase(Locale.ENGLISH) + " (" + mode + ")",
+                k -> Collections.synchronizedList(new ArrayList<>())).add(millis);
+    }
+
+    /** Log a histogram of upload-to-SUCCEEDED times for each upload type. */
+    static void logReport() {
+        if (LATENCIES.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder("Upload to SUCCEEDED latency:");
+        for (Map.Entry<String, List<Long>> entry : LATENCIES.entrySet()) {
+            List<Long> samples;
+            synchronized (entry.getValue()) {
+                samples = new ArrayList<>(entry.getValue());
+            }
+            Collections.sort(samples);
+            sb.append(String.format("%n  %s: n=%d p50=%dms max=%dms", entry.getKey(), samples.size(),
+                    samples.get(samples.size() / 2), samples.get(samples.size() - 1)));
+
+            int[] counts = new int[BUCKETS.length + 1];
+            for (long sample : samples) {
+                int i = 0;
+                while (i < BUCKETS.length && sample > BUCKETS[i]) {
+                    i++;
+                }
+                counts[i]++;
+            }
+            for (int i = 0; i < counts.length; i++) {
+                String bucket = (i < BUCKETS.length) ? ("<= " + BUCKETS[i] + "ms") : ("> " + BUCKETS[i - 1] + "ms");
+                sb.append(String.format("%n    %-10s %4d %s", bucket, counts[i], Strings.repeat("#", counts[i])));
+            }
+        }
+        LOG.info(sb.toString());
+    }
+}
@@ -12,7 +12,6 @@ import org.sagebionetworks.bridge.rest.api.ForConsentedUsersApi;
 import org.sagebionetworks.bridge.rest.model.DateRange;
 import org.sagebionetworks.bridge.rest.model.Message;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 // We don't currently have a way to hook into an email address to see the result. For now, just make sure that the call
 // to the API succeeds and doesn't throw.
@@ -21,7 +20,7 @@ public class UserDataDownloadTest {
 
     @BeforeClass
     public static void setup() throws Exception {
-        user = TestUserHelper.createAndSignInUser(UserDataDownloadTest.class, true);
+        user = Tests.createAndSignInUser(UserDataDownloadTest.class, true);
     }
 
     @AfterClass
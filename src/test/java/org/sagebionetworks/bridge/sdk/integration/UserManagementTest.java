@@ -18,7 +18,6 @@ import org.sagebionetworks.bridge.rest.exceptions.EntityNotFoundException;
 import org.sagebionetworks.bridge.rest.model.SignUp;
 import org.sagebionetworks.bridge.rest.model.UserSessionInfo;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 import org.sagebionetworks.bridge.util.IntegTestUtils;
 
 public class UserManagementTest {
@@ -28,7 +27,7 @@ public class UserManagementTest {
 
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
+        admin = Tests.getSignedInAdmin();
     }
 
     @After
@@ -40,7 +39,7 @@ public class UserManagementTest {
 
     @Test
     public void canCreateAndSignOutAndDeleteUser() throws Exception {
-        researcher = TestUserHelper.createAndSignInUser(UserManagementTest.class, true, RESEARCHER);
+        researcher = Tests.createAndSignInUser(UserManagementTest.class, true, RESEARCHER);
 
         String email = IntegTestUtils.makeEmail(UserManagementTest.class);
         String password = "P4ssword";
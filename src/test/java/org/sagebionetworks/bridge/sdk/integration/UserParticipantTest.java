@@ -44,9 +44,9 @@ public class UserParticipantTest {
 
     @Before
     public void before() throws Exception {
-        developer = TestUserHelper.createAndSignInUser(UserParticipantTest.class, false, Role.DEVELOPER);
-        researcher = TestUserHelper.createAndSignInUser(UserParticipantTest.class, false, Role.RESEARCHER);
-        consentedUser = TestUserHelper.createAndSignInUser(UserParticipantTest.class, true);
+        developer = Tests.createAndSignInUser(UserParticipantTest.class, false, Role.DEVELOPER);
+        researcher = Tests.createAndSignInUser(UserParticipantTest.class, false, Role.RESEARCHER);
+        consentedUser = Tests.createAndSignInUser(UserParticipantTest.class, true);
     }
 
     @After
@@ -67,7 +67,7 @@ public class UserParticipantTest {
 
     @Test
     public void canUpdateProfile() throws Exception {
-        user = TestUserHelper.createAndSignInUser(UserParticipantTest.class, true);
+        user = Tests.createAndSignInUser(UserParticipantTest.class, true);
 
         ParticipantsApi participantsApi = user.getClient(ParticipantsApi.class);
 
@@ -108,8 +108,8 @@ public class UserParticipantTest {
         String externalId1 = Tests.randomIdentifier(getClass());
         String externalId2 = Tests.randomIdentifier(getClass());
         
-        user = new TestUserHelper.Builder(UserParticipantTest.class)
-                .withExternalIds(ImmutableMap.of(STUDY_ID_1, externalId1)).createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(UserParticipantTest.class)
+                .withExternalIds(ImmutableMap.of(STUDY_ID_1, externalId1)).createAndSignInUser());
         
         ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
         StudyParticipant participant = usersApi.getUsersParticipantRecord(false).execute().body();
@@ -133,7 +133,7 @@ public class UserParticipantTest {
     
     @Test
     public void canUpdateDataGroups() throws Exception {
-        user = TestUserHelper.createAndSignInUser(getClass(), true);
+        user = Tests.createAndSignInUser(getClass(), true);
                 
         // Developer in this test is not a test user.
         List<String> dataGroups = ImmutableList.of("sdk-int-1", "sdk-int-2");
@@ -164,8 +164,8 @@ public class UserParticipantTest {
 
     @Test
     public void canUpdateDataGroupsDoesNotOverrideTestFlag() throws Exception {
-        user = new TestUserHelper.Builder(UserParticipantTest.class)
-                .withTestDataGroup().withConsentUser(true).createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(UserParticipantTest.class)
+                .withTestDataGroup().withConsentUser(true).createAndSignInUser());
 
         ForConsentedUsersApi usersApi = user.getClient(ForConsentedUsersApi.class);
 
@@ -10,7 +10,6 @@ import org.junit.Test;
 import org.sagebionetworks.bridge.rest.api.ParticipantsApi;
 import org.sagebionetworks.bridge.rest.model.StudyParticipant;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
@@ -31,7 +30,7 @@ public class UserProfileTest {
 
     @Before
     public void before() throws Exception {
-        testUser = TestUserHelper.createAndSignInUser(ParticipantsTest.class, true);
+        testUser = Tests.createAndSignInUser(ParticipantsTest.class, true);
     }
 
     @After
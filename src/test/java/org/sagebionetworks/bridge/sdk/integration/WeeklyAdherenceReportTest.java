@@ -52,7 +52,6 @@ import org.sagebionetworks.bridge.rest.model.WeeklyAdherenceReport;
 import org.sagebionetworks.bridge.rest.model.WeeklyAdherenceReportList;
 import org.sagebionetworks.bridge.rest.model.WeeklyAdherenceReportRow;
 import org.sagebionetworks.bridge.user.TestUser;
-import org.sagebionetworks.bridge.user.TestUserHelper;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -74,7 +73,7 @@ public class WeeklyAdherenceReportTest {
 
     @Before
     public void before() throws Exception {
-        developer = TestUserHelper.createAndSignInUser(getClass(), false, DEVELOPER, STUDY_DESIGNER);
+        developer = Tests.createAndSignInUser(getClass(), false, DEVELOPER, STUDY_DESIGNER);
         ForDevelopersApi developersApi = developer.getClient(ForDevelopersApi.class);
         AssessmentsApi asmtsApi = developer.getClient(AssessmentsApi.class);
 
@@ -91,7 +90,7 @@ public class WeeklyAdherenceReportTest {
         study.setVersion(version.getVersion());;
         
         // If there's a schedule associated to study 1, we need to delete it.
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         if (study.getScheduleGuid() != null) {
             admin.getClient(SchedulesV2Api.class).deleteSchedule(study.getScheduleGuid()).execute();
         }        
@@ -153,7 +152,7 @@ public class WeeklyAdherenceReportTest {
     
     @After
     public void after() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         AssessmentsApi assessmentsApi = admin.getClient(AssessmentsApi.class);
         SchedulesV2Api schedulesApi = admin.getClient(SchedulesV2Api.class);
         if (participant1 != null) {
@@ -181,9 +180,9 @@ public class WeeklyAdherenceReportTest {
 
     @Test
     public void test() throws Exception {
-        TestUser admin = TestUserHelper.getSignedInAdmin();
+        TestUser admin = Tests.getSignedInAdmin();
         
-        participant1 = TestUserHelper.createAndSignInUser(getClass(), true);
+        participant1 = Tests.createAndSignInUser(getClass(), true);
         admin.getClient(ForAdminsApi.class).enrollParticipant(
                 studyId, new Enrollment().userId(participant1.getUserId())).execute();
         participant1.signInAgain();
@@ -245,7 +244,7 @@ public class WeeklyAdherenceReportTest {
         assertEquals(SessionCompletionState.COMPLETED, win.getState());
         
         // Paginated APIs
-        participant2 = TestUserHelper.createAndSignInUser(getClass(), true);
+        participant2 = Tests.createAndSignInUser(getClass(), true);
         admin.getClient(ForAdminsApi.class).enrollParticipant(
                 studyId, new Enrollment().userId(participant2.getUserId())).execute();
         
@@ -69,10 +69,10 @@ public class WorkerApiTest {
 
     @Before
     public void before() throws Exception {
-        admin = TestUserHelper.getSignedInAdmin();
-        worker = TestUserHelper.createAndSignInUser(WorkerApiTest.class, true, Role.WORKER);
-        researcher = TestUserHelper.createAndSignInUser(WorkerApiTest.class, true, Role.RESEARCHER);
-        developer = TestUserHelper.createAndSignInUser(WorkerApiTest.class, true, Role.DEVELOPER);
+        admin = Tests.getSignedInAdmin();
+        worker = Tests.createAndSignInUser(WorkerApiTest.class, true, Role.WORKER);
+        researcher = Tests.createAndSignInUser(WorkerApiTest.class, true, Role.RESEARCHER);
+        developer = Tests.createAndSignInUser(WorkerApiTest.class, true, Role.DEVELOPER);
         workersApi = worker.getClient(ForWorkersApi.class);
         
         // Turn on healthcode sharing, it is usually off 
@@ -128,8 +128,8 @@ public class WorkerApiTest {
     public void retrieveUsers() throws Exception {
         String externalId = Tests.randomIdentifier(getClass());
         
-        user = new TestUserHelper.Builder(WorkerApiTest.class).withConsentUser(true)
-                .withExternalIds(ImmutableMap.of(STUDY_ID_1, externalId)).createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(WorkerApiTest.class).withConsentUser(true)
+                .withExternalIds(ImmutableMap.of(STUDY_ID_1, externalId)).createAndSignInUser());
 
         // Have the user get activities, to bootstrap timezone.
         user.getClient(ActivitiesApi.class).getScheduledActivitiesByDateRange(DateTime.now(TEST_USER_TIME_ZONE),
@@ -171,7 +171,7 @@ public class WorkerApiTest {
         IntegTestUtils.deletePhoneUser();
 
         SignUp signUp = new SignUp().phone(IntegTestUtils.PHONE).password("P@ssword`1");
-        phoneUser = TestUserHelper.createAndSignInUser(WorkerApiTest.class, true, signUp);
+        phoneUser = Tests.createAndSignInUser(WorkerApiTest.class, true, signUp);
         
         AccountSummaryList list = workersApi.getParticipantsForApp(TEST_APP_ID, 0, 5, null, "248-6796", null, null).execute().body();
         assertEquals(1, list.getItems().size());
@@ -220,7 +220,8 @@ public class WorkerApiTest {
         SchedulePlan plan = Tests.getDailyRepeatingSchedulePlan();
         SchedulesV1Api planApi = developer.getClient(SchedulesV1Api.class);
         
-        user = new TestUserHelper.Builder(WorkerApiTest.class).withConsentUser(true).createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(WorkerApiTest.class).withConsentUser(true)
+                .createAndSignInUser());
         
         GuidVersionHolder guid = null;
         try {
@@ -250,7 +251,8 @@ public class WorkerApiTest {
         SchedulePlan plan = Tests.getDailyRepeatingSchedulePlan();
         SchedulesV1Api planApi = developer.getClient(SchedulesV1Api.class);
         
-        user = new TestUserHelper.Builder(WorkerApiTest.class).withConsentUser(true).createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(WorkerApiTest.class).withConsentUser(true)
+                .createAndSignInUser());
         
         GuidVersionHolder guid = null;
         try {
@@ -279,8 +281,9 @@ public class WorkerApiTest {
         signUp.setAppId(TEST_APP_ID);
         signUp.setConsent(true);
 
-        user = new TestUserHelper.Builder(WorkerApiTest.class).withSignUp(signUp).withConsentUser(true)
-                .createAndSignInUser();
+        user = ApiMetrics.instrument(new TestUserHelper.Builder(WorkerApiTest.class).withSignUp(signUp)
+                .withConsentUser(true)
+                .createAndSignInUser());
 
         // User should get activities to set that initial timezone.
         DateTime startTime = DateTime.now(TEST_USER_TIME_ZONE);
@@ -351,7 +354,7 @@ public class WorkerApiTest {
         
         // This worker is by default in Sage Bionetworks, and thus is associated to studies in the 'api'
         // context. when the worker calls into another context, those APIs should work.
-        TestUser worker = TestUserHelper.createAndSignInUser(WorkerApiTest.class, false, WORKER);
+        TestUser worker = Tests.createAndSignInUser(WorkerApiTest.class, false, WORKER);
         try {
             ForWorkersApi workerApi = worker.getClient(ForWorkersApi.class);
             